@@ -0,0 +1,883 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A collection of binary-to-text encodings, for representing arbitrary bytes with a restricted set of ASCII
+ * characters.
+ * <br><br>
+ * Unlike {@link NumeralSystemHelper}, which deals with integer values in radices up to 36, these encodings deal with
+ * sequences of bytes of any length. Every encoding works on regions of <code>byte[]</code> or {@link ByteBuffer}
+ * content into caller-supplied destinations, using lookup tables built once per encoding. Apart from
+ * {@link BaseEncoding#BASE58}, the encodings may also be applied to streams.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     BaseEncoding.BASE64_URL.encode(new byte[] { -5, -1 })      // "-_8"
+ *     BaseEncoding.BASE58.encode(new byte[] { 0, 0, 1 })         // "112"
+ * </pre>
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc4648">RFC 4648</a>
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public enum BaseEncoding {
+    /**
+     * The <strong>Base16</strong> encoding, representing every byte with two hexadecimal digits. The lowercase digits
+     * are used when encoding, as is done by {@link NumeralSystemHelper#encodeHexadecimal(byte[])}, and both cases are
+     * accepted when decoding.
+     *
+     * @since 4.10.0
+     *
+     */
+    BASE16("0123456789abcdef", 4, false),
+
+    /**
+     * The <strong>Base32</strong> encoding, representing every 5 bits with one of the characters <code>A-Z</code> and
+     * <code>2-7</code>. The encoded output is padded with '<code>=</code>' to a multiple of 8 characters, and the
+     * padding is optional when decoding.
+     *
+     * @since 4.10.0
+     *
+     */
+    BASE32("ABCDEFGHIJKLMNOPQRSTUVWXYZ234567", 5, true),
+
+    /**
+     * The <strong>Base58</strong> encoding, with the alphabet used by Bitcoin, which leaves out the easily confused
+     * characters <code>0</code>, <code>O</code>, <code>I</code> and <code>l</code>. Every leading zero byte is
+     * represented by a '<code>1</code>' character.
+     * <br><br>
+     * As the content is treated as a single large number, the encoding takes time quadratic in the length of the
+     * content, and it cannot be applied to streams.
+     *
+     * @see <a href="@WIKI_URI@/Binary-to-text_encoding#Base58">Base58 (Wikipedia)</a>
+     *
+     * @since 4.10.0
+     *
+     */
+    BASE58("123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz", 0, false),
+
+    /**
+     * The <strong>Base64</strong> encoding with the URL and filename safe alphabet, which uses '<code>-</code>' and
+     * '<code>_</code>' in place of '<code>+</code>' and '<code>/</code>'. The encoded output is not padded, and the
+     * padding is optional when decoding.
+     *
+     * @since 4.10.0
+     *
+     */
+    BASE64_URL("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_", 6, false);
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static final byte PADDING = '=';
+
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    private final byte[] alphabet;
+    private final byte[] values;
+
+    private final int bitsPerChar;
+    private final boolean padded;
+
+    BaseEncoding(String alphabet, int bitsPerChar, boolean padded) {
+        this.alphabet = alphabet.getBytes(StandardCharsets.US_ASCII);
+        this.bitsPerChar = bitsPerChar;
+        this.padded = padded;
+
+        values = new byte[128];
+
+        Arrays.fill(values, (byte) -1);
+
+        for (int i = 0; i < alphabet.length(); i++) {
+            values[alphabet.charAt(i)] = (byte) i;
+
+            if (bitsPerChar == 4) {
+                values[Character.toUpperCase(alphabet.charAt(i))] = (byte) i;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of characters needed to encode the specified number of bytes. For
+     * {@link BaseEncoding#BASE58}, which has no fixed ratio, this is an upper bound.
+     *
+     * @param byteCount the number of bytes to encode.
+     *
+     * @return the (maximum) number of characters of the encoded output.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getEncodedLength(int byteCount) {
+        if (bitsPerChar == 0) {
+            return (int) (byteCount * 138L / 100) + 1;
+        }
+
+        final int length = (int) ((byteCount * 8L + bitsPerChar - 1) / bitsPerChar);
+
+        return padded ? (length + 7) & ~7 : length;
+    }
+
+    /**
+     * Returns the maximum number of bytes which the specified number of characters may decode to.
+     *
+     * @param charCount the number of characters to decode.
+     *
+     * @return the maximum number of bytes of the decoded output.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getMaxDecodedLength(int charCount) {
+        if (bitsPerChar == 0) {
+            return charCount;
+        }
+
+        return (int) (charCount * (long) bitsPerChar / 8);
+    }
+
+    /**
+     * Returns the encoded representation of the bytes.
+     *
+     * @param bytes to be encoded.
+     *
+     * @return the encoded representation.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String encode(byte[] bytes) {
+        final byte[] destination = new byte[getEncodedLength(bytes.length)];
+
+        return new String(destination, 0, encode(bytes, 0, bytes.length, destination, 0), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Writes the encoded representation of the specified region of the bytes, as ASCII characters, into the
+     * destination array.
+     *
+     * @param source the bytes to be encoded.
+     * @param offset the index of the first byte to encode.
+     * @param length the number of bytes to encode.
+     * @param destination the array to write the ASCII characters into.
+     * @param destinationIndex the index within the destination array to start writing at.
+     *
+     * @return the number of characters written.
+     *
+     * @throws IndexOutOfBoundsException if the region is out of bounds, or the destination array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int encode(byte[] source, int offset, int length, byte[] destination, int destinationIndex) {
+        Objects.checkFromIndexSize(offset, length, source.length);
+
+        if (bitsPerChar == 0) {
+            return encodeBase58(source, offset, length, destination, destinationIndex);
+        }
+
+        Objects.checkFromIndexSize(destinationIndex, getEncodedLength(length), destination.length);
+
+        final int mask = (1 << bitsPerChar) - 1;
+
+        int index = destinationIndex;
+        int accumulator = 0;
+        int accumulatedBits = 0;
+
+        for (int i = offset, end = offset + length; i < end; i++) {
+            accumulator = (accumulator << 8) | (source[i] & 0xff);
+            accumulatedBits += 8;
+
+            while (accumulatedBits >= bitsPerChar) {
+                accumulatedBits -= bitsPerChar;
+                destination[index++] = alphabet[(accumulator >>> accumulatedBits) & mask];
+            }
+        }
+
+        if (accumulatedBits > 0) {
+            destination[index++] = alphabet[(accumulator << (bitsPerChar - accumulatedBits)) & mask];
+        }
+
+        while (padded && ((index - destinationIndex) & 7) != 0) {
+            destination[index++] = PADDING;
+        }
+
+        return index - destinationIndex;
+    }
+
+    /**
+     * Writes the encoded representation of the remaining content of the source buffer, as ASCII characters, into the
+     * destination buffer. On return, the position of the source buffer equals its limit, and the position of the
+     * destination buffer is advanced by the number of characters written.
+     *
+     * @param source the buffer holding the bytes to be encoded.
+     * @param destination the buffer to write the ASCII characters into.
+     *
+     * @return the number of characters written.
+     *
+     * @throws java.nio.BufferOverflowException if the destination buffer does not have enough space remaining.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int encode(ByteBuffer source, ByteBuffer destination) {
+        if (bitsPerChar == 0) {
+            return encodeBase58(source, destination);
+        }
+
+        final int count = getEncodedLength(source.remaining());
+
+        if (destination.remaining() < count) {
+            throw new BufferOverflowException();
+        }
+
+        final int start = destination.position();
+
+        final int mask = (1 << bitsPerChar) - 1;
+
+        int accumulator = 0;
+        int accumulatedBits = 0;
+
+        while (source.hasRemaining()) {
+            accumulator = (accumulator << 8) | (source.get() & 0xff);
+            accumulatedBits += 8;
+
+            while (accumulatedBits >= bitsPerChar) {
+                accumulatedBits -= bitsPerChar;
+                destination.put(alphabet[(accumulator >>> accumulatedBits) & mask]);
+            }
+        }
+
+        if (accumulatedBits > 0) {
+            destination.put(alphabet[(accumulator << (bitsPerChar - accumulatedBits)) & mask]);
+        }
+
+        while (destination.position() < start + count) {
+            destination.put(PADDING);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the bytes represented by the encoded character sequence.
+     *
+     * @param encodedSeq to be decoded.
+     *
+     * @return the decoded bytes.
+     *
+     * @throws IllegalArgumentException if the sequence is not a valid encoded representation.
+     *
+     * @since 4.10.0
+     *
+     */
+    public byte[] decode(CharSequence encodedSeq) {
+        final byte[] destination = new byte[getMaxDecodedLength(encodedSeq.length())];
+        final int count = decode(encodedSeq, 0, encodedSeq.length(), destination, 0);
+
+        return (count == destination.length) ? destination : Arrays.copyOf(destination, count);
+    }
+
+    /**
+     * Writes the bytes represented by the specified region of the encoded character sequence into the destination
+     * array.
+     *
+     * @param encodedSeq to be decoded.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param destination the array to write the bytes into.
+     * @param destinationIndex the index within the destination array to start writing at.
+     *
+     * @return the number of bytes written.
+     *
+     * @throws IllegalArgumentException if the region is not a valid encoded representation.
+     * @throws IndexOutOfBoundsException if the region is out of bounds, or the destination array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int decode(CharSequence encodedSeq, int beginIndex, int endIndex, byte[] destination, int destinationIndex) {
+        Objects.checkFromToIndex(beginIndex, endIndex, encodedSeq.length());
+
+        if (bitsPerChar == 0) {
+            return decodeBase58(encodedSeq, beginIndex, endIndex, destination, destinationIndex);
+        }
+
+        while (endIndex > beginIndex && encodedSeq.charAt(endIndex - 1) == PADDING) {
+            endIndex--;
+        }
+
+        Objects.checkFromIndexSize(destinationIndex, getMaxDecodedLength(endIndex - beginIndex), destination.length);
+
+        int index = destinationIndex;
+        int accumulator = 0;
+        int accumulatedBits = 0;
+
+        for (int i = beginIndex; i < endIndex; i++) {
+            accumulator = (accumulator << bitsPerChar) | getValue(encodedSeq.charAt(i), i);
+            accumulatedBits += bitsPerChar;
+
+            if (accumulatedBits >= 8) {
+                accumulatedBits -= 8;
+                destination[index++] = (byte) (accumulator >>> accumulatedBits);
+            }
+        }
+
+        if (accumulatedBits >= bitsPerChar) {
+            throw new IllegalArgumentException("Fatal Error. Incomplete encoded representation at index " + endIndex);
+        }
+
+        return index - destinationIndex;
+    }
+
+    /**
+     * Writes the bytes represented by the remaining ASCII characters of the source buffer into the destination buffer.
+     * On return, the position of the source buffer equals its limit, and the position of the destination buffer is
+     * advanced by the number of bytes written.
+     *
+     * @param source the buffer holding the ASCII characters to be decoded.
+     * @param destination the buffer to write the bytes into.
+     *
+     * @return the number of bytes written.
+     *
+     * @throws IllegalArgumentException if the content is not a valid encoded representation.
+     * @throws java.nio.BufferOverflowException if the destination buffer does not have enough space remaining.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int decode(ByteBuffer source, ByteBuffer destination) {
+        final CharSequence encodedSeq = new AsciiSequence(source);
+
+        if (bitsPerChar == 0) {
+            return decodeBase58(encodedSeq, source, destination);
+        }
+
+        int endIndex = encodedSeq.length();
+
+        while (endIndex > 0 && encodedSeq.charAt(endIndex - 1) == PADDING) {
+            endIndex--;
+        }
+
+        if (destination.remaining() < getMaxDecodedLength(endIndex)) {
+            throw new BufferOverflowException();
+        }
+
+        // Absolute puts, so that the destination is left as it was if the content turns out not to be valid
+        int index = destination.position();
+        int accumulator = 0;
+        int accumulatedBits = 0;
+
+        for (int i = 0; i < endIndex; i++) {
+            accumulator = (accumulator << bitsPerChar) | getValue(encodedSeq.charAt(i), i);
+            accumulatedBits += bitsPerChar;
+
+            if (accumulatedBits >= 8) {
+                accumulatedBits -= 8;
+                destination.put(index++, (byte) (accumulator >>> accumulatedBits));
+            }
+        }
+
+        if (accumulatedBits >= bitsPerChar) {
+            throw new IllegalArgumentException("Fatal Error. Incomplete encoded representation at index " + endIndex);
+        }
+
+        final int count = index - destination.position();
+
+        destination.position(index);
+        source.position(source.limit());
+
+        return count;
+    }
+
+    /**
+     * Returns an output stream which encodes every byte written to it, and writes the ASCII characters to the specified
+     * stream. Closing the returned stream writes any pending characters and padding, and closes the underlying stream.
+     *
+     * @param output the stream to write the encoded characters to.
+     *
+     * @return the encoding output stream.
+     *
+     * @throws UnsupportedOperationException for {@link BaseEncoding#BASE58}, which cannot be streamed.
+     *
+     * @since 4.10.0
+     *
+     */
+    public OutputStream wrap(OutputStream output) {
+        checkStreamable();
+
+        return new EncodingOutputStream(output);
+    }
+
+    /**
+     * Returns an input stream which reads the ASCII characters from the specified stream, and decodes them.
+     *
+     * @param input the stream to read the encoded characters from.
+     *
+     * @return the decoding input stream.
+     *
+     * @throws UnsupportedOperationException for {@link BaseEncoding#BASE58}, which cannot be streamed.
+     *
+     * @since 4.10.0
+     *
+     */
+    public InputStream wrap(InputStream input) {
+        checkStreamable();
+
+        return new DecodingInputStream(input);
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private void checkStreamable() {
+        if (bitsPerChar == 0) {
+            throw new UnsupportedOperationException("Fatal Error. " + name() + " cannot be applied to streams.");
+        }
+    }
+
+    private int getValue(int c, int index) {
+        final int value = (c < values.length) ? values[c] : -1;
+
+        if (value < 0) {
+            throw new IllegalArgumentException(
+                    "Fatal Error. Illegal " + name() + " character '" + (char) c + "' at index " + index
+            );
+        }
+
+        return value;
+    }
+
+    private int encodeBase58(byte[] source, int offset, int length, byte[] destination, int destinationIndex) {
+        int zeros = 0;
+
+        while (zeros < length && source[offset + zeros] == 0) {
+            zeros++;
+        }
+
+        final byte[] number = Arrays.copyOfRange(source, offset + zeros, offset + length);
+        final byte[] digits = new byte[getEncodedLength(number.length)];
+
+        final int index = toBase58Digits(number, digits);
+        final int count = zeros + digits.length - index;
+
+        Objects.checkFromIndexSize(destinationIndex, count, destination.length);
+
+        Arrays.fill(destination, destinationIndex, destinationIndex + zeros, alphabet[0]);
+        System.arraycopy(digits, index, destination, destinationIndex + zeros, digits.length - index);
+
+        return count;
+    }
+
+    private int encodeBase58(ByteBuffer source, ByteBuffer destination) {
+        final int offset = source.position();
+        final int length = source.remaining();
+
+        int zeros = 0;
+
+        while (zeros < length && source.get(offset + zeros) == 0) {
+            zeros++;
+        }
+
+        final byte[] number = new byte[length - zeros];
+
+        source.position(offset + zeros);
+        source.get(number);
+
+        final byte[] digits = new byte[getEncodedLength(number.length)];
+
+        final int index = toBase58Digits(number, digits);
+        final int count = zeros + digits.length - index;
+
+        if (destination.remaining() < count) {
+            source.position(offset);
+
+            throw new BufferOverflowException();
+        }
+
+        for (int i = 0; i < zeros; i++) {
+            destination.put(alphabet[0]);
+        }
+
+        destination.put(digits, index, digits.length - index);
+
+        return count;
+    }
+
+    /*
+     * Repeatedly divides the big-endian number by 58, in place, collecting the remainders from the least significant
+     * digit onwards at the end of the digits array. Returns the index of the most significant digit.
+     */
+    private int toBase58Digits(byte[] number, byte[] digits) {
+        int index = digits.length;
+
+        for (int start = 0; start < number.length; ) {
+            int remainder = 0;
+
+            for (int i = start; i < number.length; i++) {
+                final int dividend = (remainder << 8) | (number[i] & 0xff);
+
+                number[i] = (byte) (dividend / 58);
+                remainder = dividend % 58;
+            }
+
+            digits[--index] = alphabet[remainder];
+
+            while (start < number.length && number[start] == 0) {
+                start++;
+            }
+        }
+
+        return index;
+    }
+
+    private int decodeBase58(CharSequence encodedSeq, int beginIndex, int endIndex,
+                             byte[] destination, int destinationIndex) {
+        int zeros = 0;
+
+        while (beginIndex + zeros < endIndex && encodedSeq.charAt(beginIndex + zeros) == alphabet[0]) {
+            zeros++;
+        }
+
+        final byte[] number = new byte[endIndex - beginIndex - zeros];
+        final int start = fromBase58Digits(encodedSeq, beginIndex + zeros, endIndex, number);
+
+        final int count = zeros + number.length - start;
+
+        Objects.checkFromIndexSize(destinationIndex, count, destination.length);
+
+        Arrays.fill(destination, destinationIndex, destinationIndex + zeros, (byte) 0);
+        System.arraycopy(number, start, destination, destinationIndex + zeros, number.length - start);
+
+        return count;
+    }
+
+    private int decodeBase58(CharSequence encodedSeq, ByteBuffer source, ByteBuffer destination) {
+        final int endIndex = encodedSeq.length();
+
+        int zeros = 0;
+
+        while (zeros < endIndex && encodedSeq.charAt(zeros) == alphabet[0]) {
+            zeros++;
+        }
+
+        final byte[] number = new byte[endIndex - zeros];
+        final int start = fromBase58Digits(encodedSeq, zeros, endIndex, number);
+
+        final int count = zeros + number.length - start;
+
+        if (destination.remaining() < count) {
+            throw new BufferOverflowException();
+        }
+
+        for (int i = 0; i < zeros; i++) {
+            destination.put((byte) 0);
+        }
+
+        destination.put(number, start, number.length - start);
+        source.position(source.limit());
+
+        return count;
+    }
+
+    /*
+     * Multiplies the big-endian number by 58 and adds every digit in turn, in place at the end of the number array.
+     * Returns the index of the most significant non-zero byte.
+     */
+    private int fromBase58Digits(CharSequence encodedSeq, int beginIndex, int endIndex, byte[] number) {
+        int start = number.length;
+
+        for (int i = beginIndex; i < endIndex; i++) {
+            int carry = getValue(encodedSeq.charAt(i), i);
+
+            for (int j = number.length - 1; j >= start || carry != 0; j--) {
+                carry += (number[j] & 0xff) * 58;
+                number[j] = (byte) carry;
+                carry >>>= 8;
+
+                start = Math.min(start, j);
+            }
+        }
+
+        return start;
+    }
+
+    /*
+     * A read-only view of the remaining ASCII content of a buffer, so that buffers are decoded without any copy.
+     */
+    private static final class AsciiSequence implements CharSequence {
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+
+        private AsciiSequence(ByteBuffer buffer) {
+            this(buffer, buffer.position(), buffer.remaining());
+        }
+
+        private AsciiSequence(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(offset + Objects.checkIndex(index, length)) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, length);
+
+            return new AsciiSequence(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            final char[] chars = new char[length];
+
+            for (int i = 0; i < length; i++) {
+                chars[i] = charAt(i);
+            }
+
+            return new String(chars);
+        }
+    }
+
+    private final class EncodingOutputStream extends FilterOutputStream {
+        private final int mask = (1 << bitsPerChar) - 1;
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private int accumulator;
+        private int accumulatedBits;
+        private long count;
+
+        private boolean closed;
+
+        private EncodingOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            accumulator = (accumulator << 8) | (b & 0xff);
+            accumulatedBits += 8;
+
+            while (accumulatedBits >= bitsPerChar) {
+                accumulatedBits -= bitsPerChar;
+                out.write(alphabet[(accumulator >>> accumulatedBits) & mask]);
+                count++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+
+            int index = 0;
+
+            for (int i = offset, end = offset + length; i < end; i++) {
+                accumulator = (accumulator << 8) | (bytes[i] & 0xff);
+                accumulatedBits += 8;
+
+                while (accumulatedBits >= bitsPerChar) {
+                    accumulatedBits -= bitsPerChar;
+                    buffer[index++] = alphabet[(accumulator >>> accumulatedBits) & mask];
+                }
+
+                // A byte yields at most two characters
+                if (index > buffer.length - 2) {
+                    out.write(buffer, 0, index);
+                    count += index;
+                    index = 0;
+                }
+            }
+
+            out.write(buffer, 0, index);
+            count += index;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            if (accumulatedBits > 0) {
+                out.write(alphabet[(accumulator << (bitsPerChar - accumulatedBits)) & mask]);
+                count++;
+            }
+
+            while (padded && (count & 7) != 0) {
+                out.write(PADDING);
+                count++;
+            }
+
+            super.close();
+        }
+    }
+
+    private final class DecodingInputStream extends FilterInputStream {
+        // The characters read from the stream, left to decode from the position to the limit
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        // The byte decoded by read(), and the bytes decoded by skip(), allocated on the first skip
+        private final byte[] single = new byte[1];
+        private byte[] discarded;
+
+        private int accumulator;
+        private int accumulatedBits;
+        private long index;
+
+        private boolean ended;
+
+        private DecodingInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return (read(single, 0, 1) < 0) ? -1 : single[0] & 0xff;
+        }
+
+        /*
+         * Decodes the characters read a block at a time, and returns once a block leaves some bytes decoded, rather
+         * than waiting for more characters.
+         */
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+
+            int count = 0;
+
+            while (count < length && !ended) {
+                if (position == limit) {
+                    if (count > 0) {
+                        break;
+                    }
+
+                    final int read = in.read(buffer);
+
+                    if (read < 0) {
+                        end();
+                        break;
+                    }
+
+                    position = 0;
+                    limit = read;
+                    continue;
+                }
+
+                final int c = buffer[position++] & 0xff;
+
+                if (c == PADDING) {
+                    end();
+                    break;
+                }
+
+                final int value = (c < values.length) ? values[c] : -1;
+
+                if (value < 0) {
+                    throw new IOException("Fatal Error. Illegal " + name() + " character '" + (char) c + "' at index " + index);
+                }
+
+                accumulator = (accumulator << bitsPerChar) | value;
+                index++;
+                accumulatedBits += bitsPerChar;
+
+                if (accumulatedBits >= 8) {
+                    accumulatedBits -= 8;
+
+                    bytes[offset + count++] = (byte) (accumulator >>> accumulatedBits);
+                }
+            }
+
+            return (count == 0 && length > 0) ? -1 : count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+
+            while (skipped < n) {
+                if (discarded == null) {
+                    discarded = new byte[BUFFER_SIZE];
+                }
+
+                final int read = read(discarded, 0, (int) Math.min(n - skipped, BUFFER_SIZE));
+
+                if (read < 0) {
+                    break;
+                }
+
+                skipped += read;
+            }
+
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /*
+         * Ends the input, which must not end within a character.
+         */
+        private void end() throws IOException {
+            ended = true;
+
+            if (accumulatedBits >= bitsPerChar) {
+                throw new IOException("Fatal Error. Incomplete encoded representation at index " + index);
+            }
+        }
+    }
+}
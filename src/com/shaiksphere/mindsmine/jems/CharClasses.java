@@ -0,0 +1,125 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * A partition of the characters into consecutive ranges, the columns of the transition table of an automaton, so
+ * that the characters of a range are never told apart.
+ * <br><br>
+ * US-ASCII characters are mapped to their column by a table; other characters by a binary search over the ranges.
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+final class CharClasses {
+    /**
+     * A column for every US-ASCII character, and a last column shared by every other character.
+     */
+    static final CharClasses ASCII = createASCII();
+
+    // The first character of every range, beginning with 0
+    private final int[] starts;
+    private final int[] asciiColumns = new int[128];
+
+    private CharClasses(int[] starts) {
+        this.starts = starts;
+
+        for (char c = 0; c < 128; c++) {
+            asciiColumns[c] = search(c);
+        }
+    }
+
+    /**
+     * Creates the coarsest partition which keeps apart the characters on either side of every boundary.
+     *
+     * @param boundaries the characters starting a new range; <code>0</code> and <code>0x10000</code> are ignored.
+     *
+     * @return the partition.
+     */
+    static CharClasses of(TreeSet<Integer> boundaries) {
+        final TreeSet<Integer> starts = new TreeSet<>(boundaries.subSet(1, 0x10000));
+
+        starts.add(0);
+
+        return new CharClasses(starts.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Returns the number of ranges.
+     *
+     * @return the number of columns.
+     */
+    int getColumnCount() {
+        return starts.length;
+    }
+
+    /**
+     * Returns the column of the character.
+     *
+     * @param c the character.
+     *
+     * @return the column.
+     */
+    int getColumn(char c) {
+        return (c < 128) ? asciiColumns[c] : search(c);
+    }
+
+    /**
+     * Returns a character of the column.
+     *
+     * @param column the column.
+     *
+     * @return the first character of the range.
+     */
+    char getRepresentative(int column) {
+        return (char) starts[column];
+    }
+
+    /**
+     * Adds the boundaries of the partition to the set.
+     *
+     * @param boundaries to add to.
+     */
+    void addBoundariesTo(TreeSet<Integer> boundaries) {
+        for (int start : starts) {
+            boundaries.add(start);
+        }
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static CharClasses createASCII() {
+        final int[] starts = new int[129];
+
+        Arrays.setAll(starts, i -> i);
+
+        return new CharClasses(starts);
+    }
+
+    private int search(char c) {
+        final int index = Arrays.binarySearch(starts, c);
+
+        return (index >= 0) ? index : -index - 2;
+    }
+}
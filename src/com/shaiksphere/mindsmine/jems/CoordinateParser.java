@@ -0,0 +1,381 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+/**
+ * A collection of useful static methods to parse latitudes and longitudes, validating and converting them in a single
+ * pass over their characters.
+ * <br><br>
+ * A latitude is accepted exactly when it matches {@link RegExHelper#LATITUDE}, and a longitude exactly when it matches
+ * {@link RegExHelper#LONGITUDE}, quirks included: <code>"+90"</code> and <code>"-100"</code> are rejected, as are
+ * leading zeros and exponents. A coordinate is parsed either to the same <code>double</code> as
+ * {@link Double#parseDouble(String)}, or to micro-degrees, rounding half away from zero. Coordinates of up to 15
+ * significant digits are converted without building any string.
+ * <br><br>
+ * The bulk methods parse a column of latitudes and a column of longitudes into an array of pairs, marking the invalid
+ * rows instead of throwing, so that large batches are parsed without allocating.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     CoordinateParser.parseLatitude("-33.8688")               //  -33.8688
+ *     CoordinateParser.parseLongitudeMicros("151.2093")        //  151209300
+ *     CoordinateParser.parseLatitude("90")                     //  NumberFormatException
+ *
+ *     double[] coordinates = new double[2 * latitudes.length];
+ *
+ *     CoordinateParser.parseCoordinates(latitudes, longitudes, coordinates);
+ * </pre>
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class CoordinateParser {
+    private CoordinateParser() {}
+
+    /**
+     * The value of an invalid coordinate in the pairs of micro-degrees.
+     *
+     * @see CoordinateParser#parseCoordinateMicros(CharSequence[], CharSequence[], long[])
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final long INVALID_MICROS = Long.MIN_VALUE;
+
+    // The powers of ten whose double is exact
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Returns the latitude, in degrees.
+     *
+     * @param input to parse
+     *
+     * @return the same value as {@link Double#parseDouble(String)}
+     *
+     * @throws IllegalArgumentException if the input is <code>null</code>
+     * @throws NumberFormatException if the input does not match {@link RegExHelper#LATITUDE}
+     *
+     * @since 4.10.0
+     *
+     */
+    public static double parseLatitude(CharSequence input) {
+        return check(parse(checkInput(input), false, false), input, "latitude");
+    }
+
+    /**
+     * Returns the longitude, in degrees.
+     *
+     * @param input to parse
+     *
+     * @return the same value as {@link Double#parseDouble(String)}
+     *
+     * @throws IllegalArgumentException if the input is <code>null</code>
+     * @throws NumberFormatException if the input does not match {@link RegExHelper#LONGITUDE}
+     *
+     * @since 4.10.0
+     *
+     */
+    public static double parseLongitude(CharSequence input) {
+        return check(parse(checkInput(input), true, false), input, "longitude");
+    }
+
+    /**
+     * Returns the latitude, in millionths of a degree, rounded half away from zero.
+     *
+     * @param input to parse
+     *
+     * @return the latitude in micro-degrees, between <code>-90000000</code> and <code>90000000</code>
+     *
+     * @throws IllegalArgumentException if the input is <code>null</code>
+     * @throws NumberFormatException if the input does not match {@link RegExHelper#LATITUDE}
+     *
+     * @since 4.10.0
+     *
+     */
+    public static long parseLatitudeMicros(CharSequence input) {
+        return (long) check(parse(checkInput(input), false, true), input, "latitude");
+    }
+
+    /**
+     * Returns the longitude, in millionths of a degree, rounded half away from zero.
+     *
+     * @param input to parse
+     *
+     * @return the longitude in micro-degrees, between <code>-180000000</code> and <code>180000000</code>
+     *
+     * @throws IllegalArgumentException if the input is <code>null</code>
+     * @throws NumberFormatException if the input does not match {@link RegExHelper#LONGITUDE}
+     *
+     * @since 4.10.0
+     *
+     */
+    public static long parseLongitudeMicros(CharSequence input) {
+        return (long) check(parse(checkInput(input), true, true), input, "longitude");
+    }
+
+    /**
+     * Parses a column of latitudes and a column of longitudes into pairs of degrees, the latitude of row
+     * <code>i</code> at index <code>2 * i</code> and its longitude at index <code>2 * i + 1</code>.
+     * <br><br>
+     * Both coordinates of a row are set to {@link Double#NaN} if either is <code>null</code> or invalid.
+     *
+     * @param latitudes the column of latitudes.
+     * @param longitudes the column of longitudes, as long as the column of latitudes.
+     * @param coordinates the pairs to fill, at least twice as long as the columns.
+     *
+     * @return the number of valid rows.
+     *
+     * @throws IllegalArgumentException if any array is <code>null</code>, if the columns differ in length, or if the
+     * pairs are too short.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static int parseCoordinates(CharSequence[] latitudes, CharSequence[] longitudes, double[] coordinates) {
+        checkColumns(latitudes, longitudes, (coordinates == null) ? -1 : coordinates.length);
+
+        int validCount = 0;
+
+        for (int i = 0; i < latitudes.length; i++) {
+            final double latitude = (latitudes[i] == null) ? Double.NaN : parse(latitudes[i], false, false);
+            final double longitude = (longitudes[i] == null) ? Double.NaN : parse(longitudes[i], true, false);
+
+            if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+                coordinates[2 * i] = Double.NaN;
+                coordinates[2 * i + 1] = Double.NaN;
+            } else {
+                coordinates[2 * i] = latitude;
+                coordinates[2 * i + 1] = longitude;
+                validCount++;
+            }
+        }
+
+        return validCount;
+    }
+
+    /**
+     * Parses a column of latitudes and a column of longitudes into pairs of micro-degrees, the latitude of row
+     * <code>i</code> at index <code>2 * i</code> and its longitude at index <code>2 * i + 1</code>.
+     * <br><br>
+     * Both coordinates of a row are set to {@link CoordinateParser#INVALID_MICROS} if either is <code>null</code> or
+     * invalid.
+     *
+     * @param latitudes the column of latitudes.
+     * @param longitudes the column of longitudes, as long as the column of latitudes.
+     * @param coordinates the pairs to fill, at least twice as long as the columns.
+     *
+     * @return the number of valid rows.
+     *
+     * @throws IllegalArgumentException if any array is <code>null</code>, if the columns differ in length, or if the
+     * pairs are too short.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static int parseCoordinateMicros(CharSequence[] latitudes, CharSequence[] longitudes, long[] coordinates) {
+        checkColumns(latitudes, longitudes, (coordinates == null) ? -1 : coordinates.length);
+
+        int validCount = 0;
+
+        for (int i = 0; i < latitudes.length; i++) {
+            final double latitude = (latitudes[i] == null) ? Double.NaN : parse(latitudes[i], false, true);
+            final double longitude = (longitudes[i] == null) ? Double.NaN : parse(longitudes[i], true, true);
+
+            if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+                coordinates[2 * i] = INVALID_MICROS;
+                coordinates[2 * i + 1] = INVALID_MICROS;
+            } else {
+                coordinates[2 * i] = (long) latitude;
+                coordinates[2 * i + 1] = (long) longitude;
+                validCount++;
+            }
+        }
+
+        return validCount;
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static CharSequence checkInput(CharSequence input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Fatal Error. 'input'. Null is not allowed.");
+        }
+
+        return input;
+    }
+
+    private static double check(double value, CharSequence input, String name) {
+        if (Double.isNaN(value)) {
+            throw new NumberFormatException("Not a valid " + name + ": \"" + input + "\"");
+        }
+
+        return value;
+    }
+
+    private static void checkColumns(CharSequence[] latitudes, CharSequence[] longitudes, int pairsLength) {
+        if (latitudes == null) {
+            throw new IllegalArgumentException("Fatal Error. 'latitudes'. Null is not allowed.");
+        }
+
+        if (longitudes == null) {
+            throw new IllegalArgumentException("Fatal Error. 'longitudes'. Null is not allowed.");
+        }
+
+        if (pairsLength < 0) {
+            throw new IllegalArgumentException("Fatal Error. 'coordinates'. Null is not allowed.");
+        }
+
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Fatal Error. 'longitudes'. Length differs from 'latitudes'.");
+        }
+
+        if (pairsLength < 2 * (long) latitudes.length) {
+            throw new IllegalArgumentException("Fatal Error. 'coordinates'. Too short for the columns.");
+        }
+    }
+
+    /*
+     * Returns the coordinate in degrees, or in micro-degrees, or NaN if the input does not match the grammar. Digits
+     * are accumulated as they are validated, the input being converted again by Double.parseDouble only if it has too
+     * many significant digits for the exact conversion of the mantissa.
+     */
+    private static double parse(CharSequence input, boolean longitude, boolean micros) {
+        final int length = input.length();
+
+        if (length == 0) {
+            return Double.NaN;
+        }
+
+        int i = 0;
+
+        final char sign = input.charAt(0);
+
+        if (sign == '+' || sign == '-') {
+            i++;
+        }
+
+        final boolean negative = sign == '-';
+
+        final int integerStart = i;
+
+        int integerPart = 0;
+
+        while (i < length && i - integerStart < 4) {
+            final int digit = input.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+
+            integerPart = 10 * integerPart + digit;
+            i++;
+        }
+
+        final int integerDigits = i - integerStart;
+
+        if (integerDigits == 0 || (integerDigits > 1 && input.charAt(integerStart) == '0')) {
+            return Double.NaN;
+        }
+
+        final boolean hasFraction = i < length;
+
+        if (!isInRange(integerPart, integerDigits, negative, hasFraction, longitude)) {
+            return Double.NaN;
+        }
+
+        // Every digit, while it fits a double exactly, and the micro-degrees of the first fraction digits
+        long mantissa = integerPart;
+        boolean exact = true;
+        int scale = 0;
+
+        long microFraction = 0;
+        int roundingDigit = 0;
+
+        if (hasFraction) {
+            if (input.charAt(i++) != '.' || i == length) {
+                return Double.NaN;
+            }
+
+            for (; i < length; i++) {
+                final int digit = input.charAt(i) - '0';
+
+                if (digit < 0 || digit > 9) {
+                    return Double.NaN;
+                }
+
+                scale++;
+
+                if (scale <= 6) {
+                    microFraction = 10 * microFraction + digit;
+                } else if (scale == 7) {
+                    roundingDigit = digit;
+                }
+
+                if (exact) {
+                    mantissa = 10 * mantissa + digit;
+                    exact = mantissa < (1L << 53) && scale < POWERS_OF_TEN.length;
+                }
+            }
+        }
+
+        if (micros) {
+            for (int s = scale; s < 6; s++) {
+                microFraction *= 10;
+            }
+
+            final long value = 1_000_000L * integerPart + microFraction + ((roundingDigit >= 5) ? 1 : 0);
+
+            return negative ? -value : value;
+        }
+
+        if (!exact) {
+            return Double.parseDouble(input.toString());
+        }
+
+        final double value = mantissa / POWERS_OF_TEN[scale];
+
+        return negative ? -value : value;
+    }
+
+    /*
+     * Whether the integer part is allowed: below 90 for a latitude, or exactly -90; below 180 for a longitude, but
+     * not from -100 to -109, or exactly -180.
+     */
+    private static boolean isInRange(int integerPart, int integerDigits, boolean negative, boolean hasFraction,
+                                     boolean longitude) {
+        if (!longitude) {
+            return integerPart < 90 || (negative && integerPart == 90 && !hasFraction);
+        }
+
+        if (integerDigits > 3) {
+            return false;
+        }
+
+        if (!negative || integerDigits < 3) {
+            return integerPart < 180;
+        }
+
+        return (integerPart >= 110 && integerPart < 180) || (integerPart == 180 && !hasFraction);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.Arrays;
+
+/**
+ * A deterministic finite automaton over characters, matching a whole input in a single pass, in linear time, without
+ * backtracking and without allocating.
+ * <br><br>
+ * The transitions are held in a flat table with a column for every range of characters of its {@link CharClasses},
+ * such as a column for every US-ASCII character, and a last column shared by every other character. State
+ * <code>0</code> is the initial state, and a missing transition rejects the input.
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+final class DFA {
+    /**
+     * The target of a missing transition.
+     */
+    static final int DEAD = -1;
+
+    private final CharClasses classes;
+    private final int columnCount;
+
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    /**
+     * Creates an automaton from its tables.
+     *
+     * @param classes the columns of the transition table.
+     * @param transitions the next state, or {@link DFA#DEAD}, of every state, row by row.
+     * @param accepting whether every state is accepting.
+     */
+    DFA(CharClasses classes, int[] transitions, boolean[] accepting) {
+        this.classes = classes;
+        this.columnCount = classes.getColumnCount();
+        this.transitions = transitions;
+        this.accepting = accepting;
+    }
+
+    /**
+     * Returns the columns of the transition table.
+     *
+     * @return the partition of the characters.
+     */
+    CharClasses getClasses() {
+        return classes;
+    }
+
+    /**
+     * Returns the state reached from the state on the character.
+     *
+     * @param state the state.
+     * @param c the character read.
+     *
+     * @return the next state, or {@link DFA#DEAD}.
+     */
+    int getNextState(int state, char c) {
+        return transitions[state * columnCount + classes.getColumn(c)];
+    }
+
+    /**
+     * Returns the number of states.
+     *
+     * @return the number of states.
+     */
+    int getStateCount() {
+        return accepting.length;
+    }
+
+    /**
+     * Returns whether the state accepts the input read so far.
+     *
+     * @param state the state.
+     *
+     * @return if the state is accepting
+     */
+    boolean isAccepting(int state) {
+        return accepting[state];
+    }
+
+    /**
+     * Returns whether the automaton accepts the whole input.
+     *
+     * @param input the input.
+     *
+     * @return if the input is accepted, or <code>false</code> if it is <code>null</code>
+     */
+    boolean matches(CharSequence input) {
+        if (input == null) {
+            return false;
+        }
+
+        final int length = input.length();
+
+        int state = 0;
+
+        for (int i = 0; i < length; i++) {
+            state = transitions[state * columnCount + classes.getColumn(input.charAt(i))];
+
+            if (state < 0) {
+                return false;
+            }
+        }
+
+        return accepting[state];
+    }
+
+    /**
+     * A builder of automata over {@link CharClasses#ASCII}, adding states and transitions one at a time.
+     */
+    static final class Builder {
+        private static final int COLUMN_COUNT = CharClasses.ASCII.getColumnCount();
+
+        private int[] transitions = new int[0];
+        private boolean[] accepting = new boolean[0];
+
+        private int stateCount;
+
+        /**
+         * Adds a state, without any transition.
+         *
+         * @return the state, numbered from <code>0</code>, the initial state.
+         */
+        int addState() {
+            if (stateCount == accepting.length) {
+                final int capacity = Math.max(8, 2 * stateCount);
+                final int[] grown = new int[capacity * COLUMN_COUNT];
+                final boolean[] grownAccepting = new boolean[capacity];
+
+                Arrays.fill(grown, DEAD);
+                System.arraycopy(transitions, 0, grown, 0, transitions.length);
+                System.arraycopy(accepting, 0, grownAccepting, 0, accepting.length);
+
+                transitions = grown;
+                accepting = grownAccepting;
+            }
+
+            return stateCount++;
+        }
+
+        /**
+         * Adds a transition on each of the characters.
+         *
+         * @param from the source state.
+         * @param chars the US-ASCII characters.
+         * @param to the target state.
+         *
+         * @return this builder.
+         */
+        Builder on(int from, String chars, int to) {
+            for (int i = 0; i < chars.length(); i++) {
+                transitions[from * COLUMN_COUNT + chars.charAt(i)] = to;
+            }
+
+            return this;
+        }
+
+        /**
+         * Adds a transition on each of the characters of the inclusive range.
+         *
+         * @param from the source state.
+         * @param first the first US-ASCII character of the range.
+         * @param last the last US-ASCII character of the range.
+         * @param to the target state.
+         *
+         * @return this builder.
+         */
+        Builder on(int from, char first, char last, int to) {
+            for (char c = first; c <= last; c++) {
+                transitions[from * COLUMN_COUNT + c] = to;
+            }
+
+            return this;
+        }
+
+        /**
+         * Marks the states as accepting.
+         *
+         * @param states the states.
+         *
+         * @return this builder.
+         */
+        Builder accept(int... states) {
+            for (int state : states) {
+                accepting[state] = true;
+            }
+
+            return this;
+        }
+
+        /**
+         * Builds the automaton.
+         *
+         * @return the automaton.
+         */
+        DFA build() {
+            final int[] builtTransitions = new int[stateCount * COLUMN_COUNT];
+            final boolean[] builtAccepting = new boolean[stateCount];
+
+            System.arraycopy(transitions, 0, builtTransitions, 0, builtTransitions.length);
+            System.arraycopy(accepting, 0, builtAccepting, 0, stateCount);
+
+            return new DFA(CharClasses.ASCII, builtTransitions, builtAccepting);
+        }
+    }
+}
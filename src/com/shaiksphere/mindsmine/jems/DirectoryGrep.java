@@ -0,0 +1,577 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+import java.io.IOException;
+
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A search of every file under a directory for the matches of a regex, such as {@link RegExHelper#EMAIL}, as the
+ * <code>grep -r</code> command does.
+ * <br><br>
+ * The files are found by a depth-first walk of the tree, in the order of
+ * {@link Files#walk(Path, java.nio.file.FileVisitOption...)}, optionally keeping only those accepted by any of a set of
+ * filters, such as {@link SwingHelper#TXT_EXTENSION_FILTER}. Every file is scanned through memory mapping by a
+ * {@link PatternExtractor}, with its semantics: matches are leftmost-longest, non-overlapping and non-empty, and bytes
+ * are read as ISO-8859-1 characters. As with <code>grep -r</code>, a file or directory which cannot be read is skipped,
+ * and reported to an error handler, rather than ending the search.
+ * <br><br>
+ * Files are scanned in parallel on a {@link ForkJoinPool}, a few files ahead of those whose matches are being read,
+ * and the matches are streamed in the order of the walk, the matches of a file in order of position. A file is scanned
+ * for a bounded batch of matches at a time, so that memory use does not grow with the number of matches. The search
+ * stops once the largest number of matches asked for is reached, or the stream is closed, so that the rest of the
+ * tree is neither walked nor scanned.
+ * <br><br>
+ * Instances are thread-safe.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     try (Stream&lt;DirectoryGrep.Match&gt; matches = new DirectoryGrep(RegExHelper.EMAIL)
+ *             .search(Path.of("logs"), 100, SwingHelper.TXT_EXTENSION_FILTER)) {
+ *         matches.forEach(System.out::println);
+ *     }
+ * </pre>
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class DirectoryGrep {
+    /**
+     * A match, as the byte offsets of the match within a file.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final class Match {
+        private final Path file;
+        private final long start;
+        private final long end;
+
+        private Match(Path file, long start, long end) {
+            this.file = file;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Returns the file of the match, as found by the walk of the directory.
+         *
+         * @return the file.
+         *
+         * @since 4.10.0
+         *
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * Returns the offset of the first byte of the match.
+         *
+         * @return the start of the match.
+         *
+         * @since 4.10.0
+         *
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * Returns the offset right after the last byte of the match.
+         *
+         * @return the end of the match.
+         *
+         * @since 4.10.0
+         *
+         */
+        public long getEnd() {
+            return end;
+        }
+
+        /**
+         * Returns the file and the offsets of the match, as <code>file:start-end</code>.
+         *
+         * @return the string representation of the match.
+         *
+         * @since 4.10.0
+         *
+         */
+        @Override
+        public String toString() {
+            return file + ":" + start + "-" + end;
+        }
+
+        /**
+         * Returns whether the object is a match of the same file, at the same offsets.
+         *
+         * @param obj the object to compare with.
+         *
+         * @return if both matches are equal
+         *
+         * @since 4.10.0
+         *
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Match)) {
+                return false;
+            }
+
+            final Match other = (Match) obj;
+
+            return start == other.start && end == other.end && file.equals(other.file);
+        }
+
+        /**
+         * Returns the hash code of the file and the offsets of the match.
+         *
+         * @return the hash code.
+         *
+         * @since 4.10.0
+         *
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(file, start, end);
+        }
+    }
+
+    private static final int BATCH_SIZE = 1 << 12;
+
+    private final PatternExtractor extractor;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a search for the regex, scanning files on the common pool.
+     *
+     * @param regex the regex to search for.
+     *
+     * @throws IllegalArgumentException if the regex is <code>null</code>, uses an unsupported construct, or is too
+     * large.
+     * @throws java.util.regex.PatternSyntaxException if the regex is not valid.
+     *
+     * @see ForkJoinPool#commonPool()
+     *
+     * @since 4.10.0
+     *
+     */
+    public DirectoryGrep(String regex) {
+        this(regex, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a search for the regex, scanning files on the specified pool.
+     *
+     * @param regex the regex to search for.
+     * @param pool the pool to scan the files on.
+     *
+     * @throws IllegalArgumentException if the regex or the pool is <code>null</code>, or if the regex uses an
+     * unsupported construct, or is too large.
+     * @throws java.util.regex.PatternSyntaxException if the regex is not valid.
+     *
+     * @since 4.10.0
+     *
+     */
+    public DirectoryGrep(String regex, ForkJoinPool pool) {
+        this.extractor = new PatternExtractor(regex, pool);
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the regex of the search.
+     *
+     * @return the regex.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getRegex() {
+        return extractor.getRegex();
+    }
+
+    /**
+     * Streams the matches in the regular files under the directory, in the order of the walk, up to the specified
+     * number of matches, silently skipping the files and directories which cannot be read.
+     * <br><br>
+     * The stream should be closed once done with, as in a <code>try</code>-with-resources statement, to release the
+     * directories being walked and cancel the scans under way.
+     *
+     * @param directory the directory to search.
+     * @param maxMatches the largest number of matches to stream.
+     * @param filters the filters of the files to scan, any of which must accept a file, or none to scan every file.
+     *
+     * @return the stream of the matches.
+     *
+     * @throws IllegalArgumentException if the directory is <code>null</code>, or if the number of matches is negative.
+     * @throws IOException if the directory cannot be read.
+     *
+     * @see DirectoryGrep#search(Path, long, BiConsumer, FileNameExtensionFilter...)
+     *
+     * @since 4.10.0
+     *
+     */
+    public Stream<Match> search(Path directory, long maxMatches, FileNameExtensionFilter... filters)
+            throws IOException {
+        return search(directory, maxMatches, (path, e) -> { }, filters);
+    }
+
+    /**
+     * Streams the matches in the regular files under the directory, in the order of the walk, up to the specified
+     * number of matches.
+     * <br><br>
+     * A file or directory under the directory which cannot be read, or vanishes while being searched, is skipped, and
+     * passed to the error handler with the {@link IOException} thrown. The handler is called on the thread reading
+     * the stream, in the order of the walk; the matches found in a file before an error are streamed all the same.
+     * <br><br>
+     * The stream should be closed once done with, as in a <code>try</code>-with-resources statement, to release the
+     * directories being walked and cancel the scans under way.
+     *
+     * @param directory the directory to search.
+     * @param maxMatches the largest number of matches to stream.
+     * @param errorHandler the handler of the files and directories skipped.
+     * @param filters the filters of the files to scan, any of which must accept a file, or none to scan every file.
+     *
+     * @return the stream of the matches.
+     *
+     * @throws IllegalArgumentException if the directory or the error handler is <code>null</code>, or if the number of
+     * matches is negative.
+     * @throws IOException if the directory itself cannot be read.
+     *
+     * @since 4.10.0
+     *
+     */
+    public Stream<Match> search(Path directory, long maxMatches, BiConsumer<Path, IOException> errorHandler,
+                                FileNameExtensionFilter... filters) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Fatal Error. 'directory'. Null is not allowed.");
+        }
+
+        if (maxMatches < 0) {
+            throw new IllegalArgumentException("Fatal Error. 'maxMatches'. Negative number is not allowed.");
+        }
+
+        if (errorHandler == null) {
+            throw new IllegalArgumentException("Fatal Error. 'errorHandler'. Null is not allowed.");
+        }
+
+        final Walk files = new Walk(directory, filters, errorHandler);
+        final Search search = new Search(files, maxMatches, errorHandler);
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(search, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        ).onClose(() -> {
+            search.cancel();
+            files.close();
+        });
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static boolean isAccepted(Path file, FileNameExtensionFilter[] filters) {
+        if (filters == null || filters.length == 0) {
+            return true;
+        }
+
+        for (FileNameExtensionFilter filter : filters) {
+            if (filter != null && filter.accept(file.toFile())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /*
+     * The lazy walk of the tree, depth first, for the regular files accepted by the filters. A directory which cannot
+     * be listed is reported and skipped.
+     */
+    private static final class Walk implements Iterator<Path> {
+        private final FileNameExtensionFilter[] filters;
+        private final BiConsumer<Path, IOException> errorHandler;
+
+        // The directories being listed, innermost last
+        private final Deque<Listing> listings = new ArrayDeque<>();
+
+        private Path next;
+
+        private Walk(Path start, FileNameExtensionFilter[] filters, BiConsumer<Path, IOException> errorHandler)
+                throws IOException {
+            this.filters = filters;
+            this.errorHandler = errorHandler;
+
+            // As with Files.walk, a start which cannot be read fails the search, and a link to it is not followed
+            if (Files.readAttributes(start, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isDirectory()) {
+                listings.add(new Listing(start, Files.newDirectoryStream(start)));
+            } else if (Files.isRegularFile(start) && isAccepted(start, filters)) {
+                next = start;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !listings.isEmpty()) {
+                final Listing listing = listings.getLast();
+                final Path path;
+
+                try {
+                    if (!listing.entries.hasNext()) {
+                        close(listings.removeLast());
+                        continue;
+                    }
+
+                    path = listing.entries.next();
+                } catch (DirectoryIteratorException e) {
+                    errorHandler.accept(listing.directory, e.getCause());
+                    close(listings.removeLast());
+                    continue;
+                }
+
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    try {
+                        listings.add(new Listing(path, Files.newDirectoryStream(path)));
+                    } catch (IOException e) {
+                        errorHandler.accept(path, e);
+                    }
+                } else if (Files.isRegularFile(path) && isAccepted(path, filters)) {
+                    next = path;
+                }
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public Path next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Path path = next;
+
+            next = null;
+
+            return path;
+        }
+
+        private void close() {
+            while (!listings.isEmpty()) {
+                close(listings.removeLast());
+            }
+        }
+
+        private void close(Listing listing) {
+            try {
+                listing.stream.close();
+            } catch (IOException e) {
+                errorHandler.accept(listing.directory, e);
+            }
+        }
+    }
+
+    private static final class Listing {
+        private final Path directory;
+        private final DirectoryStream<Path> stream;
+        private final Iterator<Path> entries;
+
+        private Listing(Path directory, DirectoryStream<Path> stream) {
+            this.directory = directory;
+            this.stream = stream;
+            this.entries = stream.iterator();
+        }
+    }
+
+    /*
+     * The scan of a file from an offset, for a batch of its next matches. A scan which fills its batch records where
+     * the next one resumes; one which fails records the error.
+     */
+    private final class FileScan extends RecursiveTask<List<Match>> {
+        private final Path file;
+        private final long from;
+        private final long maxMatches;
+        private final Search search;
+
+        private long resume = -1;
+        private IOException error;
+
+        private FileScan(Path file, long from, long maxMatches, Search search) {
+            this.file = file;
+            this.from = from;
+            this.maxMatches = maxMatches;
+            this.search = search;
+        }
+
+        @Override
+        protected List<Match> compute() {
+            final List<Match> matches = new ArrayList<>();
+
+            if (search.cancelled) {
+                return matches;
+            }
+
+            final long batchSize = Math.min(maxMatches, BATCH_SIZE);
+
+            try {
+                extractor.extract(file, from, (start, end) -> {
+                    matches.add(new Match(file, start, end));
+
+                    return matches.size() < batchSize && !search.cancelled;
+                });
+            } catch (IOException e) {
+                error = e;
+
+                return matches;
+            }
+
+            if (matches.size() == BATCH_SIZE && maxMatches > BATCH_SIZE) {
+                resume = matches.get(BATCH_SIZE - 1).end;
+            }
+
+            return matches;
+        }
+    }
+
+    /*
+     * The matches of the files, in order, keeping a few files ahead being scanned.
+     */
+    private final class Search implements Iterator<Match> {
+        private final Iterator<Path> files;
+        private final long maxMatches;
+        private final BiConsumer<Path, IOException> errorHandler;
+        private final int lookAhead;
+
+        private final Deque<FileScan> scans = new ArrayDeque<>();
+
+        private Iterator<Match> current = Collections.emptyIterator();
+        private long count;
+
+        private volatile boolean cancelled;
+
+        private Search(Iterator<Path> files, long maxMatches, BiConsumer<Path, IOException> errorHandler) {
+            this.files = files;
+            this.maxMatches = maxMatches;
+            this.errorHandler = errorHandler;
+            this.lookAhead = 2 * pool.getParallelism();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (count < maxMatches && !cancelled) {
+                if (current.hasNext()) {
+                    return true;
+                }
+
+                submitScans();
+
+                final FileScan scan = scans.poll();
+
+                if (scan == null) {
+                    return false;
+                }
+
+                final List<Match> matches = scan.join();
+
+                final long remaining = maxMatches - count - matches.size();
+
+                if (scan.error != null) {
+                    errorHandler.accept(scan.file, scan.error);
+                } else if (scan.resume >= 0 && remaining > 0) {
+                    // The rest of the file goes first, scanned while the batch is read
+                    submit(new FileScan(scan.file, scan.resume, remaining, this), true);
+                }
+
+                current = matches.iterator();
+            }
+
+            return false;
+        }
+
+        @Override
+        public Match next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            count++;
+
+            if (count == maxMatches) {
+                cancel();
+            }
+
+            return current.next();
+        }
+
+        private void submitScans() {
+            while (scans.size() < lookAhead && files.hasNext()) {
+                submit(new FileScan(files.next(), 0, maxMatches - count, this), false);
+            }
+        }
+
+        private void submit(FileScan scan, boolean first) {
+            pool.execute(scan);
+
+            if (first) {
+                scans.addFirst(scan);
+            } else {
+                scans.addLast(scan);
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+
+            for (FileScan scan : scans) {
+                scan.cancel(false);
+            }
+
+            scans.clear();
+        }
+    }
+}
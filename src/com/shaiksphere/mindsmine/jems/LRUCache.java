@@ -0,0 +1,346 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread-safe cache, bounded in size, which evicts a least recently used entry to make room for a new one.
+ * <br><br>
+ * Lookups take no lock, so that threads hitting the cache never wait on one another: a hit only marks its entry as
+ * referenced. Recency is approximated by the CLOCK, or second chance, algorithm: entries are kept in insertion order,
+ * and to make room the oldest entry is evicted, unless it was referenced since it was last considered, in which case
+ * it is unmarked and moved to the back. Additions and removals are serialized on the cache.
+ * <br><br>
+ * Every lookup is counted as a hit or a miss, and every entry dropped to respect the bound is counted as an eviction,
+ * so the effectiveness of the cache can be monitored. Values computed by a loader on a miss are computed outside of
+ * the lock of the cache; two threads missing on the same key at once may therefore both compute its value.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     LRUCache&lt;String, String&gt; cache = new LRUCache&lt;&gt;(10_000);
+ *
+ *     cache.get(url, URLHelper::normalize);
+ *     cache.getHitCount();
+ * </pre>
+ *
+ * @see <a href="@WIKI_URI@/Page_replacement_algorithm#Clock">Clock (Wikipedia)</a>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class LRUCache<K, V> {
+    private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+
+    // Every entry, oldest first; guarded by the lock of the cache
+    private final Deque<Entry<K, V>> clock = new ArrayDeque<>();
+
+    private volatile int maxSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates an empty cache holding at most the specified number of entries.
+     *
+     * @param maxSize the maximum number of entries.
+     *
+     * @throws IllegalArgumentException if the maximum size is not positive.
+     *
+     * @since 4.10.0
+     *
+     */
+    public LRUCache(int maxSize) {
+        checkMaxSize(maxSize);
+
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the value cached for the key, marking it as recently used.
+     *
+     * @param key the key to look up.
+     *
+     * @return the cached value, or <code>null</code> if there is none.
+     *
+     * @since 4.10.0
+     *
+     */
+    public V get(K key) {
+        final Entry<K, V> entry = entries.get(key);
+
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+
+        // Reading before writing keeps the cache line of a hot entry shared between the threads hitting it
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+
+        hitCount.increment();
+
+        return entry.value;
+    }
+
+    /**
+     * Returns the value cached for the key, computing and caching it on a miss.
+     *
+     * @param key the key to look up.
+     * @param loader the function computing the value of a key which is not cached. A <code>null</code> result is
+     *               returned but not cached.
+     *
+     * @return the cached or computed value.
+     *
+     * @since 4.10.0
+     *
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        final V cached = get(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final V value = loader.apply(key);
+
+        if (value != null) {
+            put(key, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Caches the value for the key, evicting a least recently used entry if the cache is full.
+     *
+     * @param key the key of the entry.
+     * @param value the value of the entry.
+     *
+     * @since 4.10.0
+     *
+     */
+    public synchronized void put(K key, V value) {
+        final Entry<K, V> existing = entries.get(key);
+
+        if (existing != null) {
+            existing.value = value;
+            existing.referenced = true;
+            return;
+        }
+
+        // Room is made first, so that the new entry, not yet referenced, is not the one evicted
+        evict(maxSize - 1);
+
+        final Entry<K, V> entry = new Entry<>(key, value);
+
+        entries.put(key, entry);
+        clock.addLast(entry);
+    }
+
+    /**
+     * Removes the entry of the key, if any.
+     *
+     * @param key the key of the entry.
+     *
+     * @return the removed value, or <code>null</code> if there was none.
+     *
+     * @since 4.10.0
+     *
+     */
+    public synchronized V remove(K key) {
+        final Entry<K, V> entry = entries.remove(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        clock.remove(entry);
+
+        return entry.value;
+    }
+
+    /**
+     * Removes every entry. The statistics are kept.
+     *
+     * @since 4.10.0
+     *
+     */
+    public synchronized void clear() {
+        entries.clear();
+        clock.clear();
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the number of entries.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     *
+     * @return the maximum number of entries.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Changes the maximum number of entries, evicting least recently used entries if there are too many.
+     *
+     * @param maxSize the maximum number of entries.
+     *
+     * @throws IllegalArgumentException if the maximum size is not positive.
+     *
+     * @since 4.10.0
+     *
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        checkMaxSize(maxSize);
+
+        this.maxSize = maxSize;
+
+        evict(maxSize);
+    }
+
+    /**
+     * Returns the number of lookups which found a cached value.
+     *
+     * @return the number of hits.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups which found no cached value.
+     *
+     * @return the number of misses.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted to respect the maximum size.
+     *
+     * @return the number of evictions.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns the ratio of hits to lookups.
+     *
+     * @return the hit rate, between <code>0</code> and <code>1</code>, or <code>0</code> if there was no lookup.
+     *
+     * @since 4.10.0
+     *
+     */
+    public double getHitRate() {
+        final long hits = hitCount.sum();
+        final long lookupCount = hits + missCount.sum();
+
+        return (lookupCount == 0) ? 0 : (double) hits / lookupCount;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counts to zero.
+     *
+     * @since 4.10.0
+     *
+     */
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static void checkMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Fatal Error. 'maxSize'. Only positive number is allowed.");
+        }
+    }
+
+    /*
+     * Sweeps the clock until the entries fit. Every entry is given at most one second chance per sweep, so that
+     * lookups marking entries at the same time cannot keep the sweep going.
+     */
+    private void evict(int maxSize) {
+        int chances = clock.size();
+
+        while (entries.size() > maxSize) {
+            final Entry<K, V> entry = clock.pollFirst();
+
+            if (entry.referenced && chances-- > 0) {
+                entry.referenced = false;
+                clock.addLast(entry);
+            } else {
+                entries.remove(entry.key);
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+
+        private volatile V value;
+        private volatile boolean referenced;
+
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A deterministic automaton of an {@link NFA} whose states are built only as the input reaches them, and then cached,
+ * so that a match costs a table lookup per character once the cache is warm.
+ * <br><br>
+ * Every step is linear in the size of the {@link NFA}, so a match is linear in the length of the input. Once the cache
+ * holds its largest number of states, the rest of an input is matched by following the sets of states of the
+ * {@link NFA} directly, without caching them.
+ * <br><br>
+ * A state is numbered <code>4 * row</code>, plus <code>1</code> if it accepts at the end of the input, plus
+ * <code>2</code> if it accepts whether or not the input ends there, so that a search may stop early. The table of
+ * transitions is read without locking: it is only replaced as a whole through a <code>volatile</code> field, and its
+ * entries only change from unknown to a state whose row is already in the table, under the lock which builds states.
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+final class LazyDFA {
+    /**
+     * The target of a transition which no input leads to a match from.
+     */
+    static final int DEAD = -1;
+
+    private static final int UNKNOWN = -2;
+    private static final int FULL = -3;
+
+    private final NFA nfa;
+    private final boolean unanchored;
+    private final int maxStates;
+
+    private final CharClasses classes;
+    private final int columnCount;
+
+    private final Map<NFA.StateSet, Integer> rows = new HashMap<>();
+    private final List<NFA.StateSet> sets = new ArrayList<>();
+
+    private volatile int[] transitions;
+
+    private final int start;
+
+    /**
+     * Creates an automaton of the {@link NFA}, without any state but the initial one.
+     *
+     * @param nfa the automaton to follow.
+     * @param unanchored whether a match may start anywhere in the input, as in a search.
+     * @param maxStates the largest number of states to cache.
+     */
+    LazyDFA(NFA nfa, boolean unanchored, int maxStates) {
+        this.nfa = nfa;
+        this.unanchored = unanchored;
+        this.maxStates = maxStates;
+        this.classes = nfa.getClasses();
+        this.columnCount = classes.getColumnCount();
+        this.transitions = new int[0];
+
+        final NFA.StateSet startSet = nfa.getStartSet();
+
+        this.start = numberOf(startSet, addRow(startSet));
+    }
+
+    /**
+     * Returns the initial state.
+     *
+     * @return the state before any input is read.
+     */
+    int getStart() {
+        return start;
+    }
+
+    /**
+     * Returns whether the state accepts the input read so far.
+     *
+     * @param state the state.
+     *
+     * @return if the state is accepting
+     */
+    static boolean isAccepting(int state) {
+        return (state & 1) != 0;
+    }
+
+    /**
+     * Returns whether the state accepts the input read so far, whether or not the input ends there.
+     *
+     * @param state the state.
+     *
+     * @return if the state is matching
+     */
+    static boolean isMatching(int state) {
+        return (state & 2) != 0;
+    }
+
+    /**
+     * Returns the number of cached states.
+     *
+     * @return the number of states built so far.
+     */
+    synchronized int getStateCount() {
+        return sets.size();
+    }
+
+    /**
+     * Returns whether the input matches: the whole input if the automaton is anchored, or any part of it otherwise.
+     *
+     * @param input the input.
+     * @param from the index of the first character to read.
+     * @param to the index after the last character to read.
+     *
+     * @return if the input matches
+     */
+    boolean run(CharSequence input, int from, int to) {
+        int[] table = transitions;
+        int state = start;
+
+        for (int i = from; i < to; i++) {
+            if (unanchored && isMatching(state)) {
+                return true;
+            }
+
+            final int column = classes.getColumn(input.charAt(i));
+
+            int next = table[(state >>> 2) * columnCount + column];
+
+            if (next == UNKNOWN) {
+                next = computeNext(state, column);
+
+                if (next == FULL) {
+                    return simulate(input, i, to, getSet(state));
+                }
+
+                table = transitions;
+            }
+
+            if (next == DEAD) {
+                return false;
+            }
+
+            state = next;
+        }
+
+        return isAccepting(state);
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static int numberOf(NFA.StateSet set, int row) {
+        return 4 * row + (set.accepting ? 1 : 0) + (set.matching ? 2 : 0);
+    }
+
+    private synchronized NFA.StateSet getSet(int state) {
+        return sets.get(state >>> 2);
+    }
+
+    /*
+     * Builds the transition of the state on the column, under the lock, or returns FULL if it leads to a new state
+     * which the cache has no room for.
+     */
+    private synchronized int computeNext(int state, int column) {
+        final int index = (state >>> 2) * columnCount + column;
+        final int known = transitions[index];
+
+        if (known != UNKNOWN) {
+            return known;
+        }
+
+        final NFA.StateSet next = nfa.getNextSet(sets.get(state >>> 2), classes.getRepresentative(column), unanchored);
+
+        final int target;
+
+        if (next.isEmpty() && !next.accepting) {
+            target = DEAD;
+        } else {
+            Integer row = rows.get(next);
+
+            if (row == null) {
+                if (sets.size() == maxStates) {
+                    return FULL;
+                }
+
+                row = addRow(next);
+            }
+
+            target = numberOf(next, row);
+        }
+
+        transitions[index] = target;
+
+        return target;
+    }
+
+    /*
+     * Adds a row of unknown transitions, publishing a grown table before any transition leads to the row.
+     */
+    private int addRow(NFA.StateSet set) {
+        final int row = sets.size();
+
+        sets.add(set);
+        rows.put(set, row);
+
+        final int[] table = transitions;
+
+        if ((row + 1) * columnCount > table.length) {
+            final int[] grown = Arrays.copyOf(table, Math.max(8, 2 * (row + 1)) * columnCount);
+
+            Arrays.fill(grown, table.length, grown.length, UNKNOWN);
+
+            transitions = grown;
+        }
+
+        return row;
+    }
+
+    private boolean simulate(CharSequence input, int from, int to, NFA.StateSet set) {
+        NFA.StateSet current = set;
+
+        for (int i = from; i < to; i++) {
+            if (unanchored && current.matching) {
+                return true;
+            }
+
+            current = nfa.getNextSet(current, input.charAt(i), unanchored);
+
+            if (current.isEmpty() && !current.accepting) {
+                return false;
+            }
+        }
+
+        return current.accepting;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+/**
+ * A regex compiled for matching in time linear in the length of the input, whatever the regex, so that untrusted
+ * regexes cannot cause catastrophic backtracking.
+ * <br><br>
+ * The regex is built into a Thompson automaton, whose sets of states are followed in step with the input, never
+ * backtracking. The sets of states reached are cached as the states of a deterministic automaton, built lazily, so
+ * that a warm pattern matches with a table lookup per character. The cache holds up to
+ * {@link LinearPattern#MAX_CACHED_STATES} states; beyond that, inputs are still matched in linear time, without
+ * caching.
+ * <br><br>
+ * Only the regular subset of the {@link java.util.regex.Pattern} syntax is supported; the unsupported constructs of a
+ * regex are listed by {@link RegExHelper#findUnsupportedConstructs(String)}. A pattern is thread-safe, and is best
+ * shared, so that its cache is too.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     LinearPattern pattern = RegExHelper.compileLinear("(a|aa)*b");
+ *
+ *     pattern.matches("aaaab");                       // true
+ *     pattern.find("xxaabxx");                        // true
+ *     pattern.matches("aaaaaaaaaaaaaaaaaaaaaaaaaa");  // false, in linear time
+ * </pre>
+ *
+ * @see <a href="@WIKI_URI@/Thompson%27s_construction">Thompson's construction (Wikipedia)</a>
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class LinearPattern {
+    /**
+     * The largest number of states cached by each of the automata of a pattern.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final int MAX_CACHED_STATES = 4096;
+
+    private final String regex;
+
+    private final LazyDFA matcher;
+    private final LazyDFA finder;
+
+    /*
+     * Compiled through RegExHelper.compileLinear.
+     */
+    LinearPattern(String regex) {
+        final NFA nfa = NFA.of(RegexParser.parse(regex));
+
+        this.regex = regex;
+        this.matcher = new LazyDFA(nfa, false, MAX_CACHED_STATES);
+        this.finder = new LazyDFA(nfa, true, MAX_CACHED_STATES);
+    }
+
+    /**
+     * Returns the regex of the pattern.
+     *
+     * @return the regex.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    /**
+     * Returns <code>true</code> if the whole input matches the pattern, <code>false</code> otherwise.
+     *
+     * @param input to match
+     *
+     * @return if the input matches, or <code>false</code> if it is <code>null</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    public boolean matches(CharSequence input) {
+        return input != null && matcher.run(input, 0, input.length());
+    }
+
+    /**
+     * Returns <code>true</code> if any part of the input matches the pattern, <code>false</code> otherwise.
+     *
+     * @param input to search
+     *
+     * @return if a match is found, or <code>false</code> if the input is <code>null</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    public boolean find(CharSequence input) {
+        return input != null && finder.run(input, 0, input.length());
+    }
+
+    /**
+     * Returns the number of states cached so far, for {@link LinearPattern#matches(CharSequence)} and
+     * {@link LinearPattern#find(CharSequence)} together.
+     *
+     * @return the number of cached states.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getCachedStateCount() {
+        return matcher.getStateCount() + finder.getStateCount();
+    }
+
+    /**
+     * Returns the regex of the pattern.
+     *
+     * @return the regex.
+     *
+     * @since 4.10.0
+     *
+     */
+    @Override
+    public String toString() {
+        return regex;
+    }
+}
@@ -0,0 +1,619 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A scanner of a stream of bytes for the leftmost-longest, non-overlapping, non-empty matches of a regex, fed one
+ * buffer at a time, so that matches may span buffers.
+ * <br><br>
+ * The scanner follows the states of an {@link NFA} in step with the input, each tagged with the position where its
+ * match started, keeping the earliest one when two reach the same state. A match is reported once no state which
+ * started at or before it is left, and the search then resumes at its end. The few bytes read past the end of the
+ * pending match are kept across buffers, to be read again. Every byte is read as an ISO-8859-1 character.
+ * <br><br>
+ * The states of the {@link NFA} which started at the same position form a group, so that the live states, their
+ * groups and whether a match is pending make up a state of a deterministic automaton, built only as the input reaches
+ * it and then cached, as in {@link LazyDFA}. A transition tells which group every new group comes from, so that only
+ * the start positions of the groups are tracked while reading.
+ * <br><br>
+ * New matches may be limited to start before a position, so that the input may be split into chunks, each scanned
+ * up to its end, and the matches left open there found by scanning on from the last match reported. Such a scan may
+ * end as soon as it reaches a position past the chunk where it starts over, as a new scan from there would.
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+final class MatchScanner {
+    /**
+     * The largest number of states a program caches, after which it starts over.
+     */
+    static final int MAX_CACHED_STATES = 4096;
+
+    /**
+     * The tables of a regex, over bytes, and the states built from them.
+     */
+    static final class Program {
+        // Whether every thread, a state which reads a character, reads every byte, at thread * 256 + byte
+        private final boolean[] reads;
+
+        // The threads reached once every thread has read a byte, and whether a match ends there
+        private final int[][] follows;
+        private final boolean[] followMatches;
+
+        // The threads of a match starting, and the bytes any of them reads
+        private final int[] startThreads;
+        private final boolean[] startBytes = new boolean[256];
+
+        private final Map<State, State> states = new HashMap<>();
+
+        // The state where a match may start, and the one where none may
+        private final State startState;
+        private final State idleState;
+
+        /**
+         * Builds the tables of the automaton.
+         *
+         * @param nfa the automaton, whose anchors are ignored.
+         */
+        Program(NFA nfa) {
+            final Map<Integer, Integer> numbers = new HashMap<>();
+            final List<Integer> nfaStates = new ArrayList<>();
+
+            final NFA.StateSet startSet = nfa.getStartSet();
+
+            this.startThreads = number(startSet.states, numbers, nfaStates);
+
+            final List<int[]> followList = new ArrayList<>();
+            final List<Boolean> matchList = new ArrayList<>();
+
+            for (int thread = 0; thread < nfaStates.size(); thread++) {
+                final NFA.StateSet followSet = nfa.getFollowSet(nfaStates.get(thread));
+
+                followList.add(number(followSet.states, numbers, nfaStates));
+                matchList.add(followSet.matching);
+            }
+
+            final int threadCount = nfaStates.size();
+
+            this.reads = new boolean[threadCount * 256];
+            this.follows = followList.toArray(new int[0][]);
+            this.followMatches = new boolean[threadCount];
+
+            for (int thread = 0; thread < threadCount; thread++) {
+                followMatches[thread] = matchList.get(thread);
+
+                for (int b = 0; b < 256; b++) {
+                    reads[thread * 256 + b] = nfa.reads(nfaStates.get(thread), (char) b);
+                }
+            }
+
+            for (int thread : startThreads) {
+                for (int b = 0; b < 256; b++) {
+                    startBytes[b] |= reads[thread * 256 + b];
+                }
+            }
+
+            this.startState = new State(startThreads, new int[startThreads.length], false, true);
+            this.idleState = new State(new int[0], new int[0], false, false);
+
+            states.put(startState, startState);
+            states.put(idleState, idleState);
+        }
+
+        /**
+         * Returns the number of cached states.
+         *
+         * @return the number of states built since the cache last started over.
+         */
+        synchronized int getStateCount() {
+            return states.size();
+        }
+
+        private static int[] number(int[] nfaStates, Map<Integer, Integer> numbers, List<Integer> states) {
+            final int[] threads = new int[nfaStates.length];
+
+            for (int i = 0; i < nfaStates.length; i++) {
+                Integer thread = numbers.get(nfaStates[i]);
+
+                if (thread == null) {
+                    thread = states.size();
+                    numbers.put(nfaStates[i], thread);
+                    states.add(nfaStates[i]);
+                }
+
+                threads[i] = thread;
+            }
+
+            return threads;
+        }
+
+        /*
+         * Returns the cached state equal to the given one, caching it if there is none. Once the cache is full, it
+         * starts over, and the states already handed out stay valid.
+         */
+        private State intern(State state) {
+            final State known = states.get(state);
+
+            if (known != null) {
+                return known;
+            }
+
+            if (states.size() >= MAX_CACHED_STATES) {
+                states.clear();
+                states.put(startState, startState);
+                states.put(idleState, idleState);
+            }
+
+            states.put(state, state);
+
+            return state;
+        }
+
+        /*
+         * Returns the state with the same threads, from which no new match starts.
+         */
+        private synchronized State withoutStarts(State state) {
+            return intern(new State(state.threads, state.groups, state.pending, false));
+        }
+
+        /*
+         * Builds the transition of the state on the byte, under the lock, following the threads in order of the start
+         * of their match, and dropping those which started after a match found on the byte.
+         */
+        private synchronized Transition computeTransition(State from, int b) {
+            final Transition known = from.next[b];
+
+            if (known != null) {
+                return known;
+            }
+
+            final int capacity = followMatches.length;
+            final boolean[] seen = new boolean[capacity];
+            final int[] threads = new int[capacity];
+            final int[] oldGroups = new int[capacity];
+
+            int count = 0;
+            int matchGroup = -1;
+
+            for (int i = 0; i < from.threads.length; i++) {
+                final int thread = from.threads[i];
+                final int group = from.groups[i];
+
+                if (matchGroup >= 0 && group > matchGroup) {
+                    break;
+                }
+
+                if (!reads[thread * 256 + b]) {
+                    continue;
+                }
+
+                if (followMatches[thread] && matchGroup < 0) {
+                    matchGroup = group;
+                }
+
+                for (int next : follows[thread]) {
+                    if (!seen[next]) {
+                        seen[next] = true;
+                        threads[count] = next;
+                        oldGroups[count++] = group;
+                    }
+                }
+            }
+
+            final boolean pending = from.pending || matchGroup >= 0;
+
+            final int[] groups = new int[capacity];
+            final int[] sources = new int[count + 1];
+
+            int groupCount = 0;
+
+            for (int i = 0; i < count; i++) {
+                if (groupCount == 0 || sources[groupCount - 1] != oldGroups[i]) {
+                    sources[groupCount++] = oldGroups[i];
+                }
+
+                groups[i] = groupCount - 1;
+            }
+
+            if (!pending && from.starting) {
+                boolean started = false;
+
+                for (int thread : startThreads) {
+                    if (!seen[thread]) {
+                        seen[thread] = true;
+                        threads[count] = thread;
+                        groups[count++] = groupCount;
+                        started = true;
+                    }
+                }
+
+                if (started) {
+                    sources[groupCount++] = -1;
+                }
+            }
+
+            final State target = intern(new State(Arrays.copyOf(threads, count), Arrays.copyOf(groups, count),
+                    pending, from.starting));
+
+            final Transition transition = new Transition(target, Arrays.copyOf(sources, groupCount), matchGroup);
+
+            from.next[b] = transition;
+
+            return transition;
+        }
+    }
+
+    /*
+     * The live threads, in order of the start of their match, with the group of every thread numbered from 0 in the
+     * same order. Its transitions are only set under the lock of the program, and read without it, which is safe as
+     * a transition is immutable.
+     */
+    private static final class State {
+        private final int[] threads;
+        private final int[] groups;
+        private final boolean pending;
+        private final boolean starting;
+
+        private final Transition[] next = new Transition[256];
+
+        private final int hash;
+
+        private State(int[] threads, int[] groups, boolean pending, boolean starting) {
+            this.threads = threads;
+            this.groups = groups;
+            this.pending = pending;
+            this.starting = starting;
+            this.hash = 31 * (31 * Arrays.hashCode(threads) + Arrays.hashCode(groups))
+                    + (pending ? 2 : 0) + (starting ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof State)) {
+                return false;
+            }
+
+            final State other = (State) o;
+
+            return hash == other.hash && pending == other.pending && starting == other.starting
+                    && Arrays.equals(threads, other.threads) && Arrays.equals(groups, other.groups);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /*
+     * The target of a transition, the group every group of the target comes from, or -1 for a match starting after
+     * the byte, and the group of a match ending on the byte, or -1 if none.
+     */
+    private static final class Transition {
+        private final State target;
+        private final int[] sources;
+        private final int matchGroup;
+
+        private Transition(State target, int[] sources, int matchGroup) {
+            this.target = target;
+            this.sources = sources;
+            this.matchGroup = matchGroup;
+        }
+    }
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final Program program;
+    private final long startLimit;
+    private final long idleLimit;
+    private final PatternExtractor.MatchHandler handler;
+
+    private State state;
+
+    // The position where the match of every group of the state started
+    private long[] groupStarts;
+    private long[] nextGroupStarts;
+
+    private long position;
+    private long inputEnd;
+
+    // The pending match, if its start is not negative
+    private long matchStart = -1;
+    private long matchEnd;
+
+    // The bytes read since the end of the pending match, before the current buffer
+    private byte[] carry = new byte[0];
+    private long carryStart;
+
+    private long matchCount;
+    private long readCount;
+    private boolean stopped;
+
+    /**
+     * Creates a scanner.
+     *
+     * @param program the tables of the regex.
+     * @param position the position of the first byte to read.
+     * @param startLimit the position from which no new match may start.
+     * @param handler the handler of the matches.
+     */
+    MatchScanner(Program program, long position, long startLimit, PatternExtractor.MatchHandler handler) {
+        this(program, position, startLimit, Long.MAX_VALUE, handler);
+    }
+
+    /**
+     * Creates a scanner which ends once it starts over at or after a position.
+     *
+     * @param program the tables of the regex.
+     * @param position the position of the first byte to read.
+     * @param startLimit the position from which no new match may start.
+     * @param idleLimit the position from which the scan ends as soon as no match is pending or under way.
+     * @param handler the handler of the matches.
+     */
+    MatchScanner(Program program, long position, long startLimit, long idleLimit,
+                 PatternExtractor.MatchHandler handler) {
+        final int groupCapacity = program.followMatches.length + 1;
+
+        this.program = program;
+        this.startLimit = startLimit;
+        this.idleLimit = idleLimit;
+        this.handler = handler;
+        this.groupStarts = new long[groupCapacity];
+        this.nextGroupStarts = new long[groupCapacity];
+        this.position = position;
+        this.inputEnd = position;
+
+        restart();
+    }
+
+    /**
+     * Returns the number of matches reported.
+     *
+     * @return the number of matches.
+     */
+    long getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Returns the number of bytes read, counting a byte read again after a match as often as it is read.
+     *
+     * @return the number of bytes read.
+     */
+    long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * Returns the position of the next byte to read, which is the end of the input once finished, unless the scan
+     * ended before it.
+     *
+     * @return the position of the scanner.
+     */
+    long getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns whether the handler has stopped the scan.
+     *
+     * @return if the handler returned <code>false</code>
+     */
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Returns whether no further match may be reported, whatever the rest of the input.
+     *
+     * @return if the scan is complete
+     */
+    boolean isDone() {
+        return stopped || (!state.starting && state.threads.length == 0 && matchStart < 0) || isIdle();
+    }
+
+    /**
+     * Reads the bytes of the buffer, from the position of the scanner.
+     *
+     * @param buffer the bytes, from index <code>0</code> to its limit, read with absolute gets.
+     * @param bufferStart the position of the first byte of the buffer, right after the bytes fed before, if any.
+     *
+     * @return whether the rest of the input is still needed.
+     */
+    boolean feed(ByteBuffer buffer, long bufferStart) {
+        final long bufferEnd = bufferStart + buffer.limit();
+
+        inputEnd = bufferEnd;
+
+        while (position < bufferEnd && !isDone()) {
+            if (state == program.startState && groupStarts[0] == position && position >= bufferStart) {
+                skip(buffer, bufferStart, bufferEnd);
+
+                if (position == bufferEnd) {
+                    break;
+                }
+            }
+
+            final int b = (position >= bufferStart)
+                    ? buffer.get((int) (position - bufferStart))
+                    : carry[(int) (position - carryStart)];
+
+            step(b & 0xff);
+        }
+
+        keepCarry(buffer, bufferStart, bufferEnd);
+
+        return !isDone();
+    }
+
+    /**
+     * Reports the pending matches at the end of the input.
+     */
+    void finish() {
+        while (!stopped && matchStart >= 0) {
+            reportMatch();
+            feed(EMPTY, inputEnd);
+        }
+
+        if (!isIdle()) {
+            state = program.idleState;
+            position = inputEnd;
+        }
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    /*
+     * Returns whether the scan has started over at or after the idle limit, where it ends.
+     */
+    private boolean isIdle() {
+        return position >= idleLimit && state == program.startState && groupStarts[0] == position;
+    }
+
+    /*
+     * Starts the search over at the position, with a match starting there if it may.
+     */
+    private void restart() {
+        matchStart = -1;
+
+        if (position < startLimit) {
+            state = program.startState;
+            groupStarts[0] = position;
+        } else {
+            state = program.idleState;
+        }
+    }
+
+    /*
+     * While only threads starting at the position are live, which the start state may also hold after a match failed
+     * to get past its first threads, skips the bytes which none of them reads, up to the last
+     * position a match may start at.
+     */
+    private void skip(ByteBuffer buffer, long bufferStart, long bufferEnd) {
+        final long end = Math.min(bufferEnd, startLimit - 1);
+        final boolean[] startBytes = program.startBytes;
+
+        long skipped = position;
+
+        while (skipped < end && !startBytes[buffer.get((int) (skipped - bufferStart)) & 0xff]) {
+            skipped++;
+        }
+
+        readCount += skipped - position;
+        position = skipped;
+        groupStarts[0] = skipped;
+    }
+
+    private void step(int b) {
+        State current = state;
+
+        readCount++;
+
+        if (current.starting && position + 1 >= startLimit) {
+            current = program.withoutStarts(current);
+        }
+
+        Transition transition = current.next[b];
+
+        if (transition == null) {
+            transition = program.computeTransition(current, b);
+        }
+
+        final long end = position + 1;
+
+        if (transition.matchGroup >= 0) {
+            matchStart = groupStarts[transition.matchGroup];
+            matchEnd = end;
+        }
+
+        final int[] sources = transition.sources;
+        final long[] starts = groupStarts;
+        final long[] nextStarts = nextGroupStarts;
+
+        for (int i = 0; i < sources.length; i++) {
+            final int source = sources[i];
+
+            nextStarts[i] = (source < 0) ? end : starts[source];
+        }
+
+        groupStarts = nextStarts;
+        nextGroupStarts = starts;
+
+        state = transition.target;
+        position = end;
+
+        if (matchStart >= 0 && state.threads.length == 0) {
+            reportMatch();
+        }
+    }
+
+    /*
+     * Reports the pending match, and resumes the search at its end.
+     */
+    private void reportMatch() {
+        matchCount++;
+
+        if (!handler.onMatch(matchStart, matchEnd)) {
+            stopped = true;
+        }
+
+        position = matchEnd;
+
+        restart();
+    }
+
+    /*
+     * Keeps the bytes from the end of the pending match, which may have to be read again.
+     */
+    private void keepCarry(ByteBuffer buffer, long bufferStart, long bufferEnd) {
+        if (matchStart < 0 || stopped) {
+            carry = new byte[0];
+            carryStart = bufferEnd;
+            return;
+        }
+
+        final byte[] kept = new byte[(int) (bufferEnd - matchEnd)];
+
+        int index = 0;
+
+        for (long p = matchEnd; p < bufferStart; p++) {
+            kept[index++] = carry[(int) (p - carryStart)];
+        }
+
+        final int from = (int) (Math.max(matchEnd, bufferStart) - bufferStart);
+
+        buffer.get(from, kept, index, kept.length - index);
+
+        carry = kept;
+        carryStart = matchEnd;
+    }
+}
@@ -0,0 +1,455 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A nondeterministic finite automaton built from a syntax tree of {@link RegexParser} by Thompson's construction, from
+ * which sets of states are followed in step with the input, so that a match never backtracks.
+ * <br><br>
+ * The sets of states reached may be cached as the states of a {@link DFA}, either all at once, or one at a time as
+ * the input reaches them.
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+final class NFA {
+    /**
+     * The largest supported number of states.
+     */
+    static final int MAX_STATES = 100_000;
+
+    private static final int CHARS = 0;
+    private static final int SPLIT = 1;
+    private static final int BEGIN = 2;
+    private static final int END = 3;
+    private static final int MATCH = 4;
+
+    private int[] kinds = new int[16];
+    private int[][] ranges = new int[16][];
+    private int[] nexts = new int[16];
+    private int[] alternates = new int[16];
+
+    private int stateCount;
+    private int start;
+
+    private boolean anchored;
+
+    private final TreeSet<Integer> boundaries = new TreeSet<>();
+
+    private CharClasses classes;
+
+    private NFA() {
+    }
+
+    /**
+     * A set of states reached by the input read so far.
+     */
+    static final class StateSet {
+        // The sorted states which read a character
+        final int[] states;
+
+        // Whether the input read so far matches, if it ends here
+        final boolean accepting;
+
+        // Whether the input read so far matches, whether or not it ends here, as '$' is not reached
+        final boolean matching;
+
+        private final int hash;
+
+        private StateSet(int[] states, boolean accepting, boolean matching) {
+            this.states = states;
+            this.accepting = accepting;
+            this.matching = matching;
+            this.hash = 31 * Arrays.hashCode(states) + (accepting ? 1 : 0) + (matching ? 2 : 0);
+        }
+
+        /**
+         * Returns whether no further input may be accepted.
+         *
+         * @return if no state reads a character
+         */
+        boolean isEmpty() {
+            return states.length == 0;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof StateSet)) {
+                return false;
+            }
+
+            final StateSet other = (StateSet) obj;
+
+            return accepting == other.accepting && matching == other.matching && Arrays.equals(states, other.states);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Builds the automaton of the syntax tree.
+     *
+     * @param root the root of the syntax tree.
+     *
+     * @return the automaton.
+     *
+     * @throws IllegalArgumentException if the automaton has more than {@link NFA#MAX_STATES} states.
+     */
+    static NFA of(RegexParser.Node root) {
+        return of(root, true);
+    }
+
+    /**
+     * Builds the automaton of the syntax tree, optionally ignoring its anchors, so that a regex written to match a
+     * whole input may be searched for within a larger one.
+     *
+     * @param root the root of the syntax tree.
+     * @param anchored whether '<code>^</code>', '<code>$</code>', <code>\A</code> and <code>\z</code> are kept;
+     * otherwise, they match everywhere.
+     *
+     * @return the automaton.
+     *
+     * @throws IllegalArgumentException if the automaton has more than {@link NFA#MAX_STATES} states.
+     */
+    static NFA of(RegexParser.Node root, boolean anchored) {
+        final NFA nfa = new NFA();
+
+        nfa.anchored = anchored;
+        nfa.start = nfa.compile(root, nfa.addState(MATCH, null, -1, -1));
+        nfa.classes = CharClasses.of(nfa.boundaries);
+
+        return nfa;
+    }
+
+    /**
+     * Returns the partition of the characters which the automaton never tells apart.
+     *
+     * @return the partition.
+     */
+    CharClasses getClasses() {
+        return classes;
+    }
+
+    /**
+     * Returns the states reached before reading any input.
+     *
+     * @return the initial set of states.
+     */
+    StateSet getStartSet() {
+        final BitSet marks = new BitSet();
+
+        marks.set(2 * start);
+
+        return close(marks, true);
+    }
+
+    /**
+     * Returns the states reached from the set of states on the character.
+     *
+     * @param set the set of states.
+     * @param c the character read.
+     * @param unanchored whether a match may also start after the character, as in a search.
+     *
+     * @return the next set of states.
+     */
+    StateSet getNextSet(StateSet set, char c, boolean unanchored) {
+        final BitSet marks = new BitSet();
+
+        if (unanchored) {
+            marks.set(2 * start);
+        }
+
+        for (int state : set.states) {
+            if (contains(ranges[state], c)) {
+                marks.set(2 * nexts[state]);
+            }
+        }
+
+        return close(marks, false);
+    }
+
+    /**
+     * Returns whether the state reads the character, if it is a state which reads one.
+     *
+     * @param state a state of {@link StateSet#states}.
+     * @param c the character.
+     *
+     * @return if the state reads the character
+     */
+    boolean reads(int state, char c) {
+        return contains(ranges[state], c);
+    }
+
+    /**
+     * Returns the states reached once the state has read a character, not at the start of the input.
+     *
+     * @param state a state of {@link StateSet#states}.
+     *
+     * @return the next set of states.
+     */
+    StateSet getFollowSet(int state) {
+        final BitSet marks = new BitSet();
+
+        marks.set(2 * nexts[state]);
+
+        return close(marks, false);
+    }
+
+    /**
+     * Builds the deterministic automaton of every set of states which the input may reach.
+     *
+     * @param maxStates the largest number of states allowed.
+     *
+     * @return the deterministic automaton.
+     *
+     * @throws IllegalArgumentException if the deterministic automaton has more than <code>maxStates</code> states.
+     */
+    DFA toDFA(int maxStates) {
+        final int columnCount = classes.getColumnCount();
+        final Map<StateSet, Integer> numbers = new HashMap<>();
+        final List<StateSet> sets = new ArrayList<>();
+        final ArrayDeque<StateSet> queue = new ArrayDeque<>();
+
+        final StateSet startSet = getStartSet();
+
+        numbers.put(startSet, 0);
+        sets.add(startSet);
+        queue.add(startSet);
+
+        int[] transitions = new int[16 * columnCount];
+
+        while (!queue.isEmpty()) {
+            final StateSet set = queue.poll();
+            final int row = numbers.get(set) * columnCount;
+
+            if (row + columnCount > transitions.length) {
+                transitions = Arrays.copyOf(transitions, 2 * transitions.length);
+            }
+
+            for (int column = 0; column < columnCount; column++) {
+                final StateSet next = getNextSet(set, classes.getRepresentative(column), false);
+
+                if (next.isEmpty() && !next.accepting) {
+                    transitions[row + column] = DFA.DEAD;
+                    continue;
+                }
+
+                Integer number = numbers.get(next);
+
+                if (number == null) {
+                    if (sets.size() == maxStates) {
+                        throw new IllegalArgumentException(
+                                "Fatal Error. 'regex'. The automaton has more than " + maxStates + " states.");
+                    }
+
+                    number = sets.size();
+                    numbers.put(next, number);
+                    sets.add(next);
+                    queue.add(next);
+                }
+
+                transitions[row + column] = number;
+            }
+        }
+
+        final boolean[] accepting = new boolean[sets.size()];
+
+        for (int i = 0; i < accepting.length; i++) {
+            accepting[i] = sets.get(i).accepting;
+        }
+
+        return new DFA(classes, Arrays.copyOf(transitions, accepting.length * columnCount), accepting);
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private int addState(int kind, int[] stateRanges, int next, int alternate) {
+        if (stateCount == MAX_STATES) {
+            throw new IllegalArgumentException(
+                    "Fatal Error. 'regex'. The automaton has more than " + MAX_STATES + " states.");
+        }
+
+        if (stateCount == kinds.length) {
+            final int capacity = 2 * stateCount;
+
+            kinds = Arrays.copyOf(kinds, capacity);
+            ranges = Arrays.copyOf(ranges, capacity);
+            nexts = Arrays.copyOf(nexts, capacity);
+            alternates = Arrays.copyOf(alternates, capacity);
+        }
+
+        kinds[stateCount] = kind;
+        ranges[stateCount] = stateRanges;
+        nexts[stateCount] = next;
+        alternates[stateCount] = alternate;
+
+        return stateCount++;
+    }
+
+    /*
+     * Compiles the node to states which continue to the next state, returning the entry state.
+     */
+    private int compile(RegexParser.Node node, int next) {
+        switch (node.kind) {
+            case RegexParser.Node.CHARS:
+                for (int i = 0; i < node.ranges.length; i += 2) {
+                    boundaries.add(node.ranges[i]);
+                    boundaries.add(node.ranges[i + 1] + 1);
+                }
+
+                return addState(CHARS, node.ranges, next, -1);
+            case RegexParser.Node.CONCAT: {
+                int entry = next;
+
+                for (int i = node.children.size() - 1; i >= 0; i--) {
+                    entry = compile(node.children.get(i), entry);
+                }
+
+                return entry;
+            }
+            case RegexParser.Node.ALTERNATE: {
+                int entry = compile(node.children.get(node.children.size() - 1), next);
+
+                for (int i = node.children.size() - 2; i >= 0; i--) {
+                    entry = addState(SPLIT, null, compile(node.children.get(i), next), entry);
+                }
+
+                return entry;
+            }
+            case RegexParser.Node.REPEAT: {
+                final RegexParser.Node child = node.children.get(0);
+
+                int entry;
+
+                if (node.max < 0) {
+                    final int loop = addState(SPLIT, null, -1, next);
+
+                    final int body = compile(child, loop);
+
+                    nexts[loop] = body;
+                    entry = loop;
+                } else {
+                    entry = next;
+
+                    for (int i = node.min; i < node.max; i++) {
+                        entry = addState(SPLIT, null, compile(child, entry), next);
+                    }
+                }
+
+                for (int i = 0; i < node.min; i++) {
+                    entry = compile(child, entry);
+                }
+
+                return entry;
+            }
+            case RegexParser.Node.BEGIN:
+                return anchored ? addState(BEGIN, null, next, -1) : next;
+            case RegexParser.Node.END:
+                return anchored ? addState(END, null, next, -1) : next;
+            default:
+                return next;
+        }
+    }
+
+    /*
+     * Follows every transition which reads no character from the marked states. A state is marked at 2 * state, or at
+     * 2 * state + 1 once the end of the input has been asserted, after which no character may be read.
+     */
+    private StateSet close(BitSet marks, boolean atStart) {
+        final ArrayDeque<Integer> stack = new ArrayDeque<>();
+
+        for (int mark = marks.nextSetBit(0); mark >= 0; mark = marks.nextSetBit(mark + 1)) {
+            stack.push(mark);
+        }
+
+        final BitSet consuming = new BitSet();
+
+        boolean accepting = false;
+        boolean matching = false;
+
+        while (!stack.isEmpty()) {
+            final int mark = stack.pop();
+            final int state = mark >>> 1;
+            final int ended = mark & 1;
+
+            switch (kinds[state]) {
+                case CHARS:
+                    if (ended == 0) {
+                        consuming.set(state);
+                    }
+
+                    break;
+                case SPLIT:
+                    push(marks, stack, 2 * nexts[state] + ended);
+                    push(marks, stack, 2 * alternates[state] + ended);
+                    break;
+                case BEGIN:
+                    if (atStart) {
+                        push(marks, stack, 2 * nexts[state] + ended);
+                    }
+
+                    break;
+                case END:
+                    push(marks, stack, 2 * nexts[state] + 1);
+                    break;
+                default:
+                    accepting = true;
+                    matching |= ended == 0;
+                    break;
+            }
+        }
+
+        return new StateSet(consuming.stream().toArray(), accepting, matching);
+    }
+
+    private static void push(BitSet marks, ArrayDeque<Integer> stack, int mark) {
+        if (!marks.get(mark)) {
+            marks.set(mark);
+            stack.push(mark);
+        }
+    }
+
+    private static boolean contains(int[] stateRanges, char c) {
+        for (int i = 0; i < stateRanges.length; i += 2) {
+            if (c < stateRanges[i]) {
+                return false;
+            }
+
+            if (c <= stateRanges[i + 1]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,403 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.Arrays;
+
+/**
+ * A streaming codec to dump binary content as text in binary, octal or hexadecimal, and to parse such a dump back.
+ * <br><br>
+ * Every byte is written as a fixed number of lowercase digits (8 in binary, 3 in octal and 2 in hexadecimal), as
+ * produced by {@link NumeralSystemHelper#convert(int, int)} and padded with leading zeros. Lines are terminated with
+ * '<code>\n</code>' after the configured number of bytes. When parsing, whitespace is ignored, and digits may be in
+ * either case.
+ * <br><br>
+ * Content flows through a pair of direct buffers which are allocated once per instance and reused by every call, so
+ * memory use stays constant regardless of the size of the content. Files may be read through memory mapping instead.
+ * <br><br>
+ * Instances are <strong>not</strong> thread-safe.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     NumeralSystemDump dump = new NumeralSystemDump(16);
+ *
+ *     dump.dump(Path.of("firmware.bin"), Path.of("firmware.hex"));
+ *     dump.undump(Path.of("firmware.hex"), Path.of("firmware.copy.bin"));
+ * </pre>
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class NumeralSystemDump {
+    private static final int DEFAULT_BYTES_PER_LINE = 32;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int MAPPING_SIZE = 1 << 26;
+
+    private final int radix;
+    private final int width;
+    private final int bytesPerLine;
+
+    private final byte[] encodingTable;
+    private final byte[] decodingTable;
+
+    private final ByteBuffer inputBuffer;
+    private final ByteBuffer outputBuffer;
+
+    /**
+     * Creates a codec for the specified radix, writing 32 bytes per line.
+     *
+     * @param radix one of 2, 8 or 16.
+     *
+     * @throws IllegalArgumentException if the radix is not supported.
+     *
+     * @since 4.10.0
+     *
+     */
+    public NumeralSystemDump(int radix) {
+        this(radix, DEFAULT_BYTES_PER_LINE);
+    }
+
+    /**
+     * Creates a codec for the specified radix, writing the specified number of bytes per line.
+     *
+     * @param radix one of 2, 8 or 16.
+     * @param bytesPerLine the number of bytes per line of the dump, or <code>0</code> to write a single line without
+     *                     any line terminator.
+     *
+     * @throws IllegalArgumentException if the radix is not supported, or the number of bytes per line is negative.
+     *
+     * @since 4.10.0
+     *
+     */
+    public NumeralSystemDump(int radix, int bytesPerLine) {
+        if (radix != 2 && radix != 8 && radix != 16) {
+            throw new IllegalArgumentException("Fatal Error. 'radix'. Only 2, 8 or 16 is allowed.");
+        }
+
+        if (bytesPerLine < 0) {
+            throw new IllegalArgumentException("Fatal Error. 'bytesPerLine'. Negative number is not allowed.");
+        }
+
+        this.radix = radix;
+        this.width = NumeralSystemHelper.convert(255, radix).length();
+        this.bytesPerLine = bytesPerLine;
+
+        encodingTable = new byte[256 * width];
+
+        for (int b = 0; b < 256; b++) {
+            final String digits = NumeralSystemHelper.convert(b, radix);
+
+            Arrays.fill(encodingTable, b * width, (b + 1) * width - digits.length(), (byte) '0');
+
+            for (int i = 0; i < digits.length(); i++) {
+                encodingTable[(b + 1) * width - digits.length() + i] = (byte) digits.charAt(i);
+            }
+        }
+
+        decodingTable = new byte[256];
+
+        for (int c = 0; c < 256; c++) {
+            decodingTable[c] = (byte) ((c < 128) ? Character.digit(c, radix) : -1);
+        }
+
+        inputBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        outputBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE * (width + 1));
+    }
+
+    /**
+     * Returns the radix of the dump.
+     *
+     * @return one of 2, 8 or 16.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getRadix() {
+        return radix;
+    }
+
+    /**
+     * Reads the source channel until its end, and writes the dump of its content to the target channel.
+     * <br><br>
+     * Neither channel is closed.
+     *
+     * @param source to read the binary content from.
+     * @param target to write the dump to.
+     *
+     * @return the number of bytes read from the source.
+     *
+     * @throws IOException if either channel throws one.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long dump(ReadableByteChannel source, WritableByteChannel target) throws IOException {
+        long count = 0;
+        int column = 0;
+
+        outputBuffer.clear();
+
+        while (source.read(inputBuffer.clear()) >= 0) {
+            inputBuffer.flip();
+            count += inputBuffer.remaining();
+            column = encode(inputBuffer, target, column);
+        }
+
+        return finishDump(target, count, column);
+    }
+
+    /**
+     * Writes the dump of the source file to the target file, reading the source through memory mapping.
+     * <br><br>
+     * The target file is created, or truncated if it exists.
+     *
+     * @param source the binary file to dump.
+     * @param target the text file to write the dump to.
+     *
+     * @return the number of bytes read from the source.
+     *
+     * @throws IllegalArgumentException if the target is the same file as the source.
+     * @throws IOException if either file cannot be accessed.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long dump(Path source, Path target) throws IOException {
+        try (FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel targetChannel = openTarget(source, target)) {
+            final long size = sourceChannel.size();
+
+            int column = 0;
+
+            outputBuffer.clear();
+
+            for (long position = 0; position < size; position += MAPPING_SIZE) {
+                final MappedByteBuffer mapped = sourceChannel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        position,
+                        Math.min(MAPPING_SIZE, size - position)
+                );
+
+                column = encode(mapped, targetChannel, column);
+            }
+
+            return finishDump(targetChannel, size, column);
+        }
+    }
+
+    /**
+     * Reads the dump from the source channel until its end, and writes the binary content it represents to the target
+     * channel.
+     * <br><br>
+     * Neither channel is closed.
+     *
+     * @param source to read the dump from.
+     * @param target to write the binary content to.
+     *
+     * @return the number of bytes written to the target.
+     *
+     * @throws NumberFormatException if the dump contains an invalid character, a value larger than a byte, or ends in
+     * the middle of a byte.
+     * @throws IOException if either channel throws one.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long undump(ReadableByteChannel source, WritableByteChannel target) throws IOException {
+        final long[] state = new long[3];
+
+        outputBuffer.clear();
+
+        while (source.read(inputBuffer.clear()) >= 0) {
+            inputBuffer.flip();
+            decode(inputBuffer, target, state);
+        }
+
+        return finishUndump(target, state);
+    }
+
+    /**
+     * Writes the binary content represented by the dump in the source file to the target file, reading the source
+     * through memory mapping.
+     * <br><br>
+     * The target file is created, or truncated if it exists.
+     *
+     * @param source the text file containing the dump.
+     * @param target the binary file to write the content to.
+     *
+     * @return the number of bytes written to the target.
+     *
+     * @throws NumberFormatException if the dump contains an invalid character, a value larger than a byte, or ends in
+     * the middle of a byte.
+     * @throws IllegalArgumentException if the target is the same file as the source.
+     * @throws IOException if either file cannot be accessed.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long undump(Path source, Path target) throws IOException {
+        try (FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel targetChannel = openTarget(source, target)) {
+            final long size = sourceChannel.size();
+            final long[] state = new long[3];
+
+            outputBuffer.clear();
+
+            for (long position = 0; position < size; position += MAPPING_SIZE) {
+                decode(
+                        sourceChannel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPING_SIZE, size - position)),
+                        targetChannel,
+                        state
+                );
+            }
+
+            return finishUndump(targetChannel, state);
+        }
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    /*
+     * Opening the target truncates it, which would destroy a source not read yet.
+     */
+    private static FileChannel openTarget(Path source, Path target) throws IOException {
+        if (Files.exists(target) && Files.isSameFile(source, target)) {
+            throw new IllegalArgumentException("Fatal Error. 'target'. Same file as the source is not allowed.");
+        }
+
+        return FileChannel.open(
+                target,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+        );
+    }
+
+    private static void writeFully(ByteBuffer buffer, WritableByteChannel target) throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    /*
+     * Encodes every remaining byte of the input, flushing the output buffer whenever it cannot take another byte and
+     * its line terminator. Returns the column reached on the current line.
+     */
+    private int encode(ByteBuffer input, WritableByteChannel target, int column) throws IOException {
+        while (input.hasRemaining()) {
+            if (outputBuffer.remaining() < width + 1) {
+                writeFully(outputBuffer, target);
+            }
+
+            outputBuffer.put(encodingTable, (input.get() & 0xff) * width, width);
+
+            if (bytesPerLine > 0 && ++column == bytesPerLine) {
+                outputBuffer.put((byte) '\n');
+                column = 0;
+            }
+        }
+
+        return column;
+    }
+
+    private long finishDump(WritableByteChannel target, long count, int column) throws IOException {
+        if (column > 0) {
+            outputBuffer.put((byte) '\n');
+        }
+
+        writeFully(outputBuffer, target);
+
+        return count;
+    }
+
+    /*
+     * The state holds, in order, the number of digits of the current byte read so far, its value, and the total
+     * number of bytes decoded.
+     */
+    private void decode(ByteBuffer input, WritableByteChannel target, long[] state) throws IOException {
+        int digits = (int) state[0];
+        int value = (int) state[1];
+
+        while (input.hasRemaining()) {
+            final int c = input.get() & 0xff;
+
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                continue;
+            }
+
+            final int digit = decodingTable[c];
+
+            if (digit < 0) {
+                throw new NumberFormatException(
+                        "Invalid character '" + (char) c + "' in dump after byte " + state[2]
+                );
+            }
+
+            value = value * radix + digit;
+
+            if (++digits == width) {
+                if (value > 0xff) {
+                    throw new NumberFormatException("Value larger than a byte in dump after byte " + state[2]);
+                }
+
+                if (!outputBuffer.hasRemaining()) {
+                    writeFully(outputBuffer, target);
+                }
+
+                outputBuffer.put((byte) value);
+                state[2]++;
+
+                digits = 0;
+                value = 0;
+            }
+        }
+
+        state[0] = digits;
+        state[1] = value;
+    }
+
+    private long finishUndump(WritableByteChannel target, long[] state) throws IOException {
+        if (state[0] != 0) {
+            throw new NumberFormatException("Dump ends in the middle of a byte after byte " + state[2]);
+        }
+
+        writeFully(outputBuffer, target);
+
+        return state[2];
+    }
+}
@@ -16,6 +16,14 @@ limitations under the License.
 
 package com.shaiksphere.mindsmine.jems;
 
+import java.io.IOException;
+
+import java.math.BigInteger;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * A collection of useful static methods to deal with numeral system.
  *
@@ -32,6 +40,23 @@ package com.shaiksphere.mindsmine.jems;
 final public class NumeralSystemHelper {
     private NumeralSystemHelper() {}
 
+    private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private static final byte[] DIGIT_VALUES = createDigitValues();
+
+    private static final char[] HEXADECIMAL_PAIRS = createHexadecimalPairs();
+
+    /*
+     * Number of digits below which BigInteger's own (quadratic) parsing is faster than splitting any further.
+     */
+    private static final int BIG_INTEGER_PARSE_THRESHOLD = 1024;
+
+    /*
+     * Per radix, the powers radix^(BIG_INTEGER_PARSE_THRESHOLD * 2^k), built lazily for k = 0, 1, 2, ...
+     */
+    private static final AtomicReferenceArray<BigInteger[]> RADIX_POWERS =
+            new AtomicReferenceArray<>(Character.MAX_RADIX + 1);
+
     /**
      * Returns a string representation of the first argument in the radix specified by the third argument from the radix
      * specified by the second argument.
@@ -83,7 +108,242 @@ final public class NumeralSystemHelper {
      *
      */
     public static String convert(int value, int to) {
-        return convert(Integer.toString(value), 10, to);
+        checkUnsigned(value);
+
+        return Integer.toString(value, to);
+    }
+
+    /**
+     * Writes the representation of the specified region of the first argument, in the radix specified by the
+     * <code>to</code> argument, into the destination array, without creating any intermediate objects.
+     * <br><br>
+     * The characters written are identical to the ones returned by
+     * <code>convert(valueSeq.subSequence(beginIndex, endIndex).toString(), from, to)</code>
+     *
+     * @see NumeralSystemHelper#convert(String, int, int)
+     *
+     * @param valueSeq a character sequence to be converted to the desired system.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param from the radix to which the character sequence is in.
+     * @param to the radix to use in the representation.
+     * @param destination the array to write the representation into.
+     * @param destinationIndex the index within the destination array to start writing at.
+     *
+     * @return the number of characters written.
+     *
+     * @throws NumberFormatException if the region does not contain a parsable unsigned integer.
+     * @throws IndexOutOfBoundsException if the region is out of bounds, or the destination array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static int convert(CharSequence valueSeq, int beginIndex, int endIndex, int from, int to,
+                              char[] destination, int destinationIndex) {
+        return format(Integer.parseUnsignedInt(valueSeq, beginIndex, endIndex, from), to, destination, destinationIndex);
+    }
+
+    /**
+     * Appends the representation of the specified region of the first argument, in the radix specified by the
+     * <code>to</code> argument, to the appendable, without creating any intermediate objects.
+     * <br><br>
+     * The characters appended are identical to the ones returned by
+     * <code>convert(valueSeq.subSequence(beginIndex, endIndex).toString(), from, to)</code>
+     *
+     * @see NumeralSystemHelper#convert(String, int, int)
+     *
+     * @param <T> the type of the appendable.
+     * @param valueSeq a character sequence to be converted to the desired system.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param from the radix to which the character sequence is in.
+     * @param to the radix to use in the representation.
+     * @param appendable to append the representation to.
+     *
+     * @return the appendable passed in.
+     *
+     * @throws NumberFormatException if the region does not contain a parsable unsigned integer.
+     * @throws IndexOutOfBoundsException if the region is out of bounds.
+     * @throws IOException if the appendable throws one.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static <T extends Appendable> T convert(CharSequence valueSeq, int beginIndex, int endIndex, int from,
+                                                   int to, T appendable) throws IOException {
+        return format(Integer.parseUnsignedInt(valueSeq, beginIndex, endIndex, from), to, appendable);
+    }
+
+    /**
+     * Writes the representation of the first argument, in the radix specified by the second argument, into the
+     * destination array, without creating any intermediate objects.
+     * <br><br>
+     * The characters written are identical to the ones returned by <code>convert(value, to)</code>
+     *
+     * @see NumeralSystemHelper#convert(int, int)
+     *
+     * @param value an integer to be converted to the desired system.
+     * @param to the radix to use in the representation.
+     * @param destination the array to write the representation into.
+     * @param destinationIndex the index within the destination array to start writing at.
+     *
+     * @return the number of characters written.
+     *
+     * @throws NumberFormatException if the value is negative.
+     * @throws IndexOutOfBoundsException if the destination array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static int convert(int value, int to, char[] destination, int destinationIndex) {
+        checkUnsigned(value);
+
+        return format(value, to, destination, destinationIndex);
+    }
+
+    /**
+     * Appends the representation of the first argument, in the radix specified by the second argument, to the
+     * appendable, without creating any intermediate objects.
+     * <br><br>
+     * The characters appended are identical to the ones returned by <code>convert(value, to)</code>
+     *
+     * @see NumeralSystemHelper#convert(int, int)
+     *
+     * @param <T> the type of the appendable.
+     * @param value an integer to be converted to the desired system.
+     * @param to the radix to use in the representation.
+     * @param appendable to append the representation to.
+     *
+     * @return the appendable passed in.
+     *
+     * @throws NumberFormatException if the value is negative.
+     * @throws IOException if the appendable throws one.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static <T extends Appendable> T convert(int value, int to, T appendable) throws IOException {
+        checkUnsigned(value);
+
+        return format(value, to, appendable);
+    }
+
+    /**
+     * Parses the specified region of the character sequence as an unsigned integer in the specified radix, reporting a
+     * failure through the returned value rather than an exception.
+     * <br><br>
+     * Accepts exactly what {@link Integer#parseUnsignedInt(CharSequence, int, int, int)} accepts. On success, the
+     * result is the unsigned value, between <code>0</code> and <code>2^32 - 1</code>. On failure, the result is
+     * negative, and {@link NumeralSystemHelper#getErrorIndex(long)} returns the index of the offending character; the
+     * end index when the region ends prematurely; or the begin index when the radix is out of range. Nothing is
+     * allocated on either path.
+     * <br><br>
+     * Example usage:
+     * <pre>
+     *     NumeralSystemHelper.tryParseUnsignedInt("ff", 0, 2, 16)     = 255
+     *     NumeralSystemHelper.tryParseUnsignedInt("fg", 0, 2, 16)     = -2     // error index 1
+     * </pre>
+     *
+     * @param valueSeq the character sequence to parse.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param radix the radix to which the character sequence is in.
+     *
+     * @return the unsigned value when non-negative, otherwise the encoded index of the error.
+     *
+     * @throws IndexOutOfBoundsException if the region is out of bounds.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static long tryParseUnsignedInt(CharSequence valueSeq, int beginIndex, int endIndex, int radix) {
+        Objects.checkFromToIndex(beginIndex, endIndex, valueSeq.length());
+
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX || beginIndex == endIndex) {
+            return -beginIndex - 1L;
+        }
+
+        int i = beginIndex;
+
+        final char first = valueSeq.charAt(i);
+
+        if (first == '-') {
+            return -i - 1L;
+        }
+
+        if (first == '+' && ++i == endIndex) {
+            return -i - 1L;
+        }
+
+        long value = 0;
+
+        for (; i < endIndex; i++) {
+            final int digit = Character.digit(valueSeq.charAt(i), radix);
+
+            value = value * radix + digit;
+
+            if (digit < 0 || value > 0xffff_ffffL) {
+                return -i - 1L;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Writes the representation of the specified region of the first argument, in the radix specified by the
+     * <code>to</code> argument, into the destination array, reporting invalid input through the returned value rather
+     * than an exception.
+     * <br><br>
+     * On success, the characters written are identical to the ones returned by
+     * <code>convert(valueSeq.subSequence(beginIndex, endIndex).toString(), from, to)</code>, and the result is their
+     * count. On failure, nothing is written, and the result is negative, such that
+     * {@link NumeralSystemHelper#getErrorIndex(long)} returns the index reported by
+     * {@link NumeralSystemHelper#tryParseUnsignedInt(CharSequence, int, int, int)}. Nothing is allocated on either
+     * path.
+     *
+     * @see NumeralSystemHelper#convert(CharSequence, int, int, int, int, char[], int)
+     *
+     * @param valueSeq a character sequence to be converted to the desired system.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param from the radix to which the character sequence is in.
+     * @param to the radix to use in the representation.
+     * @param destination the array to write the representation into.
+     * @param destinationIndex the index within the destination array to start writing at.
+     *
+     * @return the number of characters written when positive, otherwise the encoded index of the error.
+     *
+     * @throws IndexOutOfBoundsException if the region is out of bounds, or the destination array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static int tryConvert(CharSequence valueSeq, int beginIndex, int endIndex, int from, int to,
+                                 char[] destination, int destinationIndex) {
+        final long value = tryParseUnsignedInt(valueSeq, beginIndex, endIndex, from);
+
+        if (value < 0) {
+            return (int) value;
+        }
+
+        return format((int) value, to, destination, destinationIndex);
+    }
+
+    /**
+     * Returns the index of the offending character encoded in the negative result of
+     * {@link NumeralSystemHelper#tryParseUnsignedInt(CharSequence, int, int, int)} or
+     * {@link NumeralSystemHelper#tryConvert(CharSequence, int, int, int, int, char[], int)}.
+     *
+     * @param result a negative result of one of the <code>try</code> methods.
+     *
+     * @return the index of the error, or <code>-1</code> if the result is not negative.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static int getErrorIndex(long result) {
+        return (result < 0) ? (int) (-result - 1) : -1;
     }
 
     /**
@@ -140,7 +400,7 @@ final public class NumeralSystemHelper {
      *
      */
     public static String convertBinaryToHexadecimal(String binaryStr) {
-        return convert(binaryStr, 2, 16);
+        return regroupOrConvert(binaryStr, 2, 16);
     }
 
     /**
@@ -154,7 +414,7 @@ final public class NumeralSystemHelper {
      *
      */
     public static String convertBinaryToOctal(String binaryStr) {
-        return convert(binaryStr, 2, 8);
+        return regroupOrConvert(binaryStr, 2, 8);
     }
 
     /**
@@ -182,7 +442,7 @@ final public class NumeralSystemHelper {
      *
      */
     public static String convertHexadecimalToBinary(String hexStr) {
-        return convert(hexStr, 16, 2);
+        return regroupOrConvert(hexStr, 16, 2);
     }
 
     /**
@@ -196,7 +456,7 @@ final public class NumeralSystemHelper {
      *
      */
     public static String convertHexadecimalToOctal(String hexStr) {
-        return convert(hexStr, 16, 8);
+        return regroupOrConvert(hexStr, 16, 8);
     }
 
     /**
@@ -224,7 +484,7 @@ final public class NumeralSystemHelper {
      *
      */
     public static String convertOctalToBinary(String octalStr) {
-        return convert(octalStr, 8, 2);
+        return regroupOrConvert(octalStr, 8, 2);
     }
 
     /**
@@ -238,7 +498,7 @@ final public class NumeralSystemHelper {
      *
      */
     public static String convertOctalToHexadecimal(String octalStr) {
-        return convert(octalStr, 8, 16);
+        return regroupOrConvert(octalStr, 8, 16);
     }
 
     /**
@@ -254,4 +514,632 @@ final public class NumeralSystemHelper {
     public static String convertOctalToDecimal(String octalStr) {
         return convert(octalStr, 8, 10);
     }
+
+    /**
+     * Returns a string representation of the first argument in the radix specified by the third argument from the radix
+     * specified by the second argument, where both radices are powers of two.
+     * <br><br>
+     * Unlike {@link NumeralSystemHelper#convert(String, int, int)}, the value is not limited to the range of an
+     * <code>int</code>, as the digits are regrouped bit by bit. The result never has leading zeros, except for the value
+     * zero which is represented by a single zero character '<code>0</code>'.
+     * <br><br>
+     * Example usage:
+     * <pre>
+     *     NumeralSystemHelper.regroup("1010", 2, 16)                      = "a"
+     *     NumeralSystemHelper.regroup("ffffffffffffffffffff", 16, 8)      = "17777777777777777777777777"
+     * </pre>
+     *
+     * @param valueStr a string to be converted to the desired system.
+     * @param from the radix to which the string representation is in; one of 2, 4, 8, 16 or 32.
+     * @param to the radix to use in the string representation; one of 2, 4, 8, 16 or 32.
+     *
+     * @return a string representation of the argument in the specified radix.
+     *
+     * @throws IllegalArgumentException if either radix is not a power of two between 2 and 32.
+     * @throws NumberFormatException if the string is empty or contains an invalid digit.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String regroup(String valueStr, int from, int to) {
+        final int fromBits = getBitsPerDigit(from, "from");
+        final int toBits = getBitsPerDigit(to, "to");
+
+        final int significantBits = getSignificantBits(valueStr, 0, valueStr.length(), fromBits);
+
+        if (significantBits < 0) {
+            throw new NumberFormatException("For input string: \"" + valueStr + "\" under radix " + from);
+        }
+
+        final char[] destination = new char[getRegroupedLength(significantBits, toBits)];
+
+        regroup(valueStr, 0, valueStr.length(), fromBits, toBits, destination, 0, destination.length);
+
+        return new String(destination);
+    }
+
+    /**
+     * Writes the representation of the specified region of the first argument, in the radix specified by the
+     * <code>to</code> argument, into the destination array, where both radices are powers of two.
+     * <br><br>
+     * The characters written are identical to the ones returned by
+     * <code>regroup(valueSeq.subSequence(beginIndex, endIndex).toString(), from, to)</code>
+     *
+     * @see NumeralSystemHelper#regroup(String, int, int)
+     *
+     * @param valueSeq a character sequence to be converted to the desired system.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param from the radix to which the character sequence is in; one of 2, 4, 8, 16 or 32.
+     * @param to the radix to use in the representation; one of 2, 4, 8, 16 or 32.
+     * @param destination the array to write the representation into.
+     * @param destinationIndex the index within the destination array to start writing at.
+     *
+     * @return the number of characters written.
+     *
+     * @throws IllegalArgumentException if either radix is not a power of two between 2 and 32.
+     * @throws NumberFormatException if the region is empty or contains an invalid digit.
+     * @throws IndexOutOfBoundsException if the region is out of bounds, or the destination array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static int regroup(CharSequence valueSeq, int beginIndex, int endIndex, int from, int to,
+                              char[] destination, int destinationIndex) {
+        final int fromBits = getBitsPerDigit(from, "from");
+        final int toBits = getBitsPerDigit(to, "to");
+
+        Objects.checkFromToIndex(beginIndex, endIndex, valueSeq.length());
+
+        final int significantBits = getSignificantBits(valueSeq, beginIndex, endIndex, fromBits);
+
+        if (significantBits < 0) {
+            throw new NumberFormatException(
+                    "Error at index " + (-significantBits - 1) + " in: \"" + valueSeq.subSequence(beginIndex, endIndex) + "\""
+            );
+        }
+
+        final int length = getRegroupedLength(significantBits, toBits);
+
+        Objects.checkFromIndexSize(destinationIndex, length, destination.length);
+
+        regroup(valueSeq, beginIndex, endIndex, fromBits, toBits, destination, destinationIndex, length);
+
+        return length;
+    }
+
+    /**
+     * Returns the hexadecimal representation of the bytes, using two lowercase characters for every byte.
+     * <br><br>
+     * Example usage:
+     * <pre>
+     *     NumeralSystemHelper.encodeHexadecimal(new byte[] { 0x0a, (byte) 0xff })     = "0aff"
+     * </pre>
+     *
+     * @param bytes to be encoded.
+     *
+     * @return the hexadecimal representation of the bytes.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String encodeHexadecimal(byte[] bytes) {
+        final char[] destination = new char[bytes.length << 1];
+
+        encodeHexadecimal(bytes, 0, bytes.length, destination, 0);
+
+        return new String(destination);
+    }
+
+    /**
+     * Writes the hexadecimal representation of the specified region of the bytes into the destination array, using two
+     * lowercase characters for every byte.
+     *
+     * @param source the bytes to be encoded.
+     * @param offset the index of the first byte to encode.
+     * @param length the number of bytes to encode.
+     * @param destination the array to write the representation into.
+     * @param destinationIndex the index within the destination array to start writing at.
+     *
+     * @return the number of characters written, which is always <code>2 * length</code>.
+     *
+     * @throws IndexOutOfBoundsException if the region is out of bounds, or the destination array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static int encodeHexadecimal(byte[] source, int offset, int length, char[] destination, int destinationIndex) {
+        Objects.checkFromIndexSize(offset, length, source.length);
+        Objects.checkFromIndexSize(destinationIndex, length << 1, destination.length);
+
+        for (int i = offset, j = destinationIndex, end = offset + length; i < end; i++, j += 2) {
+            final int pair = (source[i] & 0xff) << 1;
+
+            destination[j] = HEXADECIMAL_PAIRS[pair];
+            destination[j + 1] = HEXADECIMAL_PAIRS[pair + 1];
+        }
+
+        return length << 1;
+    }
+
+    /**
+     * Returns the bytes represented by the hexadecimal character sequence, where every byte is made of two characters.
+     * Both lowercase and uppercase digits are accepted.
+     *
+     * @param hexSeq to be decoded.
+     *
+     * @return the decoded bytes.
+     *
+     * @throws NumberFormatException if the sequence has an odd length or contains a non-hexadecimal character.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static byte[] decodeHexadecimal(CharSequence hexSeq) {
+        final byte[] destination = new byte[hexSeq.length() >> 1];
+
+        decodeHexadecimal(hexSeq, 0, hexSeq.length(), destination, 0);
+
+        return destination;
+    }
+
+    /**
+     * Writes the bytes represented by the specified region of the hexadecimal character sequence into the destination
+     * array, where every byte is made of two characters. Both lowercase and uppercase digits are accepted.
+     *
+     * @param hexSeq to be decoded.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param destination the array to write the bytes into.
+     * @param destinationIndex the index within the destination array to start writing at.
+     *
+     * @return the number of bytes written.
+     *
+     * @throws NumberFormatException if the region has an odd length or contains a non-hexadecimal character.
+     * @throws IndexOutOfBoundsException if the region is out of bounds, or the destination array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static int decodeHexadecimal(CharSequence hexSeq, int beginIndex, int endIndex,
+                                        byte[] destination, int destinationIndex) {
+        Objects.checkFromToIndex(beginIndex, endIndex, hexSeq.length());
+
+        final int length = endIndex - beginIndex;
+
+        if ((length & 1) != 0) {
+            throw new NumberFormatException("Odd number of hexadecimal characters: " + length);
+        }
+
+        Objects.checkFromIndexSize(destinationIndex, length >> 1, destination.length);
+
+        for (int i = beginIndex, j = destinationIndex; i < endIndex; i += 2, j++) {
+            final int high = getDigitValue(hexSeq.charAt(i), 16);
+            final int low = getDigitValue(hexSeq.charAt(i + 1), 16);
+
+            if ((high | low) < 0) {
+                throw new NumberFormatException("Invalid hexadecimal character at index " + (high < 0 ? i : i + 1));
+            }
+
+            destination[j] = (byte) ((high << 4) | low);
+        }
+
+        return length >> 1;
+    }
+
+    /**
+     * Returns a string representation of the first argument, as a signed <code>long</code>, in the radix specified by
+     * the third argument from the radix specified by the second argument.
+     * <br><br>
+     * Convenience method equivalent to <code>Long.toString(Long.parseLong(valueStr, from), to)</code>
+     * <br><br>
+     * Example usage:
+     * <pre>
+     *     NumeralSystemHelper.convertLong("-ffffffffff", 16, 10)      = "-1099511627775"
+     * </pre>
+     *
+     * @see Long#parseLong(String, int)
+     * @see Long#toString(long, int)
+     *
+     * @param valueStr a string to be converted to the desired system.
+     * @param from the radix to which the string representation is in.
+     * @param to the radix to use in the string representation.
+     *
+     * @return a string representation of the argument in the specified radix.
+     *
+     * @throws NumberFormatException if the string does not contain a parsable <code>long</code>.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String convertLong(String valueStr, int from, int to) {
+        return Long.toString(Long.parseLong(valueStr, from), to);
+    }
+
+    /**
+     * Returns a string representation of the first argument, as an unsigned 64-bit value, in the radix specified by the
+     * third argument from the radix specified by the second argument.
+     * <br><br>
+     * Convenience method equivalent to <code>Long.toUnsignedString(Long.parseUnsignedLong(valueStr, from), to)</code>
+     * <br><br>
+     * Example usage:
+     * <pre>
+     *     NumeralSystemHelper.convertUnsignedLong("ffffffffffffffff", 16, 10)     = "18446744073709551615"
+     * </pre>
+     *
+     * @see Long#parseUnsignedLong(String, int)
+     * @see Long#toUnsignedString(long, int)
+     *
+     * @param valueStr a string to be converted to the desired system.
+     * @param from the radix to which the string representation is in.
+     * @param to the radix to use in the string representation.
+     *
+     * @return a string representation of the argument in the specified radix.
+     *
+     * @throws NumberFormatException if the string does not contain a parsable unsigned 64-bit value.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String convertUnsignedLong(String valueStr, int from, int to) {
+        return Long.toUnsignedString(Long.parseUnsignedLong(valueStr, from), to);
+    }
+
+    /**
+     * Returns a string representation of the first argument, as an unsigned 64-bit value, in the radix specified by the
+     * second argument.
+     * <br><br>
+     * Convenience method equivalent to <code>Long.toUnsignedString(value, to)</code>
+     *
+     * @see Long#toUnsignedString(long, int)
+     *
+     * @param value to be converted to the desired system.
+     * @param to the radix to use in the string representation.
+     *
+     * @return a string representation of the argument in the specified radix.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String convertUnsignedLong(long value, int to) {
+        return Long.toUnsignedString(value, to);
+    }
+
+    /**
+     * Returns a string representation of the first argument, of any length, in the radix specified by the third
+     * argument from the radix specified by the second argument.
+     * <br><br>
+     * The string may start with an ASCII minus '<code>-</code>' or plus '<code>+</code>' sign, and the result follows
+     * the format of {@link BigInteger#toString(int)}. Both parsing and formatting divide the digits in halves around
+     * precomputed powers of the radix, so that very long values are converted in sub-quadratic time.
+     * <br><br>
+     * Example usage:
+     * <pre>
+     *     NumeralSystemHelper.convertArbitraryLength("-ffffffffffffffffffff", 16, 10)    = "-1208925819614629174706175"
+     * </pre>
+     *
+     * @see NumeralSystemHelper#parseBigInteger(CharSequence, int)
+     *
+     * @param valueStr a string to be converted to the desired system.
+     * @param from the radix to which the string representation is in.
+     * @param to the radix to use in the string representation.
+     *
+     * @return a string representation of the argument in the specified radix.
+     *
+     * @throws NumberFormatException if the string does not contain a parsable integer, or if the radix is smaller
+     * than {@link Character#MIN_RADIX} or larger than {@link Character#MAX_RADIX}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String convertArbitraryLength(String valueStr, int from, int to) {
+        if (isPowerOfTwo(from) && isPowerOfTwo(to) && getSignificantBits(valueStr, 0, valueStr.length(),
+                Integer.numberOfTrailingZeros(from)) >= 0) {
+            return regroup(valueStr, from, to);
+        }
+
+        return parseBigInteger(valueStr, from).toString(to);
+    }
+
+    /**
+     * Returns the integer, of any length, represented by the character sequence in the specified radix.
+     * <br><br>
+     * Produces the same value as <code>new BigInteger(valueSeq.toString(), radix)</code>. However, long sequences
+     * are split in halves recursively, and the halves are recombined using cached powers of the radix, so that the time
+     * taken grows sub-quadratically with the number of digits.
+     *
+     * @see BigInteger#BigInteger(String, int)
+     *
+     * @param valueSeq a character sequence, optionally starting with an ASCII minus or plus sign.
+     * @param radix the radix to which the character sequence is in.
+     *
+     * @return the integer represented by the character sequence.
+     *
+     * @throws NumberFormatException if the sequence does not contain a parsable integer, or if the radix is smaller
+     * than {@link Character#MIN_RADIX} or larger than {@link Character#MAX_RADIX}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static BigInteger parseBigInteger(CharSequence valueSeq, int radix) {
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+            throw new NumberFormatException("Radix out of range");
+        }
+
+        final int length = valueSeq.length();
+
+        int beginIndex = 0;
+
+        if (length > 0 && (valueSeq.charAt(0) == '-' || valueSeq.charAt(0) == '+')) {
+            beginIndex = 1;
+        }
+
+        if (beginIndex == length) {
+            throw new NumberFormatException("Zero length BigInteger");
+        }
+
+        for (int i = beginIndex; i < length; i++) {
+            if (Character.digit(valueSeq.charAt(i), radix) < 0) {
+                throw new NumberFormatException("Illegal digit at index " + i);
+            }
+        }
+
+        final BigInteger magnitude = parseMagnitude(valueSeq, beginIndex, length, radix);
+
+        return (valueSeq.charAt(0) == '-') ? magnitude.negate() : magnitude;
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    /*
+     * Mirrors the check performed by Integer.parseUnsignedInt on the decimal representation of the value.
+     */
+    private static void checkUnsigned(int value) {
+        if (value < 0) {
+            throw new NumberFormatException("Illegal leading minus sign on unsigned string " + value + ".");
+        }
+    }
+
+    private static int getRadix(int radix) {
+        return (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) ? 10 : radix;
+    }
+
+    /*
+     * Number of characters Integer.toString(value, radix) would produce.
+     */
+    private static int getFormattedLength(int value, int radix) {
+        int length = (value < 0) ? 2 : 1;
+        long magnitude = Math.abs((long) value);
+
+        while (magnitude >= radix) {
+            magnitude /= radix;
+            length++;
+        }
+
+        return length;
+    }
+
+    private static int format(int value, int to, char[] destination, int destinationIndex) {
+        int radix = getRadix(to);
+        int length = getFormattedLength(value, radix);
+
+        Objects.checkFromIndexSize(destinationIndex, length, destination.length);
+
+        long magnitude = Math.abs((long) value);
+        int index = destinationIndex + length;
+
+        do {
+            destination[--index] = DIGITS[(int) (magnitude % radix)];
+            magnitude /= radix;
+        } while (magnitude != 0);
+
+        if (value < 0) {
+            destination[--index] = '-';
+        }
+
+        return length;
+    }
+
+    private static <T extends Appendable> T format(int value, int to, T appendable) throws IOException {
+        int radix = getRadix(to);
+        long magnitude = Math.abs((long) value);
+        long power = 1;
+
+        while (power <= magnitude / radix) {
+            power *= radix;
+        }
+
+        if (value < 0) {
+            appendable.append('-');
+        }
+
+        for (; power > 0; power /= radix) {
+            appendable.append(DIGITS[(int) (magnitude / power)]);
+            magnitude %= power;
+        }
+
+        return appendable;
+    }
+
+    private static byte[] createDigitValues() {
+        final byte[] digitValues = new byte[128];
+
+        Arrays.fill(digitValues, (byte) -1);
+
+        for (int i = 0; i < DIGITS.length; i++) {
+            digitValues[DIGITS[i]] = (byte) i;
+            digitValues[Character.toUpperCase(DIGITS[i])] = (byte) i;
+        }
+
+        return digitValues;
+    }
+
+    private static char[] createHexadecimalPairs() {
+        final char[] pairs = new char[512];
+
+        for (int i = 0; i < 256; i++) {
+            pairs[i << 1] = DIGITS[i >>> 4];
+            pairs[(i << 1) + 1] = DIGITS[i & 0xf];
+        }
+
+        return pairs;
+    }
+
+    /*
+     * Value of the ASCII digit in the radix, or -1 if the character is not a valid digit.
+     */
+    private static int getDigitValue(char c, int radix) {
+        if (c >= DIGIT_VALUES.length) {
+            return -1;
+        }
+
+        final int value = DIGIT_VALUES[c];
+
+        return (value < radix) ? value : -1;
+    }
+
+    private static int getBitsPerDigit(int radix, String argumentName) {
+        if (radix < 2 || radix > 32 || Integer.bitCount(radix) != 1) {
+            throw new IllegalArgumentException(
+                    "Fatal Error. '" + argumentName + "'. Only a power of two between 2 and 32 is allowed as radix."
+            );
+        }
+
+        return Integer.numberOfTrailingZeros(radix);
+    }
+
+    /*
+     * Number of bits needed to represent the value in the region, or -(index + 1) of the first invalid digit.
+     */
+    private static int getSignificantBits(CharSequence valueSeq, int beginIndex, int endIndex, int bitsPerDigit) {
+        if (beginIndex == endIndex) {
+            return -beginIndex - 1;
+        }
+
+        final int radix = 1 << bitsPerDigit;
+
+        int significantBits = 0;
+
+        for (int i = beginIndex; i < endIndex; i++) {
+            final int value = getDigitValue(valueSeq.charAt(i), radix);
+
+            if (value < 0) {
+                return -i - 1;
+            }
+
+            if (significantBits > 0) {
+                significantBits += bitsPerDigit;
+            } else if (value > 0) {
+                significantBits = 32 - Integer.numberOfLeadingZeros(value);
+            }
+        }
+
+        return significantBits;
+    }
+
+    private static int getRegroupedLength(int significantBits, int bitsPerDigit) {
+        return (significantBits == 0) ? 1 : (significantBits + bitsPerDigit - 1) / bitsPerDigit;
+    }
+
+    /*
+     * Regroups the already validated digits, starting from the least significant one, so that exactly the given number of
+     * characters is written.
+     */
+    private static void regroup(CharSequence valueSeq, int beginIndex, int endIndex, int fromBits, int toBits,
+                                char[] destination, int destinationIndex, int length) {
+        final int mask = (1 << toBits) - 1;
+
+        int index = destinationIndex + length;
+        int accumulator = 0;
+        int accumulatedBits = 0;
+
+        for (int i = endIndex - 1; i >= beginIndex && index > destinationIndex; i--) {
+            accumulator |= DIGIT_VALUES[valueSeq.charAt(i)] << accumulatedBits;
+            accumulatedBits += fromBits;
+
+            while (accumulatedBits >= toBits && index > destinationIndex) {
+                destination[--index] = DIGITS[accumulator & mask];
+                accumulator >>>= toBits;
+                accumulatedBits -= toBits;
+            }
+        }
+
+        if (index > destinationIndex) {
+            destination[--index] = DIGITS[accumulator & mask];
+        }
+    }
+
+    /*
+     * Regroups the digits directly when the value fits in 31 bits, which gives the exact same result as the generic
+     * conversion; otherwise, falls back to the generic conversion so that its results and exceptions are preserved.
+     */
+    private static String regroupOrConvert(String valueStr, int from, int to) {
+        final int fromBits = Integer.numberOfTrailingZeros(from);
+        final int toBits = Integer.numberOfTrailingZeros(to);
+
+        final int significantBits = (valueStr == null) ? -1 : getSignificantBits(valueStr, 0, valueStr.length(), fromBits);
+
+        if (significantBits < 0 || significantBits > 31) {
+            return convert(valueStr, from, to);
+        }
+
+        final char[] destination = new char[getRegroupedLength(significantBits, toBits)];
+
+        regroup(valueStr, 0, valueStr.length(), fromBits, toBits, destination, 0, destination.length);
+
+        return new String(destination);
+    }
+
+    private static boolean isPowerOfTwo(int radix) {
+        return radix >= 2 && radix <= 32 && Integer.bitCount(radix) == 1;
+    }
+
+    /*
+     * Splits off a low part of BIG_INTEGER_PARSE_THRESHOLD * 2^k digits, the largest such that something remains for
+     * the high part, so that both halves are parsed recursively and combined as high * radix^lowLength + low.
+     */
+    private static BigInteger parseMagnitude(CharSequence valueSeq, int beginIndex, int endIndex, int radix) {
+        final int length = endIndex - beginIndex;
+
+        if (length <= BIG_INTEGER_PARSE_THRESHOLD) {
+            return new BigInteger(valueSeq.subSequence(beginIndex, endIndex).toString(), radix);
+        }
+
+        int level = 0;
+
+        while ((long) BIG_INTEGER_PARSE_THRESHOLD << (level + 1) < length) {
+            level++;
+        }
+
+        final int lowLength = BIG_INTEGER_PARSE_THRESHOLD << level;
+
+        final BigInteger high = parseMagnitude(valueSeq, beginIndex, endIndex - lowLength, radix);
+        final BigInteger low = parseMagnitude(valueSeq, endIndex - lowLength, endIndex, radix);
+
+        return high.multiply(getRadixPower(radix, level)).add(low);
+    }
+
+    /*
+     * Returns radix^(BIG_INTEGER_PARSE_THRESHOLD * 2^level). Racing threads may both extend the cache, but always with
+     * equal values, so whichever array is published last is as good as the other.
+     */
+    private static BigInteger getRadixPower(int radix, int level) {
+        BigInteger[] powers = RADIX_POWERS.get(radix);
+
+        if (powers == null || powers.length <= level) {
+            final int cachedLevels = (powers == null) ? 0 : powers.length;
+
+            powers = (powers == null) ? new BigInteger[level + 1] : Arrays.copyOf(powers, level + 1);
+
+            for (int i = cachedLevels; i <= level; i++) {
+                powers[i] = (i == 0) ? BigInteger.valueOf(radix).pow(BIG_INTEGER_PARSE_THRESHOLD) : powers[i - 1].pow(2);
+            }
+
+            RADIX_POWERS.set(radix, powers);
+        }
+
+        return powers[level];
+    }
 }
@@ -0,0 +1,492 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+/**
+ * An immutable URL, validated and split into its components once.
+ * <br><br>
+ * Only the offsets of the components are recorded when parsing; every component is sliced out of the URL when it is
+ * requested, in its raw (still percent-encoded) form. Derived URLs are built by copying the unchanged components once,
+ * and their offsets are computed rather than parsed again.
+ * <br><br>
+ * An opaque URL, such as <code>mailto:someone@example.com</code>, has a scheme, a scheme-specific part and possibly a
+ * fragment, but no authority, path or query.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     ParsedURL url = ParsedURL.parse("https://user@www.example.com:8080/docs?lang=en#intro");
+ *
+ *     url.getHost()                                   // "www.example.com"
+ *     url.getPort()                                   // 8080
+ *     url.withQueryParam("page", 2).toString()        // "https://user@www.example.com:8080/docs?lang=en&amp;page=2#intro"
+ *     url.withPath("/api").toString()                 // "https://user@www.example.com:8080/api?lang=en#intro"
+ * </pre>
+ *
+ * @see java.net.URI
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class ParsedURL {
+    private final String url;
+
+    // Index of the ':' ending the scheme, or -1
+    private final int schemeEnd;
+
+    // Index of the authority, right after "//", or -1
+    private final int authorityStart;
+
+    // The path, or the scheme-specific part of an opaque URL, spans from pathStart to pathEnd
+    private final int pathStart;
+    private final int pathEnd;
+
+    // Index of the '#' starting the fragment, or the length of the URL; a query spans from pathEnd + 1 to queryEnd
+    private final int queryEnd;
+
+    private final boolean opaque;
+
+    private ParsedURL(String url, int schemeEnd, int authorityStart, int pathStart, int pathEnd, int queryEnd, boolean opaque) {
+        this.url = url;
+        this.schemeEnd = schemeEnd;
+        this.authorityStart = authorityStart;
+        this.pathStart = pathStart;
+        this.pathEnd = pathEnd;
+        this.queryEnd = queryEnd;
+        this.opaque = opaque;
+    }
+
+    /**
+     * Validates and splits the URL.
+     *
+     * @param url the URL to parse.
+     *
+     * @return the parsed URL.
+     *
+     * @throws IllegalArgumentException if the URL is not valid.
+     *
+     * @see URLHelper#isValidURL(String)
+     *
+     * @since 4.10.0
+     *
+     */
+    public static ParsedURL parse(String url) {
+        if (!URLHelper.isValidURL(url)) {
+            throw new IllegalArgumentException("Fatal Error. 'url'. Invalid URL.");
+        }
+
+        final int n = url.length();
+
+        // Validity guarantees that '#' only delimits the fragment, and '?' only the query of a hierarchical URL
+        final int fragmentIndex = url.indexOf('#');
+        final int queryEnd = (fragmentIndex < 0) ? n : fragmentIndex;
+
+        int p = indexOf(url, 0, queryEnd, "/?:");
+
+        final int schemeEnd = (p < queryEnd && url.charAt(p) == ':') ? p : -1;
+
+        p = schemeEnd + 1;
+
+        if (schemeEnd >= 0 && !url.startsWith("/", p)) {
+            return new ParsedURL(url, schemeEnd, -1, p, queryEnd, queryEnd, true);
+        }
+
+        int authorityStart = -1;
+
+        if (url.startsWith("//", p)) {
+            authorityStart = p + 2;
+            p = indexOf(url, authorityStart, queryEnd, "/?");
+        }
+
+        return new ParsedURL(url, schemeEnd, authorityStart, p, indexOf(url, p, queryEnd, "?"), queryEnd, false);
+    }
+
+    /**
+     * Returns whether the URL is opaque, that is, has a scheme-specific part which does not begin with '/'.
+     *
+     * @return if the URL is opaque
+     *
+     * @since 4.10.0
+     *
+     */
+    public boolean isOpaque() {
+        return opaque;
+    }
+
+    /**
+     * Returns the scheme of the URL.
+     *
+     * @return the scheme, or <code>null</code> if the URL is relative.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getScheme() {
+        return (schemeEnd < 0) ? null : url.substring(0, schemeEnd);
+    }
+
+    /**
+     * Returns the raw scheme-specific part of the URL, which is everything between the scheme and the fragment.
+     *
+     * @return the scheme-specific part.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getSchemeSpecificPart() {
+        return url.substring(schemeEnd + 1, queryEnd);
+    }
+
+    /**
+     * Returns the raw authority of the URL.
+     *
+     * @return the authority, or <code>null</code> if the URL has none.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getAuthority() {
+        return (authorityStart < 0) ? null : url.substring(authorityStart, pathStart);
+    }
+
+    /**
+     * Returns the raw user information of the URL, which is the part of the authority before '<code>@</code>'.
+     * <br><br>
+     * As with {@link java.net.URI}, an authority with more than one '<code>@</code>' cannot be split into user
+     * information, host and port, and has none of them.
+     *
+     * @return the user information, or <code>null</code> if the URL has none.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getUserInfo() {
+        if (!isServerBased()) {
+            return null;
+        }
+
+        final int hostStart = getHostStart();
+
+        return (hostStart == authorityStart) ? null : url.substring(authorityStart, hostStart - 1);
+    }
+
+    /**
+     * Returns the host of the URL, which is the part of the authority between the user information and the port. An
+     * IPv6 address is returned with its enclosing square brackets.
+     *
+     * @return the host, or <code>null</code> if the URL has no authority, or one with more than one
+     * '<code>@</code>'.
+     *
+     * @see ParsedURL#getUserInfo()
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getHost() {
+        return isServerBased() ? url.substring(getHostStart(), getHostEnd()) : null;
+    }
+
+    /**
+     * Returns the port of the URL.
+     *
+     * @return the port, or <code>-1</code> if the URL has none.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getPort() {
+        if (!isServerBased()) {
+            return -1;
+        }
+
+        final int hostEnd = getHostEnd();
+
+        return (hostEnd + 1 < pathStart) ? Integer.parseInt(url, hostEnd + 1, pathStart, 10) : -1;
+    }
+
+    /**
+     * Returns the raw path of the URL.
+     *
+     * @return the path, which may be empty, or <code>null</code> if the URL is opaque.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getPath() {
+        return opaque ? null : url.substring(pathStart, pathEnd);
+    }
+
+    /**
+     * Returns the raw query of the URL, without the leading '<code>?</code>'.
+     *
+     * @return the query, which may be empty, or <code>null</code> if the URL has none.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getQuery() {
+        return hasQuery() ? url.substring(pathEnd + 1, queryEnd) : null;
+    }
+
+    /**
+     * Returns the parameters of the query of the URL, as views over the URL.
+     *
+     * @return the parameters, which are empty if the URL has no query.
+     *
+     * @since 4.10.0
+     *
+     */
+    public QueryParameters getQueryParameters() {
+        return hasQuery() ? QueryParameters.parse(url, pathEnd + 1, queryEnd) : QueryParameters.parse(null);
+    }
+
+    /**
+     * Returns the raw fragment of the URL, without the leading '<code>#</code>'.
+     *
+     * @return the fragment, which may be empty, or <code>null</code> if the URL has none.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getFragment() {
+        return (queryEnd < url.length()) ? url.substring(queryEnd + 1) : null;
+    }
+
+    /**
+     * Returns a URL with the same components as this one, and with the parameter appended to its query. Both the name
+     * and the string representation of the value are percent-encoded.
+     *
+     * @param name the name of the parameter.
+     * @param value the value of the parameter, rendered through {@link String#valueOf(Object)}.
+     *
+     * @return the derived URL.
+     *
+     * @throws IllegalArgumentException if the name is empty, or the URL is opaque.
+     *
+     * @see URLBuilder#addParameter(String, Object)
+     *
+     * @since 4.10.0
+     *
+     */
+    public ParsedURL withQueryParam(String name, Object value) {
+        if (StringHelper.getNullSafe(name).isBlank()) {
+            throw new IllegalArgumentException("Fatal Error. 'name'. Only non-empty string(s) are allowed as arguments.");
+        }
+
+        if (opaque) {
+            throw new IllegalArgumentException("Fatal Error. 'url'. Opaque URL has no query.");
+        }
+
+        final StringBuilder builder = new StringBuilder(url.length() + 32).append(url, 0, queryEnd);
+
+        if (!hasQuery()) {
+            builder.append('?');
+        } else if (pathEnd + 1 < queryEnd && url.charAt(queryEnd - 1) != '&') {
+            builder.append('&');
+        }
+
+        PercentCodec.encode(name, URLComponent.QUERY_PARAMETER.allowed, builder);
+        builder.append('=');
+        PercentCodec.encode(String.valueOf(value), URLComponent.QUERY_PARAMETER.allowed, builder);
+
+        final int newQueryEnd = builder.length();
+
+        builder.append(url, queryEnd, url.length());
+
+        return new ParsedURL(builder.toString(), schemeEnd, authorityStart, pathStart, pathEnd, newQueryEnd, false);
+    }
+
+    /**
+     * Returns a URL with the same components as this one, except for its path.
+     * <br><br>
+     * The path is taken as is, so any character it contains that is not allowed in a path must already be
+     * percent-encoded. When the URL has a scheme or an authority, a non-empty path must begin with '<code>/</code>'.
+     *
+     * @param path the raw path of the derived URL.
+     *
+     * @return the derived URL.
+     *
+     * @throws IllegalArgumentException if the path is not valid for the URL, or the URL is opaque.
+     *
+     * @since 4.10.0
+     *
+     */
+    public ParsedURL withPath(String path) {
+        if (opaque) {
+            throw new IllegalArgumentException("Fatal Error. 'url'. Opaque URL has no path.");
+        }
+
+        final String newPath = StringHelper.getNullSafe(path);
+
+        if (!isPathStructurePreserved(newPath)) {
+            throw new IllegalArgumentException("Fatal Error. 'path'. Invalid path for the URL.");
+        }
+
+        final String derived = new StringBuilder(url.length() - (pathEnd - pathStart) + newPath.length())
+                .append(url, 0, pathStart)
+                .append(newPath)
+                .append(url, pathEnd, url.length())
+                .toString();
+
+        // The structure is preserved, so the scan only has to reject characters not allowed in the path
+        if (!URLHelper.isValidURL(derived)) {
+            throw new IllegalArgumentException("Fatal Error. 'path'. Invalid path for the URL.");
+        }
+
+        final int shift = newPath.length() - (pathEnd - pathStart);
+
+        return new ParsedURL(derived, schemeEnd, authorityStart, pathStart, pathEnd + shift, queryEnd + shift, false);
+    }
+
+    /**
+     * Returns the URL.
+     *
+     * @return the URL, as parsed or derived.
+     *
+     * @since 4.10.0
+     *
+     */
+    @Override
+    public String toString() {
+        return url;
+    }
+
+    /**
+     * Returns whether the object is a parsed URL with the same string representation.
+     *
+     * @param obj the object to compare with.
+     *
+     * @return if both URLs are equal
+     *
+     * @since 4.10.0
+     *
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return (this == obj) || ((obj instanceof ParsedURL) && url.equals(((ParsedURL) obj).url));
+    }
+
+    /**
+     * Returns the hash code of the string representation of the URL.
+     *
+     * @return the hash code.
+     *
+     * @since 4.10.0
+     *
+     */
+    @Override
+    public int hashCode() {
+        return url.hashCode();
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    /*
+     * Bounds of the raw path, or of the scheme-specific part of an opaque URL, to read it in place.
+     */
+    int getPathStart() {
+        return pathStart;
+    }
+
+    int getPathEnd() {
+        return pathEnd;
+    }
+
+    private static int indexOf(String string, int start, int end, String chars) {
+        int i = start;
+
+        while (i < end && chars.indexOf(string.charAt(i)) < 0) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private boolean hasQuery() {
+        return !opaque && pathEnd < queryEnd;
+    }
+
+    /*
+     * Neither the user information nor the host may contain '@', so that a second one leaves the authority to be
+     * read as registry-based, as java.net.URI does.
+     */
+    private boolean isServerBased() {
+        if (authorityStart < 0) {
+            return false;
+        }
+
+        final int at = url.indexOf('@', authorityStart);
+
+        return at < 0 || at >= pathStart || url.lastIndexOf('@', pathStart - 1) == at;
+    }
+
+    private int getHostStart() {
+        final int at = url.indexOf('@', authorityStart);
+
+        return (at < 0 || at >= pathStart) ? authorityStart : at + 1;
+    }
+
+    /*
+     * The host ends before a ':' followed by a port, possibly empty, which fits an int.
+     */
+    private int getHostEnd() {
+        final int hostStart = getHostStart();
+
+        int i = pathStart;
+
+        while (i > hostStart && url.charAt(i - 1) >= '0' && url.charAt(i - 1) <= '9') {
+            i--;
+        }
+
+        if (i > hostStart && url.charAt(i - 1) == ':'
+                && (i == pathStart || (pathStart - i <= 10 && Long.parseLong(url, i, pathStart, 10) <= Integer.MAX_VALUE))) {
+            return i - 1;
+        }
+
+        return pathStart;
+    }
+
+    /*
+     * A '?' or '#' would start another component. A path which does not begin with '/' would merge into the scheme or
+     * the authority, and one which begins with "//" would become an authority; without either, a ':' in the first
+     * segment would end a scheme.
+     */
+    private boolean isPathStructurePreserved(String path) {
+        if (path.indexOf('?') >= 0 || path.indexOf('#') >= 0) {
+            return false;
+        }
+
+        if (authorityStart >= 0) {
+            return path.isEmpty() || path.charAt(0) == '/';
+        }
+
+        if (path.startsWith("//")) {
+            return false;
+        }
+
+        if (schemeEnd >= 0) {
+            return path.startsWith("/");
+        }
+
+        final int segmentEnd = path.indexOf('/');
+
+        return path.lastIndexOf(':', (segmentEnd < 0) ? path.length() : segmentEnd) < 0;
+    }
+}
@@ -0,0 +1,370 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A classifier of inputs against every pattern of {@link RegExHelper}, and optionally further regexes, reading the
+ * input only once.
+ * <br><br>
+ * The automata of the patterns are combined into a single product automaton, whose states record the state of every
+ * pattern at once, so classifying an input costs the same as matching a single pattern. The result is a bitmask, with
+ * the bit <code>1L &lt;&lt; id</code> set for the id of every pattern which matches the whole input. The built-in
+ * patterns have the ids {@link PatternClassifier#EMAIL} to {@link PatternClassifier#TIME_DISPLAY}; further regexes
+ * are numbered in order from {@link PatternClassifier#FIRST_USER_ID}.
+ * <br><br>
+ * Further regexes are limited to the regular subset of the {@link java.util.regex.Pattern} syntax, without
+ * backreferences, lookarounds, possessive quantifiers, inline flags, word boundaries, Unicode properties, nested
+ * character classes or supplementary characters, and '<code>$</code>' matches only at the end of the input.
+ * <br><br>
+ * A classifier is immutable, and may be shared between threads.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     PatternClassifier classifier = new PatternClassifier("\\d+");
+ *
+ *     long mask = classifier.classify("42");
+ *
+ *     (mask &amp; (1L &lt;&lt; PatternClassifier.LATITUDE)) != 0;                // true
+ *     (mask &amp; (1L &lt;&lt; PatternClassifier.EMAIL)) != 0;                   // false
+ *     (mask &amp; (1L &lt;&lt; PatternClassifier.FIRST_USER_ID)) != 0;           // true
+ * </pre>
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class PatternClassifier {
+    /**
+     * The id of {@link RegExHelper#EMAIL}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final int EMAIL = 0;
+
+    /**
+     * The id of {@link RegExHelper#LONGITUDE}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final int LONGITUDE = 1;
+
+    /**
+     * The id of {@link RegExHelper#LATITUDE}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final int LATITUDE = 2;
+
+    /**
+     * The id of {@link RegExHelper#US_PHONE_NUMBER}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final int US_PHONE_NUMBER = 3;
+
+    /**
+     * The id of {@link RegExHelper#TIME_DISPLAY}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final int TIME_DISPLAY = 4;
+
+    /**
+     * The id of the first further regex.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final int FIRST_USER_ID = 5;
+
+    /**
+     * The largest number of patterns, built-in and further, which fits the bitmask.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final int MAX_PATTERNS = Long.SIZE;
+
+    /**
+     * The largest number of states of the product automaton.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final int MAX_STATES = 1 << 16;
+
+    private static final String[] BUILT_IN_REGEXES = {
+            RegExHelper.EMAIL,
+            RegExHelper.LONGITUDE,
+            RegExHelper.LATITUDE,
+            RegExHelper.US_PHONE_NUMBER,
+            RegExHelper.TIME_DISPLAY
+    };
+
+    private final String[] regexes;
+
+    private final CharClasses classes;
+    private final int columnCount;
+
+    private final int[] transitions;
+    private final long[] masks;
+
+    /**
+     * Creates a classifier of the built-in patterns and the further regexes.
+     *
+     * @param regexes the further regexes, if any, with the ids {@link PatternClassifier#FIRST_USER_ID} onwards.
+     *
+     * @throws java.util.regex.PatternSyntaxException if a regex is not valid.
+     * @throws IllegalArgumentException if a regex is <code>null</code> or uses an unsupported construct, if there are
+     * more than {@link PatternClassifier#MAX_PATTERNS} patterns in all, or if the product automaton has more than
+     * {@link PatternClassifier#MAX_STATES} states.
+     *
+     * @since 4.10.0
+     *
+     */
+    public PatternClassifier(String... regexes) {
+        if (regexes == null) {
+            throw new IllegalArgumentException("Fatal Error. 'regexes'. Null is not allowed.");
+        }
+
+        if (FIRST_USER_ID + regexes.length > MAX_PATTERNS) {
+            throw new IllegalArgumentException("Fatal Error. 'regexes'. At most "
+                    + (MAX_PATTERNS - FIRST_USER_ID) + " regexes are allowed.");
+        }
+
+        final List<DFA> automata = new ArrayList<>(Arrays.asList(
+                RegExHelper.EMAIL_DFA,
+                RegExHelper.LONGITUDE_DFA,
+                RegExHelper.LATITUDE_DFA,
+                RegExHelper.US_PHONE_NUMBER_DFA,
+                RegExHelper.TIME_DISPLAY_DFA
+        ));
+
+        for (String regex : regexes) {
+            if (regex == null) {
+                throw new IllegalArgumentException("Fatal Error. 'regexes'. Null is not allowed.");
+            }
+
+            automata.add(NFA.of(RegexParser.parse(regex)).toDFA(MAX_STATES));
+        }
+
+        this.regexes = new String[FIRST_USER_ID + regexes.length];
+
+        System.arraycopy(BUILT_IN_REGEXES, 0, this.regexes, 0, FIRST_USER_ID);
+        System.arraycopy(regexes, 0, this.regexes, FIRST_USER_ID, regexes.length);
+
+        final TreeSet<Integer> boundaries = new TreeSet<>();
+
+        for (DFA automaton : automata) {
+            automaton.getClasses().addBoundariesTo(boundaries);
+        }
+
+        this.classes = CharClasses.of(boundaries);
+        this.columnCount = classes.getColumnCount();
+
+        final List<int[]> tuples = new ArrayList<>();
+
+        this.transitions = buildProduct(automata, classes, tuples);
+
+        this.masks = new long[tuples.size()];
+
+        for (int i = 0; i < masks.length; i++) {
+            final int[] tuple = tuples.get(i);
+
+            for (int id = 0; id < tuple.length; id++) {
+                if (tuple[id] != DFA.DEAD && automata.get(id).isAccepting(tuple[id])) {
+                    masks[i] |= 1L << id;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the patterns which match the whole input.
+     *
+     * @param input to classify
+     *
+     * @return the bitmask of the ids of the matching patterns, or <code>0</code> if the input is <code>null</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    public long classify(CharSequence input) {
+        if (input == null) {
+            return 0;
+        }
+
+        final int length = input.length();
+
+        int state = 0;
+
+        for (int i = 0; i < length; i++) {
+            state = transitions[state * columnCount + classes.getColumn(input.charAt(i))];
+
+            if (state < 0) {
+                return 0;
+            }
+        }
+
+        return masks[state];
+    }
+
+    /**
+     * Returns the number of patterns, built-in and further.
+     *
+     * @return the number of patterns.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getPatternCount() {
+        return regexes.length;
+    }
+
+    /**
+     * Returns the regex of the pattern.
+     *
+     * @param id the id of the pattern.
+     *
+     * @return the regex.
+     *
+     * @throws IllegalArgumentException if there is no pattern with the id.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getRegex(int id) {
+        if (id < 0 || id >= regexes.length) {
+            throw new IllegalArgumentException("Fatal Error. 'id'. Out of range.");
+        }
+
+        return regexes[id];
+    }
+
+    /**
+     * Returns the number of states of the product automaton.
+     *
+     * @return the number of states.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getStateCount() {
+        return masks.length;
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static final class Tuple {
+        private final int[] states;
+        private final int hash;
+
+        private Tuple(int[] states) {
+            this.states = states;
+            this.hash = Arrays.hashCode(states);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof Tuple) && Arrays.equals(states, ((Tuple) obj).states);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /*
+     * Numbers every tuple of states which the input may reach, in breadth-first order, returning the transitions.
+     */
+    private static int[] buildProduct(List<DFA> automata, CharClasses classes, List<int[]> tuples) {
+        final int columnCount = classes.getColumnCount();
+        final Map<Tuple, Integer> numbers = new HashMap<>();
+        final ArrayDeque<int[]> queue = new ArrayDeque<>();
+
+        final int[] start = new int[automata.size()];
+
+        numbers.put(new Tuple(start), 0);
+        tuples.add(start);
+        queue.add(start);
+
+        int[] table = new int[16 * columnCount];
+
+        while (!queue.isEmpty()) {
+            final int[] tuple = queue.poll();
+            final int row = numbers.get(new Tuple(tuple)) * columnCount;
+
+            if (row + columnCount > table.length) {
+                table = Arrays.copyOf(table, 2 * table.length);
+            }
+
+            for (int column = 0; column < columnCount; column++) {
+                final char c = classes.getRepresentative(column);
+                final int[] next = new int[tuple.length];
+
+                boolean dead = true;
+
+                for (int id = 0; id < tuple.length; id++) {
+                    next[id] = (tuple[id] == DFA.DEAD) ? DFA.DEAD : automata.get(id).getNextState(tuple[id], c);
+                    dead &= next[id] == DFA.DEAD;
+                }
+
+                if (dead) {
+                    table[row + column] = DFA.DEAD;
+                    continue;
+                }
+
+                final Tuple key = new Tuple(next);
+
+                Integer number = numbers.get(key);
+
+                if (number == null) {
+                    if (tuples.size() == MAX_STATES) {
+                        throw new IllegalArgumentException("Fatal Error. 'regexes'. The product automaton has more than "
+                                + MAX_STATES + " states.");
+                    }
+
+                    number = tuples.size();
+                    numbers.put(key, number);
+                    tuples.add(next);
+                    queue.add(next);
+                }
+
+                table[row + column] = number;
+            }
+        }
+
+        return Arrays.copyOf(table, tuples.size() * columnCount);
+    }
+}
@@ -0,0 +1,501 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An extractor of every match of a regex, such as {@link RegExHelper#EMAIL}, from large files or channels, reporting
+ * the byte offsets of the matches without building any string.
+ * <br><br>
+ * The anchors of the regex are ignored, so that a regex written to match a whole input, as those of
+ * {@link RegExHelper} are, is searched for within the input. Matches are leftmost-longest, non-overlapping and
+ * non-empty: the match starting first is reported, the longest one if several do, and the search resumes at its
+ * end. Every byte is read as an ISO-8859-1 character, so regexes of US-ASCII characters match UTF-8 text as expected.
+ * Only the regular subset of the {@link java.util.regex.Pattern} syntax is supported, as by
+ * {@link RegExHelper#compileLinear(String)}, and the input is scanned in linear time.
+ * <br><br>
+ * The input is scanned in buffers, matches spanning buffers being found all the same. Files are memory-mapped in
+ * windows, and every window is split into chunks scanned in parallel on a {@link ForkJoinPool}: every chunk is scanned
+ * up to its end, and the chunks are then stitched together in order. The matches still open at the end of a chunk are
+ * found by scanning on from its last match, and a chunk overlapped by a match of the previous ones is scanned again
+ * from the end of that match, until both agree on a match. Each of these scans stops once no match started before the
+ * end of its chunk may be found, so that a match spanning many chunks is read once. Matches are always reported in
+ * order, on the calling thread.
+ * <br><br>
+ * Instances are thread-safe.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     new PatternExtractor(RegExHelper.EMAIL).extract(Path.of("app.log"), (start, end) -&gt; {
+ *         System.out.println(start + "-" + end);
+ *
+ *         return true;
+ *     });
+ * </pre>
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class PatternExtractor {
+    private static final int WINDOW_SIZE = 1 << 26;
+
+    private static final int CHUNK_SIZE = 1 << 22;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * A handler of the matches of an extraction, called in order of position.
+     *
+     * @since 4.10.0
+     *
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+        /**
+         * Handles a match.
+         *
+         * @param start the offset of the first byte of the match.
+         * @param end the offset right after the last byte of the match.
+         *
+         * @return <code>true</code> to go on with the extraction, or <code>false</code> to stop it.
+         *
+         * @since 4.10.0
+         *
+         */
+        boolean onMatch(long start, long end);
+    }
+
+    private final String regex;
+    private final MatchScanner.Program program;
+
+    private final ForkJoinPool pool;
+    private final int windowSize;
+    private final int chunkSize;
+
+    private final LongAdder readCount = new LongAdder();
+
+    /**
+     * Creates an extractor of the regex, scanning files on the common pool.
+     *
+     * @param regex the regex to extract the matches of.
+     *
+     * @throws IllegalArgumentException if the regex is <code>null</code>, uses an unsupported construct, or is too
+     * large.
+     * @throws java.util.regex.PatternSyntaxException if the regex is not valid.
+     *
+     * @see ForkJoinPool#commonPool()
+     *
+     * @since 4.10.0
+     *
+     */
+    public PatternExtractor(String regex) {
+        this(regex, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an extractor of the regex, scanning files on the specified pool.
+     *
+     * @param regex the regex to extract the matches of.
+     * @param pool the pool to scan the chunks of files on.
+     *
+     * @throws IllegalArgumentException if the regex or the pool is <code>null</code>, or if the regex uses an
+     * unsupported construct, or is too large.
+     * @throws java.util.regex.PatternSyntaxException if the regex is not valid.
+     *
+     * @since 4.10.0
+     *
+     */
+    public PatternExtractor(String regex, ForkJoinPool pool) {
+        this(regex, pool, WINDOW_SIZE, CHUNK_SIZE);
+    }
+
+    PatternExtractor(String regex, ForkJoinPool pool, int windowSize, int chunkSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Fatal Error. 'pool'. Null is not allowed.");
+        }
+
+        this.program = new MatchScanner.Program(NFA.of(RegexParser.parse(regex), false));
+        this.regex = regex;
+        this.pool = pool;
+        this.windowSize = windowSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the regex of the extractor.
+     *
+     * @return the regex.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    /**
+     * Reports every match in the file, reading it through memory mapping, and scanning its chunks in parallel.
+     *
+     * @param file the file to scan.
+     * @param handler the handler of the matches, called on the calling thread.
+     *
+     * @return the number of matches reported.
+     *
+     * @throws IllegalArgumentException if the handler is <code>null</code>.
+     * @throws IOException if the file cannot be read.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long extract(Path file, MatchHandler handler) throws IOException {
+        checkHandler(handler);
+
+        return extract(file, 0, handler);
+    }
+
+    /*
+     * Reports the matches of the file from the offset on, as if the search started there, which is where it resumes
+     * after a match ending at the offset.
+     */
+    long extract(Path file, long from, MatchHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final Stitcher stitcher = new Stitcher(channel, size, handler);
+
+            long position = from;
+
+            while (position < size && !stitcher.stopped) {
+                // The windows which a match reported so far spans are not scanned again
+                position = Math.max(position, stitcher.resume);
+
+                if (position >= size) {
+                    break;
+                }
+
+                final int length = (int) Math.min(windowSize, size - position);
+                final ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                final List<Chunk> chunks = new ArrayList<>();
+
+                for (long start = position; start < position + length; start += chunkSize) {
+                    chunks.add(new Chunk(size, window, position, start,
+                            Math.min(position + length, start + chunkSize)));
+                }
+
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(chunks);
+                    }
+                });
+
+                for (Chunk chunk : chunks) {
+                    stitcher.stitch(chunk);
+
+                    if (stitcher.stopped) {
+                        break;
+                    }
+                }
+
+                position += length;
+            }
+
+            return stitcher.count;
+        }
+    }
+
+    /**
+     * Reports every match read from the channel until its end.
+     * <br><br>
+     * The channel is not closed.
+     *
+     * @param channel the channel to scan.
+     * @param handler the handler of the matches.
+     *
+     * @return the number of matches reported.
+     *
+     * @throws IllegalArgumentException if the channel or the handler is <code>null</code>.
+     * @throws IOException if the channel throws one.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long extract(ReadableByteChannel channel, MatchHandler handler) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Fatal Error. 'channel'. Null is not allowed.");
+        }
+
+        checkHandler(handler);
+
+        final MatchScanner scanner = new MatchScanner(program, 0, Long.MAX_VALUE, handler);
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        long position = 0;
+
+        while (!scanner.isDone()) {
+            buffer.clear();
+
+            final int read = channel.read(buffer);
+
+            if (read < 0) {
+                scanner.finish();
+                break;
+            }
+
+            buffer.flip();
+            scanner.feed(buffer, position);
+
+            position += read;
+        }
+
+        return scanner.getMatchCount();
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static void checkHandler(MatchHandler handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Fatal Error. 'handler'. Null is not allowed.");
+        }
+    }
+
+    /*
+     * Returns the number of bytes read by the scans of files, for tests.
+     */
+    long getReadCount() {
+        return readCount.sum();
+    }
+
+    /*
+     * Feeds the scanner the rest of the file from the position, in windows, until it needs no more.
+     */
+    private void scan(FileChannel channel, long size, MatchScanner scanner, long position) throws IOException {
+        long currentStart = position;
+
+        try {
+            do {
+                if (currentStart >= size) {
+                    scanner.finish();
+                    return;
+                }
+
+                final ByteBuffer current = channel.map(FileChannel.MapMode.READ_ONLY, currentStart,
+                        Math.min(windowSize, size - currentStart));
+
+                scanner.feed(current, currentStart);
+
+                currentStart += current.limit();
+            } while (!scanner.isDone());
+        } finally {
+            readCount.add(scanner.getReadCount());
+        }
+    }
+
+    /*
+     * A growable array of matches, as pairs of offsets.
+     */
+    private static final class Matches implements MatchHandler {
+        private long[] offsets = new long[16];
+        private int size;
+
+        @Override
+        public boolean onMatch(long start, long end) {
+            if (size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+            }
+
+            offsets[size++] = start;
+            offsets[size++] = end;
+
+            return true;
+        }
+
+        /*
+         * The index of the match with the offsets, or -1 if there is none.
+         */
+        private int indexOf(long start, long end) {
+            int low = 0;
+            int high = size / 2 - 1;
+
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final long middleStart = offsets[2 * middle];
+
+                if (middleStart < start) {
+                    low = middle + 1;
+                } else if (middleStart > start) {
+                    high = middle - 1;
+                } else {
+                    return (offsets[2 * middle + 1] == end) ? middle : -1;
+                }
+            }
+
+            return -1;
+        }
+    }
+
+    /*
+     * The scan of a chunk up to its end, for the matches which end within it, as if the search started at its start.
+     */
+    private final class Chunk extends RecursiveAction {
+        private final long size;
+        private final ByteBuffer window;
+        private final long windowStart;
+        private final long start;
+        private final long end;
+
+        private final Matches matches = new Matches();
+
+        // Whether a match started within the chunk may still be found past its end
+        private boolean open;
+
+        private Chunk(long size, ByteBuffer window, long windowStart, long start, long end) {
+            this.size = size;
+            this.window = window;
+            this.windowStart = windowStart;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            final MatchScanner scanner = new MatchScanner(program, start, end, matches);
+
+            scanner.feed(window.slice((int) (start - windowStart), (int) (end - start)), start);
+
+            if (end == size) {
+                scanner.finish();
+            }
+
+            open = !scanner.isDone();
+
+            readCount.add(scanner.getReadCount());
+        }
+    }
+
+    /*
+     * The reporting of the matches of the chunks, in order, as a single scan of the whole file would find them.
+     */
+    private final class Stitcher implements MatchHandler {
+        private final FileChannel channel;
+        private final long size;
+        private final MatchHandler handler;
+
+        // The position where a single scan would resume searching, after a match or where it starts over
+        private long resume;
+
+        private long count;
+        private boolean stopped;
+
+        // While scanning again, the matches of the chunk being stitched, and the index of the match agreed on, if any
+        private Matches pending;
+        private int agreed;
+
+        private Stitcher(FileChannel channel, long size, MatchHandler handler) {
+            this.channel = channel;
+            this.size = size;
+            this.handler = handler;
+        }
+
+        /*
+         * Reports the matches of the chunk. As the search of the previous chunks found no match starting before the
+         * chunk after resuming, resuming at or before its start finds its own matches; otherwise, the chunk is scanned
+         * again from the resume position until a match agrees with one of the chunk, or the scan starts over past it.
+         * The matches left open at the end of the chunk are then found by scanning on from the last match.
+         */
+        private void stitch(Chunk chunk) throws IOException {
+            if (resume >= chunk.end) {
+                return;
+            }
+
+            final Matches matches = chunk.matches;
+
+            int first = 0;
+
+            if (resume > chunk.start) {
+                pending = matches;
+                agreed = -1;
+
+                resumeAfter(resume, chunk);
+
+                pending = null;
+
+                if (stopped || agreed < 0) {
+                    return;
+                }
+
+                first = agreed + 1;
+            }
+
+            for (int i = 2 * first; i < matches.size && !stopped; i += 2) {
+                report(matches.offsets[i], matches.offsets[i + 1]);
+            }
+
+            if (chunk.open && !stopped) {
+                resumeAfter(Math.max(resume, chunk.start), chunk);
+            }
+        }
+
+        /*
+         * Scans on from the position, as a single scan would, until it may start over past the end of the chunk, where
+         * the search then resumes.
+         */
+        private void resumeAfter(long position, Chunk chunk) throws IOException {
+            final MatchScanner scanner = new MatchScanner(program, position, Long.MAX_VALUE, chunk.end, this);
+
+            scan(channel, size, scanner, position);
+
+            resume = Math.max(resume, scanner.getPosition());
+        }
+
+        private void report(long start, long end) {
+            count++;
+            resume = end;
+            stopped = !handler.onMatch(start, end);
+        }
+
+        @Override
+        public boolean onMatch(long start, long end) {
+            report(start, end);
+
+            if (pending == null) {
+                return !stopped;
+            }
+
+            agreed = pending.indexOf(start, end);
+
+            return !stopped && agreed < 0;
+        }
+    }
+}
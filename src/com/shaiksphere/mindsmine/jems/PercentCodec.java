@@ -0,0 +1,300 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Table-driven percent-encoding of URL components, as defined by RFC 3986.
+ * <br><br>
+ * Every character is looked up in a table of the US-ASCII characters allowed, unencoded, in the component. Runs of
+ * allowed characters are copied in bulk; any other character is encoded as the percent-escaped octets of its UTF-8
+ * encoding, with uppercase hexadecimal digits. An unpaired surrogate is encoded as '<code>?</code>', which is how
+ * {@link java.nio.charset.StandardCharsets#UTF_8} replaces it.
+ * <br><br>
+ * Decoding is lenient: a '<code>%</code>' which is not followed by two hexadecimal digits is kept as is, and octets
+ * which are not valid UTF-8 are replaced with U+FFFD.
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+final class PercentCodec {
+    private PercentCodec() {}
+
+    private static final char[] HEXADECIMAL_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private static final String UNRESERVED =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-._~";
+
+    /**
+     * Creates the 256-entry table of the characters allowed in a component: the unreserved characters, and the
+     * specified delimiters.
+     *
+     * @param delimiters the delimiters allowed in the component.
+     *
+     * @return the table, indexed by character or by octet.
+     */
+    static boolean[] createTable(String delimiters) {
+        final boolean[] table = new boolean[256];
+        final String allowedChars = UNRESERVED + delimiters;
+
+        for (int i = 0; i < allowedChars.length(); i++) {
+            table[allowedChars.charAt(i)] = true;
+        }
+
+        return table;
+    }
+
+    /**
+     * Returns the index of the first character of the character sequence which is not allowed.
+     *
+     * @param valueSeq the character sequence to scan.
+     * @param allowed the table of the characters allowed.
+     *
+     * @return the index of the first character to encode, or the length of the sequence if there is none.
+     */
+    static int indexOfUnallowed(CharSequence valueSeq, boolean[] allowed) {
+        final int length = valueSeq.length();
+
+        int i = 0;
+
+        while (i < length && isAllowed(valueSeq.charAt(i), allowed)) {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * Appends the percent-encoded form of the character sequence to the destination.
+     *
+     * @param valueSeq the character sequence to encode.
+     * @param allowed the table of the US-ASCII characters to leave unencoded.
+     * @param destination to append the encoded form to.
+     */
+    static void encode(CharSequence valueSeq, boolean[] allowed, StringBuilder destination) {
+        final int length = valueSeq.length();
+
+        int i = 0;
+
+        while (i < length) {
+            final int start = i;
+
+            while (i < length && isAllowed(valueSeq.charAt(i), allowed)) {
+                i++;
+            }
+
+            if (i > start) {
+                destination.append(valueSeq, start, i);
+            }
+
+            if (i == length) {
+                break;
+            }
+
+            final char c = valueSeq.charAt(i++);
+
+            if (c < 0x80) {
+                appendOctet(c, destination);
+            } else if (c < 0x800) {
+                appendOctet(0xc0 | (c >> 6), destination);
+                appendOctet(0x80 | (c & 0x3f), destination);
+            } else if (!Character.isSurrogate(c)) {
+                appendOctet(0xe0 | (c >> 12), destination);
+                appendOctet(0x80 | ((c >> 6) & 0x3f), destination);
+                appendOctet(0x80 | (c & 0x3f), destination);
+            } else if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(valueSeq.charAt(i))) {
+                final int codePoint = Character.toCodePoint(c, valueSeq.charAt(i++));
+
+                appendOctet(0xf0 | (codePoint >> 18), destination);
+                appendOctet(0x80 | ((codePoint >> 12) & 0x3f), destination);
+                appendOctet(0x80 | ((codePoint >> 6) & 0x3f), destination);
+                appendOctet(0x80 | (codePoint & 0x3f), destination);
+            } else {
+                appendOctet('?', destination);
+            }
+        }
+    }
+
+    /**
+     * Appends the percent-encoded form of the specified region of UTF-8 octets to the destination. Every octet which
+     * is not allowed is escaped on its own, so the octets are never decoded.
+     *
+     * @param octets the UTF-8 octets to encode.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param allowed the table of the US-ASCII characters to leave unencoded.
+     * @param destination to append the encoded form to.
+     */
+    static void encode(byte[] octets, int beginIndex, int endIndex, boolean[] allowed, StringBuilder destination) {
+        for (int i = beginIndex; i < endIndex; i++) {
+            final int octet = octets[i] & 0xff;
+
+            if (allowed[octet]) {
+                destination.append((char) octet);
+            } else {
+                appendOctet(octet, destination);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the specified region of the character sequence is the same once decoded.
+     *
+     * @param valueSeq the character sequence to check.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param plusAsSpace whether '<code>+</code>' decodes to a space.
+     *
+     * @return if decoding leaves the region unchanged
+     */
+    static boolean isDecoded(CharSequence valueSeq, int beginIndex, int endIndex, boolean plusAsSpace) {
+        for (int i = beginIndex; i < endIndex; i++) {
+            final char c = valueSeq.charAt(i);
+
+            if (c == '%' || (plusAsSpace && c == '+')) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the percent-decoded form of the specified region of the character sequence. Runs of escaped octets are
+     * decoded as UTF-8.
+     *
+     * @param valueSeq the character sequence to decode.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param plusAsSpace whether '<code>+</code>' decodes to a space, as in <code>application/x-www-form-urlencoded</code>.
+     *
+     * @return the decoded form.
+     */
+    static String decode(CharSequence valueSeq, int beginIndex, int endIndex, boolean plusAsSpace) {
+        if (isDecoded(valueSeq, beginIndex, endIndex, plusAsSpace)) {
+            return valueSeq.subSequence(beginIndex, endIndex).toString();
+        }
+
+        final StringBuilder builder = new StringBuilder(endIndex - beginIndex);
+
+        byte[] octets = null;
+
+        int i = beginIndex;
+
+        while (i < endIndex) {
+            final char c = valueSeq.charAt(i);
+
+            if (c == '%' && getHexadecimalValue(valueSeq, i + 1, endIndex) >= 0) {
+                if (octets == null) {
+                    octets = new byte[(endIndex - i) / 3];
+                }
+
+                int count = 0;
+                int value;
+
+                while (i < endIndex && valueSeq.charAt(i) == '%'
+                        && (value = getHexadecimalValue(valueSeq, i + 1, endIndex)) >= 0) {
+                    octets[count++] = (byte) value;
+                    i += 3;
+                }
+
+                builder.append(new String(octets, 0, count, StandardCharsets.UTF_8));
+            } else {
+                builder.append((plusAsSpace && c == '+') ? ' ' : c);
+                i++;
+            }
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Returns the percent-decoded form of the specified region of UTF-8 octets.
+     *
+     * @param octets the UTF-8 octets to decode.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param plusAsSpace whether '<code>+</code>' decodes to a space, as in <code>application/x-www-form-urlencoded</code>.
+     *
+     * @return the decoded form.
+     */
+    static String decode(byte[] octets, int beginIndex, int endIndex, boolean plusAsSpace) {
+        int first = beginIndex;
+
+        while (first < endIndex && octets[first] != '%' && !(plusAsSpace && octets[first] == '+')) {
+            first++;
+        }
+
+        if (first == endIndex) {
+            return new String(octets, beginIndex, endIndex - beginIndex, StandardCharsets.UTF_8);
+        }
+
+        final byte[] decoded = new byte[endIndex - beginIndex];
+
+        int count = 0;
+
+        for (int i = beginIndex; i < endIndex; i++) {
+            final byte octet = octets[i];
+
+            final int value = (octet == '%' && i + 2 < endIndex)
+                    ? (Character.digit(octets[i + 1], 16) << 4) | Character.digit(octets[i + 2], 16)
+                    : -1;
+
+            if (value >= 0) {
+                decoded[count++] = (byte) value;
+                i += 2;
+            } else {
+                decoded[count++] = (plusAsSpace && octet == '+') ? (byte) ' ' : octet;
+            }
+        }
+
+        return new String(decoded, 0, count, StandardCharsets.UTF_8);
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    /*
+     * Value of the two hexadecimal digits at the index, or -1.
+     */
+    static int getHexadecimalValue(CharSequence valueSeq, int index, int endIndex) {
+        if (index + 1 >= endIndex) {
+            return -1;
+        }
+
+        final int high = Character.digit(valueSeq.charAt(index), 16);
+        final int low = Character.digit(valueSeq.charAt(index + 1), 16);
+
+        return (high < 0 || low < 0 || valueSeq.charAt(index) >= 128 || valueSeq.charAt(index + 1) >= 128)
+                ? -1
+                : (high << 4) | low;
+    }
+
+    private static boolean isAllowed(char c, boolean[] allowed) {
+        return c < 256 && allowed[c];
+    }
+
+    private static void appendOctet(int octet, StringBuilder destination) {
+        destination.append('%')
+                .append(HEXADECIMAL_DIGITS[octet >> 4])
+                .append(HEXADECIMAL_DIGITS[octet & 0xf]);
+    }
+}
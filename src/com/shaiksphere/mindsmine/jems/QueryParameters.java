@@ -0,0 +1,478 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable, indexed view of the parameters of a raw query string.
+ * <br><br>
+ * Parsing only records where every name and value begins and ends in the query; nothing is copied. The raw name and
+ * value of a parameter are returned as views over the query, and are percent-decoded, as UTF-8 and with
+ * '<code>+</code>' standing for a space, only when read through {@link QueryParameters#getName(int)},
+ * {@link QueryParameters#getValue(int)} or a lookup by name. An open-addressing hash index of the names is built along
+ * with the parse, so looking a name up takes constant time however many parameters the query has.
+ * <br><br>
+ * Empty parameters, as in <code>a=1&amp;&amp;b=2</code>, are skipped. A parameter without '<code>=</code>' has an
+ * empty value. Decoding is lenient: a malformed escape is kept as is.
+ * <br><br>
+ * The view is only as immutable as the character sequence it was parsed from; a query held in a mutable sequence must
+ * not be modified while the view is in use.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     QueryParameters parameters = QueryParameters.parse("utm_source=news&amp;q=caf%C3%A9+au+lait&amp;tag=a&amp;tag=b");
+ *
+ *     parameters.size()                 // 4
+ *     parameters.get("q")               // "café au lait"
+ *     parameters.getAll("tag")          // ["a", "b"]
+ *     parameters.getRawValue(1)         // "caf%C3%A9+au+lait"
+ * </pre>
+ *
+ * @see ParsedURL#getQueryParameters()
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class QueryParameters {
+    private static final QueryParameters EMPTY = new QueryParameters("", new int[0], 0);
+
+    private final CharSequence query;
+
+    // For every parameter, in order: the beginning of its name, the end of its name, and the end of its value
+    private final int[] bounds;
+    private final int size;
+
+    // Decoded names, only for the names which contain an escape
+    private final String[] decodedNames;
+
+    // Open-addressing table of 1 + the index of the first parameter of every distinct name, or 0 for a free slot
+    private final int[] slots;
+
+    // 1 + the index of the next parameter with the same name, or 0
+    private final int[] next;
+
+    private QueryParameters(CharSequence query, int[] bounds, int size) {
+        this.query = query;
+        this.bounds = bounds;
+        this.size = size;
+
+        decodedNames = new String[size];
+        slots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1)];
+        next = new int[size];
+
+        final int[] last = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            final int nameStart = bounds[3 * i];
+            final int nameEnd = bounds[3 * i + 1];
+
+            if (!PercentCodec.isDecoded(query, nameStart, nameEnd, true)) {
+                decodedNames[i] = PercentCodec.decode(query, nameStart, nameEnd, true);
+            }
+
+            final int slot = findSlot(i);
+
+            if (slots[slot] == 0) {
+                slots[slot] = i + 1;
+                last[i] = i;
+            } else {
+                final int first = slots[slot] - 1;
+
+                next[last[first]] = i + 1;
+                last[first] = i;
+            }
+        }
+    }
+
+    /**
+     * Parses the raw query string.
+     *
+     * @param query the raw query, without the leading '<code>?</code>'.
+     *
+     * @return the parameters of the query, which are empty if the query is <code>null</code>.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static QueryParameters parse(CharSequence query) {
+        return (query == null) ? EMPTY : parse(query, 0, query.length());
+    }
+
+    /**
+     * Parses the specified region of the character sequence as a raw query string.
+     *
+     * @param query the character sequence holding the raw query, without the leading '<code>?</code>'.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     *
+     * @return the parameters of the query.
+     *
+     * @throws IndexOutOfBoundsException if the region is out of bounds.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static QueryParameters parse(CharSequence query, int beginIndex, int endIndex) {
+        Objects.checkFromToIndex(beginIndex, endIndex, query.length());
+
+        int[] bounds = new int[3 * 8];
+        int size = 0;
+
+        int start = beginIndex;
+
+        while (start <= endIndex) {
+            int end = start;
+            int equals = -1;
+
+            for (; end < endIndex; end++) {
+                final char c = query.charAt(end);
+
+                if (c == '&') {
+                    break;
+                }
+
+                if (c == '=' && equals < 0) {
+                    equals = end;
+                }
+            }
+
+            if (end > start) {
+                if (3 * size == bounds.length) {
+                    bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                }
+
+                bounds[3 * size] = start;
+                bounds[3 * size + 1] = (equals < 0) ? end : equals;
+                bounds[3 * size + 2] = end;
+                size++;
+            }
+
+            start = end + 1;
+        }
+
+        return new QueryParameters(query, bounds, size);
+    }
+
+    /**
+     * Returns the number of parameters.
+     *
+     * @return the number of parameters.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether there is no parameter.
+     *
+     * @return if there is no parameter
+     *
+     * @since 4.10.0
+     *
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the raw name of the parameter at the specified position, as a view over the query.
+     *
+     * @param index the position of the parameter.
+     *
+     * @return the raw name.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     *
+     * @since 4.10.0
+     *
+     */
+    public CharSequence getRawName(int index) {
+        Objects.checkIndex(index, size);
+
+        return new Slice(query, bounds[3 * index], bounds[3 * index + 1]);
+    }
+
+    /**
+     * Returns the raw value of the parameter at the specified position, as a view over the query.
+     *
+     * @param index the position of the parameter.
+     *
+     * @return the raw value, which is empty if the parameter has no '<code>=</code>'.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     *
+     * @since 4.10.0
+     *
+     */
+    public CharSequence getRawValue(int index) {
+        Objects.checkIndex(index, size);
+
+        return new Slice(query, getValueStart(index), bounds[3 * index + 2]);
+    }
+
+    /**
+     * Returns the decoded name of the parameter at the specified position.
+     *
+     * @param index the position of the parameter.
+     *
+     * @return the decoded name.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getName(int index) {
+        Objects.checkIndex(index, size);
+
+        return (decodedNames[index] != null)
+                ? decodedNames[index]
+                : query.subSequence(bounds[3 * index], bounds[3 * index + 1]).toString();
+    }
+
+    /**
+     * Returns the decoded value of the parameter at the specified position.
+     *
+     * @param index the position of the parameter.
+     *
+     * @return the decoded value, which is empty if the parameter has no '<code>=</code>'.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String getValue(int index) {
+        Objects.checkIndex(index, size);
+
+        return PercentCodec.decode(query, getValueStart(index), bounds[3 * index + 2], true);
+    }
+
+    /**
+     * Returns whether there is a parameter with the specified decoded name.
+     *
+     * @param name the decoded name to look up.
+     *
+     * @return if there is such a parameter
+     *
+     * @since 4.10.0
+     *
+     */
+    public boolean contains(String name) {
+        return indexOf(name) >= 0;
+    }
+
+    /**
+     * Returns the position of the first parameter with the specified decoded name.
+     *
+     * @param name the decoded name to look up.
+     *
+     * @return the position of the parameter, or <code>-1</code> if there is none.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int indexOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+
+        final int mask = slots.length - 1;
+
+        for (int slot = spread(name.hashCode()) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            final int index = slots[slot] - 1;
+
+            if (isNamed(index, name)) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the decoded value of the first parameter with the specified decoded name.
+     *
+     * @param name the decoded name to look up.
+     *
+     * @return the decoded value, or <code>null</code> if there is no such parameter.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String get(String name) {
+        final int index = indexOf(name);
+
+        return (index < 0) ? null : getValue(index);
+    }
+
+    /**
+     * Returns the decoded values of every parameter with the specified decoded name, in order.
+     *
+     * @param name the decoded name to look up.
+     *
+     * @return the decoded values, which are empty if there is no such parameter.
+     *
+     * @since 4.10.0
+     *
+     */
+    public List<String> getAll(String name) {
+        final List<String> values = new ArrayList<>();
+
+        for (int index = indexOf(name); index >= 0; index = next[index] - 1) {
+            values.add(getValue(index));
+        }
+
+        return values;
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private int getValueStart(int index) {
+        final int nameEnd = bounds[3 * index + 1];
+
+        return (nameEnd < bounds[3 * index + 2]) ? nameEnd + 1 : nameEnd;
+    }
+
+    /*
+     * Same hash as String#hashCode of the decoded name, computed in place when the name has no escape.
+     */
+    private int getNameHash(int index) {
+        if (decodedNames[index] != null) {
+            return decodedNames[index].hashCode();
+        }
+
+        int hash = 0;
+
+        for (int i = bounds[3 * index]; i < bounds[3 * index + 1]; i++) {
+            hash = 31 * hash + query.charAt(i);
+        }
+
+        return hash;
+    }
+
+    private boolean isNamed(int index, String name) {
+        if (decodedNames[index] != null) {
+            return decodedNames[index].equals(name);
+        }
+
+        final int nameStart = bounds[3 * index];
+
+        if (bounds[3 * index + 1] - nameStart != name.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < name.length(); i++) {
+            if (query.charAt(nameStart + i) != name.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isSameName(int index, int otherIndex) {
+        if (decodedNames[index] != null || decodedNames[otherIndex] != null) {
+            return getName(index).equals(getName(otherIndex));
+        }
+
+        final int start = bounds[3 * index];
+        final int otherStart = bounds[3 * otherIndex];
+        final int length = bounds[3 * index + 1] - start;
+
+        if (bounds[3 * otherIndex + 1] - otherStart != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (query.charAt(start + i) != query.charAt(otherStart + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * Slot holding the first parameter with the same name as the parameter at the index, or the free slot for it.
+     */
+    private int findSlot(int index) {
+        final int mask = slots.length - 1;
+
+        int slot = spread(getNameHash(index)) & mask;
+
+        while (slots[slot] != 0 && !isSameName(slots[slot] - 1, index)) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /*
+     * A read-only view over a region of a character sequence.
+     */
+    private static final class Slice implements CharSequence {
+        private final CharSequence source;
+        private final int start;
+        private final int end;
+
+        private Slice(CharSequence source, int start, int end) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            Objects.checkIndex(index, end - start);
+
+            return source.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int beginIndex, int endIndex) {
+            Objects.checkFromToIndex(beginIndex, endIndex, end - start);
+
+            return new Slice(source, start + beginIndex, start + endIndex);
+        }
+
+        @Override
+        public String toString() {
+            return source.subSequence(start, end).toString();
+        }
+    }
+}
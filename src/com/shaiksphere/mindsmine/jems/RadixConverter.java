@@ -0,0 +1,427 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A precompiled converter of unsigned 64-bit values from one radix to another.
+ * <br><br>
+ * The digit lookup table of the source radix, the number of digits which can always be accumulated without overflow,
+ * and the powers of the source radix are computed once per radix pair. Instances are immutable, cached, and may be
+ * shared freely across threads.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     RadixConverter converter = RadixConverter.of(16, 2);
+ *
+ *     converter.convert("ff")                 // "11111111"
+ *     converter.convert("ffffffffffffffff")   // sixty-four '1' characters
+ * </pre>
+ *
+ * @see NumeralSystemHelper#convertUnsignedLong(String, int, int)
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class RadixConverter {
+    private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private static final int RADIX_COUNT = Character.MAX_RADIX + 1;
+
+    private static final AtomicReferenceArray<RadixConverter> CONVERTERS =
+            new AtomicReferenceArray<>(RADIX_COUNT * RADIX_COUNT);
+
+    private final int from;
+    private final int to;
+
+    private final byte[] digitValues;
+
+    private final int chunkLength;
+    private final long[] powers;
+
+    private final int toShift;
+    private final int maxLength;
+
+    private RadixConverter(int from, int to) {
+        this.from = from;
+        this.to = to;
+
+        digitValues = new byte[128];
+
+        Arrays.fill(digitValues, (byte) -1);
+
+        for (int i = 0; i < from; i++) {
+            digitValues[DIGITS[i]] = (byte) i;
+            digitValues[Character.toUpperCase(DIGITS[i])] = (byte) i;
+        }
+
+        // Largest number of digits whose value stays below 2^63, so that it accumulates in a long without any checks
+        int length = 0;
+
+        for (long power = 1; power <= Long.MAX_VALUE / from; power *= from) {
+            length++;
+        }
+
+        chunkLength = length;
+        powers = new long[chunkLength + 1];
+        powers[0] = 1;
+
+        for (int i = 1; i <= chunkLength; i++) {
+            powers[i] = powers[i - 1] * from;
+        }
+
+        toShift = (Integer.bitCount(to) == 1) ? Integer.numberOfTrailingZeros(to) : -1;
+        maxLength = Long.toUnsignedString(-1L, to).length();
+    }
+
+    /**
+     * Returns the converter from the radix specified by the first argument to the radix specified by the second
+     * argument.
+     *
+     * @param from the radix to which the input representations are in.
+     * @param to the radix to use in the output representations.
+     *
+     * @return the shared converter for the radix pair.
+     *
+     * @throws IllegalArgumentException if either radix is smaller than {@link Character#MIN_RADIX} or larger than
+     * {@link Character#MAX_RADIX}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static RadixConverter of(int from, int to) {
+        checkRadix(from, "from");
+        checkRadix(to, "to");
+
+        final int index = from * RADIX_COUNT + to;
+
+        RadixConverter converter = CONVERTERS.get(index);
+
+        if (converter == null) {
+            CONVERTERS.compareAndSet(index, null, new RadixConverter(from, to));
+
+            converter = CONVERTERS.get(index);
+        }
+
+        return converter;
+    }
+
+    /**
+     * Returns the radix to which the input representations are in.
+     *
+     * @return the source radix.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the radix used in the output representations.
+     *
+     * @return the target radix.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getTo() {
+        return to;
+    }
+
+    /**
+     * Returns the maximum number of characters a single converted value takes, which is the length of the largest
+     * unsigned 64-bit value in the target radix.
+     *
+     * @return the maximum length of a single conversion.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns the unsigned 64-bit value represented by the specified region of the character sequence in the source
+     * radix.
+     *
+     * @param valueSeq the character sequence to parse.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     *
+     * @return the parsed value, to be treated as unsigned.
+     *
+     * @throws NumberFormatException if the region is empty, contains an invalid digit, or overflows 64 bits.
+     * @throws IndexOutOfBoundsException if the region is out of bounds.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long parse(CharSequence valueSeq, int beginIndex, int endIndex) {
+        Objects.checkFromToIndex(beginIndex, endIndex, valueSeq.length());
+
+        if (beginIndex == endIndex) {
+            throw new NumberFormatException("Empty region at index " + beginIndex);
+        }
+
+        int i = beginIndex;
+
+        while (i < endIndex - 1 && valueSeq.charAt(i) == '0') {
+            i++;
+        }
+
+        final int chunkEnd = Math.min(endIndex, i + chunkLength);
+
+        long value = 0;
+
+        for (; i < chunkEnd; i++) {
+            value = value * from + getDigitValue(valueSeq, i);
+        }
+
+        if (i == endIndex) {
+            return value;
+        }
+
+        // Whatever remains must be combined with an overflow check, and is never longer than the first chunk
+        final int remaining = endIndex - i;
+
+        if (remaining > chunkLength) {
+            throw new NumberFormatException("Value out of unsigned 64-bit range at index " + (i + chunkLength));
+        }
+
+        long low = 0;
+
+        for (; i < endIndex; i++) {
+            low = low * from + getDigitValue(valueSeq, i);
+        }
+
+        final long power = powers[remaining];
+        final long high = Math.unsignedMultiplyHigh(value, power);
+        final long result = value * power + low;
+
+        if (high != 0 || Long.compareUnsigned(result, low) < 0) {
+            throw new NumberFormatException("Value out of unsigned 64-bit range at index " + (endIndex - 1));
+        }
+
+        return result;
+    }
+
+    /**
+     * Writes the representation of the unsigned 64-bit value, in the target radix, into the destination array.
+     *
+     * @param value to be converted, treated as unsigned.
+     * @param destination the array to write the representation into.
+     * @param destinationIndex the index within the destination array to start writing at.
+     *
+     * @return the number of characters written.
+     *
+     * @throws IndexOutOfBoundsException if the destination array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int format(long value, char[] destination, int destinationIndex) {
+        final int length = getLength(value);
+
+        Objects.checkFromIndexSize(destinationIndex, length, destination.length);
+
+        int index = destinationIndex + length;
+
+        if (toShift > 0) {
+            final int mask = to - 1;
+
+            do {
+                destination[--index] = DIGITS[(int) value & mask];
+                value >>>= toShift;
+            } while (value != 0);
+
+            return length;
+        }
+
+        if (value < 0) {
+            final long quotient = Long.divideUnsigned(value, to);
+
+            destination[--index] = DIGITS[(int) (value - quotient * to)];
+            value = quotient;
+        }
+
+        do {
+            destination[--index] = DIGITS[(int) (value % to)];
+            value /= to;
+        } while (value != 0);
+
+        return length;
+    }
+
+    /**
+     * Returns the representation of the character sequence, in the target radix.
+     *
+     * @param valueSeq a character sequence in the source radix.
+     *
+     * @return the representation in the target radix.
+     *
+     * @throws NumberFormatException if the sequence is empty, contains an invalid digit, or overflows 64 bits.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String convert(CharSequence valueSeq) {
+        final char[] destination = new char[maxLength];
+
+        return new String(destination, 0, convert(valueSeq, 0, valueSeq.length(), destination, 0));
+    }
+
+    /**
+     * Writes the representation of the specified region of the character sequence, in the target radix, into the
+     * destination array.
+     *
+     * @param valueSeq a character sequence in the source radix.
+     * @param beginIndex the beginning index, inclusive.
+     * @param endIndex the ending index, exclusive.
+     * @param destination the array to write the representation into.
+     * @param destinationIndex the index within the destination array to start writing at.
+     *
+     * @return the number of characters written.
+     *
+     * @throws NumberFormatException if the region is empty, contains an invalid digit, or overflows 64 bits.
+     * @throws IndexOutOfBoundsException if the region is out of bounds, or the destination array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int convert(CharSequence valueSeq, int beginIndex, int endIndex, char[] destination, int destinationIndex) {
+        return format(parse(valueSeq, beginIndex, endIndex), destination, destinationIndex);
+    }
+
+    /**
+     * Converts every value, writing the representations one after another into the destination array.
+     * <br><br>
+     * On return, the representation of <code>values[i]</code> occupies the destination array from
+     * <code>offsets[i]</code>, inclusive, to <code>offsets[i + 1]</code>, exclusive. A destination array of
+     * <code>values.length * getMaxLength()</code> characters is always large enough.
+     *
+     * @param values the character sequences in the source radix.
+     * @param destination the array to write the representations into.
+     * @param offsets the array, of at least <code>values.length + 1</code> elements, to record the boundaries into.
+     *
+     * @return the total number of characters written.
+     *
+     * @throws NumberFormatException if any of the values cannot be parsed.
+     * @throws IndexOutOfBoundsException if either array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int convert(CharSequence[] values, char[] destination, int[] offsets) {
+        Objects.checkIndex(values.length, offsets.length);
+
+        int index = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            offsets[i] = index;
+            index += convert(values[i], 0, values[i].length(), destination, index);
+        }
+
+        offsets[values.length] = index;
+
+        return index;
+    }
+
+    /**
+     * Formats every value as an unsigned 32-bit value, writing the representations one after another into the
+     * destination array. The values are numbers rather than representations, so only the target radix applies.
+     * <br><br>
+     * On return, the representation of <code>values[i]</code> occupies the destination array from
+     * <code>offsets[i]</code>, inclusive, to <code>offsets[i + 1]</code>, exclusive. A destination array of
+     * <code>values.length * getMaxLength()</code> characters is always large enough.
+     *
+     * @param values the values to be converted, treated as unsigned.
+     * @param destination the array to write the representations into.
+     * @param offsets the array, of at least <code>values.length + 1</code> elements, to record the boundaries into.
+     *
+     * @return the total number of characters written.
+     *
+     * @throws IndexOutOfBoundsException if either array is too small.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int convert(int[] values, char[] destination, int[] offsets) {
+        Objects.checkIndex(values.length, offsets.length);
+
+        int index = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            offsets[i] = index;
+            index += format(Integer.toUnsignedLong(values[i]), destination, index);
+        }
+
+        offsets[values.length] = index;
+
+        return index;
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static void checkRadix(int radix, String argumentName) {
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+            throw new IllegalArgumentException(
+                    "Fatal Error. '" + argumentName + "'. Only a radix between 2 and 36 is allowed."
+            );
+        }
+    }
+
+    private int getDigitValue(CharSequence valueSeq, int index) {
+        final char c = valueSeq.charAt(index);
+        final int value = (c < digitValues.length) ? digitValues[c] : -1;
+
+        if (value < 0) {
+            throw new NumberFormatException("Invalid digit '" + c + "' at index " + index + " under radix " + from);
+        }
+
+        return value;
+    }
+
+    private int getLength(long value) {
+        if (toShift > 0) {
+            return Math.max(1, (64 - Long.numberOfLeadingZeros(value) + toShift - 1) / toShift);
+        }
+
+        int length = 1;
+
+        if (value < 0) {
+            value = Long.divideUnsigned(value, to);
+            length++;
+        }
+
+        while (value >= to) {
+            value /= to;
+            length++;
+        }
+
+        return length;
+    }
+}
@@ -16,8 +16,27 @@ limitations under the License.
 
 package com.shaiksphere.mindsmine.jems;
 
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
 /**
  * A collection of useful static methods to deal with regular expressions.
+ * <br><br>
+ * Every regex is also available as a {@link Pattern}, compiled once, and as a predicate. The predicates do not use
+ * the regex engine: each runs a deterministic automaton, built by hand to accept exactly the same language as the
+ * regex, which reads every character of the input once, without backtracking and without allocating.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     RegExHelper.isEmail("alice@example.com")            //  true
+ *     RegExHelper.isLatitude("91")                        //  false
+ *
+ *     RegExHelper.EMAIL_PATTERN.matcher(text).find()
+ *
+ *     RegExHelper.compile(configuredRegex, Pattern.CASE_INSENSITIVE)     //  compiled once, then cached
+ * </pre>
  *
  * @author Mohammed Shaik Hussain Ali
  *
@@ -77,4 +96,537 @@ public final class RegExHelper {
      *
      */
     public static final String TIME_DISPLAY = "(([0-1]*[0-9]|[2][0-3]):([0-5][0-9]))";
+
+    /**
+     * The compiled form of {@link RegExHelper#EMAIL}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL);
+
+    /**
+     * The compiled form of {@link RegExHelper#LONGITUDE}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final Pattern LONGITUDE_PATTERN = Pattern.compile(LONGITUDE);
+
+    /**
+     * The compiled form of {@link RegExHelper#LATITUDE}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final Pattern LATITUDE_PATTERN = Pattern.compile(LATITUDE);
+
+    /**
+     * The compiled form of {@link RegExHelper#US_PHONE_NUMBER}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final Pattern US_PHONE_NUMBER_PATTERN = Pattern.compile(US_PHONE_NUMBER);
+
+    /**
+     * The compiled form of {@link RegExHelper#TIME_DISPLAY}.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final Pattern TIME_DISPLAY_PATTERN = Pattern.compile(TIME_DISPLAY);
+
+    private static final int PATTERN_CACHE_SIZE = 1024;
+
+    private static final LRUCache<PatternKey, Pattern> PATTERN_CACHE = new LRUCache<>(PATTERN_CACHE_SIZE);
+
+    private static final LongAdder COMPILE_COUNT = new LongAdder();
+    private static final LongAdder COMPILE_NANOS = new LongAdder();
+    private static final LongAccumulator MAX_COMPILE_NANOS = new LongAccumulator(Math::max, 0);
+
+    private static final String DIGITS = "0123456789";
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    /*
+     * Automata accepting exactly the languages of the regexes, as matched in whole.
+     */
+    static final DFA EMAIL_DFA = createEmailDFA();
+    static final DFA LONGITUDE_DFA = createLongitudeDFA();
+    static final DFA LATITUDE_DFA = createLatitudeDFA();
+    static final DFA US_PHONE_NUMBER_DFA = createUSPhoneNumberDFA();
+    static final DFA TIME_DISPLAY_DFA = createTimeDisplayDFA();
+
+    /**
+     * Returns <code>true</code> if the whole input matches {@link RegExHelper#EMAIL}, <code>false</code> otherwise.
+     *
+     * @param input to check
+     *
+     * @return if the input is an email address, or <code>false</code> if it is <code>null</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    public static boolean isEmail(CharSequence input) {
+        return EMAIL_DFA.matches(input);
+    }
+
+    /**
+     * Returns <code>true</code> if the whole input matches {@link RegExHelper#LONGITUDE}, <code>false</code> otherwise.
+     *
+     * @param input to check
+     *
+     * @return if the input is a longitude, or <code>false</code> if it is <code>null</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    public static boolean isLongitude(CharSequence input) {
+        return LONGITUDE_DFA.matches(input);
+    }
+
+    /**
+     * Returns <code>true</code> if the whole input matches {@link RegExHelper#LATITUDE}, <code>false</code> otherwise.
+     *
+     * @param input to check
+     *
+     * @return if the input is a latitude, or <code>false</code> if it is <code>null</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    public static boolean isLatitude(CharSequence input) {
+        return LATITUDE_DFA.matches(input);
+    }
+
+    /**
+     * Returns <code>true</code> if the whole input matches {@link RegExHelper#US_PHONE_NUMBER}, <code>false</code>
+     * otherwise.
+     *
+     * @param input to check
+     *
+     * @return if the input is a US phone number, or <code>false</code> if it is <code>null</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    public static boolean isUSPhoneNumber(CharSequence input) {
+        return US_PHONE_NUMBER_DFA.matches(input);
+    }
+
+    /**
+     * Returns <code>true</code> if the whole input matches {@link RegExHelper#TIME_DISPLAY}, <code>false</code>
+     * otherwise.
+     *
+     * @param input to check
+     *
+     * @return if the input is a 24-hour time, or <code>false</code> if it is <code>null</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    public static boolean isTimeDisplay(CharSequence input) {
+        return TIME_DISPLAY_DFA.matches(input);
+    }
+
+    /**
+     * Returns the compiled form of the regex, from a cache of the most recently used patterns.
+     *
+     * @param regex to compile
+     *
+     * @return the pattern
+     *
+     * @throws IllegalArgumentException if the regex is <code>null</code>
+     * @throws java.util.regex.PatternSyntaxException if the regex is not valid
+     *
+     * @see RegExHelper#compile(String, int)
+     *
+     * @since 4.10.0
+     *
+     */
+    public static Pattern compile(String regex) {
+        return compile(regex, 0);
+    }
+
+    /**
+     * Returns the compiled form of the regex with the specified flags, from a cache of the most recently used
+     * patterns.
+     * <br><br>
+     * A regex is compiled only on the first call with the same flags, or after it is evicted from the cache, which
+     * holds 1024 patterns unless resized through {@link RegExHelper#getPatternCache()}. Invalid regexes are not cached.
+     * <br><br>
+     * Example Usage:
+     *
+     * <pre>
+     *     RegExHelper.compile("^[a-z]+$", Pattern.CASE_INSENSITIVE).matcher("Jems").matches()     //  true
+     *
+     *     RegExHelper.getPatternCache().getHitRate()
+     *     RegExHelper.getCompileNanos()
+     * </pre>
+     *
+     * @param regex to compile
+     * @param flags the match flags, as in {@link Pattern#compile(String, int)}
+     *
+     * @return the pattern
+     *
+     * @throws IllegalArgumentException if the regex is <code>null</code>, or the flags are not valid
+     * @throws java.util.regex.PatternSyntaxException if the regex is not valid
+     *
+     * @since 4.10.0
+     *
+     */
+    public static Pattern compile(String regex, int flags) {
+        if (regex == null) {
+            throw new IllegalArgumentException("Fatal Error. 'regex'. Null is not allowed.");
+        }
+
+        return PATTERN_CACHE.get(new PatternKey(regex, flags), RegExHelper::compileUncached);
+    }
+
+    /**
+     * Returns the cache of {@link RegExHelper#compile(String, int)}, to monitor, resize or clear it.
+     *
+     * @return the cache of compiled patterns.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static LRUCache<?, Pattern> getPatternCache() {
+        return PATTERN_CACHE;
+    }
+
+    /**
+     * Returns the number of regexes compiled by {@link RegExHelper#compile(String, int)}, which is the number of cache
+     * misses, including those of invalid regexes.
+     *
+     * @return the number of compilations.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static long getCompileCount() {
+        return COMPILE_COUNT.sum();
+    }
+
+    /**
+     * Returns the total time spent compiling regexes in {@link RegExHelper#compile(String, int)}.
+     *
+     * @return the total compile time, in nanoseconds.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static long getCompileNanos() {
+        return COMPILE_NANOS.sum();
+    }
+
+    /**
+     * Returns the longest time spent compiling a single regex in {@link RegExHelper#compile(String, int)}.
+     *
+     * @return the longest compile time, in nanoseconds.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static long getMaxCompileNanos() {
+        return MAX_COMPILE_NANOS.get();
+    }
+
+    /**
+     * Resets the compile statistics, and the statistics of the pattern cache, to zero.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static void resetCompileStatistics() {
+        COMPILE_COUNT.reset();
+        COMPILE_NANOS.reset();
+        MAX_COMPILE_NANOS.reset();
+        PATTERN_CACHE.resetStatistics();
+    }
+
+    /**
+     * Compiles the regex for matching in time linear in the length of the input, for regexes which cannot be trusted
+     * not to backtrack catastrophically, such as those supplied by users.
+     * <br><br>
+     * Only the regular subset of the {@link Pattern} syntax is supported: backreferences, lookarounds, atomic groups,
+     * possessive quantifiers, inline flags, word boundaries, Unicode properties, nested character classes and
+     * supplementary characters are not, nor repetition bounds above 1000. Characters are compared one UTF-16
+     * <code>char</code> at a time, and '<code>$</code>' matches only at the end of the input.
+     * <br><br>
+     * Example Usage:
+     *
+     * <pre>
+     *     RegExHelper.compileLinear("(a+)+$").find("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa!")    //  false, at once
+     *
+     *     RegExHelper.compileLinear("(a)\\1")                                            //  IllegalArgumentException
+     * </pre>
+     *
+     * @param regex to compile
+     *
+     * @return the pattern
+     *
+     * @throws IllegalArgumentException if the regex is <code>null</code>, uses an unsupported construct, or is too
+     * large
+     * @throws java.util.regex.PatternSyntaxException if the regex is not valid
+     *
+     * @see RegExHelper#findUnsupportedConstructs(String)
+     *
+     * @since 4.10.0
+     *
+     */
+    public static LinearPattern compileLinear(String regex) {
+        return new LinearPattern(regex);
+    }
+
+    /**
+     * Returns the constructs of the regex which {@link RegExHelper#compileLinear(String)} does not support, each
+     * described with its index in the regex, such as <code>"backreference at index 3"</code>.
+     *
+     * @param regex to check
+     *
+     * @return the unsupported constructs, in order; empty if the regex is supported
+     *
+     * @throws IllegalArgumentException if the regex is <code>null</code>
+     * @throws java.util.regex.PatternSyntaxException if the regex is not valid
+     *
+     * @since 4.10.0
+     *
+     */
+    public static List<String> findUnsupportedConstructs(String regex) {
+        return RegexParser.findUnsupportedConstructs(regex);
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static final class PatternKey {
+        private final String regex;
+        private final int flags;
+
+        PatternKey(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof PatternKey)
+                    && ((PatternKey) obj).flags == flags
+                    && ((PatternKey) obj).regex.equals(regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * regex.hashCode() + flags;
+        }
+    }
+
+    private static Pattern compileUncached(PatternKey key) {
+        final long start = System.nanoTime();
+
+        try {
+            return Pattern.compile(key.regex, key.flags);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+
+            COMPILE_COUNT.increment();
+            COMPILE_NANOS.add(elapsed);
+            MAX_COMPILE_NANOS.accumulate(elapsed);
+        }
+    }
+
+    /*
+     * ^L+(?:\.L+)*@(?:[a-zA-Z0-9-]+\.)+[a-zA-Z]{2,7}$, where L is [a-zA-Z0-9_+&*-].
+     *
+     * The top-level domain is the run of letters after the last '.', so the labels after '@' are tracked by the
+     * number of letters read since the last '.', up to 7; any other character makes the label a plain one.
+     */
+    private static DFA createEmailDFA() {
+        final DFA.Builder builder = new DFA.Builder();
+
+        final int start = builder.addState();
+        final int local = builder.addState();
+        final int localDot = builder.addState();
+        final int at = builder.addState();
+        final int label = builder.addState();
+        final int[] letters = new int[8];
+
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = builder.addState();
+        }
+
+        final String localChars = LETTERS + DIGITS + "_+&*-";
+
+        builder.on(start, localChars, local)
+                .on(local, localChars, local)
+                .on(local, ".", localDot)
+                .on(local, "@", at)
+                .on(localDot, localChars, local)
+                .on(at, LETTERS + DIGITS + "-", label)
+                .on(label, LETTERS + DIGITS + "-", label)
+                .on(label, ".", letters[0]);
+
+        for (int i = 0; i < letters.length; i++) {
+            builder.on(letters[i], DIGITS + "-", label)
+                    .on(letters[i], LETTERS, (i < 7) ? letters[i + 1] : label);
+
+            if (i > 0) {
+                builder.on(letters[i], ".", letters[0]);
+            }
+
+            if (i >= 2) {
+                builder.accept(letters[i]);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /*
+     * An optional fraction, \.\d+, after the integer part.
+     */
+    private static void addFraction(DFA.Builder builder, int... integerStates) {
+        final int dot = builder.addState();
+        final int fraction = builder.addState();
+
+        for (int state : integerStates) {
+            builder.on(state, ".", dot);
+        }
+
+        builder.on(dot, DIGITS, fraction)
+                .on(fraction, DIGITS, fraction)
+                .accept(fraction);
+    }
+
+    /*
+     * ^\+?1[0-7]\d(F)?$ | ^\+?([1-9])?\d(F)?$ | ^-180$ | ^-1[1-7]\d(F)?$ | ^-[1-9]\d(F)?$ | ^-\d(F)?$, where F is
+     * \.\d+: from 0 to 179 with an optional '+', and from -0 to -99, from -110 to -179 and -180 with '-'.
+     */
+    private static DFA createLongitudeDFA() {
+        final DFA.Builder builder = new DFA.Builder();
+
+        final int start = builder.addState();
+        final int plus = builder.addState();
+        final int minus = builder.addState();
+        final int one = builder.addState();
+        final int oneDigit = builder.addState();
+        final int tenToSeventeen = builder.addState();
+        final int complete = builder.addState();
+        final int minusOne = builder.addState();
+        final int minusEleven = builder.addState();
+        final int minusEighteen = builder.addState();
+        final int minus180 = builder.addState();
+
+        for (int state : new int[] {start, plus}) {
+            builder.on(state, "0", complete)
+                    .on(state, "1", one)
+                    .on(state, '2', '9', oneDigit);
+        }
+
+        builder.on(start, "+", plus)
+                .on(start, "-", minus)
+                .on(one, '0', '7', tenToSeventeen)
+                .on(one, "89", complete)
+                .on(oneDigit, DIGITS, complete)
+                .on(tenToSeventeen, DIGITS, complete)
+                .on(minus, "0", complete)
+                .on(minus, "1", minusOne)
+                .on(minus, '2', '9', oneDigit)
+                .on(minusOne, "09", complete)
+                .on(minusOne, '1', '7', minusEleven)
+                .on(minusOne, "8", minusEighteen)
+                .on(minusEleven, DIGITS, complete)
+                .on(minusEighteen, "0", minus180)
+                .accept(one, oneDigit, tenToSeventeen, complete, minusOne, minusEleven, minusEighteen, minus180);
+
+        addFraction(builder, one, oneDigit, tenToSeventeen, complete, minusOne, minusEleven, minusEighteen);
+
+        return builder.build();
+    }
+
+    /*
+     * ^\+?([1-8])?\d(F)?$ | ^-90$ | ^-(([1-8])?\d(F)?$), where F is \.\d+: from 0 to 89 with an optional '+' or '-',
+     * and -90.
+     */
+    private static DFA createLatitudeDFA() {
+        final DFA.Builder builder = new DFA.Builder();
+
+        final int start = builder.addState();
+        final int plus = builder.addState();
+        final int minus = builder.addState();
+        final int oneDigit = builder.addState();
+        final int complete = builder.addState();
+        final int minusNine = builder.addState();
+        final int minus90 = builder.addState();
+
+        for (int state : new int[] {start, plus, minus}) {
+            builder.on(state, "0", complete)
+                    .on(state, '1', '8', oneDigit)
+                    .on(state, "9", (state == minus) ? minusNine : complete);
+        }
+
+        builder.on(start, "+", plus)
+                .on(start, "-", minus)
+                .on(oneDigit, DIGITS, complete)
+                .on(minusNine, "0", minus90)
+                .accept(oneDigit, complete, minusNine, minus90);
+
+        addFraction(builder, oneDigit, complete, minusNine);
+
+        return builder.build();
+    }
+
+    /*
+     * \(([2-9][0-9][0-9])\) ([2-9][0-9]{2})-([0-9]{4})
+     */
+    private static DFA createUSPhoneNumberDFA() {
+        final String[] positions = {"(", "23456789", DIGITS, DIGITS, ")", " ", "23456789", DIGITS, DIGITS, "-",
+                DIGITS, DIGITS, DIGITS, DIGITS};
+
+        final DFA.Builder builder = new DFA.Builder();
+
+        int state = builder.addState();
+
+        for (String chars : positions) {
+            final int next = builder.addState();
+
+            builder.on(state, chars, next);
+            state = next;
+        }
+
+        return builder.accept(state).build();
+    }
+
+    /*
+     * (([0-1]*[0-9]|[2][0-3]):([0-5][0-9])): the hours are any number of '0' and '1' followed by a digit, or from 20
+     * to 23.
+     */
+    private static DFA createTimeDisplayDFA() {
+        final DFA.Builder builder = new DFA.Builder();
+
+        final int start = builder.addState();
+        final int binary = builder.addState();
+        final int two = builder.addState();
+        final int hours = builder.addState();
+        final int colon = builder.addState();
+        final int tens = builder.addState();
+        final int minutes = builder.addState();
+
+        builder.on(start, "01", binary)
+                .on(start, "2", two)
+                .on(start, '3', '9', hours)
+                .on(binary, "01", binary)
+                .on(binary, '2', '9', hours)
+                .on(binary, ":", colon)
+                .on(two, '0', '3', hours)
+                .on(two, ":", colon)
+                .on(hours, ":", colon)
+                .on(colon, '0', '5', tens)
+                .on(tens, DIGITS, minutes)
+                .accept(minutes);
+
+        return builder.build();
+    }
 }
@@ -0,0 +1,637 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A parser of the regular subset of the {@link Pattern} syntax into a syntax tree, from which automata are built.
+ * <br><br>
+ * The regex is first compiled by {@link Pattern}, so syntax errors are reported exactly as {@link Pattern} reports them.
+ * Every construct which cannot be matched by a finite automaton, or whose semantics are not mirrored, is then collected
+ * as unsupported:
+ * <ul>
+ *     <li>backreferences, lookaheads, lookbehinds, atomic groups and possessive quantifiers;</li>
+ *     <li>inline flags, such as <code>(?i)</code>;</li>
+ *     <li>word boundaries, <code>\G</code>, <code>\Z</code>, <code>\R</code>, <code>\X</code>, named characters and
+ *     Unicode properties;</li>
+ *     <li>nested character classes and intersections;</li>
+ *     <li>supplementary characters, and repetition bounds above 1000.</li>
+ * </ul>
+ * Characters are matched one UTF-16 <code>char</code> at a time, and '<code>$</code>' matches only at the end of the
+ * input, not also before a final line terminator.
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+final class RegexParser {
+    /**
+     * The largest supported bound of a repetition.
+     */
+    static final int MAX_REPETITION = 1000;
+
+    private static final int[] DIGIT = {'0', '9'};
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+    private static final int[] HORIZONTAL_SPACE = {'\t', '\t', ' ', ' ', 0xa0, 0xa0, 0x1680, 0x1680, 0x180e, 0x180e,
+            0x2000, 0x200a, 0x202f, 0x202f, 0x205f, 0x205f, 0x3000, 0x3000};
+    private static final int[] VERTICAL_SPACE = {'\n', '\r', 0x85, 0x85, 0x2028, 0x2029};
+    private static final int[] LINE_TERMINATOR = {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029};
+
+    /**
+     * A node of the syntax tree.
+     */
+    static final class Node {
+        static final int EMPTY = 0;
+        static final int CHARS = 1;
+        static final int CONCAT = 2;
+        static final int ALTERNATE = 3;
+        static final int REPEAT = 4;
+        static final int BEGIN = 5;
+        static final int END = 6;
+
+        final int kind;
+
+        // The sorted, disjoint, inclusive ranges of a CHARS node
+        final int[] ranges;
+
+        final List<Node> children;
+
+        // The bounds of a REPEAT node; an unbounded maximum is -1
+        final int min;
+        final int max;
+
+        private Node(int kind, int[] ranges, List<Node> children, int min, int max) {
+            this.kind = kind;
+            this.ranges = ranges;
+            this.children = children;
+            this.min = min;
+            this.max = max;
+        }
+
+        static Node of(int kind) {
+            return new Node(kind, null, Collections.emptyList(), 0, 0);
+        }
+
+        static Node chars(int[] ranges) {
+            return new Node(CHARS, ranges, Collections.emptyList(), 0, 0);
+        }
+
+        static Node sequence(int kind, List<Node> children) {
+            return (children.size() == 1) ? children.get(0) : new Node(kind, null, children, 0, 0);
+        }
+
+        static Node repeat(Node child, int min, int max) {
+            return new Node(REPEAT, null, Collections.singletonList(child), min, max);
+        }
+    }
+
+    private final String regex;
+    private final List<String> unsupported = new ArrayList<>();
+
+    private int pos;
+
+    private RegexParser(String regex) {
+        this.regex = regex;
+    }
+
+    /**
+     * Parses the regex.
+     *
+     * @param regex the regex.
+     *
+     * @return the root of the syntax tree.
+     *
+     * @throws java.util.regex.PatternSyntaxException if the regex is not valid.
+     * @throws IllegalArgumentException if the regex is <code>null</code>, or has unsupported constructs.
+     */
+    static Node parse(String regex) {
+        final RegexParser parser = parseAll(regex);
+
+        if (!parser.unsupported.isEmpty()) {
+            throw new IllegalArgumentException("Fatal Error. 'regex'. Unsupported construct(s): "
+                    + String.join(", ", parser.unsupported) + ".");
+        }
+
+        return parser.root;
+    }
+
+    /**
+     * Returns the descriptions of the unsupported constructs of the regex.
+     *
+     * @param regex the regex.
+     *
+     * @return the descriptions, with their index in the regex, in order; empty if every construct is supported.
+     *
+     * @throws java.util.regex.PatternSyntaxException if the regex is not valid.
+     * @throws IllegalArgumentException if the regex is <code>null</code>.
+     */
+    static List<String> findUnsupportedConstructs(String regex) {
+        return Collections.unmodifiableList(parseAll(regex).unsupported);
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private Node root;
+
+    private static RegexParser parseAll(String regex) {
+        if (regex == null) {
+            throw new IllegalArgumentException("Fatal Error. 'regex'. Null is not allowed.");
+        }
+
+        Pattern.compile(regex);
+
+        final RegexParser parser = new RegexParser(regex);
+
+        parser.root = parser.parseAlternation();
+
+        return parser;
+    }
+
+    private void reportUnsupported(String construct, int index) {
+        unsupported.add(construct + " at index " + index);
+    }
+
+    private boolean hasMore() {
+        return pos < regex.length();
+    }
+
+    private char peek() {
+        return regex.charAt(pos);
+    }
+
+    private Node parseAlternation() {
+        final List<Node> alternatives = new ArrayList<>();
+
+        alternatives.add(parseConcatenation());
+
+        while (hasMore() && peek() == '|') {
+            pos++;
+            alternatives.add(parseConcatenation());
+        }
+
+        return Node.sequence(Node.ALTERNATE, alternatives);
+    }
+
+    private Node parseConcatenation() {
+        final List<Node> items = new ArrayList<>();
+
+        while (hasMore() && peek() != '|' && peek() != ')') {
+            items.add(parseQuantified());
+        }
+
+        return items.isEmpty() ? Node.of(Node.EMPTY) : Node.sequence(Node.CONCAT, items);
+    }
+
+    private Node parseQuantified() {
+        Node node = parseAtom();
+
+        while (hasMore()) {
+            final int start = pos;
+            final char c = peek();
+
+            int min;
+            int max;
+
+            if (c == '*') {
+                min = 0;
+                max = -1;
+                pos++;
+            } else if (c == '+') {
+                min = 1;
+                max = -1;
+                pos++;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+                pos++;
+            } else if (c == '{') {
+                final int close = regex.indexOf('}', pos);
+                final String bounds = regex.substring(pos + 1, close);
+                final int comma = bounds.indexOf(',');
+
+                min = parseBound((comma < 0) ? bounds : bounds.substring(0, comma));
+                max = (comma < 0) ? min : (comma == bounds.length() - 1) ? -1 : parseBound(bounds.substring(comma + 1));
+                pos = close + 1;
+            } else {
+                break;
+            }
+
+            if (hasMore() && peek() == '?') {
+                // A reluctant quantifier matches the same language
+                pos++;
+            } else if (hasMore() && peek() == '+') {
+                reportUnsupported("possessive quantifier", pos);
+                pos++;
+            }
+
+            if (min > MAX_REPETITION || max > MAX_REPETITION) {
+                reportUnsupported("repetition bound above " + MAX_REPETITION, start);
+                min = Math.min(min, MAX_REPETITION);
+                max = (max < 0) ? max : Math.min(max, MAX_REPETITION);
+            }
+
+            node = Node.repeat(node, min, max);
+        }
+
+        return node;
+    }
+
+    private static int parseBound(String bound) {
+        try {
+            return Integer.parseInt(bound.trim());
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private Node parseAtom() {
+        final char c = peek();
+
+        switch (c) {
+            case '(':
+                return parseGroup();
+            case '[':
+                return Node.chars(parseClass());
+            case '.':
+                pos++;
+                return Node.chars(complement(LINE_TERMINATOR));
+            case '^':
+                pos++;
+                return Node.of(Node.BEGIN);
+            case '$':
+                pos++;
+                return Node.of(Node.END);
+            case '\\':
+                return parseEscape();
+            default:
+                return Node.chars(range(parseLiteral()));
+        }
+    }
+
+    private char parseLiteral() {
+        final char c = regex.charAt(pos++);
+
+        if (Character.isHighSurrogate(c) && hasMore() && Character.isLowSurrogate(peek())) {
+            reportUnsupported("supplementary character", pos - 1);
+            pos++;
+        }
+
+        return c;
+    }
+
+    private Node parseGroup() {
+        final int start = pos++;
+
+        if (regex.startsWith("?", pos)) {
+            if (regex.startsWith("?:", pos)) {
+                pos += 2;
+            } else if (regex.startsWith("?<", pos) && pos + 2 < regex.length()
+                    && Character.isLetter(regex.charAt(pos + 2))) {
+                pos = regex.indexOf('>', pos) + 1;
+            } else if (regex.startsWith("?=", pos) || regex.startsWith("?!", pos)) {
+                reportUnsupported("lookahead", start);
+                pos += 2;
+            } else if (regex.startsWith("?<=", pos) || regex.startsWith("?<!", pos)) {
+                reportUnsupported("lookbehind", start);
+                pos += 3;
+            } else if (regex.startsWith("?>", pos)) {
+                reportUnsupported("atomic group", start);
+                pos += 2;
+            } else {
+                reportUnsupported("inline flags", start);
+
+                pos++;
+
+                while (peek() != ':' && peek() != ')') {
+                    pos++;
+                }
+
+                if (peek() == ')') {
+                    pos++;
+                    return Node.of(Node.EMPTY);
+                }
+
+                pos++;
+            }
+        }
+
+        final Node node = parseAlternation();
+
+        // The closing parenthesis, which Pattern guarantees
+        pos++;
+
+        return node;
+    }
+
+    private Node parseEscape() {
+        final int start = pos;
+        final char e = regex.charAt(pos + 1);
+
+        pos += 2;
+
+        switch (e) {
+            case 'A':
+                return Node.of(Node.BEGIN);
+            case 'z':
+                return Node.of(Node.END);
+            case 'Q': {
+                final int end = regex.indexOf("\\E", pos);
+                final int quoteEnd = (end < 0) ? regex.length() : end;
+                final List<Node> chars = new ArrayList<>();
+
+                while (pos < quoteEnd) {
+                    chars.add(Node.chars(range(parseLiteral())));
+                }
+
+                pos = (end < 0) ? quoteEnd : end + 2;
+
+                return chars.isEmpty() ? Node.of(Node.EMPTY) : Node.sequence(Node.CONCAT, chars);
+            }
+            case 'b':
+            case 'B':
+            case 'G':
+            case 'Z':
+            case 'R':
+            case 'X':
+                reportUnsupported("'\\" + e + "'", start);
+                return Node.of(Node.EMPTY);
+            case 'k':
+                reportUnsupported("backreference", start);
+                pos = regex.indexOf('>', pos) + 1;
+                return Node.of(Node.EMPTY);
+            default:
+                if (e >= '1' && e <= '9') {
+                    reportUnsupported("backreference", start);
+
+                    while (hasMore() && peek() >= '0' && peek() <= '9') {
+                        pos++;
+                    }
+
+                    return Node.of(Node.EMPTY);
+                }
+
+                pos -= 2;
+
+                return Node.chars(parseEscapedChars());
+        }
+    }
+
+    /*
+     * An escape which stands for characters, within a class or not, from the '\'.
+     */
+    private int[] parseEscapedChars() {
+        final int start = pos;
+        final char e = regex.charAt(pos + 1);
+
+        pos += 2;
+
+        switch (e) {
+            case 'd':
+                return DIGIT;
+            case 'D':
+                return complement(DIGIT);
+            case 'w':
+                return WORD;
+            case 'W':
+                return complement(WORD);
+            case 's':
+                return SPACE;
+            case 'S':
+                return complement(SPACE);
+            case 'h':
+                return HORIZONTAL_SPACE;
+            case 'H':
+                return complement(HORIZONTAL_SPACE);
+            case 'v':
+                return VERTICAL_SPACE;
+            case 'V':
+                return complement(VERTICAL_SPACE);
+            case 't':
+                return range('\t');
+            case 'n':
+                return range('\n');
+            case 'r':
+                return range('\r');
+            case 'f':
+                return range('\f');
+            case 'a':
+                return range('\u0007');
+            case 'e':
+                return range('\u001b');
+            case 'c':
+                return range((char) (regex.charAt(pos++) ^ 64));
+            case '0':
+                return range(parseOctal());
+            case 'x':
+                return parseHexadecimal(start);
+            case 'u': {
+                final char c = (char) Integer.parseInt(regex.substring(pos, pos + 4), 16);
+
+                pos += 4;
+
+                if (Character.isHighSurrogate(c) && regex.startsWith("\\u", pos)) {
+                    reportUnsupported("supplementary character", start);
+                    pos += 6;
+                }
+
+                return range(c);
+            }
+            case 'p':
+            case 'P':
+                reportUnsupported("Unicode property", start);
+                pos = (hasMore() && peek() == '{') ? regex.indexOf('}', pos) + 1 : pos + 1;
+                return new int[0];
+            case 'N':
+                reportUnsupported("named character", start);
+                pos = regex.indexOf('}', pos) + 1;
+                return new int[0];
+            default:
+                return range(e);
+        }
+    }
+
+    private char parseOctal() {
+        int value = 0;
+        int digits = 0;
+
+        while (hasMore() && digits < 3 && peek() >= '0' && peek() <= '7' && value * 8 + (peek() - '0') <= 0377) {
+            value = value * 8 + (regex.charAt(pos++) - '0');
+            digits++;
+        }
+
+        return (char) value;
+    }
+
+    private int[] parseHexadecimal(int start) {
+        final int codePoint;
+
+        if (peek() == '{') {
+            final int close = regex.indexOf('}', pos);
+
+            codePoint = Integer.parseInt(regex.substring(pos + 1, close), 16);
+            pos = close + 1;
+        } else {
+            codePoint = Integer.parseInt(regex.substring(pos, pos + 2), 16);
+            pos += 2;
+        }
+
+        if (codePoint > 0xffff) {
+            reportUnsupported("supplementary character", start);
+            return new int[0];
+        }
+
+        return range((char) codePoint);
+    }
+
+    private int[] parseClass() {
+        pos++;
+
+        final boolean negated = peek() == '^';
+
+        if (negated) {
+            pos++;
+        }
+
+        final List<int[]> sets = new ArrayList<>();
+
+        boolean first = true;
+
+        while (first || peek() != ']') {
+            final int itemStart = pos;
+
+            if (regex.startsWith("&&", pos)) {
+                reportUnsupported("character class intersection", itemStart);
+                pos += 2;
+                first = false;
+                continue;
+            }
+
+            if (peek() == '[') {
+                reportUnsupported("nested character class", itemStart);
+                sets.add(parseClass());
+                first = false;
+                continue;
+            }
+
+            if (regex.startsWith("\\Q", pos)) {
+                final int end = regex.indexOf("\\E", pos);
+
+                for (int i = pos + 2; i < end; i++) {
+                    sets.add(range(regex.charAt(i)));
+                }
+
+                pos = end + 2;
+                first = false;
+                continue;
+            }
+
+            final int[] item = parseClassItem();
+
+            if (item.length == 2 && item[0] == item[1] && peek() == '-' && regex.charAt(pos + 1) != ']'
+                    && regex.charAt(pos + 1) != '[') {
+                pos++;
+
+                final int[] last = parseClassItem();
+
+                sets.add(new int[] {item[0], last[1]});
+            } else {
+                sets.add(item);
+            }
+
+            first = false;
+        }
+
+        pos++;
+
+        final int[] union = union(sets);
+
+        return negated ? complement(union) : union;
+    }
+
+    private int[] parseClassItem() {
+        return (peek() == '\\') ? parseEscapedChars() : range(parseLiteral());
+    }
+
+    private static int[] range(char c) {
+        return new int[] {c, c};
+    }
+
+    /*
+     * The union of sets of ranges, sorted and merged.
+     */
+    static int[] union(List<int[]> sets) {
+        final List<int[]> ranges = new ArrayList<>();
+
+        for (int[] set : sets) {
+            for (int i = 0; i < set.length; i += 2) {
+                ranges.add(new int[] {set[i], set[i + 1]});
+            }
+        }
+
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        final int[] merged = new int[2 * ranges.size()];
+
+        int count = 0;
+
+        for (int[] range : ranges) {
+            if (count > 0 && range[0] <= merged[count - 1] + 1) {
+                merged[count - 1] = Math.max(merged[count - 1], range[1]);
+            } else {
+                merged[count++] = range[0];
+                merged[count++] = range[1];
+            }
+        }
+
+        return Arrays.copyOf(merged, count);
+    }
+
+    /*
+     * The characters which are not in the sorted, disjoint ranges.
+     */
+    static int[] complement(int[] ranges) {
+        final int[] result = new int[ranges.length + 2];
+
+        int count = 0;
+        int next = 0;
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                result[count++] = next;
+                result[count++] = ranges[i] - 1;
+            }
+
+            next = ranges[i + 1] + 1;
+        }
+
+        if (next <= 0xffff) {
+            result[count++] = next;
+            result[count++] = 0xffff;
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+}
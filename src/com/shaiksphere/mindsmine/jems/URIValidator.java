@@ -0,0 +1,666 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+/**
+ * A validator accepting exactly the strings accepted by {@link java.net.URI#URI(String)}, without allocating any
+ * object and without throwing any exception.
+ * <br><br>
+ * The grammar is the one implemented by the parser of {@link java.net.URI}, which is RFC 2396 amended by RFC 2732 for
+ * IPv6 addresses, together with its documented deviations (empty authority, empty relative path, visible non-US-ASCII
+ * characters). The scanning methods follow the structure of that parser, but report failures through their return
+ * values: a failed validation yields the code of the component in which it failed.
+ *
+ * @see java.net.URI
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+final class URIValidator {
+    private URIValidator() {}
+
+    static final int VALID = 0;
+    static final int SCHEME = 1;
+    static final int OPAQUE_PART = 2;
+    static final int AUTHORITY = 3;
+    static final int PATH = 4;
+    static final int QUERY = 5;
+    static final int FRAGMENT = 6;
+    static final int BLANK = 7;
+
+    // Character-class masks, as defined by java.net.URI
+
+    private static final long L_DIGIT = 0x3FF000000000000L;
+    private static final long H_DIGIT = 0L;
+
+    private static final long L_ALPHA = 0L;
+    private static final long H_ALPHA = 0x7FFFFFEL | 0x7FFFFFE00000000L;
+
+    private static final long L_ALPHANUM = L_DIGIT | L_ALPHA;
+    private static final long H_ALPHANUM = H_DIGIT | H_ALPHA;
+
+    private static final long L_HEX = L_DIGIT;
+    private static final long H_HEX = 0x7E0000007EL;
+
+    private static final long L_MARK = 0x678200000000L;
+    private static final long H_MARK = 0x4000000080000000L;
+
+    private static final long L_UNRESERVED = L_ALPHANUM | L_MARK;
+    private static final long H_UNRESERVED = H_ALPHANUM | H_MARK;
+
+    private static final long L_RESERVED = 0xAC00985000000000L;
+    private static final long H_RESERVED = 0x28000001L;
+
+    private static final long L_ESCAPED = 1L;
+    private static final long H_ESCAPED = 0L;
+
+    private static final long L_URIC = L_RESERVED | L_UNRESERVED | L_ESCAPED;
+    private static final long H_URIC = H_RESERVED | H_UNRESERVED | H_ESCAPED;
+
+    private static final long L_PCHAR = L_UNRESERVED | L_ESCAPED | 0x2400185000000000L;
+    private static final long H_PCHAR = H_UNRESERVED | H_ESCAPED | 0x1L;
+
+    private static final long L_PATH = L_PCHAR | 0x800800000000000L;
+    private static final long H_PATH = H_PCHAR;
+
+    private static final long L_DASH = 0x200000000000L;
+    private static final long H_DASH = 0x0L;
+
+    private static final long L_DOT = 0x400000000000L;
+    private static final long H_DOT = 0x0L;
+
+    private static final long L_USERINFO = L_UNRESERVED | L_ESCAPED | 0x2C00185000000000L;
+    private static final long H_USERINFO = H_UNRESERVED | H_ESCAPED;
+
+    private static final long L_REG_NAME = L_UNRESERVED | L_ESCAPED | 0x2C00185000000000L;
+    private static final long H_REG_NAME = H_UNRESERVED | H_ESCAPED | 0x1L;
+
+    private static final long L_SERVER = L_USERINFO | L_ALPHANUM | L_DASH | 0x400400000000000L;
+    private static final long H_SERVER = H_USERINFO | H_ALPHANUM | H_DASH | 0x28000001L;
+
+    private static final long L_SERVER_PERCENT = L_SERVER | 0x2000000000L;
+    private static final long H_SERVER_PERCENT = H_SERVER;
+
+    private static final long L_SCHEME = L_ALPHA | L_DIGIT | 0x680000000000L;
+    private static final long H_SCHEME = H_ALPHA | H_DIGIT;
+
+    private static final long L_SCOPE_ID = L_ALPHANUM | 0x400000000000L;
+    private static final long H_SCOPE_ID = H_ALPHANUM | 0x80000000L;
+
+    /*
+     * Returned by the scanning methods for a malformed escape pair, which always fails the whole validation.
+     */
+    private static final int MALFORMED = -1;
+
+    /**
+     * Validates the character sequence as a URI.
+     *
+     * @param input the character sequence to validate.
+     *
+     * @return {@link URIValidator#VALID}, or the code of the component in which the validation failed.
+     */
+    static int validate(CharSequence input) {
+        final int n = input.length();
+
+        int p = scan(input, 0, n, "/?#", ':');
+
+        if (p >= 0 && at(input, p, n, ':')) {
+            if (p == 0 || !match(input.charAt(0), L_ALPHA, H_ALPHA) || !checkChars(input, 1, p, L_SCHEME, H_SCHEME)) {
+                return SCHEME;
+            }
+
+            p++;
+
+            if (at(input, p, n, '/')) {
+                p = parseHierarchical(input, p, n);
+            } else {
+                final int q = scan(input, p, n, "#");
+
+                if (q <= p || !checkChars(input, p, q, L_URIC, H_URIC)) {
+                    return OPAQUE_PART;
+                }
+
+                p = q;
+            }
+        } else {
+            p = parseHierarchical(input, 0, n);
+        }
+
+        if (p < 0) {
+            return -p;
+        }
+
+        if (at(input, p, n, '#') && !checkChars(input, p + 1, n, L_URIC, H_URIC)) {
+            return FRAGMENT;
+        }
+
+        return VALID;
+    }
+
+    /**
+     * Validates the character sequence as a URL, which must also not be <code>null</code> or blank.
+     *
+     * @param input the character sequence to validate.
+     *
+     * @return {@link URIValidator#VALID}, {@link URIValidator#BLANK}, or the code of the component in which the
+     * validation failed.
+     */
+    static int validateURL(CharSequence input) {
+        if (input == null) {
+            return BLANK;
+        }
+
+        for (int i = 0; i < input.length(); i++) {
+            if (!Character.isWhitespace(input.charAt(i))) {
+                return validate(input);
+            }
+        }
+
+        return BLANK;
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static boolean match(char c, long lowMask, long highMask) {
+        if (c == 0) {
+            return false;
+        }
+
+        if (c < 64) {
+            return ((1L << c) & lowMask) != 0;
+        }
+
+        if (c < 128) {
+            return ((1L << (c - 64)) & highMask) != 0;
+        }
+
+        return false;
+    }
+
+    private static boolean at(CharSequence input, int start, int end, char c) {
+        return (start < end) && (input.charAt(start) == c);
+    }
+
+    private static boolean at(CharSequence input, int start, int end, char c1, char c2) {
+        return (start + 1 < end) && (input.charAt(start) == c1) && (input.charAt(start + 1) == c2);
+    }
+
+    private static int scan(CharSequence input, int start, int end, char c) {
+        return at(input, start, end, c) ? start + 1 : start;
+    }
+
+    /*
+     * Scans up to the first character of the stop string, or returns -1 upon the first character of the error string.
+     */
+    private static int scan(CharSequence input, int start, int end, String err, char stop) {
+        int p = start;
+
+        while (p < end) {
+            final char c = input.charAt(p);
+
+            if (err.indexOf(c) >= 0) {
+                return -1;
+            }
+
+            if (c == stop) {
+                break;
+            }
+
+            p++;
+        }
+
+        return p;
+    }
+
+    private static int scan(CharSequence input, int start, int end, String stop) {
+        int p = start;
+
+        while (p < end && stop.indexOf(input.charAt(p)) < 0) {
+            p++;
+        }
+
+        return p;
+    }
+
+    /*
+     * Scans the characters matching the masks, together with escape pairs and visible non-US-ASCII characters when
+     * escapes are allowed.
+     */
+    private static int scan(CharSequence input, int start, int end, long lowMask, long highMask) {
+        int p = start;
+
+        while (p < end) {
+            final char c = input.charAt(p);
+
+            if (match(c, lowMask, highMask)) {
+                p++;
+                continue;
+            }
+
+            if ((lowMask & L_ESCAPED) != 0) {
+                if (c == '%') {
+                    if (p + 3 <= end
+                            && match(input.charAt(p + 1), L_HEX, H_HEX)
+                            && match(input.charAt(p + 2), L_HEX, H_HEX)) {
+                        p += 3;
+                        continue;
+                    }
+
+                    return MALFORMED;
+                }
+
+                if (c > 128 && !Character.isSpaceChar(c) && !Character.isISOControl(c)) {
+                    p++;
+                    continue;
+                }
+            }
+
+            break;
+        }
+
+        return p;
+    }
+
+    private static boolean checkChars(CharSequence input, int start, int end, long lowMask, long highMask) {
+        final int p = scan(input, start, end, lowMask, highMask);
+
+        return p != MALFORMED && p >= end;
+    }
+
+    /*
+     * [//authority]<path>[?<query>], returning the position after the query, or the negated code of the failed
+     * component.
+     */
+    private static int parseHierarchical(CharSequence input, int start, int n) {
+        int p = start;
+
+        if (at(input, p, n, '/', '/')) {
+            p += 2;
+
+            final int q = scan(input, p, n, "/?#");
+
+            if (q > p) {
+                if (!parseAuthority(input, p, q)) {
+                    return -AUTHORITY;
+                }
+
+                p = q;
+            } else if (q >= n) {
+                return -AUTHORITY;
+            }
+        }
+
+        int q = scan(input, p, n, "?#");
+
+        if (!checkChars(input, p, q, L_PATH, H_PATH)) {
+            return -PATH;
+        }
+
+        p = q;
+
+        if (at(input, p, n, '?')) {
+            p++;
+            q = scan(input, p, n, "#");
+
+            if (!checkChars(input, p, q, L_URIC, H_URIC)) {
+                return -QUERY;
+            }
+
+            p = q;
+        }
+
+        return p;
+    }
+
+    /*
+     * An authority is valid as a registry name, or else as a server; java.net.URI only falls back to the server parse
+     * when the registry parse fails.
+     */
+    private static boolean parseAuthority(CharSequence input, int p, int n) {
+        final int serverEnd = (scan(input, p, n, "]") > p)
+                ? scan(input, p, n, L_SERVER_PERCENT, H_SERVER_PERCENT)
+                : scan(input, p, n, L_SERVER, H_SERVER);
+
+        final int registryEnd = scan(input, p, n, L_REG_NAME, H_REG_NAME);
+
+        if (serverEnd == MALFORMED || registryEnd == MALFORMED) {
+            return false;
+        }
+
+        if (registryEnd == n) {
+            return true;
+        }
+
+        return serverEnd == n && parseServer(input, p, n);
+    }
+
+    /*
+     * [<userinfo>@]<host>[:<port>]
+     */
+    private static boolean parseServer(CharSequence input, int start, int n) {
+        int p = start;
+        int q = scan(input, p, n, "/?#", '@');
+
+        if (q >= p && at(input, q, n, '@')) {
+            if (!checkChars(input, p, q, L_USERINFO, H_USERINFO)) {
+                return false;
+            }
+
+            p = q + 1;
+        }
+
+        if (at(input, p, n, '[')) {
+            p++;
+            q = scan(input, p, n, "/?#", ']');
+
+            if (q <= p || !at(input, q, n, ']')) {
+                return false;
+            }
+
+            final int r = scan(input, p, q, "%");
+
+            if (r > p) {
+                if (!parseIPv6Reference(input, p, r) || r + 1 == q || !checkChars(input, r + 1, q, L_SCOPE_ID, H_SCOPE_ID)) {
+                    return false;
+                }
+            } else if (!parseIPv6Reference(input, p, q)) {
+                return false;
+            }
+
+            p = q + 1;
+        } else {
+            q = parseIPv4Address(input, p, n);
+
+            if (q <= p) {
+                q = parseHostname(input, p, n);
+
+                if (q < 0) {
+                    return false;
+                }
+            }
+
+            p = q;
+        }
+
+        if (at(input, p, n, ':')) {
+            p++;
+            q = scan(input, p, n, "/");
+
+            if (q > p) {
+                if (!checkChars(input, p, q, L_DIGIT, H_DIGIT) || parseDecimal(input, p, q, Integer.MAX_VALUE) < 0) {
+                    return false;
+                }
+
+                p = q;
+            }
+        }
+
+        return p >= n;
+    }
+
+    /*
+     * Value of the decimal digits, or -1 if it exceeds the maximum.
+     */
+    private static long parseDecimal(CharSequence input, int start, int end, long max) {
+        long value = 0;
+
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (input.charAt(i) - '0');
+
+            if (value > max) {
+                return -1;
+            }
+        }
+
+        return value;
+    }
+
+    private static int scanByte(CharSequence input, int start, int n) {
+        final int q = scan(input, start, n, L_DIGIT, H_DIGIT);
+
+        if (q <= start) {
+            return q;
+        }
+
+        return (parseDecimal(input, start, q, 255) < 0) ? start : q;
+    }
+
+    /*
+     * Returns the position after the IPv4 address, or -1 if there is none.
+     */
+    private static int scanIPv4Address(CharSequence input, int start, int n, boolean strict) {
+        final int m = scan(input, start, n, L_DIGIT | L_DOT, H_DIGIT | H_DOT);
+
+        if (m <= start || (strict && m != n)) {
+            return -1;
+        }
+
+        int p = start;
+
+        for (int i = 0; i < 4; i++) {
+            if (i > 0) {
+                final int q = scan(input, p, m, '.');
+
+                if (q <= p) {
+                    return -1;
+                }
+
+                p = q;
+            }
+
+            final int q = scanByte(input, p, m);
+
+            if (q <= p) {
+                return -1;
+            }
+
+            p = q;
+        }
+
+        return (p < m) ? -1 : p;
+    }
+
+    private static boolean isIPv4Address(CharSequence input, int start, int n) {
+        return scanIPv4Address(input, start, n, true) > start;
+    }
+
+    private static int parseIPv4Address(CharSequence input, int start, int n) {
+        final int p = scanIPv4Address(input, start, n, false);
+
+        if (p > start && p < n && input.charAt(p) != ':') {
+            return -1;
+        }
+
+        return p;
+    }
+
+    /*
+     * Returns the position after the hostname, or -1 if it is not a valid hostname.
+     */
+    private static int parseHostname(CharSequence input, int start, int n) {
+        int p = start;
+        int l = -1;
+
+        do {
+            int q = scan(input, p, n, L_ALPHANUM, H_ALPHANUM);
+
+            if (q <= p) {
+                break;
+            }
+
+            l = p;
+            p = q;
+            q = scan(input, p, n, L_ALPHANUM | L_DASH, H_ALPHANUM | H_DASH);
+
+            if (q > p) {
+                if (input.charAt(q - 1) == '-') {
+                    return -1;
+                }
+
+                p = q;
+            }
+
+            q = scan(input, p, n, '.');
+
+            if (q <= p) {
+                break;
+            }
+
+            p = q;
+        } while (p < n);
+
+        if ((p < n && !at(input, p, n, ':')) || l < 0) {
+            return -1;
+        }
+
+        if (l > start && !match(input.charAt(l), L_ALPHA, H_ALPHA)) {
+            return -1;
+        }
+
+        return p;
+    }
+
+    /*
+     * Number of bytes of a valid hex sequence, made of hex4 groups separated by single colons.
+     */
+    private static int getHexSequenceBytes(CharSequence input, int start, int end) {
+        int bytes = 2;
+
+        for (int i = start; i < end; i++) {
+            if (input.charAt(i) == ':') {
+                bytes += 2;
+            }
+        }
+
+        return bytes;
+    }
+
+    /*
+     * Returns the position after the hex sequence; -1 if there is none; or -2 if it is malformed.
+     */
+    private static int scanHexSequence(CharSequence input, int start, int n) {
+        int q = scan(input, start, n, L_HEX, H_HEX);
+
+        if (q <= start || at(input, q, n, '.')) {
+            return -1;
+        }
+
+        if (q > start + 4) {
+            return -2;
+        }
+
+        int p = q;
+
+        while (p < n && at(input, p, n, ':') && !at(input, p + 1, n, ':')) {
+            p++;
+            q = scan(input, p, n, L_HEX, H_HEX);
+
+            if (q <= p) {
+                return -2;
+            }
+
+            if (at(input, q, n, '.')) {
+                p--;
+                break;
+            }
+
+            if (q > p + 4) {
+                return -2;
+            }
+
+            p = q;
+        }
+
+        return p;
+    }
+
+    /*
+     * Returns the number of bytes of what follows a "::", which must extend to the end, or -1 if it is malformed.
+     */
+    private static int getHexPostBytes(CharSequence input, int start, int n) {
+        if (start == n) {
+            return 0;
+        }
+
+        final int q = scanHexSequence(input, start, n);
+
+        if (q == -2) {
+            return -1;
+        }
+
+        if (q > start) {
+            final int bytes = getHexSequenceBytes(input, start, q);
+
+            if (at(input, q, n, ':')) {
+                return isIPv4Address(input, q + 1, n) ? bytes + 4 : -1;
+            }
+
+            return (q == n) ? bytes : -1;
+        }
+
+        return isIPv4Address(input, start, n) ? 4 : -1;
+    }
+
+    private static boolean parseIPv6Reference(CharSequence input, int start, int n) {
+        final int q = scanHexSequence(input, start, n);
+
+        if (q == -2) {
+            return false;
+        }
+
+        int bytes = 0;
+        int postBytes = -1;
+
+        if (q > start) {
+            bytes = getHexSequenceBytes(input, start, q);
+
+            if (at(input, q, n, ':', ':')) {
+                postBytes = getHexPostBytes(input, q + 2, n);
+
+                if (postBytes < 0) {
+                    return false;
+                }
+            } else if (at(input, q, n, ':')) {
+                if (!isIPv4Address(input, q + 1, n)) {
+                    return false;
+                }
+
+                bytes += 4;
+            } else if (q < n) {
+                return false;
+            }
+        } else if (at(input, start, n, ':', ':')) {
+            postBytes = getHexPostBytes(input, start + 2, n);
+
+            if (postBytes < 0) {
+                return false;
+            }
+        } else if (start < n) {
+            return false;
+        }
+
+        final boolean compressedZeros = postBytes >= 0;
+
+        bytes += Math.max(postBytes, 0);
+
+        return bytes <= 16 && (compressedZeros ? bytes < 16 : bytes == 16);
+    }
+}
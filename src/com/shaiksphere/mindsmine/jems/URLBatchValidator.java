@@ -0,0 +1,682 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A validator of large lists of URLs, one per line, spreading the work over a {@link ForkJoinPool}.
+ * <br><br>
+ * Every line is decoded as UTF-8, stripped of its line terminator ('<code>\n</code>' or '<code>\r\n</code>'), and
+ * validated with the same semantics as {@link URLHelper#isValidURL(CharSequence)}. Lines of US-ASCII characters are
+ * validated in place, without being copied. Valid and invalid lines are written, in their original order and
+ * terminated with '<code>\n</code>', to separate outputs, either of which may be omitted.
+ * <br><br>
+ * The input is processed in windows of whole lines, memory-mapped when it is a file, and every window is split into
+ * chunks validated in parallel. Memory use is bounded by the size of a window, regardless of the size of the input.
+ * <br><br>
+ * Instances are thread-safe.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     URLBatchValidator.Report report = new URLBatchValidator()
+ *             .validate(Path.of("links.txt"), Path.of("valid.txt"), Path.of("invalid.txt"));
+ *
+ *     report.getInvalidCount();
+ *     report.getErrorCount(URLBatchValidator.ErrorClass.AUTHORITY);
+ *     report.getThroughput();
+ * </pre>
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class URLBatchValidator {
+    private static final int WINDOW_SIZE = 1 << 26;
+
+    // The largest buffer, or mapping, which can be allocated
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     * The class of error which makes a URL invalid, named after the component in which the validation failed.
+     *
+     * @since 4.10.0
+     *
+     */
+    public enum ErrorClass {
+        /**
+         * The line is empty or only made of whitespace.
+         */
+        BLANK,
+
+        /**
+         * The scheme is empty, or contains a character not allowed in a scheme.
+         */
+        SCHEME,
+
+        /**
+         * The scheme-specific part of an opaque URL is empty, or contains a character not allowed in it.
+         */
+        OPAQUE_PART,
+
+        /**
+         * The authority is neither a valid server nor a valid registry name.
+         */
+        AUTHORITY,
+
+        /**
+         * The path contains a character not allowed in a path, or a malformed escape.
+         */
+        PATH,
+
+        /**
+         * The query contains a character not allowed in a query, or a malformed escape.
+         */
+        QUERY,
+
+        /**
+         * The fragment contains a character not allowed in a fragment, or a malformed escape.
+         */
+        FRAGMENT
+    }
+
+    /**
+     * The statistics of a validation.
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final class Report {
+        private final long byteCount;
+        private final long validCount;
+        private final long[] errorCounts;
+        private final long elapsedNanos;
+
+        private Report(long byteCount, long validCount, long[] errorCounts, long elapsedNanos) {
+            this.byteCount = byteCount;
+            this.validCount = validCount;
+            this.errorCounts = errorCounts;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the number of bytes read from the input.
+         *
+         * @return the number of bytes.
+         *
+         * @since 4.10.0
+         *
+         */
+        public long getByteCount() {
+            return byteCount;
+        }
+
+        /**
+         * Returns the number of lines validated.
+         *
+         * @return the number of lines.
+         *
+         * @since 4.10.0
+         *
+         */
+        public long getTotalCount() {
+            return validCount + getInvalidCount();
+        }
+
+        /**
+         * Returns the number of valid URLs.
+         *
+         * @return the number of valid URLs.
+         *
+         * @since 4.10.0
+         *
+         */
+        public long getValidCount() {
+            return validCount;
+        }
+
+        /**
+         * Returns the number of invalid URLs.
+         *
+         * @return the number of invalid URLs.
+         *
+         * @since 4.10.0
+         *
+         */
+        public long getInvalidCount() {
+            return Arrays.stream(errorCounts).sum();
+        }
+
+        /**
+         * Returns the number of invalid URLs of the specified error class.
+         *
+         * @param errorClass the class of error.
+         *
+         * @return the number of invalid URLs.
+         *
+         * @since 4.10.0
+         *
+         */
+        public long getErrorCount(ErrorClass errorClass) {
+            return errorCounts[errorClass.ordinal()];
+        }
+
+        /**
+         * Returns the time the validation took, including reading the input and writing the outputs.
+         *
+         * @return the elapsed time, in nanoseconds.
+         *
+         * @since 4.10.0
+         *
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns the number of lines validated per second.
+         *
+         * @return the throughput, or <code>0</code> if no time has elapsed.
+         *
+         * @since 4.10.0
+         *
+         */
+        public double getThroughput() {
+            return (elapsedNanos == 0) ? 0 : getTotalCount() * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Returns a summary of the statistics.
+         *
+         * @return the summary.
+         *
+         * @since 4.10.0
+         *
+         */
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder()
+                    .append("total=").append(getTotalCount())
+                    .append(", valid=").append(validCount)
+                    .append(", invalid=").append(getInvalidCount());
+
+            for (ErrorClass errorClass : ErrorClass.values()) {
+                builder.append(", ").append(errorClass).append('=').append(getErrorCount(errorClass));
+            }
+
+            return builder
+                    .append(", bytes=").append(byteCount)
+                    .append(", elapsedNanos=").append(elapsedNanos)
+                    .append(", throughput=").append(Math.round(getThroughput())).append("/s")
+                    .toString();
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int windowSize;
+    private final int maxWindowSize;
+    private final int chunkSize;
+
+    /**
+     * Creates a validator running on the common pool.
+     *
+     * @see ForkJoinPool#commonPool()
+     *
+     * @since 4.10.0
+     *
+     */
+    public URLBatchValidator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a validator running on the specified pool.
+     *
+     * @param pool the pool to validate the chunks on.
+     *
+     * @throws IllegalArgumentException if the pool is <code>null</code>.
+     *
+     * @since 4.10.0
+     *
+     */
+    public URLBatchValidator(ForkJoinPool pool) {
+        this(pool, WINDOW_SIZE, CHUNK_SIZE);
+    }
+
+    URLBatchValidator(ForkJoinPool pool, int windowSize, int chunkSize) {
+        this(pool, windowSize, MAX_WINDOW_SIZE, chunkSize);
+    }
+
+    URLBatchValidator(ForkJoinPool pool, int windowSize, int maxWindowSize, int chunkSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Fatal Error. 'pool'. Null is not allowed.");
+        }
+
+        this.pool = pool;
+        this.windowSize = windowSize;
+        this.maxWindowSize = maxWindowSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Validates every line of the input file, reading it through memory mapping.
+     * <br><br>
+     * Output files are created, or truncated if they exist. Neither may be the input file, nor the other output.
+     *
+     * @param input the file of URLs, one per line.
+     * @param validOutput the file to write the valid URLs to, or <code>null</code> to discard them.
+     * @param invalidOutput the file to write the invalid URLs to, or <code>null</code> to discard them.
+     *
+     * @return the statistics of the validation.
+     *
+     * @throws IllegalArgumentException if an output is the same file as the input, or as the other output.
+     * @throws IOException if any file cannot be accessed, or a line is longer than the largest window, of about 2 GB.
+     *
+     * @since 4.10.0
+     *
+     */
+    public Report validate(Path input, Path validOutput, Path invalidOutput) throws IOException {
+        final long start = System.nanoTime();
+
+        // Opening an output truncates it, which would destroy the input, or the other output, before it is written
+        if (isSameFile(validOutput, input)) {
+            throw new IllegalArgumentException("Fatal Error. 'validOutput'. Same file as the input is not allowed.");
+        }
+
+        if (isSameFile(invalidOutput, input)) {
+            throw new IllegalArgumentException("Fatal Error. 'invalidOutput'. Same file as the input is not allowed.");
+        }
+
+        if (isSameFile(invalidOutput, validOutput)) {
+            throw new IllegalArgumentException("Fatal Error. 'invalidOutput'. Same file as the valid output is not allowed.");
+        }
+
+        try (FileChannel inputChannel = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel validChannel = openOutput(validOutput);
+             FileChannel invalidChannel = openOutput(invalidOutput)) {
+            final long size = inputChannel.size();
+            final long[] counts = new long[ErrorClass.values().length + 1];
+
+            long position = 0;
+            int windowSize = this.windowSize;
+
+            while (position < size) {
+                final int length = (int) Math.min(windowSize, size - position);
+                final ByteBuffer window = inputChannel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                final boolean last = position + length == size;
+                final int end = last ? length : lastLineEnd(window, length);
+
+                if (end == 0) {
+                    // A single line longer than the window, which has to grow
+                    windowSize = growWindowSize(windowSize, position);
+                    continue;
+                }
+
+                process(window, end, validChannel, invalidChannel, counts);
+
+                position += end;
+            }
+
+            return createReport(size, counts, start);
+        }
+    }
+
+    /**
+     * Validates every line read from the input channel until its end.
+     * <br><br>
+     * No channel is closed.
+     *
+     * @param input the channel to read URLs from, one per line.
+     * @param validOutput the channel to write the valid URLs to, or <code>null</code> to discard them.
+     * @param invalidOutput the channel to write the invalid URLs to, or <code>null</code> to discard them.
+     *
+     * @return the statistics of the validation.
+     *
+     * @throws IOException if any channel throws one, or a line is longer than the largest window, of about 2 GB.
+     *
+     * @since 4.10.0
+     *
+     */
+    public Report validate(ReadableByteChannel input, WritableByteChannel validOutput, WritableByteChannel invalidOutput)
+            throws IOException {
+        final long start = System.nanoTime();
+        final long[] counts = new long[ErrorClass.values().length + 1];
+
+        ByteBuffer window = ByteBuffer.allocateDirect(windowSize);
+
+        long byteCount = 0;
+        boolean last = false;
+
+        while (!last) {
+            final int read = input.read(window);
+
+            if (read > 0) {
+                byteCount += read;
+            }
+
+            last = read < 0;
+
+            if (!last && window.hasRemaining()) {
+                continue;
+            }
+
+            final int length = window.position();
+            final int end = last ? length : lastLineEnd(window, length);
+
+            if (end == 0 && !last) {
+                // A single line longer than the window, which has to grow
+                window = ByteBuffer.allocateDirect(growWindowSize(window.capacity(), byteCount - length))
+                        .put(window.flip());
+                continue;
+            }
+
+            process(window, end, validOutput, invalidOutput, counts);
+
+            window.limit(length).position(end);
+            window.compact();
+        }
+
+        return createReport(byteCount, counts, start);
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static boolean isSameFile(Path path, Path other) throws IOException {
+        if (path == null || other == null) {
+            return false;
+        }
+
+        return path.equals(other) || (Files.exists(path) && Files.exists(other) && Files.isSameFile(path, other));
+    }
+
+    private static FileChannel openOutput(Path output) throws IOException {
+        if (output == null) {
+            return null;
+        }
+
+        return FileChannel.open(
+                output,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+        );
+    }
+
+    private static Report createReport(long byteCount, long[] counts, long start) {
+        final ErrorClass[] errorClasses = ErrorClass.values();
+
+        return new Report(
+                byteCount,
+                counts[errorClasses.length],
+                Arrays.copyOf(counts, errorClasses.length),
+                System.nanoTime() - start
+        );
+    }
+
+    /*
+     * Doubles the size of a window filled by a single line, until it cannot grow any further.
+     */
+    private int growWindowSize(int size, long lineStart) throws IOException {
+        if (size >= maxWindowSize) {
+            throw new IOException(
+                    "Fatal Error. The line at byte " + lineStart + " is longer than " + maxWindowSize + " bytes."
+            );
+        }
+
+        return (int) Math.min(maxWindowSize, 2L * size);
+    }
+
+    /*
+     * Index right after the last '\n' of the window, or 0 if there is none.
+     */
+    private static int lastLineEnd(ByteBuffer window, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (window.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+
+        return 0;
+    }
+
+    private static void write(ByteBuffer buffer, WritableByteChannel output) throws IOException {
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+    }
+
+    /*
+     * Splits the whole lines of the window into chunks, validates them in parallel, then writes their results in order.
+     */
+    private void process(ByteBuffer window, int end, WritableByteChannel validOutput, WritableByteChannel invalidOutput,
+                         long[] counts) throws IOException {
+        final List<Chunk> chunks = new ArrayList<>();
+
+        int start = 0;
+
+        while (start < end) {
+            int chunkEnd = Math.min(end, start + chunkSize);
+
+            while (chunkEnd < end && window.get(chunkEnd - 1) != '\n') {
+                chunkEnd++;
+            }
+
+            chunks.add(new Chunk(window, start, chunkEnd, validOutput != null, invalidOutput != null));
+            start = chunkEnd;
+        }
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(chunks);
+            }
+        });
+
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += chunk.counts[i];
+            }
+
+            if (validOutput != null) {
+                write(ByteBuffer.wrap(chunk.valid.bytes, 0, chunk.valid.size), validOutput);
+            }
+
+            if (invalidOutput != null) {
+                write(ByteBuffer.wrap(chunk.invalid.bytes, 0, chunk.invalid.size), invalidOutput);
+            }
+        }
+    }
+
+    /*
+     * Maps the codes of URIValidator to the ordinals of ErrorClass.
+     */
+    private static int getErrorClassOrdinal(int code) {
+        switch (code) {
+            case URIValidator.BLANK:
+                return ErrorClass.BLANK.ordinal();
+            case URIValidator.SCHEME:
+                return ErrorClass.SCHEME.ordinal();
+            case URIValidator.OPAQUE_PART:
+                return ErrorClass.OPAQUE_PART.ordinal();
+            case URIValidator.AUTHORITY:
+                return ErrorClass.AUTHORITY.ordinal();
+            case URIValidator.PATH:
+                return ErrorClass.PATH.ordinal();
+            case URIValidator.QUERY:
+                return ErrorClass.QUERY.ordinal();
+            default:
+                return ErrorClass.FRAGMENT.ordinal();
+        }
+    }
+
+    /*
+     * A growable array of bytes.
+     */
+    private static final class Bytes {
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        private void append(ByteBuffer source, int start, int length) {
+            if (size + length + 1 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, size + length + 1));
+            }
+
+            source.get(start, bytes, size, length);
+            size += length;
+            bytes[size++] = '\n';
+        }
+    }
+
+    /*
+     * A read-only view of a line of US-ASCII bytes as characters.
+     */
+    private static final class AsciiLine implements CharSequence {
+        private final ByteBuffer source;
+
+        private int start;
+        private int end;
+
+        private AsciiLine(ByteBuffer source) {
+            this.source = source;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) source.get(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int beginIndex, int endIndex) {
+            final AsciiLine line = new AsciiLine(source);
+
+            line.start = start + beginIndex;
+            line.end = start + endIndex;
+
+            return line;
+        }
+
+        @Override
+        public String toString() {
+            final byte[] bytes = new byte[end - start];
+
+            source.get(start, bytes);
+
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+
+    /*
+     * The validation of a range of whole lines, collecting the valid and the invalid lines separately.
+     */
+    private static final class Chunk extends RecursiveAction {
+        private final ByteBuffer window;
+        private final int start;
+        private final int end;
+
+        // The number of invalid lines for every error class, then the number of valid lines
+        private final long[] counts = new long[ErrorClass.values().length + 1];
+
+        private final Bytes valid;
+        private final Bytes invalid;
+
+        private Chunk(ByteBuffer window, int start, int end, boolean keepValid, boolean keepInvalid) {
+            this.window = window;
+            this.start = start;
+            this.end = end;
+
+            valid = keepValid ? new Bytes() : null;
+            invalid = keepInvalid ? new Bytes() : null;
+        }
+
+        @Override
+        protected void compute() {
+            final AsciiLine line = new AsciiLine(window);
+
+            int lineStart = start;
+
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                boolean ascii = true;
+
+                while (lineEnd < end && window.get(lineEnd) != '\n') {
+                    ascii &= window.get(lineEnd) >= 0;
+                    lineEnd++;
+                }
+
+                final int next = lineEnd + 1;
+
+                if (lineEnd > lineStart && window.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+
+                final int code;
+
+                if (ascii) {
+                    line.start = lineStart;
+                    line.end = lineEnd;
+                    code = URIValidator.validateURL(line);
+                } else {
+                    final byte[] bytes = new byte[lineEnd - lineStart];
+
+                    window.get(lineStart, bytes);
+                    code = URIValidator.validateURL(new String(bytes, StandardCharsets.UTF_8));
+                }
+
+                if (code == URIValidator.VALID) {
+                    counts[counts.length - 1]++;
+
+                    if (valid != null) {
+                        valid.append(window, lineStart, lineEnd - lineStart);
+                    }
+                } else {
+                    counts[getErrorClassOrdinal(code)]++;
+
+                    if (invalid != null) {
+                        invalid.append(window, lineStart, lineEnd - lineStart);
+                    }
+                }
+
+                lineStart = next;
+            }
+        }
+    }
+}
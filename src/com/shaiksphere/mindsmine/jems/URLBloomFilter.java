@@ -0,0 +1,341 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import com.shaiksphere.mindsmine.jems.units.MemoryUnit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A probabilistic set of URLs, answering whether a URL has been seen before in a small, fixed amount of memory.
+ * <br><br>
+ * URLs are normalized, as by {@link URLHelper#normalize(String)}, before being hashed, so equivalent URLs are the same
+ * member. A URL which was added is always reported as seen; a URL which was not added is reported as seen with a
+ * probability close to the configured false positive rate, as long as no more than the expected number of URLs are
+ * added.
+ * <br><br>
+ * The filter is a blocked Bloom filter: all the bits of a URL fall within a single block of 512 bits, the size of a
+ * typical cache line, so that a lookup touches a single cache line. The bits are held in an {@link AtomicLongArray}
+ * and set with compare-and-set, so concurrent insertions and lookups are lock-free.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     URLBloomFilter seen = new URLBloomFilter(200_000_000L, 0.01);
+ *
+ *     if (seen.add(url)) {
+ *         // First visit
+ *     }
+ *
+ *     seen.getMemorySize(MemoryUnit.MEBI_BYTE);       // about 250
+ * </pre>
+ *
+ * @see <a href="@WIKI_URI@/Bloom_filter">Bloom filter (Wikipedia)</a>
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class URLBloomFilter {
+    private static final int WORDS_PER_BLOCK = 8;
+    private static final int BITS_PER_BLOCK = WORDS_PER_BLOCK * Long.SIZE;
+
+    private static final int MAX_HASH_COUNT = 16;
+
+    private final AtomicLongArray words;
+    private final int blockCount;
+    private final int hashCount;
+
+    private final LongAdder insertionCount = new LongAdder();
+
+    /**
+     * Creates an empty filter sized for the expected number of URLs and false positive rate.
+     *
+     * @param expectedCount the number of URLs expected to be added.
+     * @param falsePositiveRate the probability, strictly between <code>0</code> and <code>1</code>, of reporting a URL
+     *                          which was not added as seen.
+     *
+     * @throws IllegalArgumentException if either argument is out of range, or the filter would need more than
+     * 16 GiB.
+     *
+     * @since 4.10.0
+     *
+     */
+    public URLBloomFilter(long expectedCount, double falsePositiveRate) {
+        if (expectedCount < 1) {
+            throw new IllegalArgumentException("Fatal Error. 'expectedCount'. Only positive number is allowed.");
+        }
+
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Fatal Error. 'falsePositiveRate'. Only a number between 0 and 1 is allowed.");
+        }
+
+        // The optimal number of bits for a standard Bloom filter; blocking costs a little accuracy, which a slightly
+        // larger filter makes up for
+        final double bits = 1.1 * -expectedCount * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        final double blocks = Math.ceil(bits / BITS_PER_BLOCK);
+
+        if (blocks * WORDS_PER_BLOCK > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Fatal Error. 'expectedCount'. Filter would be too large.");
+        }
+
+        blockCount = (int) blocks;
+        hashCount = (int) Math.max(1, Math.min(MAX_HASH_COUNT, Math.round(bits / expectedCount * Math.log(2))));
+        words = new AtomicLongArray(blockCount * WORDS_PER_BLOCK);
+    }
+
+    /**
+     * Adds the URL to the set.
+     *
+     * @param url the URL to add.
+     *
+     * @return <code>true</code> if the URL had not been seen before, or <code>false</code> if it had probably been.
+     *
+     * @throws IllegalArgumentException if the URL is not valid.
+     *
+     * @since 4.10.0
+     *
+     */
+    public boolean add(String url) {
+        final long hash = hash(normalize(url));
+        final int base = getBlock(hash) * WORDS_PER_BLOCK;
+        final int step = getStep(hash);
+
+        boolean added = false;
+
+        // Bits are gathered per word, so that every word of the block is updated at most once
+        for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+            final long mask = getMask(hash, step, i);
+
+            if (mask == 0) {
+                continue;
+            }
+
+            long word = words.get(base + i);
+
+            while ((word & mask) != mask) {
+                final long witness = words.compareAndExchange(base + i, word, word | mask);
+
+                if (witness == word) {
+                    added = true;
+                    break;
+                }
+
+                word = witness;
+            }
+        }
+
+        if (added) {
+            insertionCount.increment();
+        }
+
+        return added;
+    }
+
+    /**
+     * Returns whether the URL has probably been added to the set.
+     *
+     * @param url the URL to look up.
+     *
+     * @return <code>false</code> if the URL has certainly not been added, or <code>true</code> if it probably has.
+     *
+     * @throws IllegalArgumentException if the URL is not valid.
+     *
+     * @since 4.10.0
+     *
+     */
+    public boolean mightContain(String url) {
+        final long hash = hash(normalize(url));
+        final int base = getBlock(hash) * WORDS_PER_BLOCK;
+        final int step = getStep(hash);
+
+        for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+            final long mask = getMask(hash, step, i);
+
+            if ((words.get(base + i) & mask) != mask) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the number of URLs which were reported as not seen when added.
+     *
+     * @return the number of distinct URLs added, minus the false positives.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long getInsertionCount() {
+        return insertionCount.sum();
+    }
+
+    /**
+     * Returns the number of bits of the filter.
+     *
+     * @return the number of bits.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long getBitCount() {
+        return (long) words.length() * Long.SIZE;
+    }
+
+    /**
+     * Returns the number of bits set for every URL.
+     *
+     * @return the number of hash functions.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Returns the ratio of bits set, which grows with the number of URLs added.
+     * <br><br>
+     * <strong>Note</strong>: Every bit is read, so this takes time proportional to the size of the filter.
+     *
+     * @return the ratio of bits set, between <code>0</code> and <code>1</code>.
+     *
+     * @since 4.10.0
+     *
+     */
+    public double getFillRatio() {
+        long count = 0;
+
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+
+        return (double) count / getBitCount();
+    }
+
+    /**
+     * Returns the memory taken by the bits of the filter, in bytes.
+     *
+     * @return the number of bytes.
+     *
+     * @since 4.10.0
+     *
+     */
+    public long getMemoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /**
+     * Returns the memory taken by the bits of the filter, in the specified unit.
+     *
+     * @param memoryUnit the unit to express the memory in.
+     *
+     * @return the memory, in the unit.
+     *
+     * @since 4.10.0
+     *
+     */
+    public double getMemorySize(MemoryUnit memoryUnit) {
+        return getMemoryBytes() / memoryUnit.getByteValue();
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static String normalize(String url) {
+        if (url == null) {
+            throw new IllegalArgumentException("Fatal Error. 'url'. Invalid URL.");
+        }
+
+        return URLNormalizer.normalizeUncached(url, false);
+    }
+
+    /*
+     * The finalizer of MurmurHash3, which spreads every input bit over every output bit.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+
+    /*
+     * A 64-bit hash of the characters, consuming four characters per step.
+     */
+    private static long hash(String string) {
+        final int length = string.length();
+
+        long hash = 0x9e3779b97f4a7c15L ^ length;
+
+        int i = 0;
+
+        for (; i + 4 <= length; i += 4) {
+            final long chars = string.charAt(i)
+                    | ((long) string.charAt(i + 1) << 16)
+                    | ((long) string.charAt(i + 2) << 32)
+                    | ((long) string.charAt(i + 3) << 48);
+
+            hash = Long.rotateLeft(hash ^ mix(chars), 27) * 0x9e3779b97f4a7c15L;
+        }
+
+        long chars = 0;
+
+        for (int shift = 0; i < length; i++, shift += 16) {
+            chars |= (long) string.charAt(i) << shift;
+        }
+
+        return mix(hash ^ mix(chars));
+    }
+
+    private int getBlock(long hash) {
+        return (int) (((hash >>> 32) * blockCount) >>> 32);
+    }
+
+    private static int getStep(long hash) {
+        return (int) mix(hash) | 1;
+    }
+
+    /*
+     * Derives the bits of the URL within a word of its block from the low half of the hash, by double hashing.
+     */
+    private long getMask(long hash, int step, int word) {
+        long mask = 0;
+
+        int position = (int) hash;
+
+        for (int i = 0; i < hashCount; i++) {
+            final int bit = position & (BITS_PER_BLOCK - 1);
+
+            if (bit >>> 6 == word) {
+                mask |= 1L << bit;
+            }
+
+            position += step;
+        }
+
+        return mask;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.Map;
+
+/**
+ * A builder appending query parameters to a URL.
+ * <br><br>
+ * The base URL is validated and split once, when the builder is created. Every parameter is then percent-encoded, as
+ * UTF-8, straight into a single growing buffer, and the URL is rendered in one copy when built. The builder may keep
+ * receiving parameters after being built, so a common prefix of parameters can be shared by several URLs.
+ * <br><br>
+ * Instances are <strong>not</strong> thread-safe.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     new URLBuilder("http://www.example.com/search#results")
+ *             .addParameter("q", "jems &amp; more")
+ *             .addParameter("page", 2)
+ *             .build()     // "http://www.example.com/search?q=jems%20%26%20more&amp;page=2#results"
+ * </pre>
+ *
+ * @see URLHelper#appendQuery(String, String, Object)
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class URLBuilder {
+    private final StringBuilder buffer;
+    private final String fragment;
+
+    private final boolean opaque;
+
+    private boolean hasQuery;
+
+    // Whether the query ends with a parameter, rather than with '?' or '&'
+    private boolean needsSeparator;
+
+    /**
+     * Creates a builder for the specified URL, keeping any query and fragment it already has.
+     *
+     * @param url the base URL.
+     *
+     * @throws IllegalArgumentException if the URL is not valid.
+     *
+     * @since 4.10.0
+     *
+     */
+    public URLBuilder(String url) {
+        final ParsedURL parsed = ParsedURL.parse(url);
+        final String query = parsed.getQuery();
+
+        // '#' never occurs in a valid URL except as the fragment delimiter
+        final int fragmentIndex = url.indexOf('#');
+        final int end = (fragmentIndex < 0) ? url.length() : fragmentIndex;
+
+        buffer = new StringBuilder(end + 64).append(url, 0, end);
+        fragment = url.substring(end);
+        opaque = parsed.isOpaque();
+        hasQuery = query != null;
+        needsSeparator = hasQuery && !query.isEmpty() && !query.endsWith("&");
+    }
+
+    /**
+     * Appends a parameter to the query of the URL. Both the name and the string representation of the value are
+     * percent-encoded.
+     *
+     * @param name the name of the parameter.
+     * @param value the value of the parameter, rendered through {@link String#valueOf(Object)}.
+     *
+     * @return this builder.
+     *
+     * @throws IllegalArgumentException if the name is empty, or the URL is opaque.
+     *
+     * @see ParsedURL#withQueryParam(String, Object)
+     *
+     * @since 4.10.0
+     *
+     */
+    public URLBuilder addParameter(String name, Object value) {
+        if (StringHelper.getNullSafe(name).isBlank()) {
+            throw new IllegalArgumentException("Fatal Error. 'name'. Only non-empty string(s) are allowed as arguments.");
+        }
+
+        if (opaque) {
+            throw new IllegalArgumentException("Fatal Error. 'url'. Opaque URL has no query.");
+        }
+
+        if (!hasQuery) {
+            buffer.append('?');
+            hasQuery = true;
+        } else if (needsSeparator) {
+            buffer.append('&');
+        }
+
+        PercentCodec.encode(name, URLComponent.QUERY_PARAMETER.allowed, buffer);
+        buffer.append('=');
+        PercentCodec.encode(String.valueOf(value), URLComponent.QUERY_PARAMETER.allowed, buffer);
+
+        needsSeparator = true;
+
+        return this;
+    }
+
+    /**
+     * Appends every entry of the map as a parameter to the query of the URL, in the iteration order of the map.
+     *
+     * @param parameters the names and values of the parameters.
+     *
+     * @return this builder.
+     *
+     * @throws IllegalArgumentException if any name is empty, or the URL is opaque.
+     *
+     * @see URLBuilder#addParameter(String, Object)
+     *
+     * @since 4.10.0
+     *
+     */
+    public URLBuilder addParameters(Map<String, ?> parameters) {
+        for (Map.Entry<String, ?> parameter : parameters.entrySet()) {
+            addParameter(parameter.getKey(), parameter.getValue());
+        }
+
+        return this;
+    }
+
+    /**
+     * Renders the URL with every parameter appended so far.
+     *
+     * @return the resulting URL.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String build() {
+        final int length = buffer.length();
+        final String url = buffer.append(fragment).toString();
+
+        buffer.setLength(length);
+
+        return url;
+    }
+
+    /**
+     * Renders the URL with every parameter appended so far.
+     *
+     * @return the resulting URL.
+     *
+     * @see URLBuilder#build()
+     *
+     * @since 4.10.0
+     *
+     */
+    @Override
+    public String toString() {
+        return build();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+/**
+ * The components of a URL which values are percent-encoded into, as defined by RFC 3986.
+ * <br><br>
+ * Each component leaves the unreserved characters, '<code>A</code>'-'<code>Z</code>', '<code>a</code>'-'<code>z</code>',
+ * '<code>0</code>'-'<code>9</code>', '<code>-</code>', '<code>.</code>', '<code>_</code>' and '<code>~</code>',
+ * unencoded, along with the delimiters which have no special meaning within the component.
+ *
+ * @see URLHelper#encode(CharSequence, URLComponent)
+ * @see URLHelper#decode(CharSequence, URLComponent)
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public enum URLComponent {
+    /**
+     * A whole path, in which '<code>/</code>' separates the segments and is therefore not encoded.
+     * <br><br>
+     * Also left unencoded: <code>!$&amp;'()*+,;=:@/</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    PATH("!$&'()*+,;=:@/"),
+
+    /**
+     * A single segment of a path, in which '<code>/</code>' is encoded.
+     * <br><br>
+     * Also left unencoded: <code>!$&amp;'()*+,;=:@</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    PATH_SEGMENT("!$&'()*+,;=:@"),
+
+    /**
+     * A whole query, in which the delimiters of its parameters are not encoded.
+     * <br><br>
+     * Also left unencoded: <code>!$&amp;'()*+,;=:@/?</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    QUERY("!$&'()*+,;=:@/?"),
+
+    /**
+     * The name or the value of a single query parameter, in which '<code>&amp;</code>', '<code>=</code>',
+     * '<code>+</code>' and '<code>;</code>' are encoded. When decoded, '<code>+</code>' is a space, as in
+     * <code>application/x-www-form-urlencoded</code>.
+     * <br><br>
+     * Also left unencoded: <code>!$'()*,:@/?</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    QUERY_PARAMETER("!$'()*,:@/?"),
+
+    /**
+     * A fragment.
+     * <br><br>
+     * Also left unencoded: <code>!$&amp;'()*+,;=:@/?</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    FRAGMENT("!$&'()*+,;=:@/?");
+
+    /*
+     * The 256-entry table of the characters left unencoded, indexed by character or by octet.
+     */
+    final boolean[] allowed;
+
+    URLComponent(String delimiters) {
+        allowed = PercentCodec.createTable(delimiters);
+    }
+}
@@ -17,7 +17,7 @@ limitations under the License.
 package com.shaiksphere.mindsmine.jems;
 
 import java.net.URI;
-import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * A collection of useful static methods to deal with URLs.
@@ -33,6 +33,11 @@ public final class URLHelper {
 
     private URLHelper() {}
 
+    private static final int NORMALIZATION_CACHE_SIZE = 4096;
+
+    private static final URLNormalizer NORMALIZER = new URLNormalizer(false, NORMALIZATION_CACHE_SIZE);
+    private static final URLNormalizer SORTING_NORMALIZER = new URLNormalizer(true, NORMALIZATION_CACHE_SIZE);
+
     /**
      * Returns <code>true</code> if the passed string is a valid URL, <code>false</code> otherwise.
      * <br><br>
@@ -51,21 +56,91 @@ public final class URLHelper {
      *
      */
     public static boolean isValidURL(String url) {
-        if (StringHelper.getNullSafe(url).isBlank()) {
-            return false;
-        }
+        return isValidURL((CharSequence) url);
+    }
 
-        try {
-            var _url = new URI(url);
-        } catch (URISyntaxException e) {
-            return false;
-        }
+    /**
+     * Returns <code>true</code> if the passed character sequence is a valid URL, <code>false</code> otherwise.
+     * <br><br>
+     * A character sequence is a valid URL when it is not blank, and {@link URI#URI(String)} accepts it. The check is
+     * made by a dedicated scanner, which allocates nothing and never throws.
+     * <br><br>
+     * Example Usage:
+     *
+     * <pre>
+     *     URLHelper.isValidURL(new StringBuilder("http://[::1]:8080/"))      //  true
+     *     URLHelper.isValidURL(new StringBuilder("http://example.com/%zz"))  //  false
+     * </pre>
+     *
+     * @param url to check
+     *
+     * @return if the character sequence is a valid URL
+     *
+     * @since 4.10.0
+     *
+     */
+    public static boolean isValidURL(CharSequence url) {
+        return URIValidator.validateURL(url) == URIValidator.VALID;
+    }
+
+    /**
+     * Returns the normalized form of a URL, so that equivalent URLs compare equal. The query is left unsorted.
+     * <br><br>
+     * Example Usage:
+     *
+     * <pre>
+     *     URLHelper.normalize("HTTP://www.Example.COM:80/a/./b/../c/%7euser")      //  "http://www.example.com/a/c/~user"
+     * </pre>
+     *
+     * @param url to normalize
+     *
+     * @return the normalized URL
+     *
+     * @throws IllegalArgumentException for Invalid URL
+     *
+     * @see URLHelper#normalize(String, boolean)
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String normalize(String url) {
+        return normalize(url, false);
+    }
 
-        return true;
+    /**
+     * Returns the normalized form of a URL, so that equivalent URLs compare equal.
+     * <br><br>
+     * The most recently normalized URLs are kept in a cache of up to 4096 URLs for each value of
+     * <code>sortQuery</code>. A {@link URLNormalizer} may be used instead for a cache of a different size, or for
+     * separate statistics.
+     * <br><br>
+     * Example Usage:
+     *
+     * <pre>
+     *     URLHelper.normalize("http://example.com?z=1&amp;a=2&amp;z=0", true)        //  "http://example.com/?a=2&amp;z=1&amp;z=0"
+     * </pre>
+     *
+     * @param url to normalize
+     * @param sortQuery whether to sort the parameters of the query by name
+     *
+     * @return the normalized URL
+     *
+     * @throws IllegalArgumentException for Invalid URL
+     *
+     * @see URLNormalizer
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String normalize(String url, boolean sortQuery) {
+        return (sortQuery ? SORTING_NORMALIZER : NORMALIZER).normalize(url);
     }
 
     /**
      * Appends content to the query string of a URL, handling logic for whether to place a question mark or ampersand.
+     * <br><br>
+     * Since 4.10.0, the parameter and the value are percent-encoded, and every other component of the URL is kept
+     * exactly as it is.
      *
      * @param url The URL to append to.
      * @param param The parameter key to append to the URL.
@@ -73,7 +148,9 @@ public final class URLHelper {
      *
      * @return The resulting URL
      *
-     * @throws IllegalArgumentException for Invalid URL or empty arguments
+     * @throws IllegalArgumentException for Invalid URL, opaque URL or empty arguments
+     *
+     * @see ParsedURL#withQueryParam(String, Object)
      *
      * @since 3.5.0
      *
@@ -87,30 +164,162 @@ public final class URLHelper {
             throw new IllegalArgumentException("Fatal Error. 'param'. Only non-empty string(s) are allowed as arguments.");
         }
 
-        URI _uri = null;
+        return ParsedURL.parse(url).withQueryParam(param, value).toString();
+    }
+
+    /**
+     * Returns the percent-encoded form of the value, as the specified component of a URL.
+     * <br><br>
+     * Every character which is not allowed in the component is encoded as the percent-escaped octets of its UTF-8
+     * encoding, with uppercase hexadecimal digits, as defined by RFC 3986. Unlike {@link java.net.URLEncoder}, a
+     * space is encoded as <code>%20</code> and never as '<code>+</code>'. A value which needs no encoding is returned as
+     * is, without being copied.
+     * <br><br>
+     * Example Usage:
+     *
+     * <pre>
+     *     URLHelper.encode("a b/c", URLComponent.PATH)                 //  "a%20b/c"
+     *     URLHelper.encode("a b/c", URLComponent.PATH_SEGMENT)         //  "a%20b%2Fc"
+     *     URLHelper.encode("x=1&amp;y=é", URLComponent.QUERY_PARAMETER)    //  "x%3D1%26y%3D%C3%A9"
+     * </pre>
+     *
+     * @param value to encode
+     * @param component the component of a URL which the value is encoded into
+     *
+     * @return the encoded value
+     *
+     * @throws IllegalArgumentException if the value is <code>null</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String encode(CharSequence value, URLComponent component) {
+        if (value == null) {
+            throw new IllegalArgumentException("Fatal Error. 'value'. Null is not allowed.");
+        }
+
+        if (PercentCodec.indexOfUnallowed(value, component.allowed) == value.length()) {
+            return value.toString();
+        }
+
+        final StringBuilder builder = new StringBuilder(value.length() + 16);
+
+        PercentCodec.encode(value, component.allowed, builder);
 
-        try {
-            _uri = new URI(url);
-        } catch (URISyntaxException e) {
-            // do nothing
+        return builder.toString();
+    }
+
+    /**
+     * Returns the percent-encoded form of the specified region of UTF-8 octets, as the specified component of a URL.
+     * <br><br>
+     * Every octet which is not allowed in the component is percent-escaped on its own, so the octets are never decoded
+     * into characters.
+     *
+     * @param octets the UTF-8 encoded value
+     * @param offset the index of the first octet of the region
+     * @param length the number of octets of the region
+     * @param component the component of a URL which the value is encoded into
+     *
+     * @return the encoded value
+     *
+     * @throws IllegalArgumentException if the octets are <code>null</code>, or the region is out of their bounds
+     *
+     * @see URLHelper#encode(CharSequence, URLComponent)
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String encode(byte[] octets, int offset, int length, URLComponent component) {
+        checkRegion(octets, offset, length);
+
+        final int end = offset + length;
+
+        int i = offset;
+
+        while (i < end && component.allowed[octets[i] & 0xff]) {
+            i++;
         }
 
-        var query = _uri.getRawQuery();
+        if (i == end) {
+            return new String(octets, offset, length, StandardCharsets.ISO_8859_1);
+        }
+
+        final StringBuilder builder = new StringBuilder(length + 16);
+
+        PercentCodec.encode(octets, offset, end, component.allowed, builder);
 
-        if (StringHelper.getNullSafe(query).isBlank()) {
-            query = param + '=' + value;
-        } else {
-            query += '&' + param + '=' + value;
+        return builder.toString();
+    }
+
+    /**
+     * Returns the percent-decoded form of the value, read as the specified component of a URL.
+     * <br><br>
+     * Runs of escaped octets are decoded as UTF-8; octets which are not valid UTF-8 are replaced with U+FFFD. A
+     * '<code>%</code>' which is not followed by two hexadecimal digits is kept as is. A '<code>+</code>' is decoded as
+     * a space only in {@link URLComponent#QUERY_PARAMETER}. A value which needs no decoding is returned as is, without
+     * being copied.
+     * <br><br>
+     * Example Usage:
+     *
+     * <pre>
+     *     URLHelper.decode("a%20b+c", URLComponent.PATH)               //  "a b+c"
+     *     URLHelper.decode("a%20b+c", URLComponent.QUERY_PARAMETER)    //  "a b c"
+     *     URLHelper.decode("100%", URLComponent.QUERY)                 //  "100%"
+     * </pre>
+     *
+     * @param value to decode
+     * @param component the component of a URL which the value is read as
+     *
+     * @return the decoded value
+     *
+     * @throws IllegalArgumentException if the value is <code>null</code>
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String decode(CharSequence value, URLComponent component) {
+        if (value == null) {
+            throw new IllegalArgumentException("Fatal Error. 'value'. Null is not allowed.");
         }
 
-        URI _finalURI = null;
+        return PercentCodec.decode(value, 0, value.length(), component == URLComponent.QUERY_PARAMETER);
+    }
+
+    /**
+     * Returns the percent-decoded form of the specified region of US-ASCII or UTF-8 octets, read as the specified
+     * component of a URL.
+     *
+     * @param octets the encoded value
+     * @param offset the index of the first octet of the region
+     * @param length the number of octets of the region
+     * @param component the component of a URL which the value is read as
+     *
+     * @return the decoded value
+     *
+     * @throws IllegalArgumentException if the octets are <code>null</code>, or the region is out of their bounds
+     *
+     * @see URLHelper#decode(CharSequence, URLComponent)
+     *
+     * @since 4.10.0
+     *
+     */
+    public static String decode(byte[] octets, int offset, int length, URLComponent component) {
+        checkRegion(octets, offset, length);
 
-        try {
-            _finalURI = new URI(_uri.getScheme(), _uri.getRawUserInfo(), _uri.getHost(), _uri.getPort(), _uri.getRawPath(), query, _uri.getRawFragment());
-        } catch (URISyntaxException e) {
-            // do nothing
+        return PercentCodec.decode(octets, offset, offset + length, component == URLComponent.QUERY_PARAMETER);
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static void checkRegion(byte[] octets, int offset, int length) {
+        if (octets == null) {
+            throw new IllegalArgumentException("Fatal Error. 'octets'. Null is not allowed.");
         }
 
-        return _finalURI.toString();
+        if (offset < 0 || length < 0 || offset > octets.length - length) {
+            throw new IllegalArgumentException("Fatal Error. 'offset'. Region out of bounds.");
+        }
     }
 }
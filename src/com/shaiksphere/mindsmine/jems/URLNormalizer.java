@@ -0,0 +1,348 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A normalizer of URLs into a canonical form, so that equivalent URLs compare equal, backed by an LRU cache of the
+ * URLs it has normalized.
+ * <br><br>
+ * The normalizations, from RFC 3986 section 6, are:
+ * <ul>
+ *     <li>the scheme and the host are lowercased;</li>
+ *     <li>the hexadecimal digits of percent-escapes are uppercased, and escaped unreserved characters are decoded;</li>
+ *     <li>the dot-segments of an absolute path are resolved;</li>
+ *     <li>for the <code>http</code>, <code>https</code>, <code>ws</code>, <code>wss</code> and <code>ftp</code>
+ *     schemes, the default port is dropped, and an empty path becomes '<code>/</code>';</li>
+ *     <li>an empty port is dropped;</li>
+ *     <li>optionally, the parameters of the query are sorted by name, keeping the order of parameters with the same
+ *     name, and empty parameters are dropped.</li>
+ * </ul>
+ * Instances are thread-safe.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     URLNormalizer normalizer = new URLNormalizer(true, 100_000);
+ *
+ *     normalizer.normalize("HTTP://www.Example.COM:80/a/./b/../c/%7euser?z=1&amp;a=2")
+ *             // "http://www.example.com/a/c/~user?a=2&amp;z=1"
+ *
+ *     normalizer.getCache().getHitRate();
+ * </pre>
+ *
+ * @see URLHelper#normalize(String, boolean)
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class URLNormalizer {
+    private static final String[] DEFAULT_PORT_SCHEMES = {"http", "https", "ws", "wss", "ftp"};
+    private static final int[] DEFAULT_PORTS = {80, 443, 80, 443, 21};
+
+    private static final char[] HEXADECIMAL_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final boolean sortQuery;
+    private final LRUCache<String, String> cache;
+
+    /**
+     * Creates a normalizer, caching up to the specified number of normalized URLs.
+     *
+     * @param sortQuery whether to sort the parameters of the query.
+     * @param cacheSize the maximum number of cached URLs.
+     *
+     * @throws IllegalArgumentException if the cache size is not positive.
+     *
+     * @since 4.10.0
+     *
+     */
+    public URLNormalizer(boolean sortQuery, int cacheSize) {
+        this.sortQuery = sortQuery;
+        this.cache = new LRUCache<>(cacheSize);
+    }
+
+    /**
+     * Returns whether the parameters of the query are sorted.
+     *
+     * @return if the query is sorted
+     *
+     * @since 4.10.0
+     *
+     */
+    public boolean isSortingQuery() {
+        return sortQuery;
+    }
+
+    /**
+     * Returns the cache of the normalizer, to monitor or resize it.
+     *
+     * @return the cache of normalized URLs, keyed by the original URL.
+     *
+     * @since 4.10.0
+     *
+     */
+    public LRUCache<String, String> getCache() {
+        return cache;
+    }
+
+    /**
+     * Returns the normalized form of the URL.
+     *
+     * @param url the URL to normalize.
+     *
+     * @return the normalized URL.
+     *
+     * @throws IllegalArgumentException if the URL is not valid.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String normalize(String url) {
+        if (url == null) {
+            throw new IllegalArgumentException("Fatal Error. 'url'. Invalid URL.");
+        }
+
+        return cache.get(url, key -> normalizeUncached(key, sortQuery));
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    /*
+     * Normalizes without going through a cache, and therefore without counting a lookup or caching the result.
+     */
+    static String normalizeUncached(String url, boolean sortQuery) {
+        final ParsedURL parsed = ParsedURL.parse(url);
+        final StringBuilder builder = new StringBuilder(url.length());
+
+        final String scheme = parsed.getScheme();
+
+        if (scheme != null) {
+            appendLowerCase(builder, scheme);
+            builder.append(':');
+        }
+
+        if (parsed.isOpaque()) {
+            appendEscapesNormalized(builder, parsed.getSchemeSpecificPart(), false);
+        } else {
+            final int defaultPort = getDefaultPort(scheme);
+
+            if (parsed.getAuthority() != null) {
+                builder.append("//");
+
+                final String host = parsed.getHost();
+
+                if (host == null) {
+                    // A registry-based authority has no host to lowercase nor port to drop, and is kept whole
+                    appendEscapesNormalized(builder, parsed.getAuthority(), false);
+                } else {
+                    final String userInfo = parsed.getUserInfo();
+
+                    if (userInfo != null) {
+                        appendEscapesNormalized(builder, userInfo, false);
+                        builder.append('@');
+                    }
+
+                    appendEscapesNormalized(builder, host, true);
+
+                    final int port = parsed.getPort();
+
+                    if (port >= 0 && port != defaultPort) {
+                        builder.append(':').append(port);
+                    }
+                }
+            }
+
+            final int pathStart = builder.length();
+
+            appendEscapesNormalized(builder, parsed.getPath(), false);
+
+            if (builder.length() > pathStart && builder.charAt(pathStart) == '/') {
+                final String path = builder.substring(pathStart);
+
+                builder.setLength(pathStart);
+                appendDotSegmentsRemoved(builder, path);
+
+                // Without an authority, a path beginning with "//" would read as one
+                if (parsed.getAuthority() == null && builder.indexOf("//", pathStart) == pathStart) {
+                    builder.insert(pathStart, "/.");
+                }
+            } else if (builder.length() == pathStart && parsed.getAuthority() != null && defaultPort >= 0) {
+                builder.append('/');
+            }
+
+            final String query = parsed.getQuery();
+
+            if (query != null) {
+                builder.append('?');
+
+                if (sortQuery) {
+                    final StringBuilder normalizedQuery = new StringBuilder(query.length());
+
+                    appendEscapesNormalized(normalizedQuery, query, false);
+                    appendSorted(builder, normalizedQuery);
+                } else {
+                    appendEscapesNormalized(builder, query, false);
+                }
+            }
+        }
+
+        final String fragment = parsed.getFragment();
+
+        if (fragment != null) {
+            builder.append('#');
+            appendEscapesNormalized(builder, fragment, false);
+        }
+
+        return builder.toString();
+    }
+
+    /*
+     * Default port of the scheme, or -1.
+     */
+    private static int getDefaultPort(String scheme) {
+        for (int i = 0; i < DEFAULT_PORT_SCHEMES.length; i++) {
+            if (DEFAULT_PORT_SCHEMES[i].equalsIgnoreCase(scheme)) {
+                return DEFAULT_PORTS[i];
+            }
+        }
+
+        return -1;
+    }
+
+    private static char toLowerCase(char c) {
+        return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static void appendLowerCase(StringBuilder builder, String string) {
+        for (int i = 0; i < string.length(); i++) {
+            builder.append(toLowerCase(string.charAt(i)));
+        }
+    }
+
+    private static boolean isUnreserved(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    /*
+     * Decodes the escaped unreserved characters and uppercases the hexadecimal digits of the other escapes. A '%'
+     * which does not start an escape, as in the zone id of an IPv6 host, is kept as it is.
+     */
+    private static void appendEscapesNormalized(StringBuilder builder, String component, boolean lowerCase) {
+        for (int i = 0; i < component.length(); i++) {
+            final char c = component.charAt(i);
+
+            final int value = (c == '%')
+                    ? PercentCodec.getHexadecimalValue(component, i + 1, component.length())
+                    : -1;
+
+            if (value < 0) {
+                builder.append(lowerCase ? toLowerCase(c) : c);
+                continue;
+            }
+
+            if (isUnreserved(value)) {
+                builder.append(lowerCase ? toLowerCase((char) value) : (char) value);
+            } else {
+                builder.append('%').append(HEXADECIMAL_DIGITS[value >> 4]).append(HEXADECIMAL_DIGITS[value & 0xf]);
+            }
+
+            i += 2;
+        }
+    }
+
+    /*
+     * The remove_dot_segments algorithm of RFC 3986 section 5.2.4, for a path beginning with '/'.
+     */
+    private static void appendDotSegmentsRemoved(StringBuilder builder, String path) {
+        final int start = builder.length();
+        final int n = path.length();
+
+        int i = 0;
+
+        while (i < n) {
+            if (path.startsWith("/./", i)) {
+                i += 2;
+            } else if (i + 2 == n && path.startsWith("/.", i)) {
+                builder.append('/');
+                break;
+            } else if (path.startsWith("/../", i)) {
+                removeLastSegment(builder, start);
+                i += 3;
+            } else if (i + 3 == n && path.startsWith("/..", i)) {
+                removeLastSegment(builder, start);
+                builder.append('/');
+                break;
+            } else {
+                final int end = path.indexOf('/', i + 1);
+                final int segmentEnd = (end < 0) ? n : end;
+
+                builder.append(path, i, segmentEnd);
+                i = segmentEnd;
+            }
+        }
+    }
+
+    private static void removeLastSegment(StringBuilder builder, int start) {
+        int i = builder.length();
+
+        while (i > start && builder.charAt(i - 1) != '/') {
+            i--;
+        }
+
+        builder.setLength(Math.max(start, i - 1));
+    }
+
+    private static void appendSorted(StringBuilder builder, CharSequence query) {
+        final List<String> parameters = new ArrayList<>();
+
+        int start = 0;
+
+        for (int i = 0; i <= query.length(); i++) {
+            if (i == query.length() || query.charAt(i) == '&') {
+                if (i > start) {
+                    parameters.add(query.subSequence(start, i).toString());
+                }
+
+                start = i + 1;
+            }
+        }
+
+        // List.sort is stable, so parameters with the same name keep their order
+        parameters.sort(Comparator.comparing(URLNormalizer::getParameterName));
+
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                builder.append('&');
+            }
+
+            builder.append(parameters.get(i));
+        }
+    }
+
+    private static String getParameterName(String parameter) {
+        final int equals = parameter.indexOf('=');
+
+        return (equals < 0) ? parameter : parameter.substring(0, equals);
+    }
+}
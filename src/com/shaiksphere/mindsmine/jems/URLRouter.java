@@ -0,0 +1,813 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A router matching the paths of URLs against many path patterns at once.
+ * <br><br>
+ * A pattern is a path beginning with '<code>/</code>', whose segments are either:
+ * <ul>
+ *     <li>a literal, such as <code>users</code>, matching the same raw, percent-encoded segment;</li>
+ *     <li>a parameter, such as <code>{id}</code>, matching any non-empty segment, which is captured;</li>
+ *     <li>a wildcard, <code>*</code>, matching any non-empty segment;</li>
+ *     <li>a catch-all, <code>**</code>, as the last segment only, matching the rest of the path, which may be
+ *     empty.</li>
+ * </ul>
+ * The patterns are compiled into a trie of segments. When several patterns match, a literal is preferred to a parameter,
+ * a parameter to a wildcard, and a wildcard to a catch-all, segment by segment from the left, falling back to the next
+ * alternative when a preferred one fails further down. Rather than backtracking through the trie, a path is matched by
+ * a deterministic automaton whose states are the ordered sets of nodes of the trie still in the running, built only
+ * as paths reach them and then cached, so that a match follows a single transition per segment whatever the number of
+ * routes. Segments are looked up in place, by hashing them within the URL.
+ * <br><br>
+ * Matching does not copy any part of the URL: a match records the bounds of the captured segments, which are only
+ * extracted, and decoded, when read.
+ * <br><br>
+ * Instances are <strong>not</strong> thread-safe while patterns are being added; once every pattern is added, any
+ * number of threads may match URLs concurrently.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     URLRouter&lt;Handler&gt; router = new URLRouter&lt;Handler&gt;()
+ *             .add("/users/{id}", userHandler)
+ *             .add("/users/{id}/posts/{post}", postHandler)
+ *             .add("/static/**", staticHandler);
+ *
+ *     URLRouter.Match&lt;Handler&gt; match = router.match("https://www.example.com/users/42/posts/7?full=true");
+ *
+ *     match.getTarget();              // postHandler
+ *     match.getParameter("post");     // "7"
+ * </pre>
+ *
+ * @param <T> the type of the targets of the routes
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class URLRouter<T> {
+    private static final String PARAMETER = "{}";
+    private static final String WILDCARD = "*";
+    private static final String CATCH_ALL = "**";
+
+    /**
+     * The largest number of states of the automaton cached, after which the cache starts over.
+     */
+    static final int MAX_CACHED_STATES = 4096;
+
+    private final Node<T> root = new Node<>();
+
+    // The states of the automaton built so far, and the one before any segment is read
+    private final Map<State<T>, State<T>> states = new HashMap<>();
+    private volatile State<T> initialState;
+
+    private int size;
+    private long transitionCount;
+
+    /**
+     * Creates a router without any route.
+     *
+     * @since 4.10.0
+     *
+     */
+    public URLRouter() {}
+
+    /**
+     * Adds a route from the path pattern to the target.
+     *
+     * @param pattern the path pattern.
+     * @param target the target of the route.
+     *
+     * @return this router.
+     *
+     * @throws IllegalArgumentException if the pattern is not valid, or a route with an equivalent pattern, which
+     * differs only in the names of its parameters, was already added.
+     *
+     * @since 4.10.0
+     *
+     */
+    public URLRouter<T> add(String pattern, T target) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Fatal Error. 'pattern'. Only path beginning with '/' is allowed.");
+        }
+
+        final String[] segments = pattern.substring(1).split("/", -1);
+        final List<String> parameterNames = new ArrayList<>();
+        final List<Integer> parameterSegments = new ArrayList<>();
+
+        Node<T> node = root;
+
+        for (int i = 0; i < segments.length; i++) {
+            final String segment = segments[i];
+
+            if (segment.equals(CATCH_ALL)) {
+                if (i < segments.length - 1) {
+                    throw new IllegalArgumentException("Fatal Error. 'pattern'. '**' is only allowed as the last segment.");
+                }
+
+                if (node.catchAllRoute != null) {
+                    throw new IllegalArgumentException("Fatal Error. 'pattern'. Duplicate route '" + pattern + "'.");
+                }
+
+                node.catchAllRoute = new Route<>(pattern, target, parameterNames, parameterSegments, i);
+                register();
+
+                return this;
+            }
+
+            final String key = toKey(pattern, segment, parameterNames);
+
+            if (key == PARAMETER) {
+                parameterSegments.add(i);
+            }
+
+            node = node.getOrAddChild(key);
+        }
+
+        if (node.route != null) {
+            throw new IllegalArgumentException("Fatal Error. 'pattern'. Duplicate route '" + pattern + "'.");
+        }
+
+        node.route = new Route<>(pattern, target, parameterNames, parameterSegments, -1);
+        register();
+
+        return this;
+    }
+
+    /**
+     * Returns the number of routes.
+     *
+     * @return the number of routes.
+     *
+     * @since 4.10.0
+     *
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Matches the path of the URL against the routes.
+     *
+     * @param url the URL to match, which may also be a relative URL or a bare path.
+     *
+     * @return the match, or <code>null</code> if no route matches.
+     *
+     * @throws IllegalArgumentException if the URL is not valid.
+     *
+     * @since 4.10.0
+     *
+     */
+    public Match<T> match(String url) {
+        return match(ParsedURL.parse(url));
+    }
+
+    /**
+     * Matches the path of the parsed URL against the routes. An empty path is matched as '<code>/</code>'.
+     *
+     * @param url the URL to match.
+     *
+     * @return the match, or <code>null</code> if no route matches, or the URL is opaque.
+     *
+     * @since 4.10.0
+     *
+     */
+    public Match<T> match(ParsedURL url) {
+        if (url.isOpaque()) {
+            return null;
+        }
+
+        String source = url.toString();
+
+        int start = url.getPathStart();
+        int end = url.getPathEnd();
+
+        if (start == end) {
+            source = "/";
+            start = 0;
+            end = 1;
+        } else if (source.charAt(start) != '/') {
+            return null;
+        }
+
+        final Route<T> route = find(source, start, end);
+
+        return (route == null) ? null : new Match<>(route, source, route.getBounds(source, start, end));
+    }
+
+    /**
+     * The outcome of matching a URL, with the segments captured by the parameters of the pattern.
+     *
+     * @param <T> the type of the target of the route
+     *
+     * @since 4.10.0
+     *
+     */
+    public static final class Match<T> {
+        private final Route<T> route;
+        private final String source;
+        private final int[] bounds;
+
+        private Match(Route<T> route, String source, int[] bounds) {
+            this.route = route;
+            this.source = source;
+            this.bounds = bounds;
+        }
+
+        /**
+         * Returns the target of the matching route.
+         *
+         * @return the target.
+         *
+         * @since 4.10.0
+         *
+         */
+        public T getTarget() {
+            return route.target;
+        }
+
+        /**
+         * Returns the pattern of the matching route.
+         *
+         * @return the pattern, as added.
+         *
+         * @since 4.10.0
+         *
+         */
+        public String getPattern() {
+            return route.pattern;
+        }
+
+        /**
+         * Returns the number of parameters of the matching route.
+         *
+         * @return the number of parameters.
+         *
+         * @since 4.10.0
+         *
+         */
+        public int getParameterCount() {
+            return route.parameterNames.length;
+        }
+
+        /**
+         * Returns the name of the parameter at the specified position in the pattern.
+         *
+         * @param index the position of the parameter, from <code>0</code>.
+         *
+         * @return the name of the parameter.
+         *
+         * @since 4.10.0
+         *
+         */
+        public String getParameterName(int index) {
+            return route.parameterNames[index];
+        }
+
+        /**
+         * Returns the percent-decoded segment captured by the parameter at the specified position in the pattern.
+         *
+         * @param index the position of the parameter, from <code>0</code>.
+         *
+         * @return the value of the parameter.
+         *
+         * @see URLHelper#decode(CharSequence, URLComponent)
+         *
+         * @since 4.10.0
+         *
+         */
+        public String getParameter(int index) {
+            if (index < 0 || index >= route.parameterNames.length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            return PercentCodec.decode(source, bounds[2 * index], bounds[2 * index + 1], false);
+        }
+
+        /**
+         * Returns the percent-decoded segment captured by the named parameter.
+         *
+         * @param name the name of the parameter.
+         *
+         * @return the value of the parameter, or <code>null</code> if the pattern has no such parameter.
+         *
+         * @since 4.10.0
+         *
+         */
+        public String getParameter(String name) {
+            for (int i = 0; i < route.parameterNames.length; i++) {
+                if (route.parameterNames[i].equals(name)) {
+                    return getParameter(i);
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Returns the raw rest of the path matched by the catch-all of the pattern, without the leading
+         * '<code>/</code>'.
+         *
+         * @return the rest of the path, which may be empty, or <code>null</code> if the pattern has no catch-all.
+         *
+         * @since 4.10.0
+         *
+         */
+        public String getRemainder() {
+            return route.catchAll ? source.substring(bounds[bounds.length - 2], bounds[bounds.length - 1]) : null;
+        }
+
+        /**
+         * Returns the pattern and the target of the match.
+         *
+         * @return the string representation.
+         *
+         * @since 4.10.0
+         *
+         */
+        @Override
+        public String toString() {
+            return route.pattern + " -> " + route.target;
+        }
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static final class Route<T> {
+        final String pattern;
+        final T target;
+        final String[] parameterNames;
+        final boolean catchAll;
+
+        // The index of the segment of every parameter, and of the catch-all, if any
+        private final int[] parameterSegments;
+        private final int catchAllSegment;
+
+        Route(String pattern, T target, List<String> parameterNames, List<Integer> parameterSegments,
+              int catchAllSegment) {
+            this.pattern = pattern;
+            this.target = target;
+            this.parameterNames = parameterNames.toArray(new String[0]);
+            this.catchAll = catchAllSegment >= 0;
+            this.parameterSegments = parameterSegments.stream().mapToInt(Integer::intValue).toArray();
+            this.catchAllSegment = catchAllSegment;
+        }
+
+        /*
+         * A pair of bounds for every parameter, followed by the bounds of the rest matched by a catch-all, found by
+         * walking the segments of the path matched from the '/' at start.
+         */
+        int[] getBounds(String source, int start, int end) {
+            final int[] bounds = new int[2 * parameterSegments.length + 2];
+
+            bounds[bounds.length - 2] = end;
+            bounds[bounds.length - 1] = end;
+
+            int parameterIndex = 0;
+            int segmentIndex = 0;
+
+            for (int position = start; position < end; segmentIndex++) {
+                final int segmentStart = position + 1;
+
+                if (segmentIndex == catchAllSegment) {
+                    bounds[bounds.length - 2] = segmentStart;
+                    break;
+                }
+
+                int segmentEnd = source.indexOf('/', segmentStart);
+
+                if (segmentEnd < 0 || segmentEnd > end) {
+                    segmentEnd = end;
+                }
+
+                if (parameterIndex < parameterSegments.length && parameterSegments[parameterIndex] == segmentIndex) {
+                    bounds[2 * parameterIndex] = segmentStart;
+                    bounds[2 * parameterIndex + 1] = segmentEnd;
+                    parameterIndex++;
+                }
+
+                position = segmentEnd;
+            }
+
+            return bounds;
+        }
+    }
+
+    /*
+     * A node of the trie, with its literal children keyed by segment.
+     */
+    private static final class Node<T> {
+        final SegmentTable<Node<T>> literalChildren = new SegmentTable<>();
+
+        Node<T> parameterChild;
+        Node<T> wildcardChild;
+
+        Route<T> route;
+        Route<T> catchAllRoute;
+
+        Node<T> getOrAddChild(String key) {
+            if (key == PARAMETER) {
+                return (parameterChild == null) ? (parameterChild = new Node<>()) : parameterChild;
+            }
+
+            if (key == WILDCARD) {
+                return (wildcardChild == null) ? (wildcardChild = new Node<>()) : wildcardChild;
+            }
+
+            final int slot = literalChildren.indexOf(key, 0, key.length());
+
+            if (slot >= 0) {
+                return literalChildren.get(slot);
+            }
+
+            final Node<T> child = new Node<>();
+
+            literalChildren.add(key, child);
+
+            return child;
+        }
+
+        Node<T> getChild(String source, int start, int end) {
+            final int slot = literalChildren.indexOf(source, start, end);
+
+            return (slot < 0) ? null : literalChildren.get(slot);
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Node<T>[] newArray(int n) {
+            return (Node<T>[]) new Node<?>[n];
+        }
+    }
+
+    /*
+     * A state of the automaton: the nodes of the trie which may still lead to a match, in order of preference, and
+     * the catch-all of a node left behind, which matches when none of them does. Its transitions are set under the
+     * lock of the cache of states, and read without it, which is safe as the fields of a state are final.
+     */
+    private static final class State<T> {
+        final Node<T>[] nodes;
+        final Route<T> catchAllRoute;
+
+        // The route matched if the path ends in this state
+        final Route<T> endRoute;
+
+        // The transitions on the literals of the nodes, on an empty segment, and on any other segment
+        final SegmentTable<State<T>> literalNext = new SegmentTable<>();
+        State<T> emptyNext;
+        State<T> otherNext;
+
+        private final int hash;
+
+        State(Node<T>[] nodes, Route<T> catchAllRoute) {
+            this.nodes = nodes;
+            this.catchAllRoute = catchAllRoute;
+            this.hash = 31 * Arrays.hashCode(nodes) + System.identityHashCode(catchAllRoute);
+
+            Route<T> end = catchAllRoute;
+
+            for (Node<T> node : nodes) {
+                if (node.route != null || node.catchAllRoute != null) {
+                    end = (node.route != null) ? node.route : node.catchAllRoute;
+                    break;
+                }
+            }
+
+            this.endRoute = end;
+
+            for (Node<T> node : nodes) {
+                final SegmentTable<Node<T>> children = node.literalChildren;
+
+                for (int slot = 0; slot < children.getCapacity(); slot++) {
+                    final String key = children.getKey(slot);
+
+                    if (key != null && literalNext.indexOf(key, 0, key.length()) < 0) {
+                        literalNext.add(key, null);
+                    }
+                }
+            }
+        }
+
+        boolean isDead() {
+            return nodes.length == 0 && catchAllRoute == null;
+        }
+
+        /*
+         * The cached transition on the segment, or null if it is not built yet.
+         */
+        State<T> getNext(String source, int start, int end) {
+            if (start == end) {
+                return emptyNext;
+            }
+
+            final int slot = literalNext.indexOf(source, start, end);
+
+            return (slot < 0) ? otherNext : literalNext.get(slot);
+        }
+
+        void setNext(String source, int start, int end, State<T> next) {
+            final int slot = literalNext.indexOf(source, start, end);
+
+            if (start == end) {
+                emptyNext = next;
+            } else if (slot < 0) {
+                otherNext = next;
+            } else {
+                literalNext.set(slot, next);
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof State)
+                    && ((State<?>) obj).catchAllRoute == catchAllRoute
+                    && Arrays.equals(((State<?>) obj).nodes, nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /*
+     * An open-addressing table keyed by segment, which can be probed with a region of the URL. Values may be set after
+     * the keys are added, at the slot of their key.
+     */
+    private static final class SegmentTable<V> {
+        private String[] keys = new String[0];
+        private Object[] values = new Object[0];
+        private int size;
+
+        int getCapacity() {
+            return keys.length;
+        }
+
+        String getKey(int slot) {
+            return keys[slot];
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(int slot) {
+            return (V) values[slot];
+        }
+
+        void set(int slot, V value) {
+            values[slot] = value;
+        }
+
+        /*
+         * The slot of the key equal to the region, or -1.
+         */
+        int indexOf(String source, int start, int end) {
+            if (size == 0) {
+                return -1;
+            }
+
+            final int mask = keys.length - 1;
+
+            for (int slot = hash(source, start, end) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                final String key = keys[slot];
+
+                if (key.length() == end - start && source.startsWith(key, start)) {
+                    return slot;
+                }
+            }
+
+            return -1;
+        }
+
+        void add(String key, V value) {
+            if (2 * (size + 1) > keys.length) {
+                rehash(Math.max(4, 2 * keys.length));
+            }
+
+            insert(key, value);
+            size++;
+        }
+
+        private void insert(String key, Object value) {
+            final int mask = keys.length - 1;
+
+            int slot = hash(key, 0, key.length()) & mask;
+
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void rehash(int capacity) {
+            final String[] oldKeys = keys;
+            final Object[] oldValues = values;
+
+            keys = new String[capacity];
+            values = new Object[capacity];
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        /*
+         * The hash of String, spread, over a region.
+         */
+        private static int hash(String source, int start, int end) {
+            int h = 0;
+
+            for (int i = start; i < end; i++) {
+                h = 31 * h + source.charAt(i);
+            }
+
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /*
+     * The key of a segment of a pattern: PARAMETER or WILDCARD, by identity, or the literal.
+     */
+    private static String toKey(String pattern, String segment, List<String> parameterNames) {
+        if (segment.equals(WILDCARD)) {
+            return WILDCARD;
+        }
+
+        if (segment.startsWith("{") && segment.endsWith("}") && segment.length() > 1) {
+            final String name = segment.substring(1, segment.length() - 1);
+
+            if (name.isBlank() || parameterNames.contains(name)) {
+                throw new IllegalArgumentException("Fatal Error. 'pattern'. Invalid parameter '" + segment + "' in '" + pattern + "'.");
+            }
+
+            parameterNames.add(name);
+
+            return PARAMETER;
+        }
+
+        if (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0 || segment.indexOf('*') >= 0
+                || segment.indexOf('?') >= 0 || segment.indexOf('#') >= 0) {
+            throw new IllegalArgumentException("Fatal Error. 'pattern'. Invalid segment '" + segment + "' in '" + pattern + "'.");
+        }
+
+        return segment;
+    }
+
+    /*
+     * Counts the route, and drops the states built from the trie before it changed.
+     */
+    private void register() {
+        size++;
+
+        synchronized (states) {
+            states.clear();
+            initialState = null;
+        }
+    }
+
+    /*
+     * Returns the number of transitions built, for tests.
+     */
+    long getTransitionCount() {
+        synchronized (states) {
+            return transitionCount;
+        }
+    }
+
+    /*
+     * Matches the path from the '/' at start, following a single transition of the automaton per segment.
+     */
+    private Route<T> find(String source, int start, int end) {
+        State<T> state = getInitialState();
+
+        for (int position = start; position < end && !state.isDead(); ) {
+            final int segmentStart = position + 1;
+
+            int segmentEnd = source.indexOf('/', segmentStart);
+
+            if (segmentEnd < 0 || segmentEnd > end) {
+                segmentEnd = end;
+            }
+
+            final State<T> next = state.getNext(source, segmentStart, segmentEnd);
+
+            state = (next != null) ? next : computeNext(state, source, segmentStart, segmentEnd);
+            position = segmentEnd;
+        }
+
+        return state.endRoute;
+    }
+
+    private State<T> getInitialState() {
+        State<T> state = initialState;
+
+        if (state == null) {
+            synchronized (states) {
+                state = initialState;
+
+                if (state == null) {
+                    final Node<T>[] nodes = Node.newArray(1);
+
+                    nodes[0] = root;
+
+                    state = intern(new State<>(nodes, null));
+                    initialState = state;
+                }
+            }
+        }
+
+        return state;
+    }
+
+    /*
+     * Builds the transition of the state on the segment, under the lock: every node is replaced by its literal child,
+     * its parameter child and its wildcard child, in this order, and the nodes after one with a catch-all are dropped,
+     * as its catch-all matches whenever they would.
+     */
+    private State<T> computeNext(State<T> state, String source, int segmentStart, int segmentEnd) {
+        synchronized (states) {
+            final State<T> known = state.getNext(source, segmentStart, segmentEnd);
+
+            if (known != null) {
+                return known;
+            }
+
+            final List<Node<T>> nodes = new ArrayList<>();
+            final boolean empty = segmentStart == segmentEnd;
+
+            Route<T> catchAllRoute = state.catchAllRoute;
+
+            for (Node<T> node : state.nodes) {
+                final Node<T> literalChild = node.getChild(source, segmentStart, segmentEnd);
+
+                if (literalChild != null) {
+                    nodes.add(literalChild);
+                }
+
+                if (!empty && node.parameterChild != null) {
+                    nodes.add(node.parameterChild);
+                }
+
+                if (!empty && node.wildcardChild != null) {
+                    nodes.add(node.wildcardChild);
+                }
+
+                if (node.catchAllRoute != null) {
+                    catchAllRoute = node.catchAllRoute;
+                    break;
+                }
+            }
+
+            final State<T> next = intern(new State<>(nodes.toArray(Node.<T>newArray(0)), catchAllRoute));
+
+            state.setNext(source, segmentStart, segmentEnd, next);
+            transitionCount++;
+
+            return next;
+        }
+    }
+
+    /*
+     * Returns the cached state equal to the given one, caching it if there is none. Once the cache is full, it starts
+     * over, and the states already handed out stay valid.
+     */
+    private State<T> intern(State<T> state) {
+        final State<T> known = states.get(state);
+
+        if (known != null) {
+            return known;
+        }
+
+        if (states.size() >= MAX_CACHED_STATES) {
+            states.clear();
+        }
+
+        states.put(state, state);
+
+        return state;
+    }
+}
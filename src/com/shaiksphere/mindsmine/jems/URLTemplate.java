@@ -0,0 +1,312 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A URL with named placeholders, such as <code>{id}</code>, compiled once to be filled many times.
+ * <br><br>
+ * The template is validated when compiled, and split into its literal segments and its placeholders. Each placeholder
+ * is bound to the percent-encoding rules of the component it occurs in:
+ * <ul>
+ *     <li>in the path, every character which is not allowed in a path segment is encoded, including
+ *     '<code>/</code>';</li>
+ *     <li>in the query, every character which is not allowed in a query parameter is encoded, including
+ *     '<code>&amp;</code>', '<code>=</code>', '<code>+</code>' and '<code>;</code>';</li>
+ *     <li>in the fragment, every character which is not allowed in a fragment is encoded.</li>
+ * </ul>
+ * Filling then only copies the literal segments and encodes the values, so every filled URL is valid without being
+ * parsed. A placeholder may occur more than once, and is then filled with the same value everywhere.
+ * <br><br>
+ * Placeholders may only occur after the authority, so the template must be an absolute, hierarchical URL with an
+ * authority. Instances are immutable, and therefore thread-safe.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ *     URLTemplate template = new URLTemplate("https://api.example.com/items/{id}?q={term}");
+ *     StringBuilder builder = new StringBuilder();
+ *
+ *     for (Item item : items) {
+ *         builder.setLength(0);
+ *         template.fill(builder, item.getId(), "a&amp;b c");     // "https://api.example.com/items/42?q=a%26b%20c"
+ *     }
+ * </pre>
+ *
+ * @see URLBuilder
+ *
+ * @author Mohammed Shaik Hussain Ali
+ *
+ * @since 4.10.0
+ *
+ */
+public final class URLTemplate {
+    private final String template;
+
+    private final List<String> names;
+
+    private final String[] literals;
+    private final int[] slotNames;
+    private final URLComponent[] slotComponents;
+
+    private final int literalLength;
+
+    /**
+     * Compiles the specified template.
+     *
+     * @param template the URL with <code>{name}</code> placeholders.
+     *
+     * @throws IllegalArgumentException if a placeholder is not closed or has an empty name, if a placeholder occurs
+     * before the path, or if the template is not a valid absolute URL with an authority.
+     *
+     * @since 4.10.0
+     *
+     */
+    public URLTemplate(String template) {
+        if (StringHelper.getNullSafe(template).isBlank()) {
+            throw new IllegalArgumentException("Fatal Error. 'template'. Only non-empty string(s) are allowed as arguments.");
+        }
+
+        final List<String> names = new ArrayList<>();
+        final List<String> literals = new ArrayList<>();
+        final List<Integer> slotNames = new ArrayList<>();
+        final List<Integer> slotOffsets = new ArrayList<>();
+
+        // Every placeholder is replaced with a character valid in any component, to validate the template
+        final StringBuilder sample = new StringBuilder(template.length());
+
+        int literalStart = 0;
+
+        for (int i = 0; i < template.length(); i++) {
+            final char c = template.charAt(i);
+
+            if (c == '}') {
+                throw new IllegalArgumentException("Fatal Error. 'template'. Unmatched '}' at index " + i + ".");
+            }
+
+            if (c != '{') {
+                sample.append(c);
+                continue;
+            }
+
+            final int end = template.indexOf('}', i + 1);
+
+            if (end < 0) {
+                throw new IllegalArgumentException("Fatal Error. 'template'. Unclosed '{' at index " + i + ".");
+            }
+
+            final String name = template.substring(i + 1, end);
+
+            if (name.isBlank() || name.indexOf('{') >= 0) {
+                throw new IllegalArgumentException("Fatal Error. 'template'. Invalid placeholder at index " + i + ".");
+            }
+
+            if (!names.contains(name)) {
+                names.add(name);
+            }
+
+            literals.add(template.substring(literalStart, i));
+            slotNames.add(names.indexOf(name));
+            slotOffsets.add(sample.length());
+
+            sample.append('x');
+
+            literalStart = end + 1;
+            i = end;
+        }
+
+        literals.add(template.substring(literalStart));
+
+        final String sampleURL = sample.toString();
+
+        if (!URLHelper.isValidURL(sampleURL)) {
+            throw new IllegalArgumentException("Fatal Error. 'template'. Invalid URL.");
+        }
+
+        final ParsedURL parsed = ParsedURL.parse(sampleURL);
+
+        if (parsed.getScheme() == null || parsed.getAuthority() == null) {
+            throw new IllegalArgumentException("Fatal Error. 'template'. Only absolute URL with an authority is allowed.");
+        }
+
+        final int pathStart = parsed.getScheme().length() + 3 + parsed.getAuthority().length();
+        final int fragmentStart = (parsed.getFragment() == null) ? sampleURL.length() : sampleURL.indexOf('#');
+        final int queryStart = (parsed.getQuery() == null) ? fragmentStart : sampleURL.indexOf('?', pathStart);
+
+        this.template = template;
+        this.names = Collections.unmodifiableList(names);
+        this.literals = literals.toArray(new String[0]);
+        this.slotNames = new int[slotNames.size()];
+        this.slotComponents = new URLComponent[slotNames.size()];
+
+        for (int i = 0; i < slotNames.size(); i++) {
+            final int offset = slotOffsets.get(i);
+
+            if (offset < pathStart) {
+                throw new IllegalArgumentException("Fatal Error. 'template'. Only placeholder(s) after the authority are allowed.");
+            }
+
+            this.slotNames[i] = slotNames.get(i);
+            this.slotComponents[i] = (offset > fragmentStart)
+                    ? URLComponent.FRAGMENT
+                    : (offset > queryStart) ? URLComponent.QUERY_PARAMETER : URLComponent.PATH_SEGMENT;
+        }
+
+        int literalLength = 0;
+
+        for (String literal : this.literals) {
+            literalLength += literal.length();
+        }
+
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * Returns the distinct names of the placeholders, in the order of their first occurrence. Values passed by
+     * position are matched with the names in this order.
+     *
+     * @return an unmodifiable list of the names.
+     *
+     * @since 4.10.0
+     *
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Fills the placeholders with the specified values, by position, appending the URL to the destination.
+     *
+     * @param destination to append the URL to, typically reused across calls.
+     * @param values the value of every distinct placeholder, in the order of {@link URLTemplate#getNames()}, rendered
+     *               through {@link String#valueOf(Object)}.
+     *
+     * @return the destination.
+     *
+     * @throws IllegalArgumentException if the number of values does not match the number of placeholders.
+     *
+     * @since 4.10.0
+     *
+     */
+    public StringBuilder fill(StringBuilder destination, Object... values) {
+        if (values == null || values.length != names.size()) {
+            throw new IllegalArgumentException("Fatal Error. 'values'. Exactly " + names.size() + " value(s) are expected.");
+        }
+
+        for (int i = 0; i < slotNames.length; i++) {
+            destination.append(literals[i]);
+            appendEncoded(destination, values[slotNames[i]], slotComponents[i]);
+        }
+
+        return destination.append(literals[slotNames.length]);
+    }
+
+    /**
+     * Fills the placeholders with the specified values, by position.
+     *
+     * @param values the value of every distinct placeholder, in the order of {@link URLTemplate#getNames()}, rendered
+     *               through {@link String#valueOf(Object)}.
+     *
+     * @return the resulting URL.
+     *
+     * @throws IllegalArgumentException if the number of values does not match the number of placeholders.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String fill(Object... values) {
+        return fill(new StringBuilder(literalLength + 16 * slotNames.length), values).toString();
+    }
+
+    /**
+     * Fills the placeholders with the values mapped to their names, appending the URL to the destination.
+     *
+     * @param destination to append the URL to, typically reused across calls.
+     * @param values the value of every placeholder, keyed by its name, rendered through
+     *               {@link String#valueOf(Object)}.
+     *
+     * @return the destination.
+     *
+     * @throws IllegalArgumentException if a placeholder has no value.
+     *
+     * @since 4.10.0
+     *
+     */
+    public StringBuilder fill(StringBuilder destination, Map<String, ?> values) {
+        final Object[] positional = new Object[names.size()];
+
+        for (int i = 0; i < positional.length; i++) {
+            final String name = names.get(i);
+
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Fatal Error. 'values'. No value for placeholder '" + name + "'.");
+            }
+
+            positional[i] = values.get(name);
+        }
+
+        return fill(destination, positional);
+    }
+
+    /**
+     * Fills the placeholders with the values mapped to their names.
+     *
+     * @param values the value of every placeholder, keyed by its name, rendered through
+     *               {@link String#valueOf(Object)}.
+     *
+     * @return the resulting URL.
+     *
+     * @throws IllegalArgumentException if a placeholder has no value.
+     *
+     * @since 4.10.0
+     *
+     */
+    public String fill(Map<String, ?> values) {
+        return fill(new StringBuilder(literalLength + 16 * slotNames.length), values).toString();
+    }
+
+    /**
+     * Returns the template, as compiled.
+     *
+     * @return the template.
+     *
+     * @since 4.10.0
+     *
+     */
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+    // ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+    private static void appendEncoded(StringBuilder destination, Object value, URLComponent component) {
+        // Digits and '-' are allowed in every component, so integers are appended without an intermediate string
+        if (value instanceof Integer || value instanceof Long) {
+            destination.append(((Number) value).longValue());
+        } else if (value instanceof CharSequence) {
+            PercentCodec.encode((CharSequence) value, component.allowed, destination);
+        } else {
+            PercentCodec.encode(String.valueOf(value), component.allowed, destination);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.math.BigInteger;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class BaseEncodingTest {
+    private final Random random = new Random(42);
+
+    private byte[] randomBytes(int length) {
+        final byte[] bytes = new byte[length];
+
+        random.nextBytes(bytes);
+
+        return bytes;
+    }
+
+    @Test
+    public void rfc4648VectorsTest() {
+        final String[] inputs = { "", "f", "fo", "foo", "foob", "fooba", "foobar" };
+        final String[] base32 = { "", "MY======", "MZXQ====", "MZXW6===", "MZXW6YQ=", "MZXW6YTB", "MZXW6YTBOI======" };
+        final String[] base16 = { "", "66", "666f", "666f6f", "666f6f62", "666f6f6261", "666f6f626172" };
+
+        for (int i = 0; i < inputs.length; i++) {
+            final byte[] bytes = inputs[i].getBytes(StandardCharsets.US_ASCII);
+
+            assertEquals(base32[i], BaseEncoding.BASE32.encode(bytes));
+            assertEquals(base16[i], BaseEncoding.BASE16.encode(bytes));
+
+            assertArrayEquals(bytes, BaseEncoding.BASE32.decode(base32[i]));
+            assertArrayEquals(bytes, BaseEncoding.BASE32.decode(base32[i].replace("=", "")));
+            assertArrayEquals(bytes, BaseEncoding.BASE16.decode(base16[i].toUpperCase()));
+        }
+    }
+
+    @Test
+    public void base64UrlTest() {
+        assertEquals("-_8", BaseEncoding.BASE64_URL.encode(new byte[] { -5, -1 }));
+
+        for (int length = 0; length < 100; length++) {
+            final byte[] bytes = randomBytes(length);
+            final String expected = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+            assertEquals(expected, BaseEncoding.BASE64_URL.encode(bytes));
+            assertArrayEquals(bytes, BaseEncoding.BASE64_URL.decode(expected));
+            assertArrayEquals(bytes, BaseEncoding.BASE64_URL.decode(Base64.getUrlEncoder().encodeToString(bytes)));
+        }
+    }
+
+    @Test
+    public void base58Test() {
+        assertEquals("112", BaseEncoding.BASE58.encode(new byte[] { 0, 0, 1 }));
+        assertEquals("StV1DL6CwTryKyV", BaseEncoding.BASE58.encode("hello world".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals("", BaseEncoding.BASE58.encode(new byte[0]));
+
+        final String alphabet = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+
+        for (int length = 1; length < 80; length++) {
+            final byte[] bytes = randomBytes(length);
+
+            bytes[0] = (length % 3 == 0) ? 0 : bytes[0];
+
+            final String encoded = BaseEncoding.BASE58.encode(bytes);
+
+            assertArrayEquals(bytes, BaseEncoding.BASE58.decode(encoded));
+
+            // Apart from the leading zeros, the encoding is the base 58 representation of the big-endian number
+            final StringBuilder expected = new StringBuilder();
+
+            for (BigInteger number = new BigInteger(1, bytes); number.signum() > 0; number = number.divide(BigInteger.valueOf(58))) {
+                expected.insert(0, alphabet.charAt(number.mod(BigInteger.valueOf(58)).intValue()));
+            }
+
+            for (int i = 0; i < length && bytes[i] == 0; i++) {
+                expected.insert(0, '1');
+            }
+
+            assertEquals(expected.toString(), encoded);
+        }
+    }
+
+    @Test
+    public void regionAndBufferTest() {
+        final byte[] bytes = randomBytes(50);
+
+        for (BaseEncoding encoding : BaseEncoding.values()) {
+            final byte[] encoded = new byte[encoding.getEncodedLength(40) + 3];
+            final int count = encoding.encode(bytes, 5, 40, encoded, 3);
+            final String expected = encoding.encode(Arrays.copyOfRange(bytes, 5, 45));
+
+            assertEquals(expected, new String(encoded, 3, count, StandardCharsets.US_ASCII));
+
+            final ByteBuffer target = ByteBuffer.allocateDirect(encoding.getEncodedLength(40));
+
+            assertEquals(count, encoding.encode(ByteBuffer.wrap(bytes, 5, 40), target));
+
+            target.flip();
+
+            final ByteBuffer decoded = ByteBuffer.allocate(40);
+
+            assertEquals(40, encoding.decode(target, decoded));
+            assertArrayEquals(Arrays.copyOfRange(bytes, 5, 45), decoded.array());
+
+            final byte[] region = new byte[42];
+
+            assertEquals(40, encoding.decode("[" + expected + "]", 1, expected.length() + 1, region, 2));
+        }
+    }
+
+    @Test
+    public void bufferBoundsTest() {
+        final byte[] bytes = randomBytes(30);
+
+        bytes[0] = 0;
+        bytes[1] = 0;
+
+        for (BaseEncoding encoding : BaseEncoding.values()) {
+            final String expected = encoding.encode(bytes);
+
+            final ByteBuffer source = ByteBuffer.wrap(bytes);
+            final ByteBuffer small = ByteBuffer.allocate(expected.length() - 1);
+
+            assertThrows(BufferOverflowException.class, () -> encoding.encode(source, small));
+            assertEquals(0, source.position());
+            assertEquals(0, small.position());
+
+            final ByteBuffer target = ByteBuffer.allocate(expected.length() + 4);
+
+            target.position(4);
+
+            assertEquals(expected.length(), encoding.encode(source, target));
+            assertEquals(expected, new String(target.array(), 4, expected.length(), StandardCharsets.US_ASCII));
+
+            final ByteBuffer encoded = ByteBuffer.wrap(expected.getBytes(StandardCharsets.US_ASCII));
+            final ByteBuffer decoded = ByteBuffer.allocateDirect(bytes.length + 1);
+
+            decoded.put((byte) 7);
+
+            assertEquals(bytes.length, encoding.decode(encoded, decoded));
+            assertEquals(encoded.limit(), encoded.position());
+
+            final byte[] content = new byte[bytes.length];
+
+            decoded.flip();
+            decoded.get();
+            decoded.get(content);
+
+            assertArrayEquals(bytes, content);
+
+            final ByteBuffer invalid = ByteBuffer.wrap((expected + "!").getBytes(StandardCharsets.US_ASCII));
+            final ByteBuffer untouched = ByteBuffer.allocate(bytes.length + 1);
+
+            assertThrows(IllegalArgumentException.class, () -> encoding.decode(invalid, untouched));
+            assertEquals(0, invalid.position());
+            assertEquals(0, untouched.position());
+        }
+    }
+
+    @Test
+    public void streamTest() throws IOException {
+        for (BaseEncoding encoding : new BaseEncoding[] { BaseEncoding.BASE16, BaseEncoding.BASE32, BaseEncoding.BASE64_URL }) {
+            for (int length : new int[] { 0, 1, 2, 3, 4, 5, 1000, 4099 }) {
+                final byte[] bytes = randomBytes(length);
+                final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+                try (OutputStream output = encoding.wrap(encoded)) {
+                    output.write(bytes, 0, length / 2);
+
+                    for (int i = length / 2; i < length; i++) {
+                        output.write(bytes[i]);
+                    }
+                }
+
+                assertEquals(encoding.encode(bytes), encoded.toString(StandardCharsets.US_ASCII));
+
+                try (InputStream input = encoding.wrap(new ByteArrayInputStream(encoded.toByteArray()))) {
+                    assertArrayEquals(bytes, input.readAllBytes());
+                }
+            }
+        }
+
+        assertThrows(UnsupportedOperationException.class, () -> BaseEncoding.BASE58.wrap(new ByteArrayOutputStream()));
+        assertThrows(IOException.class, () -> BaseEncoding.BASE32.wrap(new ByteArrayInputStream("MZ!".getBytes(StandardCharsets.US_ASCII))).readAllBytes());
+    }
+
+    @Test
+    public void streamBlockTest() throws IOException {
+        final byte[] bytes = randomBytes(10000);
+        final byte[] encoded = BaseEncoding.BASE64_URL.encode(bytes).getBytes(StandardCharsets.US_ASCII);
+
+        // A stream handing out the characters a few at a time, which a read must not wait to fill its array from
+        final InputStream trickle = new ByteArrayInputStream(encoded) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1 + random.nextInt(7)));
+            }
+        };
+
+        try (InputStream input = BaseEncoding.BASE64_URL.wrap(trickle)) {
+            final byte[] decoded = new byte[bytes.length];
+
+            final int first = input.read(decoded, 0, 100);
+
+            assertTrue(first > 0 && first <= 6);
+            assertArrayEquals(Arrays.copyOf(bytes, first), Arrays.copyOf(decoded, first));
+
+            assertEquals(1000 - first, input.skip(1000 - first));
+            assertEquals(bytes[1000] & 0xff, input.read());
+
+            int count = 1001;
+
+            while (count < bytes.length) {
+                final int read = input.read(decoded, count, bytes.length - count);
+
+                assertTrue(read > 0);
+
+                count += read;
+            }
+
+            assertEquals(-1, input.read(decoded, 0, 1));
+            assertArrayEquals(Arrays.copyOfRange(bytes, 1001, bytes.length),
+                    Arrays.copyOfRange(decoded, 1001, bytes.length));
+        }
+    }
+
+    @Test
+    public void decodeExceptionTest() {
+        assertThrows(IllegalArgumentException.class, () -> BaseEncoding.BASE64_URL.decode("A"));
+        assertThrows(IllegalArgumentException.class, () -> BaseEncoding.BASE64_URL.decode("ab+/"));
+        assertThrows(IllegalArgumentException.class, () -> BaseEncoding.BASE32.decode("MZX"));
+        assertThrows(IllegalArgumentException.class, () -> BaseEncoding.BASE58.decode("0OIl"));
+        assertThrows(IllegalArgumentException.class, () -> BaseEncoding.BASE16.decode("abc"));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class CoordinateParserTest {
+    private static final String[] FRAGMENTS = {
+            "", "+", "-", ".", "0", "1", "5", "8", "9", "00", "10", "17", "18", "89", "90", "99", "100", "109", "110",
+            "179", "180", "181", "1000", ".5", ".05", ".9999995", ".12345678901234567890", "e1", " ", "x"
+    };
+
+    private static String randomCoordinate(Random random) {
+        final StringBuilder builder = new StringBuilder();
+        final int count = 1 + random.nextInt(4);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+
+        return builder.toString();
+    }
+
+    private static void assertAgrees(Pattern pattern, ToDoubleFunction<String> parse, ToLongFunction<String> parseMicros,
+                                     String input) {
+        if (pattern.matcher(input).matches()) {
+            final long micros = new BigDecimal(input).movePointRight(6).setScale(0, RoundingMode.HALF_UP)
+                    .longValueExact();
+
+            assertEquals(input, Double.doubleToLongBits(Double.parseDouble(input)),
+                    Double.doubleToLongBits(parse.applyAsDouble(input)));
+            assertEquals(input, micros, parseMicros.applyAsLong(input));
+        } else {
+            assertThrows(input, NumberFormatException.class, () -> parse.applyAsDouble(input));
+            assertThrows(input, NumberFormatException.class, () -> parseMicros.applyAsLong(input));
+        }
+    }
+
+    @Test
+    public void parseTest() {
+        assertEquals(-33.8688, CoordinateParser.parseLatitude("-33.8688"), 0);
+        assertEquals(151.2093, CoordinateParser.parseLongitude("+151.2093"), 0);
+        assertEquals(-90, CoordinateParser.parseLatitude("-90"), 0);
+        assertEquals(-180, CoordinateParser.parseLongitude("-180"), 0);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(CoordinateParser.parseLatitude("-0")));
+
+        assertEquals(151209300, CoordinateParser.parseLongitudeMicros("151.2093"));
+        assertEquals(-1, CoordinateParser.parseLatitudeMicros("-0.0000005"));
+        assertEquals(0, CoordinateParser.parseLatitudeMicros("0.00000049"));
+        assertEquals(-90000000, CoordinateParser.parseLatitudeMicros("-90"));
+
+        for (String input : new String[] {"90", "+90", "-90.0", "-89.", "05", ".5", "1e1", " 1", ""}) {
+            assertThrows(input, NumberFormatException.class, () -> CoordinateParser.parseLatitude(input));
+        }
+
+        for (String input : new String[] {"180", "-180.0", "-100", "-109.5", "+-1", "0x1"}) {
+            assertThrows(input, NumberFormatException.class, () -> CoordinateParser.parseLongitude(input));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> CoordinateParser.parseLatitude(null));
+        assertThrows(IllegalArgumentException.class, () -> CoordinateParser.parseLongitudeMicros(null));
+    }
+
+    @Test
+    public void agreesWithRegexTest() {
+        final Random random = new Random(50);
+
+        for (int n = 0; n < 100_000; n++) {
+            final String input = randomCoordinate(random);
+
+            assertAgrees(RegExHelper.LATITUDE_PATTERN, CoordinateParser::parseLatitude,
+                    CoordinateParser::parseLatitudeMicros, input);
+            assertAgrees(RegExHelper.LONGITUDE_PATTERN, CoordinateParser::parseLongitude,
+                    CoordinateParser::parseLongitudeMicros, input);
+        }
+
+        for (int n = 0; n < 100_000; n++) {
+            final String input = BigDecimal.valueOf(random.nextLong() % 180_000_000_000L, 1 + random.nextInt(12))
+                    .toPlainString();
+
+            assertAgrees(RegExHelper.LATITUDE_PATTERN, CoordinateParser::parseLatitude,
+                    CoordinateParser::parseLatitudeMicros, input);
+            assertAgrees(RegExHelper.LONGITUDE_PATTERN, CoordinateParser::parseLongitude,
+                    CoordinateParser::parseLongitudeMicros, input);
+        }
+    }
+
+    @Test
+    public void parseCoordinatesTest() {
+        final CharSequence[] latitudes = {"40.7128", "91", null, "-90", new StringBuilder("0.5")};
+        final CharSequence[] longitudes = {"-74.0060", "0", "1", "-180", "-109"};
+
+        final double[] coordinates = new double[12];
+
+        coordinates[10] = 7;
+
+        assertEquals(2, CoordinateParser.parseCoordinates(latitudes, longitudes, coordinates));
+        assertArrayEquals(new double[] {40.7128, -74.006, Double.NaN, Double.NaN, Double.NaN, Double.NaN, -90, -180,
+                Double.NaN, Double.NaN, 7, 0}, coordinates, 0);
+
+        final long[] micros = new long[10];
+
+        assertEquals(2, CoordinateParser.parseCoordinateMicros(latitudes, longitudes, micros));
+        assertArrayEquals(new long[] {40712800, -74006000, CoordinateParser.INVALID_MICROS,
+                CoordinateParser.INVALID_MICROS, CoordinateParser.INVALID_MICROS, CoordinateParser.INVALID_MICROS,
+                -90000000, -180000000, CoordinateParser.INVALID_MICROS, CoordinateParser.INVALID_MICROS}, micros);
+
+        assertEquals(0, CoordinateParser.parseCoordinates(new CharSequence[0], new CharSequence[0], new double[0]));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CoordinateParser.parseCoordinates(null, longitudes, coordinates));
+        assertThrows(IllegalArgumentException.class,
+                () -> CoordinateParser.parseCoordinates(latitudes, null, coordinates));
+        assertThrows(IllegalArgumentException.class,
+                () -> CoordinateParser.parseCoordinates(latitudes, longitudes, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> CoordinateParser.parseCoordinates(latitudes, new CharSequence[4], coordinates));
+        assertThrows(IllegalArgumentException.class,
+                () -> CoordinateParser.parseCoordinateMicros(latitudes, longitudes, new long[9]));
+    }
+}
@@ -0,0 +1,294 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class DirectoryGrepTest {
+    private static Path createTree() throws IOException {
+        final Path root = Files.createTempDirectory("jems");
+
+        for (int d = 0; d < 5; d++) {
+            final Path directory = Files.createDirectories(root.resolve("d" + d).resolve("sub"));
+
+            for (int f = 0; f < 4; f++) {
+                final StringBuilder builder = new StringBuilder();
+
+                for (int i = 0; i < 10 * f; i++) {
+                    builder.append("line ").append(i).append(" from user").append(d).append(f).append(i)
+                            .append("@example.com\n");
+                }
+
+                final byte[] bytes = builder.toString().getBytes(StandardCharsets.US_ASCII);
+
+                Files.write(directory.resolve("f" + f + ".txt"), bytes);
+                Files.write(directory.getParent().resolve("f" + f + ".LOG"), bytes);
+            }
+        }
+
+        return root;
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /*
+     * The matches of every file the walk finds with the extension, one file at a time.
+     */
+    private static List<DirectoryGrep.Match> expectedMatches(Path root, String regex, String extension) throws IOException {
+        final PatternExtractor extractor = new PatternExtractor(regex);
+        final List<String> matches = new ArrayList<>();
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path file : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                if (extension == null || file.toString().toLowerCase().endsWith(extension)) {
+                    extractor.extract(file, (start, end) -> matches.add(file + ":" + start + "-" + end));
+                }
+            }
+        }
+
+        final DirectoryGrep grep = new DirectoryGrep(regex);
+
+        final FileNameExtensionFilter[] filters = (extension == null)
+                ? new FileNameExtensionFilter[0]
+                : new FileNameExtensionFilter[] {new FileNameExtensionFilter(extension, extension.substring(1))};
+
+        try (Stream<DirectoryGrep.Match> stream = grep.search(root, Long.MAX_VALUE, filters)) {
+            final List<DirectoryGrep.Match> found = stream.collect(Collectors.toList());
+
+            assertEquals(matches, found.stream().map(DirectoryGrep.Match::toString).collect(Collectors.toList()));
+
+            return found;
+        }
+    }
+
+    @Test
+    public void searchTest() throws IOException {
+        final Path root = createTree();
+
+        try {
+            final List<DirectoryGrep.Match> txt = expectedMatches(root, RegExHelper.EMAIL, ".txt");
+            final List<DirectoryGrep.Match> all = expectedMatches(root, RegExHelper.EMAIL, null);
+
+            assertEquals(5 * (10 + 20 + 30), txt.size());
+            assertEquals(2 * txt.size(), all.size());
+
+            assertEquals(60, expectedMatches(root, "@example", ".log").size() / 5);
+
+            try (Stream<DirectoryGrep.Match> stream = new DirectoryGrep(RegExHelper.EMAIL)
+                    .search(root.resolve("d3"), 1, SwingHelper.TXT_EXTENSION_FILTER)) {
+                final DirectoryGrep.Match match = stream.findFirst().orElseThrow();
+
+                final String line = new String(Files.readAllBytes(match.getFile()), StandardCharsets.US_ASCII);
+
+                assertEquals(12, match.getStart());
+                assertEquals(31, match.getEnd());
+                assertEquals(line.substring(12, 31), "user3" + line.charAt(17) + "0@example.com");
+            }
+        } finally {
+            deleteTree(root);
+        }
+    }
+
+    @Test
+    public void maxMatchesTest() throws IOException {
+        final Path root = createTree();
+
+        try {
+            final ForkJoinPool pool = new ForkJoinPool(3);
+
+            try {
+                final DirectoryGrep grep = new DirectoryGrep(RegExHelper.EMAIL, pool);
+                final List<DirectoryGrep.Match> all;
+
+                try (Stream<DirectoryGrep.Match> stream = grep.search(root, Long.MAX_VALUE,
+                        SwingHelper.TXT_EXTENSION_FILTER, SwingHelper.BIN_EXTENSION_FILTER)) {
+                    all = stream.collect(Collectors.toList());
+                }
+
+                for (long maxMatches : new long[] {0, 1, 7, 10, 25, 149, 150, 151}) {
+                    try (Stream<DirectoryGrep.Match> stream = grep.search(root, maxMatches,
+                            SwingHelper.TXT_EXTENSION_FILTER)) {
+                        assertEquals(all.subList(0, (int) Math.min(maxMatches, all.size())),
+                                stream.collect(Collectors.toList()));
+                    }
+                }
+
+                try (Stream<DirectoryGrep.Match> stream = grep.search(root, Long.MAX_VALUE)) {
+                    assertEquals(all.subList(0, 3), stream.filter(m -> m.getFile().toString().endsWith(".txt"))
+                            .limit(3).collect(Collectors.toList()));
+                }
+            } finally {
+                pool.shutdown();
+            }
+        } finally {
+            deleteTree(root);
+        }
+    }
+
+    @Test
+    public void manyMatchesTest() throws IOException {
+        final Path root = createTree();
+
+        try {
+            // More matches in a file than in a batch, so that the file is scanned in several
+            Files.write(root.resolve("d2").resolve("many.txt"),
+                    "x@example.com ".repeat(3 * 4096 + 5).getBytes(StandardCharsets.US_ASCII));
+
+            final List<DirectoryGrep.Match> all = expectedMatches(root, RegExHelper.EMAIL, ".txt");
+
+            assertEquals(5 * (10 + 20 + 30) + 3 * 4096 + 5, all.size());
+
+            try (Stream<DirectoryGrep.Match> stream = new DirectoryGrep(RegExHelper.EMAIL)
+                    .search(root, 5000, SwingHelper.TXT_EXTENSION_FILTER)) {
+                assertEquals(all.subList(0, 5000), stream.collect(Collectors.toList()));
+            }
+        } finally {
+            deleteTree(root);
+        }
+    }
+
+    @Test
+    public void unreadableTest() throws IOException {
+        final Path root = createTree();
+        final Path file = root.resolve("d1").resolve("f1.LOG");
+        final Path directory = root.resolve("d2").resolve("sub");
+
+        final Set<PosixFilePermission> none = PosixFilePermissions.fromString("---------");
+        final Set<PosixFilePermission> all = PosixFilePermissions.fromString("rwx------");
+
+        try {
+            final List<DirectoryGrep.Match> expected = new ArrayList<>();
+
+            try (Stream<DirectoryGrep.Match> stream = new DirectoryGrep(RegExHelper.EMAIL).search(root, Long.MAX_VALUE)) {
+                stream.filter(m -> !m.getFile().equals(file) && !m.getFile().startsWith(directory))
+                        .forEach(expected::add);
+            }
+
+            Files.setPosixFilePermissions(file, none);
+            Files.setPosixFilePermissions(directory, none);
+
+            final List<Path> skipped = new ArrayList<>();
+
+            try (Stream<DirectoryGrep.Match> stream = new DirectoryGrep(RegExHelper.EMAIL)
+                    .search(root, Long.MAX_VALUE, (path, e) -> skipped.add(path))) {
+                final List<DirectoryGrep.Match> found = stream.collect(Collectors.toList());
+
+                // Permissions do not hold back a superuser, in which case everything is found
+                if (!Files.isReadable(file)) {
+                    assertEquals(expected, found);
+                    assertEquals(Set.of(file, directory), new HashSet<>(skipped));
+                }
+            }
+        } finally {
+            Files.setPosixFilePermissions(file, all);
+            Files.setPosixFilePermissions(directory, all);
+
+            deleteTree(root);
+        }
+    }
+
+    @Test
+    public void vanishedTest() throws IOException {
+        final Path root = createTree();
+
+        try {
+            final ForkJoinPool pool = new ForkJoinPool(1);
+
+            try {
+                final List<Path> skipped = new ArrayList<>();
+                final List<DirectoryGrep.Match> found = new ArrayList<>();
+
+                try (Stream<DirectoryGrep.Match> stream = new DirectoryGrep(RegExHelper.EMAIL, pool)
+                        .search(root, Long.MAX_VALUE, (path, e) -> skipped.add(path))) {
+                    final Iterator<DirectoryGrep.Match> matches = stream.iterator();
+
+                    found.add(matches.next());
+
+                    // Files walked, being scanned, or not reached yet vanish; none ends the search
+                    try (Stream<Path> paths = Files.list(root)) {
+                        for (Path path : paths.collect(Collectors.toList())) {
+                            if (!found.get(0).getFile().startsWith(path)) {
+                                deleteTree(path);
+                            }
+                        }
+                    }
+
+                    matches.forEachRemaining(found::add);
+                }
+
+                assertTrue(found.size() < 2 * 5 * (10 + 20 + 30));
+
+                for (Path path : skipped) {
+                    assertTrue(path.toString(), Files.notExists(path));
+                }
+            } finally {
+                pool.shutdown();
+            }
+        } finally {
+            deleteTree(root);
+        }
+    }
+
+    @Test
+    public void invalidArgumentsTest() throws IOException {
+        final Path root = createTree();
+
+        try {
+            final DirectoryGrep grep = new DirectoryGrep(RegExHelper.TIME_DISPLAY);
+
+            assertEquals(RegExHelper.TIME_DISPLAY, grep.getRegex());
+
+            assertThrows(IllegalArgumentException.class, () -> new DirectoryGrep(null));
+            assertThrows(IllegalArgumentException.class, () -> new DirectoryGrep("a", null));
+            assertThrows(IllegalArgumentException.class, () -> grep.search(null, 1));
+            assertThrows(IllegalArgumentException.class, () -> grep.search(root, -1));
+            assertThrows(IllegalArgumentException.class, () -> grep.search(root, 1, null, new FileNameExtensionFilter[0]));
+            assertThrows(NoSuchFileException.class, () -> grep.search(root.resolve("none"), 1));
+        } finally {
+            deleteTree(root);
+        }
+    }
+}
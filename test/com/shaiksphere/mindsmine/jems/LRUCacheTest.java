@@ -0,0 +1,178 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class LRUCacheTest {
+
+    @Test
+    public void evictionTest() {
+        final LRUCache<String, Integer> cache = new LRUCache<>(2);
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+
+        cache.put("c", 3);
+
+        assertNull(cache.get("b"));
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.75, cache.getHitRate(), 0);
+
+        cache.setMaxSize(1);
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+        assertEquals(Integer.valueOf(3), cache.remove("c"));
+        assertEquals(0, cache.size());
+
+        cache.resetStatistics();
+
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getHitRate(), 0);
+        assertThrows(IllegalArgumentException.class, () -> new LRUCache<String, String>(0));
+        assertThrows(IllegalArgumentException.class, () -> cache.setMaxSize(-1));
+    }
+
+    @Test
+    public void secondChanceTest() {
+        final LRUCache<Integer, Integer> cache = new LRUCache<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            cache.put(i, i);
+        }
+
+        // The entries used since the clock last passed them survive, the others are evicted oldest first
+        cache.get(0);
+        cache.get(2);
+
+        cache.put(4, 4);
+        cache.put(5, 5);
+
+        assertEquals(Integer.valueOf(0), cache.get(0));
+        assertNull(cache.get(1));
+        assertEquals(Integer.valueOf(2), cache.get(2));
+        assertNull(cache.get(3));
+
+        // Every entry used: each loses its mark once, and the oldest goes
+        for (int i : new int[] {0, 2, 4, 5}) {
+            cache.get(i);
+        }
+
+        cache.put(6, 6);
+
+        assertNull(cache.get(0));
+        assertEquals(4, cache.size());
+        assertEquals(3, cache.getEvictionCount());
+
+        cache.put(6, 7);
+
+        assertEquals(Integer.valueOf(7), cache.get(6));
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    public void lockFreeHitTest() throws InterruptedException {
+        final LRUCache<String, String> cache = new LRUCache<>(8);
+
+        cache.put("a", "b");
+
+        final Thread reader = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("b", cache.get("a"));
+            }
+        });
+
+        // A writer holding the lock of the cache does not hold up hits
+        synchronized (cache) {
+            reader.start();
+            reader.join(10_000);
+
+            assertFalse(reader.isAlive());
+        }
+
+        assertEquals(1000, cache.getHitCount());
+    }
+
+    @Test
+    public void loaderTest() {
+        final LRUCache<Integer, String> cache = new LRUCache<>(10);
+        final AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("v" + (i % 5), cache.get(i % 5, key -> {
+                loads.incrementAndGet();
+                return "v" + key;
+            }));
+        }
+
+        assertEquals(5, loads.get());
+        assertEquals(95, cache.getHitCount());
+        assertEquals(5, cache.getMissCount());
+
+        assertNull(cache.get(42, key -> null));
+        assertNull(cache.get(42));
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void concurrencyTest() throws InterruptedException {
+        final LRUCache<Integer, Integer> cache = new LRUCache<>(64);
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            final int seed = t;
+
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    final int key = (i * 31 + seed) % 128;
+
+                    assertEquals(Integer.valueOf(key * 2), cache.get(key, k -> k * 2));
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(64, cache.size());
+        assertEquals(8 * 20000, cache.getHitCount() + cache.getMissCount());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class LinearPatternTest {
+    private static final String[] REGEXES = {
+            RegExHelper.EMAIL,
+            RegExHelper.LONGITUDE,
+            RegExHelper.US_PHONE_NUMBER,
+            RegExHelper.TIME_DISPLAY,
+            "\\d+",
+            "[^]a-c]*x?",
+            "(?:ab|a)*b{2,3}",
+            "^\\Qa.b\\E$|[\\x41-\\u0046]{2}",
+            "(?<word>\\w+)\\s\\S.?",
+            "a{0}b|[a-]\\t|\\cA",
+            "(a|b|)*c+?",
+            "^a|b$",
+            "\\Aab*\\z",
+            "$^|a"
+    };
+
+    private static void assertAgrees(Pattern pattern, LinearPattern linear, String input) {
+        assertEquals(pattern + " " + input, pattern.matcher(input).matches(), linear.matches(input));
+        assertEquals(pattern + " " + input, pattern.matcher(input).find(), linear.find(input));
+    }
+
+    private static String randomString(Random random, String alphabet, int maxLength) {
+        final StringBuilder builder = new StringBuilder();
+        final int length = random.nextInt(maxLength);
+
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+
+        return builder.toString();
+    }
+
+    @Test
+    public void matchesAndFindTest() {
+        final LinearPattern pattern = RegExHelper.compileLinear("(a|aa)*b");
+
+        assertEquals("(a|aa)*b", pattern.getRegex());
+        assertEquals("(a|aa)*b", pattern.toString());
+
+        assertTrue(pattern.matches("aaaab"));
+        assertTrue(pattern.matches("b"));
+        assertFalse(pattern.matches("xaab"));
+        assertTrue(pattern.find("xxaabxx"));
+        assertFalse(pattern.find("xxaaxx"));
+
+        assertFalse(pattern.matches(null));
+        assertFalse(pattern.find(null));
+
+        assertTrue(pattern.getCachedStateCount() > 0);
+    }
+
+    @Test
+    public void agreesWithPatternTest() {
+        // No line terminator, before which Pattern would also match '$'
+        final String alphabet = "+-.:@()019abcx] \t\u0001AF_";
+        final Random random = new Random(47);
+
+        for (String regex : REGEXES) {
+            final Pattern pattern = Pattern.compile(regex);
+            final LinearPattern linear = RegExHelper.compileLinear(regex);
+
+            for (int n = 0; n < 20_000; n++) {
+                assertAgrees(pattern, linear, randomString(random, alphabet, 12));
+            }
+        }
+    }
+
+    @Test
+    public void catastrophicRegexesTest() {
+        final StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < 100_000; i++) {
+            builder.append('a');
+        }
+
+        builder.append('!');
+
+        final String input = builder.toString();
+
+        final String[] regexes = {"(a+)+$", "(a|aa)*$", "(a*)*b", "^(a|a?)+$", "(.*a){12}"};
+        final boolean[] found = {false, true, false, false, true};
+
+        for (int i = 0; i < regexes.length; i++) {
+            final String regex = regexes[i];
+            final LinearPattern pattern = RegExHelper.compileLinear(regex);
+
+            final long start = System.nanoTime();
+
+            assertFalse(regex, pattern.matches(input));
+            assertEquals(regex, found[i], pattern.find(input));
+
+            assertTrue(regex, System.nanoTime() - start < 5_000_000_000L);
+        }
+    }
+
+    @Test
+    public void cacheOverflowTest() {
+        // Telling the last 14 characters apart takes 2^14 states
+        final String regex = "(a|b)*a(a|b){13}";
+        final Pattern pattern = Pattern.compile(regex);
+        final LinearPattern linear = RegExHelper.compileLinear(regex);
+        final Random random = new Random(4747);
+
+        for (int n = 0; n < 5_000; n++) {
+            assertAgrees(pattern, linear, randomString(random, "ab", 64));
+        }
+
+        assertEquals(2 * LinearPattern.MAX_CACHED_STATES, linear.getCachedStateCount());
+    }
+
+    @Test
+    public void concurrentMatchingTest() throws InterruptedException {
+        final String regex = "(?:[a-c]+x|[b-d]*y)+z?";
+        final Pattern pattern = Pattern.compile(regex);
+        final LinearPattern linear = RegExHelper.compileLinear(regex);
+        final List<Throwable> failures = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            final Random random = new Random(t);
+
+            threads.add(new Thread(() -> {
+                try {
+                    for (int n = 0; n < 20_000; n++) {
+                        assertAgrees(pattern, linear, randomString(random, "abcdxyz", 16));
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(failures.toString(), 0, failures.size());
+    }
+
+    @Test
+    public void unsupportedConstructsTest() {
+        assertEquals(Arrays.asList("backreference at index 3"), RegExHelper.findUnsupportedConstructs("(a)\\1"));
+        assertEquals(Arrays.asList("inline flags at index 0", "lookahead at index 5", "possessive quantifier at index 12"),
+                RegExHelper.findUnsupportedConstructs("(?i)a(?=b)c*+"));
+        assertEquals(0, RegExHelper.findUnsupportedConstructs(RegExHelper.EMAIL).size());
+
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> RegExHelper.compileLinear("(a)\\1|\\bx"));
+
+        assertEquals("Fatal Error. 'regex'. Unsupported construct(s): backreference at index 3, '\\b' at index 6.",
+                e.getMessage());
+
+        assertThrows(PatternSyntaxException.class, () -> RegExHelper.compileLinear("(a"));
+        assertThrows(PatternSyntaxException.class, () -> RegExHelper.findUnsupportedConstructs("a{2,1}"));
+        assertThrows(IllegalArgumentException.class, () -> RegExHelper.compileLinear(null));
+        assertThrows(IllegalArgumentException.class, () -> RegExHelper.findUnsupportedConstructs(null));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class NumeralSystemDumpTest {
+
+    private static byte[] dump(NumeralSystemDump dump, byte[] content) throws IOException {
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        assertEquals(content.length, dump.dump(Channels.newChannel(new ByteArrayInputStream(content)), Channels.newChannel(target)));
+
+        return target.toByteArray();
+    }
+
+    private static byte[] undump(NumeralSystemDump dump, byte[] text) throws IOException {
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        dump.undump(Channels.newChannel(new ByteArrayInputStream(text)), Channels.newChannel(target));
+
+        return target.toByteArray();
+    }
+
+    @Test
+    public void dumpTest() throws IOException {
+        final byte[] content = { 0, 10, (byte) 255 };
+
+        assertEquals("000aff\n", new String(dump(new NumeralSystemDump(16), content), StandardCharsets.US_ASCII));
+        assertEquals("000012\n377\n", new String(dump(new NumeralSystemDump(8, 2), content), StandardCharsets.US_ASCII));
+        assertEquals("000000000000101011111111", new String(dump(new NumeralSystemDump(2, 0), content), StandardCharsets.US_ASCII));
+        assertEquals("", new String(dump(new NumeralSystemDump(16), new byte[0]), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void roundTripTest() throws IOException {
+        final byte[] content = new byte[300_000];
+
+        new Random(42).nextBytes(content);
+
+        for (int radix : new int[] { 2, 8, 16 }) {
+            final NumeralSystemDump dump = new NumeralSystemDump(radix, 17);
+
+            assertArrayEquals(content, undump(dump, dump(dump, content)));
+        }
+
+        assertArrayEquals(new byte[] { 10, (byte) 255 }, undump(new NumeralSystemDump(16), " 0A\r\n F f ".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void mappedRoundTripTest() throws IOException {
+        final Path binary = Files.createTempFile("jems", ".bin");
+        final Path text = Files.createTempFile("jems", ".txt");
+        final Path copy = Files.createTempFile("jems", ".bin");
+
+        try {
+            final byte[] content = new byte[100_000];
+
+            new Random(42).nextBytes(content);
+            Files.write(binary, content);
+
+            final NumeralSystemDump dump = new NumeralSystemDump(16);
+
+            assertEquals(content.length, dump.dump(binary, text));
+            assertArrayEquals(dump(dump, content), Files.readAllBytes(text));
+
+            assertEquals(content.length, dump.undump(text, copy));
+            assertArrayEquals(content, Files.readAllBytes(copy));
+
+            assertThrows(IllegalArgumentException.class, () -> dump.dump(binary, binary));
+            assertThrows(IllegalArgumentException.class, () -> dump.undump(text, text.getParent().resolve(".").resolve(text.getFileName())));
+            assertArrayEquals(content, Files.readAllBytes(binary));
+            assertArrayEquals(dump(dump, content), Files.readAllBytes(text));
+        } finally {
+            Files.deleteIfExists(binary);
+            Files.deleteIfExists(text);
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    @Test
+    public void exceptionTest() {
+        assertThrows(IllegalArgumentException.class, () -> new NumeralSystemDump(10));
+        assertThrows(IllegalArgumentException.class, () -> new NumeralSystemDump(16, -1));
+
+        assertThrows(NumberFormatException.class, () -> undump(new NumeralSystemDump(16), "0g".getBytes(StandardCharsets.US_ASCII)));
+        assertThrows(NumberFormatException.class, () -> undump(new NumeralSystemDump(16), "0a0".getBytes(StandardCharsets.US_ASCII)));
+        assertThrows(NumberFormatException.class, () -> undump(new NumeralSystemDump(8), "400".getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -18,7 +18,17 @@ package com.shaiksphere.mindsmine.jems;
 
 import org.junit.Test;
 
+import java.io.IOException;
+
+import java.math.BigInteger;
+
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 final public class NumeralSystemHelperTest {
@@ -87,4 +97,214 @@ final public class NumeralSystemHelperTest {
     public void convertOctalToDecimalTest() {
         assertEquals(NumeralSystemHelper.convertOctalToDecimal(octStr), decimalStr);
     }
+
+    @Test
+    public void convertRegionToCharArrayTest() {
+        final char[] destination = new char[40];
+
+        int length = NumeralSystemHelper.convert("[1010]", 1, 5, 2, 16, destination, 3);
+
+        assertEquals(1, length);
+        assertEquals("a", new String(destination, 3, length));
+
+        length = NumeralSystemHelper.convert("ffffffff", 0, 8, 16, 10, destination, 0);
+
+        assertEquals(NumeralSystemHelper.convert("ffffffff", 16, 10), new String(destination, 0, length));
+
+        length = NumeralSystemHelper.convert("80000000", 0, 8, 16, 2, destination, 0);
+
+        assertEquals(NumeralSystemHelper.convert("80000000", 16, 2), new String(destination, 0, length));
+    }
+
+    @Test
+    public void convertRegionToAppendableTest() throws IOException {
+        assertEquals("12", NumeralSystemHelper.convert("x1010x", 1, 5, 2, 8, new StringBuilder()).toString());
+        assertEquals("0", NumeralSystemHelper.convert("0", 0, 1, 10, 36, new StringBuilder()).toString());
+        assertEquals(
+                NumeralSystemHelper.convert("zzzzzz", 36, 7),
+                NumeralSystemHelper.convert("zzzzzz", 0, 6, 36, 7, new StringBuilder()).toString()
+        );
+        assertEquals(
+                NumeralSystemHelper.convert("4294967295", 10, 16),
+                NumeralSystemHelper.convert("4294967295", 0, 10, 10, 16, new StringBuilder()).toString()
+        );
+    }
+
+    @Test
+    public void convertIntegerDirectTest() throws IOException {
+        final char[] destination = new char[32];
+
+        for (int value : new int[] { 0, 1, integer, 255, 65535, Integer.MAX_VALUE }) {
+            for (int radix = Character.MIN_RADIX - 1; radix <= Character.MAX_RADIX + 1; radix++) {
+                final String expected = Integer.toString(value, radix);
+
+                assertEquals(expected, NumeralSystemHelper.convert(value, radix));
+                assertEquals(expected, new String(destination, 0, NumeralSystemHelper.convert(value, radix, destination, 0)));
+                assertEquals(expected, NumeralSystemHelper.convert(value, radix, new StringBuilder()).toString());
+            }
+        }
+    }
+
+    @Test
+    public void convertExceptionTest() {
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.convert(-integer, 16));
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.convert(-integer, 16, new char[8], 0));
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.convert("102", 0, 3, 2, 10, new char[8], 0));
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.convert("100000000", 0, 9, 16, 10, new StringBuilder()));
+        assertThrows(IndexOutOfBoundsException.class, () -> NumeralSystemHelper.convert("1010", 0, 4, 2, 2, new char[3], 0));
+    }
+
+    @Test
+    public void regroupTest() {
+        final Random random = new Random(42);
+        final int[] radices = { 2, 4, 8, 16, 32 };
+
+        for (int n = 0; n < 500; n++) {
+            final BigInteger value = new BigInteger(1 + random.nextInt(300), random);
+
+            for (int from : radices) {
+                for (int to : radices) {
+                    final String valueStr = "00" + value.toString(from);
+
+                    assertEquals(value.toString(to), NumeralSystemHelper.regroup(valueStr, from, to));
+                    assertEquals(value.toString(to), NumeralSystemHelper.regroup(valueStr.toUpperCase(), from, to));
+                }
+            }
+        }
+
+        final char[] destination = new char[8];
+
+        assertEquals(3, NumeralSystemHelper.regroup("[777]", 1, 4, 8, 16, destination, 5));
+        assertEquals("1ff", new String(destination, 5, 3));
+        assertEquals("0", NumeralSystemHelper.regroup("0000", 16, 2));
+
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.regroup("", 2, 16));
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.regroup("102", 2, 16));
+        assertThrows(IllegalArgumentException.class, () -> NumeralSystemHelper.regroup("1", 10, 16));
+    }
+
+    @Test
+    public void regroupFastPathTest() {
+        assertEquals("-1", NumeralSystemHelper.convertBinaryToHexadecimal("11111111111111111111111111111111"));
+        assertEquals("7fffffff", NumeralSystemHelper.convertBinaryToHexadecimal("01111111111111111111111111111111"));
+        assertEquals("-20000000000", NumeralSystemHelper.convertHexadecimalToOctal("80000000"));
+        assertEquals("17777777777", NumeralSystemHelper.convertHexadecimalToOctal("7FFFFFFF"));
+        assertEquals("1010", NumeralSystemHelper.convertOctalToBinary("+12"));
+
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.convertHexadecimalToBinary("100000000"));
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.convertOctalToHexadecimal("-12"));
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.convertBinaryToOctal(""));
+    }
+
+    @Test
+    public void hexadecimalBytesTest() {
+        final Random random = new Random(42);
+        final byte[] bytes = new byte[1024];
+
+        random.nextBytes(bytes);
+
+        final String hexStr = NumeralSystemHelper.encodeHexadecimal(bytes);
+
+        assertEquals(HexFormat.of().formatHex(bytes), hexStr);
+        assertArrayEquals(bytes, NumeralSystemHelper.decodeHexadecimal(hexStr));
+        assertArrayEquals(bytes, NumeralSystemHelper.decodeHexadecimal(hexStr.toUpperCase()));
+
+        final byte[] destination = new byte[4];
+
+        assertEquals(2, NumeralSystemHelper.decodeHexadecimal("--0aFf--", 2, 6, destination, 1));
+        assertArrayEquals(new byte[] { 0, 0x0a, (byte) 0xff, 0 }, destination);
+
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.decodeHexadecimal("abc"));
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.decodeHexadecimal("0g"));
+    }
+
+    @Test
+    public void convertLongTest() {
+        assertEquals("-1099511627775", NumeralSystemHelper.convertLong("-ffffffffff", 16, 10));
+        assertEquals(Long.toString(Long.MIN_VALUE, 36), NumeralSystemHelper.convertLong(Long.toString(Long.MIN_VALUE), 10, 36));
+
+        assertEquals("18446744073709551615", NumeralSystemHelper.convertUnsignedLong("ffffffffffffffff", 16, 10));
+        assertEquals("ffffffffffffffff", NumeralSystemHelper.convertUnsignedLong(-1L, 16));
+
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.convertLong("8000000000000000", 16, 10));
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.convertUnsignedLong("10000000000000000", 16, 10));
+    }
+
+    @Test
+    public void convertArbitraryLengthTest() {
+        assertEquals("-1208925819614629174706175", NumeralSystemHelper.convertArbitraryLength("-ffffffffffffffffffff", 16, 10));
+        assertEquals("ffffffffffffffffffff", NumeralSystemHelper.convertArbitraryLength("1208925819614629174706175", 10, 16));
+        assertEquals("0", NumeralSystemHelper.convertArbitraryLength("+000", 7, 3));
+
+        final Random random = new Random(42);
+
+        for (int radix : new int[] { 2, 3, 10, 16, 36 }) {
+            final BigInteger value = new BigInteger(40_000, random).negate();
+            final String valueStr = value.toString(radix);
+
+            assertEquals(value, NumeralSystemHelper.parseBigInteger(valueStr, radix));
+            assertEquals(value.toString(10), NumeralSystemHelper.convertArbitraryLength(valueStr, radix, 10));
+        }
+
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.parseBigInteger("-", 10));
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.parseBigInteger("12", 37));
+        assertThrows(NumberFormatException.class, () -> NumeralSystemHelper.parseBigInteger("1".repeat(5000) + "-1", 10));
+    }
+
+    @Test
+    public void tryParseUnsignedIntTest() {
+        assertEquals(255, NumeralSystemHelper.tryParseUnsignedInt("ff", 0, 2, 16));
+        assertEquals(0xffffffffL, NumeralSystemHelper.tryParseUnsignedInt("+ffffffff", 0, 9, 16));
+
+        assertEquals(1, NumeralSystemHelper.getErrorIndex(NumeralSystemHelper.tryParseUnsignedInt("fg", 0, 2, 16)));
+        assertEquals(8, NumeralSystemHelper.getErrorIndex(NumeralSystemHelper.tryParseUnsignedInt("100000000", 0, 9, 16)));
+        assertEquals(2, NumeralSystemHelper.getErrorIndex(NumeralSystemHelper.tryParseUnsignedInt("xx-1", 2, 4, 10)));
+        assertEquals(1, NumeralSystemHelper.getErrorIndex(NumeralSystemHelper.tryParseUnsignedInt("+", 0, 1, 10)));
+        assertEquals(2, NumeralSystemHelper.getErrorIndex(NumeralSystemHelper.tryParseUnsignedInt("xx", 2, 2, 10)));
+        assertEquals(0, NumeralSystemHelper.getErrorIndex(NumeralSystemHelper.tryParseUnsignedInt("1", 0, 1, 37)));
+        assertEquals(-1, NumeralSystemHelper.getErrorIndex(0));
+
+        final Random random = new Random(42);
+        final String alphabet = "0123456789abcdefghijklmnopqrstuvwxyzABCDEF+-. ";
+
+        for (int n = 0; n < 20_000; n++) {
+            final StringBuilder token = new StringBuilder();
+
+            for (int length = random.nextInt(12); length > 0; length--) {
+                token.append(alphabet.charAt(random.nextInt(random.nextBoolean() ? 16 : alphabet.length())));
+            }
+
+            final int radix = 2 + random.nextInt(35);
+
+            Long expected;
+
+            try {
+                expected = Integer.toUnsignedLong(Integer.parseUnsignedInt(token.toString(), radix));
+            } catch (NumberFormatException e) {
+                expected = null;
+            }
+
+            final long result = NumeralSystemHelper.tryParseUnsignedInt(token, 0, token.length(), radix);
+
+            if (expected == null) {
+                assertTrue(token.toString(), result < 0);
+            } else {
+                assertEquals(token.toString(), (long) expected, result);
+            }
+        }
+    }
+
+    @Test
+    public void tryConvertTest() {
+        final char[] destination = new char[40];
+
+        int result = NumeralSystemHelper.tryConvert("ffffffff", 0, 8, 16, 10, destination, 0);
+
+        assertEquals(NumeralSystemHelper.convert("ffffffff", 16, 10), new String(destination, 0, result));
+
+        result = NumeralSystemHelper.tryConvert("12z4", 0, 4, 10, 16, destination, 0);
+
+        assertFalse(result > 0);
+        assertEquals(2, NumeralSystemHelper.getErrorIndex(result));
+    }
 }
@@ -0,0 +1,187 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class PatternClassifierTest {
+    private static final String[] BUILT_IN_REGEXES = {
+            RegExHelper.EMAIL,
+            RegExHelper.LONGITUDE,
+            RegExHelper.LATITUDE,
+            RegExHelper.US_PHONE_NUMBER,
+            RegExHelper.TIME_DISPLAY
+    };
+
+    private static final String[] USER_REGEXES = {
+            "\\d+",
+            "[^]a-c]*x?",
+            "(?:ab|a)*b{2,3}",
+            "^\\Qa.b\\E$|[\\x41-\\u0046]{2}",
+            "(?<word>\\w+)\\s\\S.?",
+            "a{0}b|[a-]\\t|\\cA",
+            "(a|b|)*c+?",
+            ".\\D\\W[\\s&]"
+    };
+
+    private static long expectedMask(Pattern[] patterns, String input) {
+        long mask = 0;
+
+        for (int id = 0; id < patterns.length; id++) {
+            if (patterns[id].matcher(input).matches()) {
+                mask |= 1L << id;
+            }
+        }
+
+        return mask;
+    }
+
+    private static Pattern[] compileAll(PatternClassifier classifier) {
+        final Pattern[] patterns = new Pattern[classifier.getPatternCount()];
+
+        for (int id = 0; id < patterns.length; id++) {
+            patterns[id] = Pattern.compile(classifier.getRegex(id));
+        }
+
+        return patterns;
+    }
+
+    @Test
+    public void classifyBuiltInsTest() {
+        final PatternClassifier classifier = new PatternClassifier();
+
+        assertEquals(5, classifier.getPatternCount());
+
+        assertEquals(1L << PatternClassifier.EMAIL, classifier.classify("jane.doe@example.com"));
+        assertEquals((1L << PatternClassifier.LONGITUDE) | (1L << PatternClassifier.LATITUDE),
+                classifier.classify("-45.5"));
+        assertEquals(1L << PatternClassifier.LONGITUDE, classifier.classify("120"));
+        assertEquals(1L << PatternClassifier.US_PHONE_NUMBER, classifier.classify("(212) 555-1234"));
+        assertEquals(1L << PatternClassifier.TIME_DISPLAY, classifier.classify("23:59"));
+
+        assertEquals(0, classifier.classify("24:00"));
+        assertEquals(0, classifier.classify(""));
+        assertEquals(0, classifier.classify(null));
+    }
+
+    @Test
+    public void classifyMatchesPatternsTest() {
+        final PatternClassifier classifier = new PatternClassifier(USER_REGEXES);
+        final Pattern[] patterns = compileAll(classifier);
+
+        final String alphabet = "+-.:@()019abcx] \t\n\u0001AF_";
+        final int base = alphabet.length();
+
+        final StringBuilder builder = new StringBuilder();
+
+        for (int length = 0; length <= 4; length++) {
+            final int total = (int) Math.pow(base, length);
+
+            for (int n = 0; n < total; n++) {
+                builder.setLength(0);
+
+                for (int i = 0, m = n; i < length; i++, m /= base) {
+                    builder.append(alphabet.charAt(m % base));
+                }
+
+                final String input = builder.toString();
+
+                assertEquals(input, expectedMask(patterns, input), classifier.classify(input));
+            }
+        }
+
+        final Random random = new Random(46);
+
+        for (int n = 0; n < 100_000; n++) {
+            builder.setLength(0);
+
+            final int length = random.nextInt(16);
+
+            for (int i = 0; i < length; i++) {
+                builder.append(alphabet.charAt(random.nextInt(base)));
+            }
+
+            final String input = builder.toString();
+
+            assertEquals(input, expectedMask(patterns, input), classifier.classify(input));
+        }
+    }
+
+    @Test
+    public void classifyRegisteredBuiltInsTest() {
+        final PatternClassifier classifier = new PatternClassifier(BUILT_IN_REGEXES);
+        final Random random = new Random(4646);
+        final String alphabet = "+-.:@() 0123456789abz";
+
+        final StringBuilder builder = new StringBuilder();
+
+        for (int n = 0; n < 100_000; n++) {
+            builder.setLength(0);
+
+            final int length = random.nextInt(16);
+
+            for (int i = 0; i < length; i++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            final long mask = classifier.classify(builder);
+
+            assertEquals(builder.toString(), mask & 0x1f, mask >>> PatternClassifier.FIRST_USER_ID);
+        }
+
+        assertEquals(0x3ff, classifier.classify("") | classifier.classify("1") | classifier.classify("a@b.cd")
+                | classifier.classify("(212) 555-1234") | classifier.classify("0:00"));
+    }
+
+    @Test
+    public void unsupportedRegexesTest() {
+        final String[] unsupported = {
+                "(a)\\1",
+                "a(?=b)",
+                "(?<!a)b",
+                "(?>a)",
+                "(?i)a",
+                "a*+",
+                "\\bword\\b",
+                "\\p{Alpha}",
+                "[a-z&&[^x]]",
+                "a{1001}",
+                "\\x{1F600}"
+        };
+
+        for (String regex : unsupported) {
+            final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> new PatternClassifier(regex));
+
+            assertTrue(e.getMessage(), e.getMessage().contains("Unsupported construct"));
+        }
+
+        assertThrows(PatternSyntaxException.class, () -> new PatternClassifier("a**"));
+        assertThrows(IllegalArgumentException.class, () -> new PatternClassifier((String) null));
+        assertThrows(IllegalArgumentException.class, () -> new PatternClassifier((String[]) null));
+        assertThrows(IllegalArgumentException.class, () -> new PatternClassifier(new String[60]));
+        assertThrows(IllegalArgumentException.class, () -> new PatternClassifier().getRegex(5));
+    }
+}
@@ -0,0 +1,278 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class PatternExtractorTest {
+    private static final String[] REGEXES = {
+            RegExHelper.EMAIL,
+            RegExHelper.LATITUDE,
+            RegExHelper.US_PHONE_NUMBER,
+            RegExHelper.TIME_DISPLAY,
+            "ab|bcdef|abcd|c",
+            "(ab)*c",
+            "a[^x]*x"
+    };
+
+    private static final String[] FRAGMENTS = {
+            "a", "b", "c", "d", "x", "@", ".", "-", ":", " ", "(", ")", "0", "1", "5", "9",
+            "jane.doe@example.com", "(212) 555-1234", "23:59", "-45.5", "abcdef", "ababc", "eé"
+    };
+
+    /*
+     * The leftmost-longest, non-overlapping, non-empty matches of the regex, by brute force.
+     */
+    private static List<Long> expectedMatches(String regex, String input) {
+        final Matcher matcher = Pattern.compile(regex.replace("(^", "(").replace("$)", ")")).matcher(input);
+        final List<Long> offsets = new ArrayList<>();
+
+        int position = 0;
+
+        search:
+        while (position < input.length()) {
+            for (int start = position; start < input.length(); start++) {
+                for (int end = input.length(); end > start; end--) {
+                    if (matcher.region(start, end).matches()) {
+                        offsets.add((long) start);
+                        offsets.add((long) end);
+                        position = end;
+                        continue search;
+                    }
+                }
+            }
+
+            break;
+        }
+
+        return offsets;
+    }
+
+    private static String randomInput(Random random, int fragmentCount) {
+        final StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < fragmentCount; i++) {
+            builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+
+        return builder.toString();
+    }
+
+    /*
+     * A channel returning the bytes a few at a time.
+     */
+    private static ReadableByteChannel trickle(byte[] bytes, Random random) {
+        final ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(bytes));
+
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer destination) throws IOException {
+                final ByteBuffer slice = destination.slice();
+
+                slice.limit(Math.min(slice.limit(), 1 + random.nextInt(7)));
+
+                final int read = channel.read(slice);
+
+                if (read > 0) {
+                    destination.position(destination.position() + read);
+                }
+
+                return read;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    @Test
+    public void extractTest() throws IOException {
+        final PatternExtractor extractor = new PatternExtractor(RegExHelper.EMAIL);
+        final String log = "2024-01-01 jane.doe@example.com sent to (bob@mail.example.org), cc x@y.";
+        final List<Long> offsets = new ArrayList<>();
+
+        final long count = extractor.extract(
+                Channels.newChannel(new ByteArrayInputStream(log.getBytes(StandardCharsets.US_ASCII))),
+                (start, end) -> offsets.add(start) && offsets.add(end)
+        );
+
+        assertEquals(2, count);
+        assertEquals(Arrays.asList(11L, 31L, 41L, 61L), offsets);
+        assertEquals("jane.doe@example.com", log.substring(11, 31));
+        assertEquals(RegExHelper.EMAIL, extractor.getRegex());
+    }
+
+    @Test
+    public void extractFromChannelTest() throws IOException {
+        final Random random = new Random(48);
+
+        for (String regex : REGEXES) {
+            final PatternExtractor extractor = new PatternExtractor(regex);
+
+            for (int n = 0; n < 100; n++) {
+                final String input = randomInput(random, random.nextInt(40));
+                final List<Long> offsets = new ArrayList<>();
+
+                extractor.extract(trickle(input.getBytes(StandardCharsets.ISO_8859_1), random),
+                        (start, end) -> offsets.add(start) && offsets.add(end));
+
+                assertEquals(regex + " " + input, expectedMatches(regex, input), offsets);
+            }
+        }
+    }
+
+    @Test
+    public void extractFromFileTest() throws IOException {
+        final Random random = new Random(4848);
+        final Path file = Files.createTempFile("jems", ".log");
+
+        try {
+            for (String regex : REGEXES) {
+                for (int n = 0; n < 100; n++) {
+                    final PatternExtractor extractor = new PatternExtractor(regex, ForkJoinPool.commonPool(),
+                            16 + random.nextInt(64), 1 + random.nextInt(16));
+                    final String input = randomInput(random, random.nextInt(40));
+                    final List<Long> offsets = new ArrayList<>();
+
+                    Files.write(file, input.getBytes(StandardCharsets.ISO_8859_1));
+
+                    final long count = extractor.extract(file, (start, end) -> offsets.add(start) && offsets.add(end));
+
+                    assertEquals(regex + " " + input, expectedMatches(regex, input), offsets);
+                    assertEquals(offsets.size() / 2, count);
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void spanningMatchTest() throws IOException {
+        final Path file = Files.createTempFile("jems", ".log");
+
+        try {
+            final byte[] bytes = new byte[1 << 20];
+
+            Arrays.fill(bytes, (byte) 'a');
+            Files.write(file, bytes);
+
+            final PatternExtractor extractor = new PatternExtractor("a+", ForkJoinPool.commonPool(), 4096, 256);
+            final List<Long> offsets = new ArrayList<>();
+
+            assertEquals(1, extractor.extract(file, (start, end) -> offsets.add(start) && offsets.add(end)));
+            assertEquals(Arrays.asList(0L, (long) bytes.length), offsets);
+            assertTrue(extractor.getReadCount() <= 3L * bytes.length);
+
+            final Random random = new Random(480);
+
+            for (int n = 0; n < 20; n++) {
+                final StringBuilder builder = new StringBuilder();
+
+                while (builder.length() < 20000) {
+                    final char[] run = new char[random.nextInt(3000)];
+
+                    Arrays.fill(run, "abx".charAt(random.nextInt(3)));
+                    builder.append(run).append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+                }
+
+                final String input = builder.toString();
+                final byte[] inputBytes = input.getBytes(StandardCharsets.ISO_8859_1);
+
+                Files.write(file, inputBytes);
+
+                for (String regex : new String[] {"a+", "a[^x]*x", "(ab)*c"}) {
+                    final PatternExtractor chunked = new PatternExtractor(regex, ForkJoinPool.commonPool(), 1024, 64);
+                    final List<Long> expected = new ArrayList<>();
+                    final List<Long> actual = new ArrayList<>();
+
+                    new PatternExtractor(regex).extract(Channels.newChannel(new ByteArrayInputStream(inputBytes)),
+                            (start, end) -> expected.add(start) && expected.add(end));
+                    chunked.extract(file, (start, end) -> actual.add(start) && actual.add(end));
+
+                    assertEquals(regex, expected, actual);
+                    assertTrue(regex, chunked.getReadCount() <= 3L * inputBytes.length);
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void stopExtractionTest() throws IOException {
+        final Path file = Files.createTempFile("jems", ".log");
+
+        try {
+            final StringBuilder builder = new StringBuilder();
+
+            for (int i = 0; i < 1000; i++) {
+                builder.append("call (212) 555-").append(1000 + i).append('\n');
+            }
+
+            Files.write(file, builder.toString().getBytes(StandardCharsets.US_ASCII));
+
+            final PatternExtractor extractor = new PatternExtractor(RegExHelper.US_PHONE_NUMBER,
+                    ForkJoinPool.commonPool(), 4096, 256);
+            final List<Long> starts = new ArrayList<>();
+
+            assertEquals(1000, extractor.extract(file, (start, end) -> true));
+            assertEquals(3, extractor.extract(file, (start, end) -> starts.add(start) && starts.size() < 3));
+            assertEquals(Arrays.asList(5L, 25L, 45L), starts);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void invalidArgumentsTest() {
+        final PatternExtractor extractor = new PatternExtractor(RegExHelper.TIME_DISPLAY);
+
+        assertThrows(IllegalArgumentException.class, () -> new PatternExtractor(null));
+        assertThrows(IllegalArgumentException.class, () -> new PatternExtractor("(a)\\1"));
+        assertThrows(IllegalArgumentException.class, () -> new PatternExtractor("a", null));
+        assertThrows(IllegalArgumentException.class, () -> extractor.extract((ReadableByteChannel) null, (s, e) -> true));
+        assertThrows(IllegalArgumentException.class, () -> extractor.extract(Path.of("x"), null));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class QueryParametersTest {
+
+    @Test
+    public void parseTest() {
+        final QueryParameters parameters = QueryParameters.parse("utm_source=news&q=caf%C3%A9+au+lait&&tag=a&tag=b&flag&=x&e=");
+
+        assertEquals(7, parameters.size());
+        assertFalse(parameters.isEmpty());
+
+        assertEquals("utm_source", parameters.getRawName(0).toString());
+        assertEquals("caf%C3%A9+au+lait", parameters.getRawValue(1).toString());
+        assertEquals("café au lait", parameters.getValue(1));
+        assertEquals("tag", parameters.getName(2));
+        assertEquals("flag", parameters.getName(4));
+        assertEquals("", parameters.getValue(4));
+        assertEquals("", parameters.getName(5));
+        assertEquals("x", parameters.getValue(5));
+        assertEquals("", parameters.getValue(6));
+
+        final CharSequence raw = parameters.getRawValue(1);
+
+        assertEquals(17, raw.length());
+        assertEquals('%', raw.charAt(3));
+        assertEquals("C3", raw.subSequence(4, 6).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> raw.charAt(17));
+        assertThrows(IndexOutOfBoundsException.class, () -> parameters.getValue(7));
+
+        assertTrue(QueryParameters.parse(null).isEmpty());
+        assertTrue(QueryParameters.parse("").isEmpty());
+        assertTrue(QueryParameters.parse("&&").isEmpty());
+        assertEquals(2, QueryParameters.parse("xa=1&b=2y", 1, 8).size());
+        assertEquals("2", QueryParameters.parse("xa=1&b=2y", 1, 8).get("b"));
+    }
+
+    @Test
+    public void getTest() {
+        final QueryParameters parameters = QueryParameters.parse("a=1&b%20c=2&b+c=3&a=4&d=%zz%41%e2%82%ac%ff");
+
+        assertEquals("1", parameters.get("a"));
+        assertEquals(List.of("1", "4"), parameters.getAll("a"));
+        assertEquals("2", parameters.get("b c"));
+        assertEquals(List.of("2", "3"), parameters.getAll("b c"));
+        assertEquals("%zzA€�", parameters.get("d"));
+        assertEquals(0, parameters.indexOf("a"));
+        assertEquals(-1, parameters.indexOf("b%20c"));
+        assertTrue(parameters.contains("d"));
+        assertFalse(parameters.contains("e"));
+        assertFalse(parameters.contains(null));
+        assertNull(parameters.get("e"));
+        assertEquals(List.of(), parameters.getAll("e"));
+    }
+
+    @Test
+    public void largeQueryTest() {
+        final StringBuilder query = new StringBuilder();
+
+        for (int i = 0; i < 5000; i++) {
+            query.append("k").append(i % 1000).append('=').append(i).append('&');
+        }
+
+        final QueryParameters parameters = QueryParameters.parse(query);
+
+        assertEquals(5000, parameters.size());
+
+        for (int i = 0; i < 1000; i++) {
+            final List<String> values = parameters.getAll("k" + i);
+
+            assertEquals(5, values.size());
+            assertEquals(String.valueOf(i + 4000), values.get(4));
+            assertEquals(String.valueOf(i), parameters.get("k" + i));
+        }
+    }
+
+    @Test
+    public void parsedURLTest() {
+        final QueryParameters parameters = ParsedURL.parse("http://h/p?a=1&b=x%26y#c=3").getQueryParameters();
+
+        assertEquals(2, parameters.size());
+        assertEquals("x&y", parameters.get("b"));
+        assertNull(parameters.get("c"));
+        assertTrue(ParsedURL.parse("http://h/p#a=1").getQueryParameters().isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+public class RadixConverterTest {
+
+    @Test
+    public void ofTest() {
+        assertSame(RadixConverter.of(16, 2), RadixConverter.of(16, 2));
+        assertEquals(16, RadixConverter.of(16, 2).getFrom());
+        assertEquals(2, RadixConverter.of(16, 2).getTo());
+        assertEquals(64, RadixConverter.of(16, 2).getMaxLength());
+
+        assertThrows(IllegalArgumentException.class, () -> RadixConverter.of(1, 10));
+        assertThrows(IllegalArgumentException.class, () -> RadixConverter.of(10, 37));
+    }
+
+    @Test
+    public void convertTest() {
+        assertEquals("11111111", RadixConverter.of(16, 2).convert("ff"));
+        assertEquals("18446744073709551615", RadixConverter.of(16, 10).convert("FFFFFFFFFFFFFFFF"));
+        assertEquals("0", RadixConverter.of(10, 36).convert("0000"));
+
+        final Random random = new Random(42);
+
+        for (int from = Character.MIN_RADIX; from <= Character.MAX_RADIX; from++) {
+            for (int to = Character.MIN_RADIX; to <= Character.MAX_RADIX; to++) {
+                final RadixConverter converter = RadixConverter.of(from, to);
+
+                for (int n = 0; n < 20; n++) {
+                    final long value = random.nextLong() >>> random.nextInt(64);
+                    final String valueStr = Long.toUnsignedString(value, from);
+
+                    assertEquals(NumeralSystemHelper.convertUnsignedLong(valueStr, from, to), converter.convert(valueStr));
+                }
+
+                assertEquals(Long.toUnsignedString(-1L, to), converter.convert(Long.toUnsignedString(-1L, from)));
+            }
+        }
+    }
+
+    @Test
+    public void convertExceptionTest() {
+        final RadixConverter converter = RadixConverter.of(10, 16);
+
+        assertThrows(NumberFormatException.class, () -> converter.convert(""));
+        assertThrows(NumberFormatException.class, () -> converter.convert("12a"));
+        assertThrows(NumberFormatException.class, () -> converter.convert("18446744073709551616"));
+        assertThrows(NumberFormatException.class, () -> converter.convert("99999999999999999999"));
+        assertThrows(NumberFormatException.class, () -> converter.convert("1" + "0".repeat(40)));
+        assertThrows(NumberFormatException.class, () -> RadixConverter.of(2, 10).convert("1" + "0".repeat(64)));
+    }
+
+    @Test
+    public void bulkConvertTest() {
+        final RadixConverter converter = RadixConverter.of(10, 16);
+
+        final String[] values = { "10", "255", "0", "4294967295" };
+        final char[] destination = new char[values.length * converter.getMaxLength()];
+        final int[] offsets = new int[values.length + 1];
+
+        assertEquals(12, converter.convert(values, destination, offsets));
+        assertArrayEquals(new int[] { 0, 1, 3, 4, 12 }, offsets);
+        assertEquals("aff0ffffffff", new String(destination, 0, offsets[4]));
+
+        final int[] integers = { 10, 255, 0, -1 };
+
+        assertEquals(12, converter.convert(integers, destination, offsets));
+        assertArrayEquals(new int[] { 0, 1, 3, 4, 12 }, offsets);
+        assertEquals("aff0ffffffff", new String(destination, 0, offsets[4]));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> converter.convert(values, destination, new int[values.length]));
+    }
+}
@@ -18,10 +18,20 @@ package com.shaiksphere.mindsmine.jems;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 public class RegExHelperTest {
@@ -75,4 +85,197 @@ public class RegExHelperTest {
                 "(888) 098-1234"
         ).forEach(phone -> assertFalse(isValidPhone(phone)));
     }
+
+    @Test
+    public void predicateTest() {
+        assertTrue(RegExHelper.isEmail("alice@example.com"));
+        assertTrue(RegExHelper.isEmail(new StringBuilder("alice.bob@example.co.in")));
+        assertFalse(RegExHelper.isEmail(".alice@example.com"));
+        assertFalse(RegExHelper.isEmail(null));
+
+        assertTrue(RegExHelper.isUSPhoneNumber("(215) 898-1234"));
+        assertFalse(RegExHelper.isUSPhoneNumber("(115) 898-1234"));
+
+        assertTrue(RegExHelper.isLatitude("-90"));
+        assertTrue(RegExHelper.isLatitude("+45.5"));
+        assertFalse(RegExHelper.isLatitude("90"));
+        assertFalse(RegExHelper.isLatitude("45\n"));
+
+        assertTrue(RegExHelper.isLongitude("-180"));
+        assertTrue(RegExHelper.isLongitude("179.99"));
+        assertFalse(RegExHelper.isLongitude("180"));
+
+        assertTrue(RegExHelper.isTimeDisplay("23:59"));
+        assertTrue(RegExHelper.isTimeDisplay("7:05"));
+        assertFalse(RegExHelper.isTimeDisplay("24:00"));
+        assertFalse(RegExHelper.isTimeDisplay(""));
+    }
+
+    @Test
+    public void predicateMatchesRegexTest() {
+        final List<String> inputs = Arrays.asList(
+                "", "0", "9", "90", "-90", "+90", "-90.0", "89.999", "+8.5", "-0", "-.5", "1.", "100", "-100", "-109",
+                "-110", "179.5", "-179.5", "180", "-180", "+180", "181", "+-1", "00:00", "23:59", "24:00", "19:60",
+                "0000:00", "1:1", "(215) 898-1234", "(215)898-1234", "a@b.cd", "a@b.c", "a..b@c.de", "a+b&c*d@e-f.gh"
+        );
+
+        for (String input : inputs) {
+            assertEquals(input, input.matches(RegExHelper.EMAIL), RegExHelper.isEmail(input));
+            assertEquals(input, input.matches(RegExHelper.LONGITUDE), RegExHelper.isLongitude(input));
+            assertEquals(input, input.matches(RegExHelper.LATITUDE), RegExHelper.isLatitude(input));
+            assertEquals(input, input.matches(RegExHelper.US_PHONE_NUMBER), RegExHelper.isUSPhoneNumber(input));
+            assertEquals(input, input.matches(RegExHelper.TIME_DISPLAY), RegExHelper.isTimeDisplay(input));
+        }
+    }
+
+    @Test
+    public void concurrentPredicateTest() throws InterruptedException {
+        final AtomicInteger failures = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+
+        final Predicate<Integer> check = i -> RegExHelper.isEmail("user" + i + "@example.com")
+                && !RegExHelper.isEmail("user" + i + "@example")
+                && RegExHelper.isTimeDisplay((i % 24) + ":" + (10 + i % 50));
+
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (!check.test(i)) {
+                        failures.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, failures.get());
+    }
+
+    @Test
+    public void compileTest() {
+        RegExHelper.getPatternCache().clear();
+        RegExHelper.resetCompileStatistics();
+
+        final Pattern pattern = RegExHelper.compile("^jems-[0-9]+$");
+
+        assertSame(pattern, RegExHelper.compile("^jems-[0-9]+$"));
+        assertSame(pattern, RegExHelper.compile("^jems-[0-9]+$", 0));
+        assertTrue(pattern.matcher("jems-410").matches());
+
+        final Pattern insensitive = RegExHelper.compile("^jems-[0-9]+$", Pattern.CASE_INSENSITIVE);
+
+        assertNotSame(pattern, insensitive);
+        assertEquals(Pattern.CASE_INSENSITIVE, insensitive.flags());
+        assertTrue(insensitive.matcher("JEMS-410").matches());
+
+        assertEquals(2, RegExHelper.getCompileCount());
+        assertEquals(2, RegExHelper.getPatternCache().getHitCount());
+        assertEquals(2, RegExHelper.getPatternCache().getMissCount());
+        assertTrue(RegExHelper.getCompileNanos() > 0);
+        assertTrue(RegExHelper.getMaxCompileNanos() > 0);
+        assertTrue(RegExHelper.getMaxCompileNanos() <= RegExHelper.getCompileNanos());
+
+        assertThrows(PatternSyntaxException.class, () -> RegExHelper.compile("(unclosed"));
+        assertThrows(IllegalArgumentException.class, () -> RegExHelper.compile(null));
+        assertThrows(IllegalArgumentException.class, () -> RegExHelper.compile("a", -1));
+
+        assertEquals(2, RegExHelper.getPatternCache().size());
+
+        RegExHelper.resetCompileStatistics();
+
+        assertEquals(0, RegExHelper.getCompileCount());
+        assertEquals(0, RegExHelper.getPatternCache().getHitCount());
+    }
+
+    @Test
+    public void compileEvictionTest() {
+        final int maxSize = RegExHelper.getPatternCache().getMaxSize();
+
+        try {
+            RegExHelper.getPatternCache().clear();
+            RegExHelper.getPatternCache().setMaxSize(2);
+            RegExHelper.resetCompileStatistics();
+
+            final Pattern a = RegExHelper.compile("a");
+
+            RegExHelper.compile("b");
+            RegExHelper.compile("a");
+            RegExHelper.compile("c");
+
+            assertSame(a, RegExHelper.compile("a"));
+            assertEquals(1, RegExHelper.getPatternCache().getEvictionCount());
+
+            RegExHelper.compile("b");
+
+            assertEquals(4, RegExHelper.getCompileCount());
+        } finally {
+            RegExHelper.getPatternCache().setMaxSize(maxSize);
+        }
+    }
+
+    @Test
+    public void exhaustiveAutomatonTest() {
+        // Every string of up to 5 characters over the characters which matter to the numeric patterns
+        final char[] alphabet = "+-.:0123456789x".toCharArray();
+        final char[] chars = new char[5];
+
+        for (int length = 0; length <= chars.length; length++) {
+            final int[] indexes = new int[length];
+
+            while (true) {
+                for (int i = 0; i < length; i++) {
+                    chars[i] = alphabet[indexes[i]];
+                }
+
+                assertSameLanguage(new String(chars, 0, length));
+
+                int i = length - 1;
+
+                while (i >= 0 && ++indexes[i] == alphabet.length) {
+                    indexes[i--] = 0;
+                }
+
+                if (i < 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void randomAutomatonTest() {
+        final String alphabet = "aZ09_+&*-.@()- :\n\u00e9";
+        final Random random = new Random(45);
+
+        for (int n = 0; n < 200_000; n++) {
+            final StringBuilder builder = new StringBuilder();
+
+            for (int i = random.nextInt(20); i > 0; i--) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            assertSameLanguage(builder.toString());
+        }
+
+        Arrays.asList(
+                "a@b.cd", "a@b.cdefghi", "a@b.cdefghij", "a@b.c1", "a@b.c-d.ef", "a@1.ab", "a@b..cd", "a@.b.cd",
+                "a.@b.cd", "a..b@c.de", "+&*-_@x-.ab", "a@b.cd.", "a@bc", "a@b.cd@e.fg", "(215) 898-1234",
+                "(215) 898-12345", "(215)  898-1234", "-180", "-180.0", "179.999", "-109.5", "-110.5", "12:59", "0001:59"
+        ).forEach(this::assertSameLanguage);
+    }
+
+    private void assertSameLanguage(String input) {
+        assertEquals(input, EMAIL_PATTERN.matcher(input).matches(), RegExHelper.isEmail(input));
+        assertEquals(input, US_PHONE_NUMBER_PATTERN.matcher(input).matches(), RegExHelper.isUSPhoneNumber(input));
+        assertEquals(input, input.matches(RegExHelper.LONGITUDE), RegExHelper.isLongitude(input));
+        assertEquals(input, input.matches(RegExHelper.LATITUDE), RegExHelper.isLatitude(input));
+        assertEquals(input, input.matches(RegExHelper.TIME_DISPLAY), RegExHelper.isTimeDisplay(input));
+    }
 }
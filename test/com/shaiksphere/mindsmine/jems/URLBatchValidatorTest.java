@@ -0,0 +1,225 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class URLBatchValidatorTest {
+
+    private static final List<String> LINES = List.of(
+            "https://api.iextrading.com/1.0/stock/market/batch?types=quote",
+            "http://➡.ws/䨹",
+            "",
+            "   ",
+            "http://⌘.ws/\t",
+            ":// should fail",
+            "http://h/%zz",
+            "http://h/?%zz",
+            "http://h/#%zz",
+            "http://[::1",
+            "mailto: a",
+            "ftp://foo.bar/baz",
+            "http://例子.测试"
+    );
+
+    @Test
+    public void validateFileTest() throws IOException {
+        final Path input = Files.createTempFile("urls", ".txt");
+        final Path valid = Files.createTempFile("valid", ".txt");
+        final Path invalid = Files.createTempFile("invalid", ".txt");
+
+        try {
+            Files.writeString(input, String.join("\r\n", LINES), StandardCharsets.UTF_8);
+
+            final URLBatchValidator.Report report = new URLBatchValidator().validate(input, valid, invalid);
+
+            assertReport(LINES, report);
+            assertEquals(filter(LINES, true), Files.readString(valid, StandardCharsets.UTF_8));
+            assertEquals(filter(LINES, false), Files.readString(invalid, StandardCharsets.UTF_8));
+            assertEquals(Files.size(input), report.getByteCount());
+
+            assertEquals(1, report.getErrorCount(URLBatchValidator.ErrorClass.SCHEME));
+            assertEquals(1, report.getErrorCount(URLBatchValidator.ErrorClass.OPAQUE_PART));
+            assertEquals(1, report.getErrorCount(URLBatchValidator.ErrorClass.AUTHORITY));
+            assertEquals(2, report.getErrorCount(URLBatchValidator.ErrorClass.PATH));
+            assertEquals(1, report.getErrorCount(URLBatchValidator.ErrorClass.QUERY));
+            assertEquals(1, report.getErrorCount(URLBatchValidator.ErrorClass.FRAGMENT));
+            assertEquals(2, report.getErrorCount(URLBatchValidator.ErrorClass.BLANK));
+            assertTrue(report.toString().startsWith("total=13, valid=4, invalid=9"));
+
+            final URLBatchValidator.Report discarded = new URLBatchValidator().validate(input, null, null);
+
+            assertEquals(4, discarded.getValidCount());
+        } finally {
+            Files.delete(input);
+            Files.delete(valid);
+            Files.delete(invalid);
+        }
+    }
+
+    @Test
+    public void validateChannelTest() throws IOException {
+        final List<String> lines = generate(20000);
+        final byte[] content = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        // Small windows and chunks, so that lines straddle both, and some lines are longer than a window
+        final URLBatchValidator validator = new URLBatchValidator(new ForkJoinPool(4), 256, 64);
+        final ByteArrayOutputStream valid = new ByteArrayOutputStream();
+        final ByteArrayOutputStream invalid = new ByteArrayOutputStream();
+
+        final URLBatchValidator.Report report = validator.validate(
+                Channels.newChannel(new ByteArrayInputStream(content)),
+                Channels.newChannel(valid),
+                Channels.newChannel(invalid)
+        );
+
+        assertReport(lines, report);
+        assertEquals(content.length, report.getByteCount());
+        assertEquals(filter(lines, true), valid.toString(StandardCharsets.UTF_8));
+        assertEquals(filter(lines, false), invalid.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void validateMappedWindowsTest() throws IOException {
+        final List<String> lines = generate(20000);
+        final Path input = Files.createTempFile("urls", ".txt");
+        final Path valid = Files.createTempFile("valid", ".txt");
+
+        try {
+            Files.writeString(input, String.join("\n", lines), StandardCharsets.UTF_8);
+
+            final URLBatchValidator.Report report = new URLBatchValidator(ForkJoinPool.commonPool(), 300, 100)
+                    .validate(input, valid, null);
+
+            assertReport(lines, report);
+            assertEquals(filter(lines, true), Files.readString(valid, StandardCharsets.UTF_8));
+        } finally {
+            Files.delete(input);
+            Files.delete(valid);
+        }
+    }
+
+    @Test
+    public void lineLongerThanMaxWindowTest() throws IOException {
+        final String content = "http://a/\nhttp://" + "b".repeat(1000) + "/\nhttp://c/\n";
+        final Path input = Files.createTempFile("urls", ".txt");
+
+        try {
+            Files.writeString(input, content, StandardCharsets.US_ASCII);
+
+            final URLBatchValidator validator = new URLBatchValidator(ForkJoinPool.commonPool(), 64, 512, 32);
+
+            final IOException fileException = assertThrows(IOException.class, () -> validator.validate(input, null, null));
+            final IOException channelException = assertThrows(IOException.class, () -> validator.validate(
+                    Channels.newChannel(new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII))),
+                    null,
+                    null
+            ));
+
+            assertTrue(fileException.getMessage(), fileException.getMessage().contains(" 10 "));
+            assertTrue(channelException.getMessage(), channelException.getMessage().contains(" 10 "));
+
+            assertEquals(3, new URLBatchValidator(ForkJoinPool.commonPool(), 64, 1024, 32)
+                    .validate(input, null, null).getValidCount());
+        } finally {
+            Files.delete(input);
+        }
+    }
+
+    @Test
+    public void sameFileTest() throws IOException {
+        final Path input = Files.createTempFile("urls", ".txt");
+        final Path output = Files.createTempFile("valid", ".txt");
+
+        try {
+            final String content = String.join("\n", LINES);
+
+            Files.writeString(input, content, StandardCharsets.UTF_8);
+
+            final URLBatchValidator validator = new URLBatchValidator();
+            final Path alias = input.getParent().resolve(".").resolve(input.getFileName());
+
+            assertThrows(IllegalArgumentException.class, () -> validator.validate(input, alias, null));
+            assertThrows(IllegalArgumentException.class, () -> validator.validate(input, null, input));
+            assertThrows(IllegalArgumentException.class, () -> validator.validate(input, output, output));
+            assertThrows(IllegalArgumentException.class,
+                    () -> validator.validate(input, output, output.getParent().resolve(".").resolve(output.getFileName())));
+
+            assertEquals(content, Files.readString(input, StandardCharsets.UTF_8));
+            assertEquals(4, validator.validate(input, output, null).getValidCount());
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    @Test
+    public void constructorExceptionTest() {
+        assertThrows(IllegalArgumentException.class, () -> new URLBatchValidator(null));
+    }
+
+    private static List<String> generate(int count) {
+        final Random random = new Random(38);
+        final List<String> lines = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            final String line = LINES.get(random.nextInt(LINES.size()));
+
+            lines.add((random.nextInt(100) == 0) ? line + "/" + "x".repeat(1000) : line);
+        }
+
+        return lines;
+    }
+
+    private static String filter(List<String> lines, boolean valid) {
+        final StringBuilder builder = new StringBuilder();
+
+        for (String line : lines) {
+            if (URLHelper.isValidURL(line) == valid) {
+                builder.append(line).append('\n');
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static void assertReport(List<String> lines, URLBatchValidator.Report report) {
+        final long validCount = lines.stream().filter(URLHelper::isValidURL).count();
+
+        assertEquals(lines.size(), report.getTotalCount());
+        assertEquals(validCount, report.getValidCount());
+        assertEquals(lines.size() - validCount, report.getInvalidCount());
+        assertTrue(report.getElapsedNanos() > 0);
+        assertTrue(report.getThroughput() > 0);
+    }
+}
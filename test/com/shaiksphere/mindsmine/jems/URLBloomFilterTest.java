@@ -0,0 +1,156 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import com.shaiksphere.mindsmine.jems.units.MemoryUnit;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class URLBloomFilterTest {
+
+    @Test
+    public void addTest() {
+        final URLBloomFilter filter = new URLBloomFilter(1_000, 0.01);
+
+        assertFalse(filter.mightContain("https://www.example.com/a"));
+        assertTrue(filter.add("https://www.example.com/a"));
+        assertTrue(filter.mightContain("https://www.example.com/a"));
+        assertFalse(filter.add("https://www.example.com/a"));
+
+        assertEquals(1, filter.getInsertionCount());
+    }
+
+    @Test
+    public void normalizationTest() {
+        final URLBloomFilter filter = new URLBloomFilter(1_000, 0.01);
+
+        assertTrue(filter.add("https://www.example.com/a/b?x=1"));
+
+        assertFalse(filter.add("HTTPS://WWW.Example.com:443/a/./c/../b?x=1"));
+        assertFalse(filter.add("https://www.example.com/a/%62?x=1"));
+        assertTrue(filter.mightContain("https://www.example.com:/a/b?x=1"));
+
+        assertFalse(filter.mightContain("https://www.example.com/a/b?x=2"));
+
+        assertTrue(URLHelper.isValidURL("http://[fe80::1%eth0]/"));
+        assertTrue(filter.add("http://[fe80::1%eth0]/"));
+        assertTrue(filter.mightContain("http://[FE80::1%eth0]:80"));
+    }
+
+    @Test
+    public void falsePositiveRateTest() {
+        final int n = 100_000;
+
+        final URLBloomFilter filter = new URLBloomFilter(n, 0.01);
+
+        for (int i = 0; i < n; i++) {
+            filter.add("https://www.example.com/page/" + i);
+        }
+
+        for (int i = 0; i < n; i++) {
+            assertTrue(filter.mightContain("https://www.example.com/page/" + i));
+        }
+
+        int falsePositives = 0;
+
+        for (int i = n; i < 2 * n; i++) {
+            if (filter.mightContain("https://www.example.com/page/" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue("False positives: " + falsePositives, falsePositives < 0.015 * n);
+        assertTrue(filter.getInsertionCount() > 0.99 * n);
+        assertTrue(filter.getFillRatio() > 0.3 && filter.getFillRatio() < 0.6);
+    }
+
+    @Test
+    public void concurrentAddTest() throws InterruptedException {
+        final int threadCount = 8;
+        final int n = 20_000;
+
+        final URLBloomFilter filter = new URLBloomFilter(threadCount * n, 0.001);
+        final AtomicInteger added = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < threadCount; t++) {
+            final int offset = t;
+
+            // Every other thread adds the same URLs, so half of the additions race on existing members
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < n; i++) {
+                    if (filter.add("http://example.com/" + (offset / 2) + "/" + i)) {
+                        added.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int t = 0; t < threadCount / 2; t++) {
+            for (int i = 0; i < n; i++) {
+                assertTrue(filter.mightContain("http://example.com/" + t + "/" + i));
+            }
+        }
+
+        assertEquals(added.get(), filter.getInsertionCount());
+        assertTrue(added.get() <= threadCount / 2 * n);
+        assertTrue(added.get() > 0.99 * threadCount / 2 * n);
+    }
+
+    @Test
+    public void memoryTest() {
+        final URLBloomFilter filter = new URLBloomFilter(1_000_000, 0.01);
+
+        assertEquals(0, filter.getMemoryBytes() % 64);
+        assertEquals(filter.getBitCount() / 8, filter.getMemoryBytes());
+        assertEquals(filter.getMemoryBytes() / 1024.0, filter.getMemorySize(MemoryUnit.KIBI_BYTE), 0);
+        assertTrue(filter.getMemorySize(MemoryUnit.MEBI_BYTE) > 1 && filter.getMemorySize(MemoryUnit.MEBI_BYTE) < 2);
+        assertEquals(7, filter.getHashCount());
+        assertEquals(0, filter.getFillRatio(), 0);
+    }
+
+    @Test
+    public void invalidArgumentsTest() {
+        assertThrows(IllegalArgumentException.class, () -> new URLBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new URLBloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new URLBloomFilter(100, 1));
+        assertThrows(IllegalArgumentException.class, () -> new URLBloomFilter(100, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new URLBloomFilter(Long.MAX_VALUE, 0.01));
+
+        final URLBloomFilter filter = new URLBloomFilter(100, 0.01);
+
+        assertThrows(IllegalArgumentException.class, () -> filter.add(null));
+        assertThrows(IllegalArgumentException.class, () -> filter.add("http://exa mple.com"));
+        assertThrows(IllegalArgumentException.class, () -> filter.mightContain(" "));
+    }
+}
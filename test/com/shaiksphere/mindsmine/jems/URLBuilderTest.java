@@ -0,0 +1,106 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class URLBuilderTest {
+
+    @Test
+    public void buildTest() {
+        assertEquals("http://www.google.com", new URLBuilder("http://www.google.com").build());
+        assertEquals("http://www.google.com?", new URLBuilder("http://www.google.com?").build());
+
+        assertEquals(
+                "http://www.google.com?param2=value2",
+                new URLBuilder("http://www.google.com").addParameter("param2", "value2").build()
+        );
+        assertEquals(
+                "http://www.google.com?param2=value2",
+                new URLBuilder("http://www.google.com?").addParameter("param2", "value2").build()
+        );
+        assertEquals(
+                "http://www.google.com?param1=value1&param2=value2#hash1",
+                new URLBuilder("http://www.google.com?param1=value1#hash1").addParameter("param2", "value2").build()
+        );
+        assertEquals(
+                "http://www.google.com/a?b=?&param2=value2#hash1?",
+                new URLBuilder("http://www.google.com/a?b=?#hash1?").addParameter("param2", "value2").toString()
+        );
+        assertEquals(
+                "http://www.google.com?param1=value1&param2=value2",
+                new URLBuilder("http://www.google.com?param1=value1&").addParameter("param2", "value2").build()
+        );
+        assertEquals(
+                "mailto:someone@example.com?subject=hi#x",
+                new URLBuilder("mailto:someone@example.com?subject=hi#x").build()
+        );
+        assertEquals(
+                "http://www.example.com/search?q=jems%20%26%20more&page=2#results",
+                new URLBuilder("http://www.example.com/search#results")
+                        .addParameter("q", "jems & more")
+                        .addParameter("page", 2)
+                        .build()
+        );
+    }
+
+    @Test
+    public void reuseTest() {
+        final URLBuilder builder = new URLBuilder("https://example.com/#top").addParameter("a", 1);
+
+        assertEquals("https://example.com/?a=1#top", builder.build());
+        assertEquals("https://example.com/?a=1&b=null#top", builder.addParameter("b", null).build());
+
+        final Map<String, Object> parameters = new LinkedHashMap<>();
+
+        parameters.put("c", true);
+        parameters.put("d", 'x');
+
+        assertEquals("https://example.com/?a=1&b=null&c=true&d=x#top", builder.addParameters(parameters).build());
+    }
+
+    @Test
+    public void encodingTest() {
+        final String value = "a b&c=d+e;f#g%h/i?j:k@l~mé€😀\"<>";
+        final String url = new URLBuilder("http://h/").addParameter("kéy", value).build();
+
+        assertEquals(
+                "http://h/?k%C3%A9y=a%20b%26c%3Dd%2Be%3Bf%23g%25h/i?j:k@l~m%C3%A9%E2%82%AC%F0%9F%98%80%22%3C%3E",
+                url
+        );
+        assertEquals(value, URLDecoder.decode(url.substring(url.indexOf('=') + 1), StandardCharsets.UTF_8));
+        assertEquals("http://h?x=%3F", new URLBuilder("http://h").addParameter("x", "\ud800").build());
+    }
+
+    @Test
+    public void exceptionTest() {
+        assertThrows(IllegalArgumentException.class, () -> new URLBuilder(null));
+        assertThrows(IllegalArgumentException.class, () -> new URLBuilder(":// should fail"));
+        assertThrows(IllegalArgumentException.class, () -> new URLBuilder("http://h").addParameter(" ", "v"));
+        assertThrows(IllegalArgumentException.class, () -> new URLBuilder("http://h").addParameter(null, "v"));
+        assertThrows(IllegalArgumentException.class, () -> new URLBuilder("mailto:a@b.c").addParameter("k", "v"));
+        assertThrows(IllegalArgumentException.class, () -> new URLBuilder("mailto:a@b.c?x=y").addParameters(Map.of("k", "v")));
+    }
+}
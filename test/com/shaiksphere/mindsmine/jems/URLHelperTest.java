@@ -20,10 +20,17 @@ import org.junit.Test;
 
 import org.junit.function.ThrowingRunnable;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
@@ -75,6 +82,136 @@ public class URLHelperTest {
         ).forEach(url -> assertFalse(URLHelper.isValidURL(url)));
     }
 
+    @Test
+    public void isValidURLCharSequenceTest() {
+        assertTrue(URLHelper.isValidURL(new StringBuilder("http://[::1]:8080/")));
+        assertFalse(URLHelper.isValidURL(new StringBuilder("http://example.com/%zz")));
+        assertFalse(URLHelper.isValidURL((CharSequence) null));
+        assertFalse(URLHelper.isValidURL(new StringBuilder(" \t")));
+    }
+
+    @Test
+    public void isValidURLDifferentialTest() {
+        Arrays.asList(
+                "mailto:a@b.c",
+                "urn:isbn:096139210x",
+                "news:",
+                "a:b#",
+                "1http://example.com",
+                "http:",
+                "http:#",
+                "http:/",
+                "http://",
+                "http:///path",
+                "http://?q",
+                "http://#f",
+                "http://@",
+                "http://host:",
+                "http://host:/",
+                "http://host:80a",
+                "http://host:2147483647",
+                "http://host:2147483648",
+                "http://host:99999999999999999999",
+                "http://-host",
+                "http://host-",
+                "http://a.-b.c",
+                "http://a..b",
+                "http://1a.2b",
+                "http://1a.b2",
+                "http://example.com.",
+                "http://user@host@host",
+                "http://us%20er@host",
+                "http://host%20name",
+                "http://host%zz",
+                "http://%",
+                "http://255.255.255.255",
+                "http://256.1.1.1",
+                "http://1.1.1",
+                "http://1.1.1.1.1",
+                "http://1.1.1.1:80",
+                "http://1.1.1.1x",
+                "http://01.001.0001.00001",
+                "http://[::]",
+                "http://[::1]",
+                "http://[1::]",
+                "http://[1:2:3:4:5:6:7:8]",
+                "http://[1:2:3:4:5:6:7:8:9]",
+                "http://[1:2:3:4:5:6:7]",
+                "http://[1:2:3:4:5:6:7::]",
+                "http://[1:2:3:4:5:6::7:8]",
+                "http://[::ffff:1.2.3.4]",
+                "http://[::ffff:1.2.3.256]",
+                "http://[1:2:3:4:5:6:1.2.3.4]",
+                "http://[1:2:3:4:5:1.2.3.4]",
+                "http://[12345::]",
+                "http://[::1%eth0]",
+                "http://[::1%]",
+                "http://[fe80::1%25eth0]",
+                "http://[::1]x",
+                "http://[::1]:",
+                "http://[::1]:8080",
+                "http://[::1",
+                "http://[]",
+                "http://[:1]",
+                "http://[1:::2]",
+                "http://[g::1]",
+                "http://]",
+                "http://a]b",
+                "http://h/p%",
+                "http://h/p%4",
+                "http://h/p%41",
+                "http://h/p?q%",
+                "http://h/p#f%",
+                "http://h/p#f#g",
+                "http://h/p?q?r",
+                "http://h/a b",
+                "http://h/a\u00a0b",
+                "http://h/a\u0080b",
+                "http://h/a\u0081b",
+                "http://h/a\u2028b",
+                "http://h/\ud83d\ude00",
+                "http://h/a|b",
+                "http://h/a\"b",
+                "http://h/{}",
+                "http://h/a^b",
+                "http://h/a`b",
+                "http://h/[x]",
+                "http://h?[x]",
+                "//host/path",
+                "//",
+                "///",
+                "/path",
+                "path",
+                "?query",
+                "#fragment",
+                ":",
+                "::",
+                "a:",
+                "a:/",
+                "a:%",
+                "a:%41",
+                "a:/%",
+                "a\u0000b",
+                "http://h\u0000",
+                "http://h/\u0000"
+        ).forEach(this::assertSameAsURI);
+
+        final String alphabet = "aZ09:/?#[]@!$&'()*+,;=-._~% <>\"{}|\\^`\u00e9\u00a0\u3000.1:";
+        final String[] prefixes = {"", "http:", "http://", "http://[", "http://h/", "a:b", "//", "http://1.2.3."};
+        final Random random = new Random(33);
+
+        for (int i = 0; i < 200000; i++) {
+            final StringBuilder url = new StringBuilder(prefixes[random.nextInt(prefixes.length)]);
+            final int length = random.nextInt(12);
+
+            for (int j = 0; j < length; j++) {
+                url.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            assertSameAsURI(url.toString());
+        }
+    }
+
     @Test
     public void appendQueryInvalidURLExceptionTest() {
         assertThrows(
@@ -127,5 +264,103 @@ public class URLHelperTest {
         assertEquals("http://www.google.com?param1=value1&param2=value2", URLHelper.appendQuery(urlQ, param2, value2));
         assertEquals("http://www.google.com?param2=value2#hash1", URLHelper.appendQuery(urlH, param2, value2));
         assertEquals("http://www.google.com?param1=value1&param2=value2#hash1", URLHelper.appendQuery(urlQH, param2, value2));
+
+        assertEquals("http://h/a%20b?c=%41&p=v%20%26%25", URLHelper.appendQuery("http://h/a%20b?c=%41", "p", "v &%"));
+        assertEquals("http://under_score.com/x?p=v", URLHelper.appendQuery("http://under_score.com/x", "p", "v"));
+        assertEquals("file:///x?p=v", URLHelper.appendQuery("file:///x", "p", "v"));
+
+        assertThrows(IllegalArgumentException.class, () -> URLHelper.appendQuery("mailto:a@b", "p", "v"));
+    }
+
+    @Test
+    public void encodeTest() {
+        final String plain = "abc-._~XYZ019";
+
+        for (URLComponent component : URLComponent.values()) {
+            assertSame(plain, URLHelper.encode(plain, component));
+            assertEquals("", URLHelper.encode(new StringBuilder(), component));
+            assertEquals("%20%25%23%5B%5D%22%3C%3E%5C%5E%60%7B%7C%7D%7F", URLHelper.encode(" %#[]\"<>\\^`{|}\u007f", component));
+        }
+
+        assertEquals("a/b%3Fc;d=e+f", URLHelper.encode("a/b?c;d=e+f", URLComponent.PATH));
+        assertEquals("a%2Fb%3Fc;d=e+f", URLHelper.encode("a/b?c;d=e+f", URLComponent.PATH_SEGMENT));
+        assertEquals("a/b?c;d=e+f", URLHelper.encode("a/b?c;d=e+f", URLComponent.QUERY));
+        assertEquals("a/b?c%3Bd%3De%2Bf%26", URLHelper.encode("a/b?c;d=e+f&", URLComponent.QUERY_PARAMETER));
+        assertEquals("a/b?c;d=e+f", URLHelper.encode("a/b?c;d=e+f", URLComponent.FRAGMENT));
+
+        assertEquals("caf%C3%A9%E2%82%AC%F0%9F%98%80%3F", URLHelper.encode("café€😀\ud800", URLComponent.PATH));
+
+        final byte[] octets = "xcafé déjà/vu?x".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("caf%C3%A9%20d%C3%A9j%C3%A0%2Fvu", URLHelper.encode(octets, 1, octets.length - 3, URLComponent.PATH_SEGMENT));
+        assertEquals("caf", URLHelper.encode(octets, 1, 3, URLComponent.PATH_SEGMENT));
+        assertEquals("", URLHelper.encode(octets, 0, 0, URLComponent.PATH_SEGMENT));
+
+        assertThrows(IllegalArgumentException.class, () -> URLHelper.encode(null, URLComponent.PATH));
+        assertThrows(IllegalArgumentException.class, () -> URLHelper.encode(null, 0, 0, URLComponent.PATH));
+        assertThrows(IllegalArgumentException.class, () -> URLHelper.encode(octets, -1, 2, URLComponent.PATH));
+        assertThrows(IllegalArgumentException.class, () -> URLHelper.encode(octets, 2, octets.length, URLComponent.PATH));
+    }
+
+    @Test
+    public void decodeTest() {
+        final String plain = "a/b?c=d";
+
+        assertSame(plain, URLHelper.decode(plain, URLComponent.QUERY_PARAMETER));
+
+        assertEquals("a b+c", URLHelper.decode("a%20b+c", URLComponent.PATH));
+        assertEquals("a b c", URLHelper.decode("a%20b+c", URLComponent.QUERY_PARAMETER));
+        assertEquals("a+b", URLHelper.decode("a+b", URLComponent.QUERY));
+        assertEquals("café€😀", URLHelper.decode("caf%C3%a9%E2%82%AC%F0%9F%98%80", URLComponent.FRAGMENT));
+        assertEquals("100%", URLHelper.decode("100%", URLComponent.PATH));
+        assertEquals("%zz%4", URLHelper.decode("%zz%4", URLComponent.PATH));
+        assertEquals("\ufffd", URLHelper.decode("%FF", URLComponent.PATH));
+
+        final byte[] octets = "-caf%C3%A9+d\u00e9j\u00e0%2-".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("café+déjà%2", URLHelper.decode(octets, 1, octets.length - 2, URLComponent.PATH));
+        assertEquals("café déjà%2", URLHelper.decode(octets, 1, octets.length - 2, URLComponent.QUERY_PARAMETER));
+        assertEquals("d\u00e9j\u00e0", URLHelper.decode(octets, 11, 6, URLComponent.QUERY_PARAMETER));
+
+        assertThrows(IllegalArgumentException.class, () -> URLHelper.decode(null, URLComponent.PATH));
+        assertThrows(IllegalArgumentException.class, () -> URLHelper.decode(octets, 0, -1, URLComponent.PATH));
+    }
+
+    @Test
+    public void encodeDecodeRoundTripTest() {
+        final Random random = new Random(41);
+
+        for (int i = 0; i < 20_000; i++) {
+            final StringBuilder builder = new StringBuilder();
+
+            for (int j = random.nextInt(12); j > 0; j--) {
+                builder.appendCodePoint(random.nextBoolean() ? 32 + random.nextInt(96) : 0xa0 + random.nextInt(0x20000));
+            }
+
+            final String value = builder.toString().replaceAll("[\\ud800-\\udfff]", "x");
+            final byte[] octets = value.getBytes(StandardCharsets.UTF_8);
+
+            for (URLComponent component : URLComponent.values()) {
+                final String encoded = URLHelper.encode(value, component);
+
+                assertEquals(encoded, URLHelper.encode(octets, 0, octets.length, component));
+                assertEquals(value, URLHelper.decode(encoded, component));
+                assertEquals(value, URLHelper.decode(encoded.getBytes(StandardCharsets.US_ASCII), 0, encoded.length(), component));
+            }
+
+            assertEquals(value, URLDecoder.decode(URLHelper.encode(value, URLComponent.QUERY_PARAMETER), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void assertSameAsURI(String url) {
+        boolean expected = !url.isBlank();
+
+        try {
+            new URI(url);
+        } catch (URISyntaxException | NumberFormatException e) {
+            expected = false;
+        }
+
+        assertEquals(url, expected, URLHelper.isValidURL(url));
     }
 }
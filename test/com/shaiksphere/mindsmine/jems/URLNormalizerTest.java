@@ -0,0 +1,122 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class URLNormalizerTest {
+
+    @Test
+    public void normalizeTest() {
+        final URLNormalizer normalizer = new URLNormalizer(false, 16);
+
+        assertFalse(normalizer.isSortingQuery());
+
+        assertEquals("http://www.example.com/a/c/~user", normalizer.normalize("HTTP://www.Example.COM:80/a/./b/../c/%7euser"));
+        assertEquals("https://example.com/", normalizer.normalize("https://EXAMPLE.com:443"));
+        assertEquals("https://example.com:8443/", normalizer.normalize("https://example.com:8443"));
+        assertEquals("http://example.com/", normalizer.normalize("http://example.com:/"));
+        assertEquals("http://User%3A@example.com/", normalizer.normalize("http://User%3a@Example.com"));
+        assertEquals("http://example.com/%C3%A9?q=%2F#F%2F", normalizer.normalize("http://example.com/%c3%a9?q=%2f#F%2f"));
+        assertEquals("http://[fe80::ab]/", normalizer.normalize("http://[FE80::AB]:80"));
+        assertEquals("foo://host.example.com:80", normalizer.normalize("foo://Host.example.com:80"));
+        assertEquals("mailto:Someone@Example.com", normalizer.normalize("MAILTO:Someone@Example.com"));
+        assertEquals("http://h/?z=1&a=2", normalizer.normalize("http://h?z=1&a=2"));
+        assertEquals("http://[fe80::1%eth0]/", normalizer.normalize("http://[FE80::1%eth0]/"));
+        assertEquals("http://a@B%2F@C:80/x/", normalizer.normalize("HTTP://a@B%2f@C:80/x/./"));
+        assertEquals("http://[fe80::1%25eth0]/", normalizer.normalize("http://[FE80::1%25eth0]"));
+
+        assertThrows(IllegalArgumentException.class, () -> normalizer.normalize(null));
+        assertThrows(IllegalArgumentException.class, () -> normalizer.normalize(":// should fail"));
+    }
+
+    @Test
+    public void dotSegmentsTest() {
+        final URLNormalizer normalizer = new URLNormalizer(false, 16);
+
+        // RFC 3986 section 5.4 examples, once resolved against http://a/b/c/d;p?q
+        Arrays.asList(
+                new String[] {"http://a/b/c/./../../g", "http://a/g"},
+                new String[] {"http://a/b/c/g/.", "http://a/b/c/g/"},
+                new String[] {"http://a/b/c/g/..", "http://a/b/c/"},
+                new String[] {"http://a/b/c/../../../g", "http://a/g"},
+                new String[] {"http://a/b/c/g;x=1/./y", "http://a/b/c/g;x=1/y"},
+                new String[] {"http://a/b/c/g;x=1/../y", "http://a/b/c/y"},
+                new String[] {"http://a/./g", "http://a/g"},
+                new String[] {"http://a/g.", "http://a/g."},
+                new String[] {"http://a/..g", "http://a/..g"},
+                new String[] {"http://a/%2E%2E/g", "http://a/g"},
+                new String[] {"/a/..//b", "/.//b"}
+        ).forEach(pair -> assertEquals(pair[0], pair[1], normalizer.normalize(pair[0])));
+    }
+
+    @Test
+    public void sortQueryTest() {
+        final URLNormalizer normalizer = new URLNormalizer(true, 16);
+
+        assertTrue(normalizer.isSortingQuery());
+        assertEquals("http://h/?a=2&b&z=1&z=0#f", normalizer.normalize("http://h?z=1&&a=2&z=0&b#f"));
+        assertEquals("http://h/?", normalizer.normalize("http://h?"));
+        assertEquals("http://example.com/?a=2&z=1&z=0", URLHelper.normalize("http://example.com?z=1&a=2&z=0", true));
+        assertEquals("http://example.com/?z=1&a=2", URLHelper.normalize("http://example.com?z=1&a=2"));
+    }
+
+    @Test
+    public void idempotenceTest() {
+        final URLNormalizer normalizer = new URLNormalizer(true, 16);
+
+        Arrays.asList(
+                "HTTP://www.Example.COM:80/a/./b/../c/%7euser?z=1&a=2",
+                "/a/..//b",
+                "../x/./y",
+                "http://u@[::1]:8080/%41%2f?%62=1#%7E",
+                "http://[FE80::1%eth0]:80/",
+                "urn:isbn:096139210x",
+                "file:///a/b/../c"
+        ).forEach(url -> {
+            final String normalized = normalizer.normalize(url);
+
+            assertTrue(normalized, URLHelper.isValidURL(normalized));
+            assertEquals(normalized, normalizer.normalize(normalized));
+        });
+    }
+
+    @Test
+    public void cacheTest() {
+        final URLNormalizer normalizer = new URLNormalizer(false, 2);
+
+        final String first = normalizer.normalize("HTTP://A/");
+
+        assertSame(first, normalizer.normalize("HTTP://A/"));
+        assertEquals(1, normalizer.getCache().getHitCount());
+        assertEquals(1, normalizer.getCache().getMissCount());
+
+        normalizer.normalize("HTTP://B/");
+        normalizer.normalize("HTTP://C/");
+
+        assertEquals(1, normalizer.getCache().getEvictionCount());
+        assertEquals(2, normalizer.getCache().size());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class URLRouterTest {
+
+    private static URLRouter<String> createRouter() {
+        return new URLRouter<String>()
+                .add("/", "root")
+                .add("/users", "users")
+                .add("/users/", "users/")
+                .add("/users/{id}", "user")
+                .add("/users/me", "me")
+                .add("/users/{id}/posts/{post}", "post")
+                .add("/users/{id}/posts/latest", "latest")
+                .add("/users/*/avatar", "avatar")
+                .add("/static/**", "static")
+                .add("/static/favicon.ico", "favicon")
+                .add("/a/{x}/c", "a-x-c")
+                .add("/a/*/d", "a-any-d")
+                .add("/a/b/{y}/e", "a-b-y");
+    }
+
+    @Test
+    public void matchTest() {
+        final URLRouter<String> router = createRouter();
+
+        assertEquals(13, router.size());
+
+        assertEquals("root", router.match("http://example.com/").getTarget());
+        assertEquals("root", router.match("http://example.com").getTarget());
+        assertEquals("root", router.match("/?q=1").getTarget());
+        assertEquals("users", router.match("http://example.com/users?x=1#y").getTarget());
+        assertEquals("users/", router.match("http://example.com/users/").getTarget());
+        assertEquals("me", router.match("http://example.com/users/me").getTarget());
+        assertEquals("favicon", router.match("/static/favicon.ico").getTarget());
+
+        URLRouter.Match<String> match = router.match("https://example.com/users/42");
+
+        assertEquals("user", match.getTarget());
+        assertEquals("/users/{id}", match.getPattern());
+        assertEquals(1, match.getParameterCount());
+        assertEquals("id", match.getParameterName(0));
+        assertEquals("42", match.getParameter("id"));
+        assertEquals("42", match.getParameter(0));
+        assertNull(match.getParameter("post"));
+        assertNull(match.getRemainder());
+        assertEquals("/users/{id} -> user", match.toString());
+
+        match = router.match("https://example.com/users/j%C3%B6rg/posts/7");
+
+        assertEquals("post", match.getTarget());
+        assertEquals("jörg", match.getParameter("id"));
+        assertEquals("7", match.getParameter("post"));
+
+        match = router.match("https://example.com/users/me/posts/latest");
+
+        assertEquals("latest", match.getTarget());
+        assertEquals("me", match.getParameter("id"));
+
+        assertEquals("avatar", router.match("/users/42/avatar").getTarget());
+
+        match = router.match("/static/css/site.css");
+
+        assertEquals("static", match.getTarget());
+        assertEquals("css/site.css", match.getRemainder());
+        assertEquals("", router.match("/static").getRemainder());
+        assertEquals("", router.match("/static/").getRemainder());
+    }
+
+    @Test
+    public void backtrackingTest() {
+        final URLRouter<String> router = createRouter();
+
+        // The literal 'b' is tried first, and abandoned for the parameter, then for the wildcard
+        URLRouter.Match<String> match = router.match("/a/b/c");
+
+        assertEquals("a-x-c", match.getTarget());
+        assertEquals("b", match.getParameter("x"));
+
+        assertEquals("a-b-y", router.match("/a/b/z/e").getTarget());
+        assertEquals("z", router.match("/a/b/z/e").getParameter("y"));
+        assertEquals("a-any-d", router.match("/a/b/d").getTarget());
+        assertEquals("a-any-d", router.match("/a/q/d").getTarget());
+    }
+
+    @Test
+    public void noMatchTest() {
+        final URLRouter<String> router = createRouter();
+
+        assertNull(router.match("/nothing"));
+        assertNull(router.match("/users/42/posts"));
+        assertNull(router.match("/users//avatar"));
+        assertNull(router.match("/users/42/extra/segments"));
+        assertNull(router.match("relative/path"));
+        assertNull(router.match("mailto:someone@example.com"));
+        assertNull(new URLRouter<String>().match("/"));
+
+        assertThrows(IllegalArgumentException.class, () -> router.match("http://exa mple.com/"));
+    }
+
+    @Test
+    public void manyRoutesTest() {
+        final URLRouter<Integer> router = new URLRouter<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            router.add("/service" + (i % 50) + "/v" + (i / 50) + "/{resource}/item" + i, i);
+        }
+
+        assertEquals(5_000, router.size());
+
+        for (int i = 0; i < 5_000; i++) {
+            final URLRouter.Match<Integer> match = router.match("http://gw/service" + (i % 50) + "/v" + (i / 50) + "/r" + i + "/item" + i);
+
+            assertEquals(Integer.valueOf(i), match.getTarget());
+            assertEquals("r" + i, match.getParameter("resource"));
+        }
+
+        assertNull(router.match("http://gw/service1/v0/r/item2"));
+    }
+
+    @Test
+    public void matchCostTest() {
+        for (int n : new int[] {256, 1024, 4096}) {
+            final URLRouter<Integer> router = new URLRouter<>();
+            final String[] kinds = {"s0", "s1", "{p}", "*"};
+
+            // Every pattern of six segments drawn from two literals, a parameter and a wildcard, up to n of them
+            for (int i = 0; router.size() < n; i++) {
+                final StringBuilder pattern = new StringBuilder();
+
+                for (int k = 0, code = i; k < 6; k++, code /= 4) {
+                    pattern.append('/').append(kinds[code % 4].replace("{p}", "{p" + k + "}"));
+                }
+
+                router.add(pattern.toString(), i);
+            }
+
+            assertEquals(Integer.valueOf(0), router.match("/s0/s0/s0/s0/s0/s0").getTarget());
+
+            final long transitionCount = router.getTransitionCount();
+
+            // Once built, a transition per segment is followed, so the work does not depend on the number of routes
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(Integer.valueOf(0), router.match("/s0/s0/s0/s0/s0/s0").getTarget());
+            }
+
+            assertEquals(transitionCount, router.getTransitionCount());
+
+            for (int i = 0; i < 1_000; i++) {
+                final URLRouter.Match<Integer> match = router.match("/s1/id" + i + "/s0/s1/s0/s0");
+
+                assertEquals("id" + i, match.getParameter("p1"));
+            }
+
+            assertTrue(router.getTransitionCount() - transitionCount <= 6);
+        }
+    }
+
+    @Test
+    public void invalidPatternTest() {
+        final URLRouter<String> router = createRouter();
+
+        assertThrows(IllegalArgumentException.class, () -> router.add(null, "x"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("users", "x"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("/users/{name}", "x"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("/static/**", "x"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("/**/x", "x"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("/x/{}", "x"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("/x/{a}/{a}", "x"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("/x/a{b}", "x"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("/x/a*", "x"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("/x?y", "x"));
+
+        assertEquals(13, router.size());
+    }
+}
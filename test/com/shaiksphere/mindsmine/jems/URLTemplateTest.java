@@ -0,0 +1,136 @@
+/*
+Copyright 2008-present Shaiksphere, Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+
+package com.shaiksphere.mindsmine.jems;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class URLTemplateTest {
+
+    @Test
+    public void fillTest() {
+        final URLTemplate template = new URLTemplate("https://api.example.com/x/{id}?q={term}");
+
+        assertEquals(List.of("id", "term"), template.getNames());
+        assertEquals("https://api.example.com/x/{id}?q={term}", template.toString());
+
+        assertEquals("https://api.example.com/x/42?q=jems", template.fill(42, "jems"));
+        assertEquals("https://api.example.com/x/-7?q=a%26b%3Dc%2Bd%3Be%20f", template.fill(-7L, "a&b=c+d;e f"));
+        assertEquals("https://api.example.com/x/a%2Fb?q=a/b?c", template.fill("a/b", "a/b?c"));
+        assertEquals("https://api.example.com/x/%3F%23?q=%23", template.fill("?#", "#"));
+        assertEquals("https://api.example.com/x/a&b=c+d?q=null", template.fill("a&b=c+d", null));
+        assertEquals("https://api.example.com/x/caf%C3%A9?q=%F0%9F%98%80", template.fill("café", "😀"));
+        assertEquals("https://api.example.com/x/?q=", template.fill("", ""));
+    }
+
+    @Test
+    public void fragmentTest() {
+        final URLTemplate template = new URLTemplate("http://h/{p}?{p}=1#s-{p}");
+
+        assertEquals(List.of("p"), template.getNames());
+        assertEquals("http://h/a%2Fb%3F%23?a/b?%23=1#s-a/b?%23", template.fill("a/b?#"));
+    }
+
+    @Test
+    public void reusableBuilderTest() {
+        final URLTemplate template = new URLTemplate("http://example.com/{a}/{b}");
+        final StringBuilder builder = new StringBuilder("<");
+
+        assertSame(builder, template.fill(builder, 1, 2));
+        assertEquals("<http://example.com/1/2", builder.toString());
+
+        builder.setLength(0);
+        template.fill(builder, "x", new StringBuilder("y z"));
+        assertEquals("http://example.com/x/y%20z", builder.toString());
+    }
+
+    @Test
+    public void fillMapTest() {
+        final URLTemplate template = new URLTemplate("http://example.com/{a}?b={b}");
+        final Map<String, Object> values = new LinkedHashMap<>();
+
+        values.put("b", 2);
+        values.put("a", "one");
+        values.put("c", "unused");
+
+        assertEquals("http://example.com/one?b=2", template.fill(values));
+        assertEquals("http://example.com/one?b=2", template.fill(new StringBuilder(), values).toString());
+
+        values.remove("a");
+
+        assertThrows(IllegalArgumentException.class, () -> template.fill(values));
+    }
+
+    @Test
+    public void matchesAppendQueryTest() {
+        final URLTemplate template = new URLTemplate("http://example.com/search?q={q}");
+        final Random random = new Random(40);
+
+        for (int i = 0; i < 10_000; i++) {
+            final StringBuilder value = new StringBuilder();
+
+            for (int j = random.nextInt(10); j > 0; j--) {
+                value.append((char) (random.nextBoolean() ? 32 + random.nextInt(96) : random.nextInt(0x3000)));
+            }
+
+            final String url = template.fill(value.toString());
+
+            assertEquals(URLHelper.appendQuery("http://example.com/search", "q", value.toString()), url);
+            assertTrue(url, URLHelper.isValidURL(url));
+        }
+    }
+
+    @Test
+    public void invalidTemplateTest() {
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate(null));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate(" "));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("http://h/{a"));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("http://h/a}"));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("http://h/{}"));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("http://h/{{a}"));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("http://h/ {a}"));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("http://h/%{a}"));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("/relative/{a}"));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("mailto:{a}"));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("http://{host}/a"));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("http://h{a}/b"));
+        assertThrows(IllegalArgumentException.class, () -> new URLTemplate("{scheme}://h/b"));
+
+        final URLTemplate template = new URLTemplate("http://h/{a}");
+
+        assertThrows(IllegalArgumentException.class, () -> template.fill());
+        assertThrows(IllegalArgumentException.class, () -> template.fill(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> template.fill((Object[]) null));
+    }
+
+    @Test
+    public void noPlaceholderTest() {
+        final URLTemplate template = new URLTemplate("http://example.com/a?b=c#d");
+
+        assertTrue(template.getNames().isEmpty());
+        assertEquals("http://example.com/a?b=c#d", template.fill());
+    }
+}